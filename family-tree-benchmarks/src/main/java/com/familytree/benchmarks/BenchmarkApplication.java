@@ -0,0 +1,32 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.FamilyTreeApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the Family Tree application inside a benchmark fork.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application without a web server, SQL logging or INFO logging.
+     *
+     * @param args additional application arguments
+     * @return the running application context
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        String[] defaults = {"--spring.main.web-application-type=none", "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"};
+        String[] all = new String[defaults.length + args.length];
+        System.arraycopy(defaults, 0, all, 0, defaults.length);
+        System.arraycopy(args, 0, all, defaults.length, args.length);
+        return new SpringApplicationBuilder(FamilyTreeApplication.class).run(all);
+    }
+}
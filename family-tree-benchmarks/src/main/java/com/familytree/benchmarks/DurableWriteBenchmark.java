@@ -0,0 +1,131 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of durability: write throughput and latency of {@code PersonService}
+ * with the in-memory database against the file-backed database of the {@code durable}
+ * profile in several MVStore configurations.
+ * <p>
+ * Run with
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="DurableWriteBenchmark"};
+ * add {@code -t 4} to see how a write delay lets concurrent commits share file writes.
+ * Every trial starts from a fresh database in a temporary directory, loaded with
+ * {@code people} persons.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DurableWriteBenchmark {
+
+    /**
+     * The application on one storage configuration.
+     */
+    @State(Scope.Benchmark)
+    public static class StorageState {
+
+        /**
+         * The storage configuration:
+         * <ul>
+         *     <li>{@code memory}: the default in-memory database, no durability</li>
+         *     <li>{@code sync}: file-backed, every commit written through ({@code WRITE_DELAY=0})</li>
+         *     <li>{@code delayed}: file-backed, commits written within H2's default 500 ms</li>
+         *     <li>{@code compressed}: the durable profile, {@code sync} with compressed pages</li>
+         * </ul>
+         */
+        @Param({"memory", "sync", "delayed", "compressed"})
+        public String storage;
+
+        /**
+         * The number of persons loaded before measuring.
+         */
+        @Param("10000")
+        public int people;
+
+        private Path directory;
+        private ConfigurableApplicationContext context;
+        private PersonService personService;
+        private List<String> surnames;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            directory = Files.createTempDirectory("familytree-durable");
+            String file = "jdbc:h2:file:" + directory.resolve("familytree").toAbsolutePath()
+                    + ";CACHE_SIZE=65536;DB_CLOSE_ON_EXIT=FALSE";
+            String url = switch (storage) {
+                case "memory" -> "jdbc:h2:mem:familytree";
+                case "sync" -> file + ";WRITE_DELAY=0";
+                case "delayed" -> file + ";WRITE_DELAY=500";
+                case "compressed" -> file + ";WRITE_DELAY=0;COMPRESS=TRUE";
+                default -> throw new IllegalArgumentException("Unknown storage " + storage);
+            };
+            context = BenchmarkApplication.start("--spring.datasource.url=" + url);
+            SyntheticFamilyTree tree = new SyntheticFamilyTree(people, 42);
+            JdbcTreeWriter.load(tree, context.getBean(DataSource.class));
+            personService = context.getBean(PersonService.class);
+            surnames = tree.surnames();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            context.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+
+        long randomId() {
+            return ThreadLocalRandom.current().nextLong(1, people + 1L);
+        }
+
+        PersonDTO newPerson() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String[] names = random.nextBoolean() ? SyntheticFamilyTree.MALE_NAMES : SyntheticFamilyTree.FEMALE_NAMES;
+            return PersonDTO.builder()
+                    .firstName(names[random.nextInt(names.length)])
+                    .lastName(surnames.get(random.nextInt(surnames.size())))
+                    .birthPlace("York")
+                    .bornDate(LocalDate.of(2020, 1, 1))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public PersonDTO createNewPerson(StorageState state) {
+        return state.personService.createNewPerson(state.newPerson());
+    }
+
+    @Benchmark
+    public PersonDTO addChild(StorageState state) {
+        return state.personService.addChild(state.randomId(), state.newPerson());
+    }
+}
@@ -0,0 +1,94 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.service.PersonService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared benchmark state: the application on its in-memory H2 database, loaded with a
+ * {@link SyntheticFamilyTree} of {@code people} persons.
+ * <p>
+ * Larger populations are selected with JMH parameters, for example
+ * {@code -p people=1000000}. Ten million persons need a heap of roughly 8 GB in the
+ * benchmark fork ({@code -jvmArgsAppend -Xmx8g}).
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class FamilyTreeState {
+
+    /**
+     * The number of persons loaded before measuring.
+     */
+    @Param("10000")
+    public int people;
+
+    /**
+     * The seed of the generated population.
+     */
+    @Param("42")
+    public long seed;
+
+    private ConfigurableApplicationContext context;
+    private PersonService personService;
+    private PersonRepository personRepository;
+    private List<String> surnames;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        SyntheticFamilyTree tree = new SyntheticFamilyTree(people, seed);
+        JdbcTreeWriter.load(tree, context.getBean(DataSource.class));
+        personService = context.getBean(PersonService.class);
+        personRepository = context.getBean(PersonRepository.class);
+        surnames = tree.surnames();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    PersonService personService() {
+        return personService;
+    }
+
+    PersonRepository personRepository() {
+        return personRepository;
+    }
+
+    /**
+     * Returns the ID of a random person of the generated population.
+     *
+     * @return an existing person ID
+     */
+    long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, people + 1L);
+    }
+
+    String randomFirstName() {
+        String[] names = ThreadLocalRandom.current().nextBoolean()
+                ? SyntheticFamilyTree.MALE_NAMES : SyntheticFamilyTree.FEMALE_NAMES;
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+
+    String randomPlace() {
+        return SyntheticFamilyTree.PLACES[ThreadLocalRandom.current().nextInt(SyntheticFamilyTree.PLACES.length)];
+    }
+
+    String randomSurname() {
+        return surnames.get(ThreadLocalRandom.current().nextInt(surnames.size()));
+    }
+}
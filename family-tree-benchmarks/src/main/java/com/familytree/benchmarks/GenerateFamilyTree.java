@@ -0,0 +1,97 @@
+package com.familytree.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point of the synthetic family tree generator.
+ * <p>
+ * Options, all as {@code --name=value}:
+ * </p>
+ * <ul>
+ *   <li>{@code people}: population size (default 1000000)</li>
+ *   <li>{@code seed}: random seed (default 42)</li>
+ *   <li>{@code reference-date}: the ISO date the population is generated as of (default
+ *       2025-01-01)</li>
+ *   <li>{@code format}: {@code ndjson}, {@code gedcom} or {@code jdbc} (default ndjson)</li>
+ *   <li>{@code output}: a file path, or for {@code jdbc} the URL of an H2 database whose
+ *       schema the application has already created</li>
+ *   <li>{@code user}, {@code password}: database credentials (default sa / password)</li>
+ * </ul>
+ * <pre>
+ * mvn -f family-tree-benchmarks/pom.xml exec:java \
+ *     -Dexec.mainClass=com.familytree.benchmarks.GenerateFamilyTree \
+ *     -Dexec.args="--people=1000000 --format=gedcom --output=tree.ged"
+ * </pre>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class GenerateFamilyTree {
+
+    private GenerateFamilyTree() {
+    }
+
+    /**
+     * Generates a tree as described by the options.
+     *
+     * @param args the command line options
+     * @throws Exception if the output cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        SyntheticFamilyTree tree = new SyntheticFamilyTree(
+                Integer.parseInt(options.getOrDefault("people", "1000000")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                LocalDate.parse(options.getOrDefault("reference-date",
+                        SyntheticFamilyTree.DEFAULT_REFERENCE_DATE.toString())));
+        String format = options.getOrDefault("format", "ndjson");
+        String output = options.get("output");
+        if (output == null) {
+            throw new IllegalArgumentException("--output is required");
+        }
+
+        long start = System.nanoTime();
+        switch (format) {
+            case "ndjson" -> {
+                try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(Path.of(output)), 1 << 16);
+                     NdjsonTreeWriter writer = new NdjsonTreeWriter(stream)) {
+                    tree.generate(writer);
+                }
+            }
+            case "gedcom" -> {
+                try (BufferedWriter stream = Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+                     GedcomTreeWriter writer = new GedcomTreeWriter(stream)) {
+                    tree.generate(writer);
+                }
+            }
+            case "jdbc" -> {
+                try (Connection connection = DriverManager.getConnection(output,
+                        options.getOrDefault("user", "sa"), options.getOrDefault("password", "password"));
+                     JdbcTreeWriter writer = new JdbcTreeWriter(connection)) {
+                    tree.generate(writer);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %,d persons as %s in %.1f s (%,.0f persons/min)%n",
+                tree.people(), format, seconds, tree.people() / seconds * 60);
+    }
+}
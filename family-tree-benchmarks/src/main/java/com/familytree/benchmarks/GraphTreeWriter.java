@@ -0,0 +1,57 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.store.GraphPersonStore;
+
+/**
+ * Writes generated persons straight into a {@link GraphPersonStore}, without checking
+ * references, since spouses reference each other.
+ * <p>
+ * As in {@link JdbcTreeWriter}, the father doubles as the parent.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class GraphTreeWriter implements SyntheticTreeSink {
+
+    private final GraphPersonStore store;
+
+    /**
+     * Constructs a new GraphTreeWriter.
+     *
+     * @param store the store to write to
+     */
+    public GraphTreeWriter(GraphPersonStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Generates a tree into a graph store.
+     *
+     * @param tree the generator
+     * @param store the store to write to
+     */
+    public static void load(SyntheticFamilyTree tree, GraphPersonStore store) {
+        tree.generate(new GraphTreeWriter(store));
+    }
+
+    @Override
+    public void person(SyntheticPerson person) {
+        store.put(PersonState.builder()
+                .id(person.id())
+                .firstName(person.firstName())
+                .lastName(person.lastName())
+                .occupation(person.occupation())
+                .lifeStory(person.lifeStory())
+                .bornDate(person.bornDate())
+                .diedDate(person.diedDate())
+                .birthPlace(person.birthPlace())
+                .currentlyLivesAtAddress(person.currentlyLivesAtAddress())
+                .parentId(person.fatherId())
+                .motherId(person.motherId())
+                .fatherId(person.fatherId())
+                .spouseId(person.spouseId())
+                .build());
+    }
+}
@@ -0,0 +1,164 @@
+package com.familytree.benchmarks;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes generated persons straight into the {@code persons} table of an H2 database
+ * created by the application, using batched inserts on a single connection.
+ * <p>
+ * Referential integrity is suspended while loading, because spouses reference each
+ * other, and the identity column is restarted after the highest inserted ID on close.
+ * Last names, occupations, birth places and addresses are added to {@code lookup_values}
+ * as they first occur and written as IDs.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class JdbcTreeWriter implements SyntheticTreeSink, AutoCloseable {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String INSERT = "insert into persons (id, first_name, last_name_id, occupation_id, "
+            + "life_story, born_date, died_date, birth_place_id, currently_lives_at_address_id, parent_id, mother_id, "
+            + "father_id, spouse_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LOOKUP_VALUE = "insert into lookup_values (text_value) values (?)";
+
+    private final Connection connection;
+    private final boolean autoCommit;
+    private final PreparedStatement insert;
+    private final PreparedStatement insertLookupValue;
+    private final Map<String, Integer> lookupIds = new HashMap<>();
+    private int pending;
+    private long maxId;
+
+    /**
+     * Prepares the connection for a bulk load.
+     *
+     * @param connection a connection to a database with the application's schema
+     * @throws SQLException if the connection cannot be prepared
+     */
+    public JdbcTreeWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            try (ResultSet values = statement.executeQuery("select id, text_value from lookup_values")) {
+                while (values.next()) {
+                    lookupIds.put(values.getString(2), values.getInt(1));
+                }
+            }
+        }
+        this.insert = connection.prepareStatement(INSERT);
+        this.insertLookupValue = connection.prepareStatement(INSERT_LOOKUP_VALUE, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Generates a tree into the database behind a data source.
+     *
+     * @param tree the generator
+     * @param dataSource the application's data source
+     */
+    public static void load(SyntheticFamilyTree tree, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             JdbcTreeWriter writer = new JdbcTreeWriter(connection)) {
+            tree.generate(writer);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load the synthetic family tree", e);
+        }
+    }
+
+    @Override
+    public void person(SyntheticPerson person) {
+        try {
+            insert.setLong(1, person.id());
+            insert.setString(2, person.firstName());
+            setLookupValue(3, person.lastName());
+            setLookupValue(4, person.occupation());
+            insert.setString(5, person.lifeStory());
+            setDate(6, person.bornDate());
+            setDate(7, person.diedDate());
+            setLookupValue(8, person.birthPlace());
+            setLookupValue(9, person.currentlyLivesAtAddress());
+            setId(10, person.fatherId());
+            setId(11, person.motherId());
+            setId(12, person.fatherId());
+            setId(13, person.spouseId());
+            insert.addBatch();
+            maxId = Math.max(maxId, person.id());
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to insert person " + person.id(), e);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table persons alter column id restart with " + (maxId + 1));
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+            connection.commit();
+        } finally {
+            insert.close();
+            insertLookupValue.close();
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (pending > 0) {
+            insert.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+    }
+
+    private void setDate(int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            insert.setDate(index, Date.valueOf(date));
+        } else {
+            insert.setNull(index, Types.DATE);
+        }
+    }
+
+    private void setLookupValue(int index, String value) throws SQLException {
+        if (value == null) {
+            insert.setNull(index, Types.INTEGER);
+            return;
+        }
+        Integer id = lookupIds.get(value);
+        if (id == null) {
+            insertLookupValue.setString(1, value);
+            insertLookupValue.executeUpdate();
+            try (ResultSet keys = insertLookupValue.getGeneratedKeys()) {
+                keys.next();
+                id = keys.getInt(1);
+            }
+            lookupIds.put(value, id);
+        }
+        insert.setInt(index, id);
+    }
+
+    private void setId(int index, Long id) throws SQLException {
+        if (id != null) {
+            insert.setLong(index, id);
+        } else {
+            insert.setNull(index, Types.BIGINT);
+        }
+    }
+}
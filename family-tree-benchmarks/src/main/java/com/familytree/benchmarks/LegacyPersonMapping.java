@@ -0,0 +1,64 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.repository.PersonRepository;
+
+/**
+ * Baseline copy of the conversion code that lived in PersonServiceImpl before the
+ * mapping layer was introduced: builder-based DTO construction and a full
+ * {@code findById} per relationship when building an entity.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class LegacyPersonMapping {
+
+    private final PersonRepository personRepository;
+
+    LegacyPersonMapping(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    Person toEntity(PersonDTO dto) {
+        Person person = new Person();
+        person.setId(dto.getId());
+        person.setFirstName(dto.getFirstName());
+        person.setMiddleName(dto.getMiddleName());
+        person.setLastName(dto.getLastName());
+        person.setOccupation(dto.getOccupation());
+        person.setLifeStory(dto.getLifeStory());
+        person.setBornDate(dto.getBornDate());
+        person.setDiedDate(dto.getDiedDate());
+        person.setBirthPlace(dto.getBirthPlace());
+        person.setCurrentlyLivesAtAddress(dto.getCurrentlyLivesAtAddress());
+        if (dto.getMotherId() != null) {
+            person.setMother(personRepository.findById(dto.getMotherId()).orElse(null));
+        }
+        if (dto.getFatherId() != null) {
+            person.setFather(personRepository.findById(dto.getFatherId()).orElse(null));
+        }
+        if (dto.getSpouseId() != null) {
+            person.setSpouse(personRepository.findById(dto.getSpouseId()).orElse(null));
+        }
+        return person;
+    }
+
+    PersonDTO toDTO(Person person) {
+        return PersonDTO.builder()
+                .id(person.getId())
+                .firstName(person.getFirstName())
+                .middleName(person.getMiddleName())
+                .lastName(person.getLastName())
+                .occupation(person.getOccupation())
+                .lifeStory(person.getLifeStory())
+                .bornDate(person.getBornDate())
+                .diedDate(person.getDiedDate())
+                .birthPlace(person.getBirthPlace())
+                .currentlyLivesAtAddress(person.getCurrentlyLivesAtAddress())
+                .motherId(person.getMother() != null ? person.getMother().getId() : null)
+                .fatherId(person.getFather() != null ? person.getFather().getId() : null)
+                .spouseId(person.getSpouse() != null ? person.getSpouse().getId() : null)
+                .build();
+    }
+}
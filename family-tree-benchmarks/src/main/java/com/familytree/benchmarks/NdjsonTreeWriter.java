@@ -0,0 +1,79 @@
+package com.familytree.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * Writes generated persons as newline-delimited JSON, one object per line, using the
+ * field names of the REST API's person representation. Null fields are omitted.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class NdjsonTreeWriter implements SyntheticTreeSink, AutoCloseable {
+
+    private final JsonGenerator generator;
+
+    /**
+     * Creates a writer.
+     *
+     * @param output the stream to write to; closed with this writer
+     * @throws IOException if the generator cannot be created
+     */
+    public NdjsonTreeWriter(OutputStream output) throws IOException {
+        this.generator = new JsonFactory().createGenerator(output);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void person(SyntheticPerson person) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", person.id());
+            writeString("firstName", person.firstName());
+            writeString("lastName", person.lastName());
+            writeString("occupation", person.occupation());
+            writeString("lifeStory", person.lifeStory());
+            writeDate("bornDate", person.bornDate());
+            writeDate("diedDate", person.diedDate());
+            writeString("birthPlace", person.birthPlace());
+            writeString("currentlyLivesAtAddress", person.currentlyLivesAtAddress());
+            writeId("motherId", person.motherId());
+            writeId("fatherId", person.fatherId());
+            writeId("spouseId", person.spouseId());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeRaw('\n');
+        generator.close();
+    }
+
+    private void writeString(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private void writeDate(String name, LocalDate value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value.toString());
+        }
+    }
+
+    private void writeId(String name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+}
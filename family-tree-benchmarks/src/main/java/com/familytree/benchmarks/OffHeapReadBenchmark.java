@@ -0,0 +1,110 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.offheap.OffHeapPersonService;
+import com.familytree.familytree.service.PersonService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the read operations of {@code PersonService} served by JPA with the same
+ * operations served by the off-heap person table.
+ * <p>
+ * Run with
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="OffHeapReadBenchmark -prof gc -t 4"}.
+ * With {@code -prof gc} the difference in allocation per operation, and with larger
+ * populations the difference in heap occupancy, is visible alongside the throughput.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OffHeapReadBenchmark {
+
+    /**
+     * The application on the selected read path, loaded with a synthetic population.
+     */
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        /**
+         * The number of persons loaded before measuring.
+         */
+        @Param("10000")
+        public int people;
+
+        /**
+         * The read path: {@code jpa} or {@code offheap}.
+         */
+        @Param({"jpa", "offheap"})
+        public String store;
+
+        private ConfigurableApplicationContext context;
+        private PersonService personService;
+        private List<String> surnames;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = "offheap".equals(store)
+                    ? BenchmarkApplication.start("--spring.profiles.active=offheap")
+                    : BenchmarkApplication.start();
+            SyntheticFamilyTree tree = new SyntheticFamilyTree(people, 42);
+            JdbcTreeWriter.load(tree, context.getBean(DataSource.class));
+            // the tree is written with JDBC, bypassing the change events the table follows
+            context.getBeanProvider(OffHeapPersonService.class).ifAvailable(OffHeapPersonService::load);
+            personService = context.getBean(PersonService.class);
+            surnames = tree.surnames();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        long randomId() {
+            return ThreadLocalRandom.current().nextLong(1, people + 1L);
+        }
+
+        String randomSurname() {
+            return surnames.get(ThreadLocalRandom.current().nextInt(surnames.size()));
+        }
+    }
+
+    @Benchmark
+    public PersonDTO getPerson(ReadState state) {
+        return state.personService.getPerson(state.randomId());
+    }
+
+    @Benchmark
+    public List<PersonDTO> getPersons(ReadState state) {
+        long first = state.randomId();
+        return state.personService.getPersons(List.of(first, first % state.people + 1, state.randomId()));
+    }
+
+    @Benchmark
+    public List<PersonDTO> findPersonByLastName(ReadState state) {
+        return state.personService.findPersonByLastName(state.randomSurname());
+    }
+}
@@ -0,0 +1,220 @@
+package com.familytree.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.mapper.PersonDTOSerializer;
+import com.familytree.familytree.mapper.PersonMapper;
+import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.service.PersonService;
+import com.familytree.familytree.store.JpaPersonStore;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the hand-written {@link PersonMapper} and {@link PersonDTOSerializer} against
+ * the builder-based conversion and the reflective Jackson bean serializer they replaced.
+ * <p>
+ * Run with the GC profiler to see bytes allocated per operation:
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="PersonMappingBenchmark -prof gc"}.
+ * The {@code Stub} benchmarks map against an in-memory repository and measure the mapping
+ * code alone. The {@code Jpa} benchmarks map a DTO with three relationships inside a
+ * transaction against the real H2-backed repository, where the legacy path issues three
+ * {@code SELECT}s and the mapper attaches uninitialized references.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonMappingBenchmark {
+
+    private LegacyPersonMapping legacyMapping;
+    private PersonMapper personMapper;
+    private ObjectWriter beanWriter;
+    private ObjectWriter handWrittenWriter;
+    private ByteArrayOutputStream buffer;
+    private Person person;
+    private PersonDTO dto;
+
+    @Setup
+    public void setUp() {
+        PersonRepository repository = stubRepository();
+        legacyMapping = new LegacyPersonMapping(repository);
+        personMapper = new PersonMapper(new JpaPersonStore(repository, stubDataSource()));
+
+        ObjectMapper beanMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        beanWriter = beanMapper.writerFor(PersonDTO.class);
+        ObjectMapper handWrittenMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(PersonDTO.class, new PersonDTOSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        handWrittenWriter = handWrittenMapper.writerFor(PersonDTO.class);
+        buffer = new ByteArrayOutputStream(1024);
+
+        person = new Person();
+        person.setId(42L);
+        person.setFirstName("Margaret");
+        person.setMiddleName("Anne");
+        person.setLastName("Thompson");
+        person.setOccupation("Teacher");
+        person.setLifeStory("Taught mathematics in the village school for forty years.");
+        person.setBornDate(LocalDate.of(1921, 3, 14));
+        person.setDiedDate(LocalDate.of(2004, 11, 2));
+        person.setBirthPlace("York");
+        person.setCurrentlyLivesAtAddress("12 Mill Lane");
+        person.setMother(reference(7L));
+        person.setFather(reference(8L));
+        person.setSpouse(reference(43L));
+        dto = legacyMapping.toDTO(person);
+    }
+
+    @Benchmark
+    public PersonDTO toDtoLegacy() {
+        return legacyMapping.toDTO(person);
+    }
+
+    @Benchmark
+    public PersonDTO toDtoMapper() {
+        return personMapper.toDTO(person);
+    }
+
+    @Benchmark
+    public Person toEntityLegacyStub() {
+        return legacyMapping.toEntity(dto);
+    }
+
+    @Benchmark
+    public Person toEntityMapperStub() {
+        return personMapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public int serializeBean() throws IOException {
+        buffer.reset();
+        beanWriter.writeValue(buffer, dto);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int serializeHandWritten() throws IOException {
+        buffer.reset();
+        handWrittenWriter.writeValue(buffer, dto);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public Person toEntityLegacyJpa(JpaState jpa) {
+        return jpa.map(jpa.legacyMapping::toEntity);
+    }
+
+    @Benchmark
+    public Person toEntityMapperJpa(JpaState jpa) {
+        return jpa.map(jpa.personMapper::toEntity);
+    }
+
+    /**
+     * Runs the application without a web server and seeds a family the mapped DTO points at.
+     */
+    @State(Scope.Benchmark)
+    public static class JpaState {
+
+        private ConfigurableApplicationContext context;
+        private TransactionTemplate transactionTemplate;
+        private EntityManager entityManager;
+        private LegacyPersonMapping legacyMapping;
+        private PersonMapper personMapper;
+        private PersonDTO dto;
+
+        @Setup
+        public void start() {
+            context = BenchmarkApplication.start();
+            transactionTemplate = context.getBean(TransactionTemplate.class);
+            entityManager = context.getBean(EntityManager.class);
+            legacyMapping = new LegacyPersonMapping(context.getBean(PersonRepository.class));
+            personMapper = context.getBean(PersonMapper.class);
+
+            PersonService personService = context.getBean(PersonService.class);
+            Long motherId = personService.createNewPerson(seed("Mother")).getId();
+            Long fatherId = personService.createNewPerson(seed("Father")).getId();
+            Long spouseId = personService.createNewPerson(seed("Spouse")).getId();
+            dto = seed("Child");
+            dto.setMotherId(motherId);
+            dto.setFatherId(fatherId);
+            dto.setSpouseId(spouseId);
+        }
+
+        @TearDown
+        public void stop() {
+            context.close();
+        }
+
+        Person map(Function<PersonDTO, Person> mapping) {
+            return transactionTemplate.execute(status -> {
+                Person person = mapping.apply(dto);
+                entityManager.clear();
+                return person;
+            });
+        }
+
+        private static PersonDTO seed(String firstName) {
+            return PersonDTO.builder().firstName(firstName).lastName("Benchmark").build();
+        }
+    }
+
+    private static Person reference(Long id) {
+        Person related = new Person();
+        related.setId(id);
+        return related;
+    }
+
+    /**
+     * Builds a repository whose {@code findById} and {@code getReferenceById} return a
+     * detached person carrying only the ID, which is what a proxy reference amounts to.
+     */
+    private static PersonRepository stubRepository() {
+        return (PersonRepository) Proxy.newProxyInstance(PersonRepository.class.getClassLoader(),
+                new Class<?>[]{PersonRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(reference((Long) args[0]));
+                    case "getReferenceById" -> reference((Long) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static DataSource stubDataSource() {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,67 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.entity.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code PersonRepository} finders used by the service against a populated
+ * database. Mother, father and spouse are lazy associations, so results cover the query
+ * and mapping of every returned row but not loading those relatives.
+ * <p>
+ * Run with
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="PersonRepositoryBenchmark -prof gc"}.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersonRepositoryBenchmark {
+
+    @Benchmark
+    public Optional<Person> findById(FamilyTreeState state) {
+        return state.personRepository().findById(state.randomId());
+    }
+
+    @Benchmark
+    public List<Person> findByFirstName(FamilyTreeState state) {
+        return state.personRepository().findByFirstName(state.randomFirstName());
+    }
+
+    @Benchmark
+    public List<Person> findByLastName(FamilyTreeState state) {
+        return state.personRepository().findByLastName(state.randomSurname());
+    }
+
+    @Benchmark
+    public List<Person> findByBirthPlace(FamilyTreeState state) {
+        return state.personRepository().findByBirthPlace(state.randomPlace());
+    }
+
+    @Benchmark
+    public List<Person> findChildrenOfAny(FamilyTreeState state) {
+        return state.personRepository().findChildrenOfAny(List.of(state.randomId(), state.randomId()));
+    }
+
+    @Benchmark
+    public List<Person> findByBornDateBetween(FamilyTreeState state) {
+        LocalDate from = LocalDate.of(1780 + ThreadLocalRandom.current().nextInt(240), 1, 1);
+        return state.personRepository().findByBornDateBetween(from, from.plusMonths(1));
+    }
+}
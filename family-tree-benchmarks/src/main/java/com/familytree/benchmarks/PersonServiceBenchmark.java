@@ -0,0 +1,57 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.dto.PersonDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput, latency percentiles and, with {@code -prof gc}, allocation of the
+ * main {@code PersonService} operations against a populated database.
+ * <p>
+ * Run with
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="PersonServiceBenchmark -prof gc"}.
+ * Write benchmarks grow the table while they run; each trial starts from a fresh database.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersonServiceBenchmark {
+
+    @Benchmark
+    public PersonDTO getPerson(FamilyTreeState state) {
+        return state.personService().getPerson(state.randomId());
+    }
+
+    @Benchmark
+    public PersonDTO createNewPerson(FamilyTreeState state) {
+        return state.personService().createNewPerson(newPerson(state));
+    }
+
+    @Benchmark
+    public PersonDTO addChild(FamilyTreeState state) {
+        return state.personService().addChild(state.randomId(), newPerson(state));
+    }
+
+    private static PersonDTO newPerson(FamilyTreeState state) {
+        return PersonDTO.builder()
+                .firstName(state.randomFirstName())
+                .lastName(state.randomSurname())
+                .birthPlace("York")
+                .bornDate(LocalDate.of(2020, 1, 1))
+                .build();
+    }
+}
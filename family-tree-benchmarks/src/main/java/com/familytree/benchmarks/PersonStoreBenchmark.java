@@ -0,0 +1,130 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import com.familytree.familytree.store.GraphPersonStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code PersonService} on the relational storage engine with the same service
+ * on the embedded graph store.
+ * <p>
+ * Run with
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="PersonStoreBenchmark"}.
+ * {@code descendants} walks three generations below a random person, one
+ * {@code findChildren} call per generation, which is the kinship traversal the graph
+ * store's adjacency index is built for.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersonStoreBenchmark {
+
+    /**
+     * The application on the selected storage engine, loaded with a synthetic population.
+     */
+    @State(Scope.Benchmark)
+    public static class StoreState {
+
+        /**
+         * The number of persons loaded before measuring.
+         */
+        @Param("10000")
+        public int people;
+
+        /**
+         * The storage engine: {@code jpa} or {@code graph}.
+         */
+        @Param({"jpa", "graph"})
+        public String store;
+
+        private ConfigurableApplicationContext context;
+        private PersonService personService;
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            SyntheticFamilyTree tree = new SyntheticFamilyTree(people, 42);
+            if ("graph".equals(store)) {
+                directory = Files.createTempDirectory("graph-store");
+                context = BenchmarkApplication.start("--familytree.store.type=graph",
+                        "--familytree.store.graph.directory=" + directory);
+                GraphTreeWriter.load(tree, context.getBean(GraphPersonStore.class));
+            } else {
+                context = BenchmarkApplication.start();
+                JdbcTreeWriter.load(tree, context.getBean(DataSource.class));
+            }
+            personService = context.getBean(PersonService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            context.close();
+            if (directory != null) {
+                try (var files = Files.walk(directory)) {
+                    files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+                }
+            }
+        }
+
+        long randomId() {
+            return ThreadLocalRandom.current().nextLong(1, people + 1L);
+        }
+    }
+
+    @Benchmark
+    public PersonDTO getPerson(StoreState state) {
+        return state.personService.getPerson(state.randomId());
+    }
+
+    @Benchmark
+    public Map<Long, List<PersonDTO>> findChildren(StoreState state) {
+        return state.personService.findChildren(List.of(state.randomId(), state.randomId()));
+    }
+
+    @Benchmark
+    public int descendants(StoreState state) {
+        List<Long> generation = List.of(state.randomId());
+        int found = 0;
+        for (int depth = 0; depth < 3 && !generation.isEmpty(); depth++) {
+            List<Long> next = new ArrayList<>();
+            for (List<PersonDTO> children : state.personService.findChildren(generation).values()) {
+                for (PersonDTO child : children) {
+                    next.add(child.getId());
+                }
+            }
+            found += next.size();
+            generation = next;
+        }
+        return found;
+    }
+}
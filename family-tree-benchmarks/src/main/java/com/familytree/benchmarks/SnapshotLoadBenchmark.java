@@ -0,0 +1,138 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.dto.SnapshotDTO;
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.snapshot.PersonSnapshot;
+import com.familytree.familytree.snapshot.PersonSnapshotService;
+import com.familytree.familytree.snapshot.SnapshotProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of getting the person graph into memory at startup: scanning
+ * {@code PersonRepository.findAll()} and building a children index, against mapping a
+ * person snapshot whose children index is already built, and writing that snapshot.
+ * <p>
+ * Run with
+ * {@code mvn -f family-tree-benchmarks/pom.xml exec:exec -Djmh.args="SnapshotLoadBenchmark -p people=1000000"}.
+ * Each invocation is timed on its own. The snapshot file stays in the page cache between
+ * invocations, so {@code mapSnapshot} shows a warm restart; after a reboot the first
+ * touch of each page reads it from disk.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SnapshotLoadBenchmark {
+
+    /**
+     * The application with a populated database and a snapshot of it.
+     */
+    @State(Scope.Benchmark)
+    public static class SnapshotState {
+
+        /**
+         * The number of persons loaded before measuring.
+         */
+        @Param("10000")
+        public int people;
+
+        private Path directory;
+        private ConfigurableApplicationContext context;
+        private PersonRepository personRepository;
+        private PersonSnapshotService snapshotService;
+        private Path file;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            directory = Files.createTempDirectory("familytree-snapshot");
+            context = BenchmarkApplication.start();
+            DataSource dataSource = context.getBean(DataSource.class);
+            JdbcTreeWriter.load(new SyntheticFamilyTree(people, 42), dataSource);
+            personRepository = context.getBean(PersonRepository.class);
+            SnapshotProperties properties = new SnapshotProperties();
+            properties.setFile(directory.resolve("familytree.snapshot"));
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setFetchSize(1_000);
+            snapshotService = new PersonSnapshotService(jdbcTemplate, properties);
+            snapshotService.write();
+            file = properties.getFile();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            context.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Loads every person entity and indexes the children of each person by ID.
+     */
+    @Benchmark
+    public Map<Long, List<Long>> scanRepository(SnapshotState state) {
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Person person : state.personRepository.findAll()) {
+            for (Person parent : new Person[]{person.getParent(), person.getMother(), person.getFather()}) {
+                if (parent != null) {
+                    List<Long> siblings = children.computeIfAbsent(parent.getId(), id -> new ArrayList<>());
+                    if (!siblings.contains(person.getId())) {
+                        siblings.add(person.getId());
+                    }
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Maps the snapshot and walks its children index once.
+     */
+    @Benchmark
+    public long mapSnapshot(SnapshotState state) throws IOException {
+        PersonSnapshot snapshot = PersonSnapshot.open(state.file);
+        long links = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            links += snapshot.childCount(row);
+        }
+        return links;
+    }
+
+    /**
+     * Streams the persons table into a new snapshot file.
+     */
+    @Benchmark
+    public SnapshotDTO writeSnapshot(SnapshotState state) {
+        return state.snapshotService.write();
+    }
+}
@@ -0,0 +1,19 @@
+package com.familytree.benchmarks;
+
+import java.time.LocalDate;
+
+/**
+ * One generated marriage and the children born to it.
+ *
+ * @param id the family ID
+ * @param husbandId the husband ID, or {@code null} if he is not part of the output
+ * @param wifeId the wife ID, or {@code null} if she is not part of the output
+ * @param marriedDate the wedding date
+ * @param divorcedDate the divorce date, or {@code null}
+ * @param childIds the children, in order of birth
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public record SyntheticFamily(long id, Long husbandId, Long wifeId, LocalDate marriedDate, LocalDate divorcedDate,
+                              long[] childIds) {
+}
@@ -0,0 +1,523 @@
+package com.familytree.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of a realistic multi-generation population.
+ * <p>
+ * The population starts from founders born around 1700 and grows generation by
+ * generation until it reaches the requested size:
+ * </p>
+ * <ul>
+ *   <li>Most adults marry, either another member of the tree from a different family or
+ *       a spouse from outside it. Divorce becomes possible from 1950, and widowed or
+ *       divorced men often remarry and have further children.</li>
+ *   <li>Family sizes vary widely around a mean that keeps the population growing slowly.
+ *       Children are born within their mother's fertile years, during the marriage, and
+ *       never after the reference date.</li>
+ *   <li>Death dates follow era-dependent child mortality and adult life expectancy, so
+ *       recent generations are mostly alive on the reference date.</li>
+ *   <li>Children take their father's surname and are usually born where their parents
+ *       live.</li>
+ * </ul>
+ * <p>
+ * When the tree runs out of couples able to have children before the target size is
+ * reached, new founders born in the twentieth century join it. The same size, seed and
+ * reference date always produce the same output, with person IDs {@code 1..people}; the
+ * reference date is fixed unless given, so the output does not change from day to day.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class SyntheticFamilyTree {
+
+    private static final int FIRST_BIRTH_YEAR = 1700;
+    private static final int LATE_FOUNDER_BIRTH_YEAR = 1930;
+    private static final double GROWTH_PER_GENERATION = 1.15;
+
+    /**
+     * The date the population is generated as of, unless another one is given.
+     */
+    public static final LocalDate DEFAULT_REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+    static final String[] MALE_NAMES = {
+            "James", "John", "William", "Thomas", "George", "Henry", "Charles", "Joseph", "Edward", "Robert",
+            "Arthur", "Frederick", "Albert", "Walter", "Samuel", "Richard", "David", "Peter", "Daniel", "Michael",
+            "Alfred", "Harold", "Ernest", "Francis", "Frank", "Hugh", "Isaac", "Jacob", "Lewis", "Matthew"};
+    static final String[] FEMALE_NAMES = {
+            "Mary", "Elizabeth", "Sarah", "Anne", "Margaret", "Jane", "Emma", "Alice", "Catherine", "Ellen",
+            "Harriet", "Martha", "Florence", "Edith", "Ada", "Clara", "Dorothy", "Eleanor", "Grace", "Hannah",
+            "Ivy", "Julia", "Lucy", "Maud", "Nora", "Rose", "Ruth", "Susan", "Violet", "Winifred"};
+    private static final String[] SURNAME_SYLLABLES = {
+            "ash", "brad", "brook", "car", "dale", "den", "field", "ford", "gar", "ham", "hart", "hol", "kings",
+            "lan", "ley", "mar", "mor", "ton", "ridge", "shaw", "stan", "well", "win", "wood"};
+    static final String[] PLACES = {
+            "York", "Leeds", "Bristol", "Norwich", "Exeter", "Chester", "Bath", "Durham", "Lincoln", "Derby",
+            "Boston", "Salem", "Halifax", "Quebec", "Dublin", "Cork", "Glasgow", "Perth", "Adelaide", "Auckland"};
+    private static final String[] EARLY_OCCUPATIONS = {
+            "Farmer", "Labourer", "Weaver", "Blacksmith", "Carpenter", "Servant", "Miner", "Sailor", "Seamstress",
+            "Merchant", "Baker", "Tailor", "Mason"};
+    private static final String[] MODERN_OCCUPATIONS = {
+            "Teacher", "Clerk", "Engineer", "Nurse", "Doctor", "Shopkeeper", "Electrician", "Accountant", "Driver",
+            "Programmer", "Mechanic", "Designer", "Farmer"};
+    private static final String[] STREETS = {
+            "High Street", "Church Lane", "Mill Road", "Station Road", "Park Avenue", "Victoria Street"};
+
+    private final int people;
+    private final long seed;
+    private final LocalDate referenceDate;
+    private final String[] surnames;
+
+    /**
+     * Creates a generator as of {@link #DEFAULT_REFERENCE_DATE}.
+     *
+     * @param people the number of persons to generate
+     * @param seed the random seed
+     */
+    public SyntheticFamilyTree(int people, long seed) {
+        this(people, seed, DEFAULT_REFERENCE_DATE);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param people the number of persons to generate
+     * @param seed the random seed
+     * @param referenceDate the date the population is generated as of: nobody is born,
+     *                      marries or dies after it
+     */
+    public SyntheticFamilyTree(int people, long seed, LocalDate referenceDate) {
+        if (people < 2) {
+            throw new IllegalArgumentException("At least 2 people are required");
+        }
+        this.people = people;
+        this.seed = seed;
+        this.referenceDate = referenceDate;
+        this.surnames = surnames(Math.max(50, people / 40));
+    }
+
+    /**
+     * Returns the number of persons this generator produces.
+     *
+     * @return the population size
+     */
+    public int people() {
+        return people;
+    }
+
+    /**
+     * Returns every last name that can occur in the population.
+     *
+     * @return the surname pool
+     */
+    public List<String> surnames() {
+        return List.of(surnames);
+    }
+
+    /**
+     * Generates the population.
+     *
+     * @param sink receives the generated persons and families
+     */
+    public void generate(SyntheticTreeSink sink) {
+        new Run(sink).execute();
+    }
+
+    /**
+     * A person while its generation is being built. IDs are assigned once the whole
+     * generation, including spouses from outside the tree, is known. Parents are held by
+     * ID only, so earlier generations can be collected while a large tree is generated.
+     */
+    private static final class Draft {
+        long id;
+        boolean tree;
+        boolean male;
+        String firstName;
+        String lastName;
+        LocalDate born;
+        LocalDate died;
+        String place;
+        Long motherId;
+        Long fatherId;
+        long parentFamilyId;
+        Draft spouse;
+        final List<Couple> marriages = new ArrayList<>(1);
+        List<Draft> outsiders = List.of();
+    }
+
+    /**
+     * A marriage while its children are being generated.
+     */
+    private static final class Couple {
+        long id;
+        Draft husband;
+        Draft wife;
+        LocalDate married;
+        LocalDate divorced;
+        final List<Draft> children = new ArrayList<>();
+
+        /**
+         * Returns the date the marriage ended through death or divorce, or {@code null}.
+         */
+        LocalDate ended() {
+            LocalDate end = divorced;
+            for (LocalDate died : new LocalDate[]{husband.died, wife.died}) {
+                if (died != null && (end == null || died.isBefore(end))) {
+                    end = died;
+                }
+            }
+            return end;
+        }
+    }
+
+    /**
+     * The state of one generation run.
+     */
+    private final class Run {
+
+        private final SyntheticTreeSink sink;
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private long nextPersonId = 1;
+        private long nextFamilyId = 1;
+
+        Run(SyntheticTreeSink sink) {
+            this.sink = sink;
+        }
+
+        void execute() {
+            List<Couple> couples = List.of();
+            int treeSize = Math.max(2, people / 30);
+            boolean firstFounders = true;
+            while (nextPersonId <= people) {
+                List<Draft> generation = couples.isEmpty() ? List.of() : children(couples, treeSize);
+                if (generation.isEmpty()) {
+                    generation = founders(treeSize, firstFounders ? FIRST_BIRTH_YEAR : LATE_FOUNDER_BIRTH_YEAR);
+                    firstFounders = false;
+                }
+                treeSize = generation.size();
+                List<Couple> formed = new ArrayList<>();
+                List<Draft> ordered = marry(generation, formed);
+                emit(ordered, formed);
+                emitFamilies(couples);
+                couples = formed;
+            }
+            emitFamilies(couples);
+        }
+
+        private List<Draft> founders(int count, int baseYear) {
+            List<Draft> founders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Draft draft = new Draft();
+                draft.tree = true;
+                draft.male = i % 2 == 0;
+                draft.lastName = pick(surnames);
+                draft.born = randomDate(baseYear + random.nextInt(60));
+                draft.died = death(draft.born, true);
+                draft.place = pick(PLACES);
+                draft.firstName = firstName(draft.male);
+                founders.add(draft);
+            }
+            return founders;
+        }
+
+        private List<Draft> children(List<Couple> couples, int previousSize) {
+            double mean = previousSize * GROWTH_PER_GENERATION / couples.size();
+            List<Draft> children = new ArrayList<>();
+            for (Couple couple : couples) {
+                Draft mother = couple.wife;
+                Draft father = couple.husband;
+                LocalDate last = min(couple.ended(), mother.born.plusYears(44), referenceDate);
+                // Some couples stay childless, some have very large families
+                int wanted = poisson(mean * (0.2 + 1.6 * random.nextDouble()));
+                LocalDate born = couple.married.plusDays(280 + random.nextInt(500));
+                for (int k = 0; k < wanted && !born.isAfter(last); k++) {
+                    Draft child = new Draft();
+                    child.tree = true;
+                    child.male = random.nextBoolean();
+                    child.firstName = firstName(child.male);
+                    child.lastName = father.lastName;
+                    child.born = born;
+                    child.died = death(born, true);
+                    child.place = random.nextInt(10) < 8 ? father.place : pick(PLACES);
+                    child.motherId = mother.id;
+                    child.fatherId = father.id;
+                    child.parentFamilyId = couple.id;
+                    couple.children.add(child);
+                    children.add(child);
+                    born = born.plusDays(330 + random.nextInt(1100));
+                }
+            }
+            return children;
+        }
+
+        /**
+         * Marries the adults of a generation, adds spouses from outside the tree and
+         * returns the generation in emission order: every tree member followed by the
+         * outsiders who married them or their spouse.
+         */
+        private List<Draft> marry(List<Draft> generation, List<Couple> formed) {
+            List<Draft> men = new ArrayList<>();
+            List<Draft> women = new ArrayList<>();
+            for (Draft draft : generation) {
+                if (adultAt(draft, 18) && random.nextInt(100) < 85) {
+                    (draft.male ? men : women).add(draft);
+                }
+            }
+            shuffle(men);
+            shuffle(women);
+            // About a third of the marriages join two families of the tree
+            int withinTree = Math.min(men.size(), women.size()) / 3;
+            for (int i = 0; i < withinTree; i++) {
+                Draft man = men.get(i);
+                Draft woman = women.get(i);
+                boolean siblings = man.parentFamilyId != 0 && man.parentFamilyId == woman.parentFamilyId;
+                if (!siblings && wed(man, woman, null, formed)) {
+                    men.set(i, null);
+                    women.set(i, null);
+                }
+            }
+            for (List<Draft> unmarried : List.of(men, women)) {
+                for (Draft draft : unmarried) {
+                    if (draft != null) {
+                        Draft outsider = outsider(draft, draft.born.plusDays(random.nextInt(-6 * 365, 6 * 365)));
+                        if (wed(draft, outsider, null, formed)) {
+                            attach(draft, outsider);
+                        }
+                    }
+                }
+            }
+            int firstMarriages = formed.size();
+            for (int i = 0; i < firstMarriages; i++) {
+                remarry(formed.get(i), formed);
+            }
+            List<Draft> ordered = new ArrayList<>(generation.size() * 3 / 2);
+            for (Draft draft : generation) {
+                ordered.add(draft);
+                ordered.addAll(draft.outsiders);
+            }
+            return ordered;
+        }
+
+        /**
+         * Records a marriage if both partners are alive on the wedding day and the day is
+         * not in the future. A {@code null} date picks one in the couple's twenties.
+         */
+        private boolean wed(Draft first, Draft second, LocalDate married, List<Couple> formed) {
+            Couple couple = new Couple();
+            couple.husband = first.male ? first : second;
+            couple.wife = first.male ? second : first;
+            couple.married = married != null ? married
+                    : randomDate(max(couple.husband.born, couple.wife.born).getYear() + 19 + random.nextInt(12));
+            if (couple.married.isAfter(referenceDate) || !aliveOn(couple.husband, couple.married)
+                    || !aliveOn(couple.wife, couple.married)) {
+                return false;
+            }
+            if (couple.married.getYear() >= 1950 && random.nextInt(100) < 20) {
+                LocalDate divorced = couple.married.plusYears(3 + random.nextInt(18));
+                LocalDate death = couple.ended();
+                if (divorced.isBefore(referenceDate) && (death == null || divorced.isBefore(death))) {
+                    couple.divorced = divorced;
+                }
+            }
+            couple.husband.marriages.add(couple);
+            couple.wife.marriages.add(couple);
+            couple.husband.spouse = couple.divorced == null ? couple.wife : null;
+            couple.wife.spouse = couple.divorced == null ? couple.husband : null;
+            formed.add(couple);
+            return true;
+        }
+
+        /**
+         * Gives a man whose first marriage ended before he turned 55 a chance to marry
+         * again. The first wife no longer counts as his spouse.
+         */
+        private void remarry(Couple couple, List<Couple> formed) {
+            Draft husband = couple.husband;
+            LocalDate ended = couple.ended();
+            if (ended == null || !aliveOn(husband, ended) || ended.isAfter(husband.born.plusYears(55))
+                    || random.nextInt(100) >= 60) {
+                return;
+            }
+            Draft wife = outsider(husband, husband.born.plusDays(random.nextInt(10 * 365)));
+            if (wed(husband, wife, ended.plusDays(365 + random.nextInt(3 * 365)), formed)) {
+                if (couple.wife.spouse == husband) {
+                    couple.wife.spouse = null;
+                }
+                attach(husband.tree ? husband : couple.wife, wife);
+            }
+        }
+
+        private Draft outsider(Draft partner, LocalDate born) {
+            Draft outsider = new Draft();
+            outsider.male = !partner.male;
+            outsider.firstName = firstName(outsider.male);
+            outsider.lastName = outsider.male ? pick(surnames) : partner.lastName;
+            outsider.born = born;
+            outsider.died = death(born, false);
+            outsider.place = random.nextBoolean() ? partner.place : pick(PLACES);
+            return outsider;
+        }
+
+        private void attach(Draft member, Draft outsider) {
+            if (member.outsiders.isEmpty()) {
+                member.outsiders = new ArrayList<>(2);
+            }
+            member.outsiders.add(outsider);
+        }
+
+        /**
+         * Assigns IDs in emission order, stopping at the requested population size, and
+         * hands the persons of one generation to the sink.
+         */
+        private void emit(List<Draft> ordered, List<Couple> formed) {
+            for (Draft draft : ordered) {
+                if (nextPersonId > people) {
+                    break;
+                }
+                draft.id = nextPersonId++;
+            }
+            for (Couple couple : formed) {
+                if (couple.husband.id != 0 || couple.wife.id != 0) {
+                    couple.id = nextFamilyId++;
+                }
+            }
+            for (Draft draft : ordered) {
+                if (draft.id == 0) {
+                    break;
+                }
+                sink.person(toPerson(draft));
+            }
+        }
+
+        private SyntheticPerson toPerson(Draft draft) {
+            LocalDate lastSeen = draft.died != null ? draft.died : referenceDate;
+            boolean working = !draft.born.plusYears(16).isAfter(lastSeen);
+            String occupation = working && random.nextInt(100) < 85
+                    ? pick(draft.born.getYear() < 1900 ? EARLY_OCCUPATIONS : MODERN_OCCUPATIONS) : null;
+            String lifeStory = switch (random.nextInt(20)) {
+                case 0 -> "Moved from " + draft.place + " to " + pick(PLACES) + " in "
+                        + (draft.born.getYear() + 20 + random.nextInt(20)) + ".";
+                case 1 -> "Worked as " + (occupation != null ? occupation.toLowerCase() : "a labourer")
+                        + " for most of their life.";
+                default -> null;
+            };
+            String address = draft.died == null
+                    ? (1 + random.nextInt(200)) + " " + pick(STREETS) + ", " + draft.place : null;
+            long[] spouseFamilies = draft.marriages.stream().mapToLong(couple -> couple.id)
+                    .filter(id -> id != 0).toArray();
+            return new SyntheticPerson(draft.id, draft.firstName, draft.lastName, occupation, lifeStory,
+                    draft.born, draft.died, draft.place, address, draft.motherId, draft.fatherId,
+                    idOf(draft.spouse), draft.male, draft.parentFamilyId != 0 ? draft.parentFamilyId : null,
+                    spouseFamilies);
+        }
+
+        private void emitFamilies(List<Couple> couples) {
+            for (Couple couple : couples) {
+                if (couple.id != 0) {
+                    long[] children = couple.children.stream().mapToLong(child -> child.id)
+                            .filter(id -> id != 0).toArray();
+                    sink.family(new SyntheticFamily(couple.id, idOf(couple.husband), idOf(couple.wife),
+                            couple.married, couple.divorced, children));
+                }
+            }
+        }
+
+        private LocalDate death(LocalDate born, boolean childMortality) {
+            int year = born.getYear();
+            int childDeaths = year < 1850 ? 25 : year < 1900 ? 15 : year < 1950 ? 5 : 1;
+            LocalDate died;
+            if (childMortality && random.nextInt(100) < childDeaths) {
+                died = born.plusDays(random.nextInt(5 * 365));
+            } else {
+                int expectancy = year < 1850 ? 62 : year < 1900 ? 68 : year < 1950 ? 75 : 80;
+                // Sum of uniforms approximates a normal distribution with a standard deviation of 12 years
+                double age = expectancy + (random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5) * 24;
+                age = Math.max(18, Math.min(104, age));
+                died = born.plusDays((long) (age * 365.25));
+            }
+            return died.isAfter(referenceDate) ? null : died;
+        }
+
+        private boolean adultAt(Draft draft, int age) {
+            LocalDate adult = draft.born.plusYears(age);
+            return !adult.isAfter(referenceDate) && aliveOn(draft, adult);
+        }
+
+        private String firstName(boolean male) {
+            return pick(male ? MALE_NAMES : FEMALE_NAMES);
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private LocalDate randomDate(int year) {
+            return LocalDate.ofYearDay(year, 1 + random.nextInt(365));
+        }
+
+        private int poisson(double mean) {
+            double limit = Math.exp(-mean);
+            double product = random.nextDouble();
+            int count = 0;
+            while (product > limit) {
+                product *= random.nextDouble();
+                count++;
+            }
+            return count;
+        }
+
+        private <T> void shuffle(List<T> list) {
+            for (int i = list.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                T swap = list.get(i);
+                list.set(i, list.get(j));
+                list.set(j, swap);
+            }
+        }
+    }
+
+    private static Long idOf(Draft draft) {
+        return draft != null && draft.id != 0 ? draft.id : null;
+    }
+
+    private static boolean aliveOn(Draft draft, LocalDate date) {
+        return draft.died == null || draft.died.isAfter(date);
+    }
+
+    private static LocalDate min(LocalDate... dates) {
+        LocalDate result = null;
+        for (LocalDate date : dates) {
+            if (date != null && (result == null || date.isBefore(result))) {
+                result = date;
+            }
+        }
+        return result;
+    }
+
+    private static LocalDate max(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static String[] surnames(int count) {
+        String[] result = new String[count];
+        int n = SURNAME_SYLLABLES.length;
+        for (int i = 0; i < count; i++) {
+            // Spell i in base n with at least two syllables, so every surname is distinct
+            StringBuilder name = new StringBuilder();
+            int value = i;
+            int syllables = 0;
+            do {
+                name.append(SURNAME_SYLLABLES[value % n]);
+                value /= n;
+                syllables++;
+            } while (value > 0 || syllables < 2);
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            result[i] = name.toString();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.familytree.benchmarks;
+
+import java.time.LocalDate;
+
+/**
+ * One generated person: a row of the {@code persons} table plus the sex and family links
+ * that genealogy formats need.
+ *
+ * @param id the person ID
+ * @param firstName the first name
+ * @param lastName the last name
+ * @param occupation the occupation, or {@code null}
+ * @param lifeStory the life story, or {@code null}
+ * @param bornDate the birth date
+ * @param diedDate the death date, or {@code null} if still alive
+ * @param birthPlace the birth place
+ * @param currentlyLivesAtAddress the current address, or {@code null} if deceased
+ * @param motherId the mother ID, or {@code null} if the parents are not in the tree
+ * @param fatherId the father ID, or {@code null} if the parents are not in the tree
+ * @param spouseId the current spouse ID, or {@code null}
+ * @param male whether the person is male
+ * @param parentFamilyId the family the person was born into, or {@code null}
+ * @param spouseFamilyIds the families the person married into, in order of marriage
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public record SyntheticPerson(long id, String firstName, String lastName, String occupation, String lifeStory,
+                              LocalDate bornDate, LocalDate diedDate, String birthPlace,
+                              String currentlyLivesAtAddress, Long motherId, Long fatherId, Long spouseId,
+                              boolean male, Long parentFamilyId, long[] spouseFamilyIds) {
+}
@@ -0,0 +1,29 @@
+package com.familytree.benchmarks;
+
+/**
+ * Receives the output of a {@link SyntheticFamilyTree}.
+ * <p>
+ * Persons arrive in ID order, parents before their children. A family arrives once all
+ * of its children have been generated, which is after its members.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public interface SyntheticTreeSink {
+
+    /**
+     * Accepts a generated person.
+     *
+     * @param person the person
+     */
+    void person(SyntheticPerson person);
+
+    /**
+     * Accepts a generated family. Sinks that only store persons ignore families.
+     *
+     * @param family the family
+     */
+    default void family(SyntheticFamily family) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.familytree.benchmarks;
+
+import com.familytree.familytree.FamilyTreeApplication;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads a generated population into the application's database and uses it through the
+ * repository and service.
+ */
+@SpringBootTest(classes = FamilyTreeApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.show-sql=false")
+class JdbcTreeWriterIntegrationTest {
+
+    private static final int PEOPLE = 100_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void load_PopulatesRepository() {
+        SyntheticFamilyTree tree = new SyntheticFamilyTree(PEOPLE, 42);
+        JdbcTreeWriter.load(tree, dataSource);
+
+        assertEquals(PEOPLE, personRepository.count());
+        assertFalse(personRepository.findByLastName(tree.surnames().get(0)).isEmpty());
+        Map<Long, Long> mothers = new HashMap<>();
+        tree.generate(generated -> {
+            if (generated.motherId() != null) {
+                mothers.put(generated.id(), generated.motherId());
+            }
+        });
+        long child = mothers.keySet().stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertEquals(mothers.get(child), personService.getPerson(child).getMotherId());
+
+        PersonDTO created = personService.createNewPerson(PersonDTO.builder()
+                .firstName("After").lastName("Load").build());
+        assertEquals(PEOPLE + 1L, created.getId());
+    }
+}
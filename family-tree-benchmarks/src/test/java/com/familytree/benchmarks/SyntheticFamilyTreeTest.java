@@ -0,0 +1,120 @@
+package com.familytree.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SyntheticFamilyTree} and its file writers.
+ */
+class SyntheticFamilyTreeTest {
+
+    private static final int PEOPLE = 20_000;
+
+    @Test
+    void generate_SameSeed_ProducesSameOutput() throws Exception {
+        assertArrayEquals(ndjson(PEOPLE, 7), ndjson(PEOPLE, 7));
+        assertFalse(Arrays.equals(ndjson(PEOPLE, 7), ndjson(PEOPLE, 8)));
+    }
+
+    @Test
+    void generate_DefaultsToFixedReferenceDate() throws Exception {
+        byte[] later = ndjson(new SyntheticFamilyTree(PEOPLE, 7, LocalDate.of(2040, 1, 1)));
+
+        assertArrayEquals(ndjson(new SyntheticFamilyTree(PEOPLE, 7, SyntheticFamilyTree.DEFAULT_REFERENCE_DATE)),
+                ndjson(PEOPLE, 7));
+        assertFalse(Arrays.equals(later, ndjson(PEOPLE, 7)));
+    }
+
+    @Test
+    void generate_ProducesConsistentPopulation() {
+        Map<Long, SyntheticPerson> persons = new HashMap<>();
+        List<SyntheticFamily> families = new ArrayList<>();
+        new SyntheticFamilyTree(PEOPLE, 42).generate(new SyntheticTreeSink() {
+            @Override
+            public void person(SyntheticPerson person) {
+                assertEquals(persons.size() + 1, person.id(), "IDs are contiguous and in order");
+                persons.put(person.id(), person);
+            }
+
+            @Override
+            public void family(SyntheticFamily family) {
+                families.add(family);
+            }
+        });
+        assertEquals(PEOPLE, persons.size());
+
+        Set<Long> spouseIds = new HashSet<>();
+        for (SyntheticPerson person : persons.values()) {
+            if (person.diedDate() != null) {
+                assertFalse(person.diedDate().isBefore(person.bornDate()));
+            }
+            if (person.motherId() != null) {
+                SyntheticPerson mother = persons.get(person.motherId());
+                SyntheticPerson father = persons.get(person.fatherId());
+                assertTrue(mother.id() < person.id() && father.id() < person.id(), "parents come first");
+                assertFalse(mother.male());
+                assertTrue(father.male());
+                assertTrue(person.bornDate().isAfter(mother.bornDate().plusYears(15)));
+                assertTrue(mother.diedDate() == null || !person.bornDate().isAfter(mother.diedDate()));
+            }
+            if (person.spouseId() != null) {
+                assertTrue(spouseIds.add(person.spouseId()), "a person is the spouse of at most one other");
+                assertEquals(person.id(), persons.get(person.spouseId()).spouseId());
+            }
+        }
+
+        long remarried = persons.values().stream().filter(p -> p.spouseFamilyIds().length > 1).count();
+        long divorced = families.stream().filter(f -> f.divorcedDate() != null).count();
+        long living = persons.values().stream().filter(p -> p.diedDate() == null).count();
+        long largeFamilies = families.stream().filter(f -> f.childIds().length >= 6).count();
+        long childless = families.stream().filter(f -> f.childIds().length == 0).count();
+        assertTrue(remarried > 0 && divorced > 0 && largeFamilies > 0 && childless > 0);
+        assertTrue(living > PEOPLE / 20, "recent generations are mostly alive");
+        assertTrue(persons.values().stream().anyMatch(p -> p.bornDate().isAfter(LocalDate.of(1980, 1, 1))));
+
+        for (SyntheticFamily family : families) {
+            for (long childId : family.childIds()) {
+                assertEquals(family.id(), persons.get(childId).parentFamilyId());
+            }
+        }
+    }
+
+    @Test
+    void gedcomWriter_WritesLinkedRecords() throws Exception {
+        StringWriter output = new StringWriter();
+        try (GedcomTreeWriter writer = new GedcomTreeWriter(output)) {
+            new SyntheticFamilyTree(1_000, 1).generate(writer);
+        }
+        String gedcom = output.toString();
+        assertTrue(gedcom.startsWith("0 HEAD\n"));
+        assertTrue(gedcom.endsWith("0 TRLR\n"));
+        assertTrue(gedcom.contains("0 @I1000@ INDI\n"));
+        assertFalse(gedcom.contains("0 @I1001@ INDI\n"));
+        assertTrue(gedcom.contains("1 FAMC @F"));
+        assertTrue(gedcom.contains("@ FAM\n1 HUSB @I"));
+    }
+
+    private static byte[] ndjson(int people, long seed) throws Exception {
+        return ndjson(new SyntheticFamilyTree(people, seed));
+    }
+
+    private static byte[] ndjson(SyntheticFamilyTree tree) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (NdjsonTreeWriter writer = new NdjsonTreeWriter(output)) {
+            tree.generate(writer);
+        }
+        return output.toByteArray();
+    }
+}
@@ -1,9 +1,12 @@
 package com.familytree.familytree;
 
+import com.familytree.familytree.config.FamilyTreeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(FamilyTreeRuntimeHints.class)
 public class FamilyTreeApplication {
     public static void main(String[] args) {
         SpringApplication.run(FamilyTreeApplication.class, args);
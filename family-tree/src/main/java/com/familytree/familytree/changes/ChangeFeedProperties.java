@@ -0,0 +1,43 @@
+package com.familytree.familytree.changes;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the person change feed, bound from {@code familytree.changes}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.changes")
+public class ChangeFeedProperties {
+
+    /**
+     * The maximum number of changes returned by one poll.
+     */
+    private int pageSize = 500;
+
+    /**
+     * How long a poll without new changes waits by default; should stay below the
+     * timeout of proxies between the clients and the application.
+     */
+    private Duration longPollTimeout = Duration.ofSeconds(25);
+
+    /**
+     * The longest wait a client can ask a poll for.
+     */
+    private Duration maxLongPollTimeout = Duration.ofSeconds(60);
+
+    /**
+     * How long an event stream stays open; clients reconnect with {@code Last-Event-ID}.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * The largest neighbourhood depth a person watch can ask for.
+     */
+    private int maxWatchDepth = 5;
+}
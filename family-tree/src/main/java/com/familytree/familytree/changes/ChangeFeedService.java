@@ -0,0 +1,382 @@
+package com.familytree.familytree.changes;
+
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.repository.PersonChangeLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Records every person change in the change log and serves it to pollers and subscribers.
+ * <p>
+ * The changes published by a transaction are collected and appended just before it
+ * commits, in the same transaction. Committing transactions take turns from that point
+ * until their commit completes, so sequence numbers become visible in increasing order
+ * and a reader that has seen a sequence number never later finds a smaller one. Turns
+ * are taken within one application instance; instances sharing a database do not
+ * coordinate.
+ * </p>
+ * <p>
+ * Long polls and event streams are served from a single dispatcher thread that reads each
+ * committed change once and hands it to everyone waiting for it.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class ChangeFeedService implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    /**
+     * A registration for pushed changes.
+     */
+    public interface Subscription {
+
+        /**
+         * Stops delivering changes.
+         */
+        void cancel();
+    }
+
+    private final PersonChangeLog changeLog;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ChangeFeedProperties properties;
+
+    private final ReentrantLock commitOrder = new ReentrantLock(true);
+
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("change-feed").daemon().factory());
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private volatile long lastSequence;
+
+    private volatile int subscriberCount;
+
+    private long dispatchedSequence;
+
+    /**
+     * Constructs a new ChangeFeedService.
+     *
+     * @param changeLog the change log
+     * @param entityManagerFactory the factory whose transactional entity manager is flushed
+     *                             before the log is appended to
+     * @param properties the feed settings
+     */
+    public ChangeFeedService(PersonChangeLog changeLog, EntityManagerFactory entityManagerFactory,
+                             ChangeFeedProperties properties) {
+        this.changeLog = changeLog;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+        this.lastSequence = changeLog.lastSequence();
+        this.dispatchedSequence = lastSequence;
+    }
+
+    /**
+     * Collects a change for the change log of the current transaction, or appends it at
+     * once outside of a transaction.
+     *
+     * @param event the change event
+     */
+    @EventListener
+    public void onPersonChange(PersonChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitOrder.lock();
+            try {
+                lastSequence = changeLog.append(List.of(event), Instant.now());
+            } finally {
+                commitOrder.unlock();
+            }
+            scheduleDispatch();
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /**
+     * Reads the committed changes after a sequence number.
+     *
+     * @param since the sequence number to read after
+     * @param limit the maximum number of changes, capped by the page size
+     * @return the changes, oldest first
+     */
+    public List<PersonChangeDTO> getChanges(long since, int limit) {
+        return changeLog.findSince(since, Math.min(limit, properties.getPageSize()));
+    }
+
+    /**
+     * Reads the committed changes after a sequence number, waiting for the next commit if
+     * there are none yet.
+     *
+     * @param since the sequence number to read after
+     * @param limit the maximum number of changes, capped by the page size
+     * @param timeout how long to wait, capped by the maximum long poll timeout
+     * @return the changes, or an empty list if none were committed within the timeout
+     */
+    public CompletableFuture<List<PersonChangeDTO>> awaitChanges(long since, int limit, Duration timeout) {
+        int cappedLimit = Math.min(limit, properties.getPageSize());
+        List<PersonChangeDTO> changes = changeLog.findSince(since, cappedLimit);
+        if (!changes.isEmpty() || timeout.isZero() || timeout.isNegative()) {
+            return CompletableFuture.completedFuture(changes);
+        }
+        Duration wait = timeout.compareTo(properties.getMaxLongPollTimeout()) > 0
+                ? properties.getMaxLongPollTimeout()
+                : timeout;
+        CompletableFuture<List<PersonChangeDTO>> result = new CompletableFuture<>();
+        result.completeOnTimeout(List.of(), wait.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.execute(() -> {
+            Waiter waiter = new Waiter(since, cappedLimit, result);
+            // A commit between the first read and now has already been dispatched
+            if (!waiter.completeIfAvailable(lastSequence)) {
+                waiters.add(waiter);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Delivers every committed change after a sequence number, then every change as it
+     * commits, in sequence order. Delivery stops when the listener throws.
+     *
+     * @param since the sequence number to deliver after
+     * @param listener receives the changes on the dispatcher thread
+     * @return the subscription
+     */
+    public Subscription subscribe(long since, Consumer<PersonChangeDTO> listener) {
+        Subscriber subscriber = new Subscriber(since, listener);
+        dispatcher.execute(() -> {
+            subscriber.catchUp();
+            if (!subscriber.cancelled) {
+                subscribers.add(subscriber);
+                subscriberCount = subscribers.size();
+            }
+        });
+        return subscriber;
+    }
+
+    /**
+     * Returns the sequence number of the last committed change.
+     *
+     * @return the sequence number, or 0 if nothing was logged
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     *
+     * @return the number of subscriptions
+     */
+    public int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+    }
+
+    private void scheduleDispatch() {
+        if (!dispatcher.isShutdown() && dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                dispatchScheduled.set(false);
+                dispatch();
+            });
+        }
+    }
+
+    /**
+     * Hands the changes committed since the last dispatch to waiters and subscribers.
+     */
+    private void dispatch() {
+        long last = lastSequence;
+        for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            if (waiter.result.isDone() || waiter.completeIfAvailable(last)) {
+                it.remove();
+            }
+        }
+        if (subscribers.isEmpty()) {
+            dispatchedSequence = last;
+        }
+        while (dispatchedSequence < last) {
+            List<PersonChangeDTO> page = changeLog.findSince(dispatchedSequence, properties.getPageSize());
+            if (page.isEmpty()) {
+                break;
+            }
+            for (PersonChangeDTO change : page) {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.deliver(change);
+                }
+            }
+            dispatchedSequence = page.get(page.size() - 1).getSequence();
+        }
+        subscribers.removeIf(subscriber -> subscriber.cancelled);
+        subscriberCount = subscribers.size();
+    }
+
+    /**
+     * Translates an exception of a flush the way the transaction manager translates
+     * exceptions of a commit, so a constraint violation still surfaces as a
+     * {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    private RuntimeException translate(RuntimeException e) {
+        DataAccessException translated = entityManagerFactory instanceof EntityManagerFactoryInfo info
+                && info.getJpaDialect() != null
+                ? info.getJpaDialect().translateExceptionIfPossible(e)
+                : EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+        return translated != null ? translated : e;
+    }
+
+    /**
+     * The changes published by one transaction, appended before it commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<PersonChangeEvent> events = new ArrayList<>();
+
+        private long lastWritten;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Write the persons first, so no row locks are awaited while holding the turn
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            if (entityManager != null) {
+                try {
+                    entityManager.flush();
+                } catch (RuntimeException e) {
+                    throw translate(e);
+                }
+            }
+            commitOrder.lock();
+            lastWritten = changeLog.append(events, Instant.now());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeedService.this);
+            if (!commitOrder.isHeldByCurrentThread()) {
+                return;
+            }
+            try {
+                if (status == STATUS_COMMITTED) {
+                    lastSequence = lastWritten;
+                }
+            } finally {
+                commitOrder.unlock();
+            }
+            if (status == STATUS_COMMITTED) {
+                scheduleDispatch();
+            }
+        }
+    }
+
+    /**
+     * A long poll waiting for changes after a sequence number.
+     */
+    private final class Waiter {
+
+        private final long since;
+        private final int limit;
+        private final CompletableFuture<List<PersonChangeDTO>> result;
+
+        private Waiter(long since, int limit, CompletableFuture<List<PersonChangeDTO>> result) {
+            this.since = since;
+            this.limit = limit;
+            this.result = result;
+        }
+
+        private boolean completeIfAvailable(long last) {
+            if (last <= since) {
+                return false;
+            }
+            result.complete(changeLog.findSince(since, limit));
+            return true;
+        }
+    }
+
+    /**
+     * An event stream, with the sequence number of the last change delivered to it.
+     */
+    private final class Subscriber implements Subscription {
+
+        private final Consumer<PersonChangeDTO> listener;
+        private volatile boolean cancelled;
+        private long cursor;
+
+        private Subscriber(long since, Consumer<PersonChangeDTO> listener) {
+            this.cursor = since;
+            this.listener = listener;
+        }
+
+        private void catchUp() {
+            while (!cancelled && cursor < dispatchedSequence) {
+                List<PersonChangeDTO> page = changeLog.findSince(cursor, properties.getPageSize());
+                if (page.isEmpty()) {
+                    return;
+                }
+                for (PersonChangeDTO change : page) {
+                    if (change.getSequence() <= dispatchedSequence) {
+                        deliver(change);
+                    }
+                }
+                cursor = Math.max(cursor, Math.min(page.get(page.size() - 1).getSequence(), dispatchedSequence));
+            }
+        }
+
+        private void deliver(PersonChangeDTO change) {
+            if (cancelled || change.getSequence() <= cursor) {
+                return;
+            }
+            try {
+                listener.accept(change);
+                cursor = change.getSequence();
+            } catch (RuntimeException e) {
+                log.debug("Dropping change feed subscriber", e);
+                cancelled = true;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDispatch();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.familytree.familytree.changes;
+
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.exception.PersonNotFoundException;
+import com.familytree.familytree.store.PersonStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes the changes made within the neighbourhood of a person to watchers of that person.
+ * <p>
+ * The neighbourhood of depth N holds the persons reachable from the watched person over
+ * at most N mother, father, parent, child or spouse links. Watches are indexed by the
+ * persons in their neighbourhood, so a change is matched against the watches of the
+ * changed person and of its relatives only, however many watches are open. A change
+ * that adds or removes a link is delivered to the watches that contained either end
+ * before or after it, and those watches then recompute their neighbourhood.
+ * </p>
+ * <p>
+ * Changes are taken from the change feed, through one subscription that is open while
+ * any watch is, and are matched and delivered on a single thread that also owns the
+ * index.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class PersonWatchService implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonWatchService.class);
+
+    /**
+     * Receives the events of a watch on the watch thread. A listener that throws ends its
+     * watch.
+     */
+    public interface Listener {
+
+        /**
+         * Called with the IDs of the persons in the neighbourhood when the watch starts and
+         * whenever they change. An empty set means the watched person was deleted and the
+         * watch has ended.
+         *
+         * @param personIds the IDs, in ascending order
+         */
+        void onNeighbourhood(Set<Long> personIds);
+
+        /**
+         * Called with each committed change within the neighbourhood.
+         *
+         * @param change the change
+         */
+        void onChange(PersonChangeDTO change);
+    }
+
+    /**
+     * A registration for the changes within a neighbourhood.
+     */
+    public interface Watch {
+
+        /**
+         * Stops delivering changes.
+         */
+        void cancel();
+    }
+
+    private final ChangeFeedService changeFeedService;
+
+    private final PersonStore personStore;
+
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("person-watch").daemon().factory());
+
+    private final Map<Long, Set<PersonWatch>> watchesByMember = new HashMap<>();
+
+    private final Set<PersonWatch> watches = new LinkedHashSet<>();
+
+    private ChangeFeedService.Subscription feed;
+
+    private volatile int watchCount;
+
+    /**
+     * Constructs a new PersonWatchService.
+     *
+     * @param changeFeedService the change feed the changes are taken from
+     * @param personStore the store neighbourhoods are read from
+     */
+    public PersonWatchService(ChangeFeedService changeFeedService, PersonStore personStore) {
+        this.changeFeedService = changeFeedService;
+        this.personStore = personStore;
+    }
+
+    /**
+     * Starts watching the neighbourhood of a person.
+     *
+     * @param personId the ID of the watched person
+     * @param depth the depth of the neighbourhood; 0 watches the person alone
+     * @param listener receives the neighbourhood and the changes within it
+     * @return the watch
+     * @throws PersonNotFoundException if the person does not exist
+     */
+    public Watch watch(Long personId, int depth, Listener listener) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative: " + depth);
+        }
+        personStore.findById(personId)
+                .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
+        PersonWatch watch = new PersonWatch(personId, depth, listener);
+        dispatcher.execute(() -> {
+            if (watch.cancelled) {
+                return;
+            }
+            if (feed == null) {
+                // Changes committed before the neighbourhood is read are at worst delivered twice
+                feed = changeFeedService.subscribe(changeFeedService.getLastSequence(),
+                        change -> dispatcher.execute(() -> onChange(change)));
+            }
+            watches.add(watch);
+            watchCount = watches.size();
+            refresh(watch);
+        });
+        return watch;
+    }
+
+    /**
+     * Returns the number of open watches.
+     *
+     * @return the number of watches
+     */
+    public int getWatchCount() {
+        return watchCount;
+    }
+
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+        if (feed != null) {
+            feed.cancel();
+        }
+    }
+
+    /**
+     * Delivers a change to the watches it falls within; runs on the watch thread.
+     */
+    private void onChange(PersonChangeDTO change) {
+        Set<Long> touched = new LinkedHashSet<>();
+        touched.add(change.getPersonId());
+        touched.addAll(relativeIds(change.getBefore()));
+        touched.addAll(relativeIds(change.getAfter()));
+        touched.addAll(change.getRepointedIds());
+        Set<PersonWatch> candidates = new LinkedHashSet<>();
+        for (Long id : touched) {
+            candidates.addAll(watchesByMember.getOrDefault(id, Set.of()));
+        }
+        boolean relinked = changesLinks(change);
+        for (PersonWatch watch : candidates) {
+            if (watch.contains(change) && watch.deliver(change) && relinked) {
+                refresh(watch);
+            }
+        }
+        closeFeedIfIdle();
+    }
+
+    /**
+     * Recomputes the neighbourhood of a watch and reindexes it; runs on the watch thread.
+     */
+    private void refresh(PersonWatch watch) {
+        Map<Long, Integer> distances;
+        try {
+            distances = neighbourhood(watch.personId, watch.depth);
+        } catch (RuntimeException e) {
+            log.warn("Ending watch of person {}: neighbourhood could not be read", watch.personId, e);
+            remove(watch);
+            return;
+        }
+        if (distances.isEmpty()) {
+            remove(watch);
+            watch.distances = distances;
+            watch.notifyNeighbourhood();
+            return;
+        }
+        if (distances.equals(watch.distances)) {
+            return;
+        }
+        boolean membersChanged = !distances.keySet().equals(watch.distances.keySet());
+        for (Long id : watch.distances.keySet()) {
+            if (!distances.containsKey(id)) {
+                unindex(id, watch);
+            }
+        }
+        for (Long id : distances.keySet()) {
+            watchesByMember.computeIfAbsent(id, key -> new LinkedHashSet<>()).add(watch);
+        }
+        watch.distances = distances;
+        if (membersChanged && !watch.notifyNeighbourhood()) {
+            remove(watch);
+        }
+    }
+
+    /**
+     * Reads the persons within the given number of links of a person, with their distance.
+     */
+    private Map<Long, Integer> neighbourhood(Long personId, int depth) {
+        Map<Long, Integer> distances = new HashMap<>();
+        List<Person> frontier = personStore.findAllById(List.of(personId));
+        if (frontier.isEmpty()) {
+            return distances;
+        }
+        distances.put(personId, 0);
+        for (int distance = 1; distance <= depth && !frontier.isEmpty(); distance++) {
+            List<Long> frontierIds = new ArrayList<>(frontier.size());
+            Set<Long> next = new LinkedHashSet<>();
+            for (Person person : frontier) {
+                frontierIds.add(person.getId());
+                next.addAll(relativeIds(PersonState.of(person)));
+            }
+            for (Person child : personStore.findChildrenOfAny(frontierIds)) {
+                next.add(child.getId());
+            }
+            next.removeAll(distances.keySet());
+            for (Long id : next) {
+                distances.put(id, distance);
+            }
+            frontier = distance < depth && !next.isEmpty() ? personStore.findAllById(next) : List.of();
+        }
+        return distances;
+    }
+
+    private void remove(PersonWatch watch) {
+        watch.cancelled = true;
+        for (Long id : watch.distances.keySet()) {
+            unindex(id, watch);
+        }
+        watches.remove(watch);
+        watchCount = watches.size();
+    }
+
+    private void closeFeedIfIdle() {
+        if (watches.isEmpty() && feed != null) {
+            feed.cancel();
+            feed = null;
+        }
+    }
+
+    private void unindex(Long personId, PersonWatch watch) {
+        Set<PersonWatch> indexed = watchesByMember.get(personId);
+        if (indexed != null && indexed.remove(watch) && indexed.isEmpty()) {
+            watchesByMember.remove(personId);
+        }
+    }
+
+    private static boolean changesLinks(PersonChangeDTO change) {
+        return change.getType() != PersonChangeEvent.ChangeType.UPDATED
+                || !change.getRepointedIds().isEmpty()
+                || !relativeIds(change.getBefore()).equals(relativeIds(change.getAfter()));
+    }
+
+    private static Set<Long> relativeIds(PersonState state) {
+        Set<Long> ids = new LinkedHashSet<>(4);
+        if (state != null) {
+            addIfPresent(ids, state.getMotherId());
+            addIfPresent(ids, state.getFatherId());
+            addIfPresent(ids, state.getParentId());
+            addIfPresent(ids, state.getSpouseId());
+        }
+        return ids;
+    }
+
+    private static void addIfPresent(Collection<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * A watch, with the persons in its neighbourhood and their distance from the watched
+     * person. Its state is only touched on the watch thread, apart from the cancelled flag.
+     */
+    private final class PersonWatch implements Watch {
+
+        private final Long personId;
+        private final int depth;
+        private final Listener listener;
+        private volatile boolean cancelled;
+        private Map<Long, Integer> distances = Map.of();
+
+        private PersonWatch(Long personId, int depth, Listener listener) {
+            this.personId = personId;
+            this.depth = depth;
+            this.listener = listener;
+        }
+
+        /**
+         * Whether a change falls within the neighbourhood: it changes a member, or links a
+         * person to a member closer than the depth, or moves a member's links in a merge.
+         */
+        private boolean contains(PersonChangeDTO change) {
+            if (distances.containsKey(change.getPersonId())) {
+                return true;
+            }
+            for (Long id : relativeIds(change.getAfter())) {
+                Integer distance = distances.get(id);
+                if (distance != null && distance < depth) {
+                    return true;
+                }
+            }
+            for (Long id : change.getRepointedIds()) {
+                if (distances.containsKey(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean deliver(PersonChangeDTO change) {
+            if (cancelled) {
+                remove(this);
+                return false;
+            }
+            try {
+                listener.onChange(change);
+                return true;
+            } catch (RuntimeException e) {
+                log.debug("Dropping person watch", e);
+                remove(this);
+                return false;
+            }
+        }
+
+        private boolean notifyNeighbourhood() {
+            try {
+                listener.onNeighbourhood(new TreeSet<>(distances.keySet()));
+                return true;
+            } catch (RuntimeException e) {
+                log.debug("Dropping person watch", e);
+                return false;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (dispatcher.isShutdown()) {
+                return;
+            }
+            dispatcher.execute(() -> {
+                if (watches.contains(this)) {
+                    remove(this);
+                }
+                closeFeedIfIdle();
+            });
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.familytree.familytree.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that observes response serialization as {@code familytree.serialization}.
+ * <p>
+ * Spring MVC writes the response body after the handler method has returned, so the time
+ * spent in Jackson is otherwise only visible as the gap between the service span and the
+ * end of the HTTP request span.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class ObservedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Constructs a new ObservedJsonHttpMessageConverter.
+     *
+     * @param objectMapper the object mapper configured by Spring Boot
+     * @param observationRegistry the registry the serialization observations are recorded in
+     */
+    public ObservedJsonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Observation observation = Observation.createNotStarted("familytree.serialization", observationRegistry)
+                .lowCardinalityKeyValue("format", "json")
+                .lowCardinalityKeyValue("type", object.getClass().getSimpleName())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+}
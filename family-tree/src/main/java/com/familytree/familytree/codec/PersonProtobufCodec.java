@@ -0,0 +1,207 @@
+package com.familytree.familytree.codec;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocol Buffers encoding of {@link PersonDTO} as described by {@code src/main/proto/person.proto}.
+ * <p>
+ * The messages are small and fixed, so they are written and read directly with the protobuf
+ * runtime's coded streams instead of through generated message classes. This avoids building
+ * an intermediate message object per person and keeps protoc out of the build. Unknown fields
+ * are skipped when reading, so newer clients can add fields without breaking this service.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class PersonProtobufCodec {
+
+    private static final int ID = 1;
+    private static final int FIRST_NAME = 2;
+    private static final int MIDDLE_NAME = 3;
+    private static final int LAST_NAME = 4;
+    private static final int OCCUPATION = 5;
+    private static final int LIFE_STORY = 6;
+    private static final int BORN_DATE = 7;
+    private static final int DIED_DATE = 8;
+    private static final int BIRTH_PLACE = 9;
+    private static final int CURRENTLY_LIVES_AT_ADDRESS = 10;
+    private static final int MOTHER_ID = 11;
+    private static final int FATHER_ID = 12;
+    private static final int SPOUSE_ID = 13;
+
+    private static final int PERSONS = 1;
+
+    private PersonProtobufCodec() {
+    }
+
+    /**
+     * Encodes a person as a {@code Person} message.
+     *
+     * @param person the person to encode
+     * @return the encoded message
+     */
+    public static byte[] encode(PersonDTO person) {
+        byte[] bytes = new byte[size(person)];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            write(person, output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode person", e);
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes a list of persons as a {@code PersonList} message.
+     *
+     * @param persons the persons to encode
+     * @return the encoded message
+     */
+    public static byte[] encodeList(List<PersonDTO> persons) {
+        int[] sizes = new int[persons.size()];
+        int total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = size(persons.get(i));
+            total += CodedOutputStream.computeTagSize(PERSONS) + CodedOutputStream.computeUInt32SizeNoTag(sizes[i])
+                    + sizes[i];
+        }
+        byte[] bytes = new byte[total];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            for (int i = 0; i < sizes.length; i++) {
+                output.writeTag(PERSONS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(sizes[i]);
+                write(persons.get(i), output);
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode persons", e);
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes a {@code Person} message.
+     *
+     * @param input the stream positioned at the message
+     * @return the decoded person
+     * @throws IOException if the message is malformed
+     */
+    public static PersonDTO decode(CodedInputStream input) throws IOException {
+        PersonDTO.PersonDTOBuilder person = PersonDTO.builder();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> person.id(input.readInt64());
+                case FIRST_NAME -> person.firstName(input.readStringRequireUtf8());
+                case MIDDLE_NAME -> person.middleName(input.readStringRequireUtf8());
+                case LAST_NAME -> person.lastName(input.readStringRequireUtf8());
+                case OCCUPATION -> person.occupation(input.readStringRequireUtf8());
+                case LIFE_STORY -> person.lifeStory(input.readStringRequireUtf8());
+                case BORN_DATE -> person.bornDate(LocalDate.ofEpochDay(input.readSInt32()));
+                case DIED_DATE -> person.diedDate(LocalDate.ofEpochDay(input.readSInt32()));
+                case BIRTH_PLACE -> person.birthPlace(input.readStringRequireUtf8());
+                case CURRENTLY_LIVES_AT_ADDRESS -> person.currentlyLivesAtAddress(input.readStringRequireUtf8());
+                case MOTHER_ID -> person.motherId(input.readInt64());
+                case FATHER_ID -> person.fatherId(input.readInt64());
+                case SPOUSE_ID -> person.spouseId(input.readInt64());
+                default -> input.skipField(tag);
+            }
+        }
+        return person.build();
+    }
+
+    /**
+     * Decodes a {@code PersonList} message.
+     *
+     * @param input the stream positioned at the message
+     * @return the decoded persons
+     * @throws IOException if the message is malformed
+     */
+    public static List<PersonDTO> decodeList(CodedInputStream input) throws IOException {
+        List<PersonDTO> persons = new ArrayList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == PERSONS) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                persons.add(decode(input));
+                input.popLimit(limit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return persons;
+    }
+
+    private static int size(PersonDTO person) {
+        return int64Size(ID, person.getId())
+                + stringSize(FIRST_NAME, person.getFirstName())
+                + stringSize(MIDDLE_NAME, person.getMiddleName())
+                + stringSize(LAST_NAME, person.getLastName())
+                + stringSize(OCCUPATION, person.getOccupation())
+                + stringSize(LIFE_STORY, person.getLifeStory())
+                + dateSize(BORN_DATE, person.getBornDate())
+                + dateSize(DIED_DATE, person.getDiedDate())
+                + stringSize(BIRTH_PLACE, person.getBirthPlace())
+                + stringSize(CURRENTLY_LIVES_AT_ADDRESS, person.getCurrentlyLivesAtAddress())
+                + int64Size(MOTHER_ID, person.getMotherId())
+                + int64Size(FATHER_ID, person.getFatherId())
+                + int64Size(SPOUSE_ID, person.getSpouseId());
+    }
+
+    private static void write(PersonDTO person, CodedOutputStream output) throws IOException {
+        writeInt64(output, ID, person.getId());
+        writeString(output, FIRST_NAME, person.getFirstName());
+        writeString(output, MIDDLE_NAME, person.getMiddleName());
+        writeString(output, LAST_NAME, person.getLastName());
+        writeString(output, OCCUPATION, person.getOccupation());
+        writeString(output, LIFE_STORY, person.getLifeStory());
+        writeDate(output, BORN_DATE, person.getBornDate());
+        writeDate(output, DIED_DATE, person.getDiedDate());
+        writeString(output, BIRTH_PLACE, person.getBirthPlace());
+        writeString(output, CURRENTLY_LIVES_AT_ADDRESS, person.getCurrentlyLivesAtAddress());
+        writeInt64(output, MOTHER_ID, person.getMotherId());
+        writeInt64(output, FATHER_ID, person.getFatherId());
+        writeInt64(output, SPOUSE_ID, person.getSpouseId());
+    }
+
+    private static int int64Size(int field, Long value) {
+        return value != null ? CodedOutputStream.computeInt64Size(field, value) : 0;
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private static int dateSize(int field, LocalDate value) {
+        return value != null ? CodedOutputStream.computeSInt32Size(field, (int) value.toEpochDay()) : 0;
+    }
+
+    private static void writeInt64(CodedOutputStream output, int field, Long value) throws IOException {
+        if (value != null) {
+            output.writeInt64(field, value);
+        }
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static void writeDate(CodedOutputStream output, int field, LocalDate value) throws IOException {
+        if (value != null) {
+            output.writeSInt32(field, (int) value.toEpochDay());
+        }
+    }
+}
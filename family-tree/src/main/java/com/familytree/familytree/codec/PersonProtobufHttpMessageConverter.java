@@ -0,0 +1,123 @@
+package com.familytree.familytree.codec;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.google.protobuf.CodedInputStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes persons and person lists as {@code application/x-protobuf}.
+ * <p>
+ * A single person maps to the {@code Person} message and a list of persons to the
+ * {@code PersonList} message of {@code person.proto}. Other types are left to the
+ * remaining converters.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class PersonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    /**
+     * The media type of Protocol Buffers payloads.
+     */
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    /**
+     * Constructs a new PersonProtobufHttpMessageConverter.
+     */
+    public PersonProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PersonDTO.class.equals(clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lists are included because content negotiation only knows the erased class of a
+     * response body; the element type is checked by {@link #canWrite(Type, Class, MediaType)}.
+     * </p>
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return (PersonDTO.class.equals(type) || isPersonList(type)) && canRead(mediaType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        boolean supported = type != null ? PersonDTO.class.equals(type) || isPersonList(type)
+                : PersonDTO.class.equals(clazz);
+        return supported && canWrite(mediaType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+        try {
+            return isPersonList(type) ? PersonProtobufCodec.decodeList(input) : PersonProtobufCodec.decode(input);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Malformed protobuf message: " + e.getMessage(), e,
+                    inputMessage);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        byte[] bytes = body instanceof List<?> persons
+                ? PersonProtobufCodec.encodeList((List<PersonDTO>) persons)
+                : PersonProtobufCodec.encode((PersonDTO) body);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private static boolean isPersonList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && PersonDTO.class.equals(parameterized.getActualTypeArguments()[0]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.security.AdminProperties;
+import com.familytree.familytree.security.AdminTokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Protects everything under {@code /api/admin} with the admin token.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(AdminProperties.class)
+public class AdminSecurityConfig {
+
+    /**
+     * Registers the admin token filter for the admin endpoints.
+     *
+     * @param properties the admin access settings
+     * @param objectMapper the mapper used to write error responses
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<AdminTokenFilter> adminTokenFilter(AdminProperties properties,
+                                                                     ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdminTokenFilter> registration =
+                new FilterRegistrationBean<>(new AdminTokenFilter(properties, objectMapper));
+        registration.addUrlPatterns("/api/admin/*");
+        return registration;
+    }
+}
@@ -0,0 +1,81 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.changes.ChangeFeedProperties;
+import com.familytree.familytree.changes.ChangeFeedService;
+import com.familytree.familytree.changes.PersonWatchService;
+import com.familytree.familytree.repository.PersonChangeLog;
+import com.familytree.familytree.store.PersonStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the person change log and the feed served from it.
+ * <p>
+ * Only the servlet stack records changes and serves the feed. The reactive stack commits
+ * its writes in R2DBC transactions, which the log cannot join, so its changes are not
+ * recorded rather than appended apart from the writes they describe.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+    /**
+     * Creates the change feed, which records every person change in the change log.
+     *
+     * @param changeLog the change log
+     * @param entityManagerFactory the application's entity manager factory
+     * @param properties the feed settings
+     * @return the change feed service
+     */
+    @Bean(destroyMethod = "close")
+    public ChangeFeedService changeFeedService(PersonChangeLog changeLog, EntityManagerFactory entityManagerFactory,
+                                               ChangeFeedProperties properties) {
+        return new ChangeFeedService(changeLog, entityManagerFactory, properties);
+    }
+
+    /**
+     * Creates the service that pushes the changes within a person's neighbourhood to
+     * watchers of that person.
+     *
+     * @param changeFeedService the change feed the changes are taken from
+     * @param personStore the store neighbourhoods are read from
+     * @return the person watch service
+     */
+    @Bean(destroyMethod = "close")
+    public PersonWatchService personWatchService(ChangeFeedService changeFeedService, PersonStore personStore) {
+        return new PersonWatchService(changeFeedService, personStore);
+    }
+
+    /**
+     * Publishes the position of the change log, the number of open event streams and the
+     * number of open person watches.
+     *
+     * @param service the change feed service
+     * @param watchService the person watch service
+     * @return the gauges
+     */
+    @Bean
+    public MeterBinder changeFeedMetrics(ChangeFeedService service, PersonWatchService watchService) {
+        return registry -> {
+            Gauge.builder("familytree.changes.sequence", service, ChangeFeedService::getLastSequence)
+                    .description("Sequence number of the last committed person change")
+                    .register(registry);
+            Gauge.builder("familytree.changes.subscribers", service, ChangeFeedService::getSubscriberCount)
+                    .description("Open change feed event streams")
+                    .register(registry);
+            Gauge.builder("familytree.changes.watches", watchService, PersonWatchService::getWatchCount)
+                    .description("Open person neighbourhood watches")
+                    .register(registry);
+        };
+    }
+}
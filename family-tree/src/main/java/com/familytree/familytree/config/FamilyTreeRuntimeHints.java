@@ -0,0 +1,65 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.diagnostics.PersonOperationEvent;
+import com.familytree.familytree.dto.BackupDTO;
+import com.familytree.familytree.dto.DedupScanRequest;
+import com.familytree.familytree.dto.DuplicateCandidateDTO;
+import com.familytree.familytree.dto.ErrorResponse;
+import com.familytree.familytree.dto.FlightRecordingReportDTO;
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.dto.PersonEdgeDTO;
+import com.familytree.familytree.dto.PersonStatsDTO;
+import com.familytree.familytree.dto.SnapshotDTO;
+import com.familytree.familytree.dto.SqlDiagnosticsDTO;
+import com.familytree.familytree.dto.StorageStatusDTO;
+import com.familytree.familytree.dto.TombstoneDTO;
+import com.familytree.familytree.entity.Person;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the native image that Spring's AOT processing cannot infer.
+ * <p>
+ * AOT registers the request and response types of {@code @RestController} methods, but
+ * not types that are only serialized by hand (streamed NDJSON, server-sent events, filter
+ * error responses, GraphQL results) or read back from JSON columns (person states of the
+ * change log). {@link Person} is registered in full
+ * so Hibernate can access fields and the no-arg constructor without relying on the
+ * managed-type scan.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class FamilyTreeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JSON_TYPES = {
+            PersonDTO.class,
+            ErrorResponse.class,
+            PersonStatsDTO.class,
+            DuplicateCandidateDTO.class,
+            DedupScanRequest.class,
+            SqlDiagnosticsDTO.class,
+            FlightRecordingReportDTO.class,
+            StorageStatusDTO.class,
+            BackupDTO.class,
+            SnapshotDTO.class,
+            PersonChangeDTO.class,
+            PersonEdgeDTO.class,
+            TombstoneDTO.class
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(Person.class, MemberCategory.values());
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+        hints.reflection().registerType(PersonOperationEvent.class, MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("graphql/*.graphqls");
+    }
+}
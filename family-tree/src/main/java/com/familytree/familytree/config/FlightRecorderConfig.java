@@ -0,0 +1,46 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.diagnostics.FlightRecorderProperties;
+import com.familytree.familytree.diagnostics.FlightRecorderService;
+import com.familytree.familytree.diagnostics.PersonOperationEventAspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration for the jfr profile.
+ * <p>
+ * Starts the continuous flight recording with the application and emits a JFR event for
+ * every service call.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("jfr")
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    /**
+     * Creates and starts the continuous recording; it is closed on shutdown.
+     *
+     * @param properties the recording settings
+     * @return the flight recorder service
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public FlightRecorderService flightRecorderService(FlightRecorderProperties properties) {
+        return new FlightRecorderService(properties);
+    }
+
+    /**
+     * Creates the aspect that emits {@code PersonServiceImpl} events.
+     *
+     * @return the event aspect
+     */
+    @Bean
+    public PersonOperationEventAspect personOperationEventAspect() {
+        return new PersonOperationEventAspect();
+    }
+}
@@ -0,0 +1,62 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.diagnostics.IdArgumentObservationConvention;
+import com.familytree.familytree.repository.LookupValueDictionary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer instrumentation that Spring Boot does not set up on its own.
+ * <p>
+ * HTTP endpoints, repository invocations and the Hikari pool are timed by Boot's
+ * auto-configuration; this class adds the aspect that turns {@code @Observed} on the
+ * service layer into timers and, while tracing is enabled, spans, and publishes the
+ * lookup value dictionary's cache use.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Creates the aspect that observes {@code @Observed} methods and classes.
+     *
+     * @param observationRegistry the registry to record into
+     * @return the observed aspect
+     */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry, new IdArgumentObservationConvention());
+    }
+
+    /**
+     * Publishes the size of the lookup value dictionary and how often its cache answers
+     * ID lookups.
+     *
+     * @param dictionary the lookup value dictionary
+     * @return the meters
+     */
+    @Bean
+    public MeterBinder lookupValueMetrics(LookupValueDictionary dictionary) {
+        return registry -> {
+            Gauge.builder("familytree.lookup.values", dictionary, LookupValueDictionary::size)
+                    .description("Cached lookup values")
+                    .register(registry);
+            FunctionCounter.builder("familytree.lookup.reads", dictionary, LookupValueDictionary::getHitCount)
+                    .description("Lookup value ID reads by whether the cache could answer them")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("familytree.lookup.reads", dictionary, LookupValueDictionary::getMissCount)
+                    .description("Lookup value ID reads by whether the cache could answer them")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+}
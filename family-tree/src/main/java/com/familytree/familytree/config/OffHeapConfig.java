@@ -0,0 +1,86 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.mapper.PersonMapper;
+import com.familytree.familytree.offheap.OffHeapPersonService;
+import com.familytree.familytree.offheap.OffHeapProperties;
+import com.familytree.familytree.service.impl.PersonServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration for the offheap profile.
+ * <p>
+ * Puts an {@link OffHeapPersonService} in front of {@link PersonServiceImpl}, so every
+ * consumer of {@code PersonService} reads persons from direct memory, and publishes the
+ * table's size as gauges.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("offheap")
+@EnableConfigurationProperties(OffHeapProperties.class)
+public class OffHeapConfig {
+
+    /**
+     * Creates the off-heap read path and loads all persons into it.
+     *
+     * @param personServiceImpl the JPA service writes and uncached reads go to
+     * @param personMapper the mapper from person states to DTOs
+     * @param dataSource the application's data source
+     * @param properties the text heap settings
+     * @param meterRegistry the registry the read counters are recorded in
+     * @return the off-heap person service
+     */
+    @Bean(initMethod = "load")
+    @Primary
+    public OffHeapPersonService offHeapPersonService(PersonServiceImpl personServiceImpl, PersonMapper personMapper,
+                                                     DataSource dataSource, OffHeapProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(1_000);
+        return new OffHeapPersonService(personServiceImpl, personMapper, jdbcTemplate, properties, meterRegistry);
+    }
+
+    /**
+     * Publishes the size of the off-heap table.
+     *
+     * @param service the off-heap person service
+     * @return the gauges
+     */
+    @Bean
+    public MeterBinder offHeapTableMetrics(OffHeapPersonService service) {
+        return registry -> {
+            Gauge.builder("familytree.offheap.persons", service, s -> s.getTable().size())
+                    .description("Persons held in the off-heap table")
+                    .register(registry);
+            Gauge.builder("familytree.offheap.memory", service, s -> s.getTable().getRecordBytes())
+                    .description("Direct memory reserved by the off-heap table")
+                    .tag("area", "records")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("familytree.offheap.memory", service, s -> s.getTable().getTextBytes())
+                    .description("Direct memory reserved by the off-heap table")
+                    .tag("area", "text")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("familytree.offheap.text.garbage", service, s -> s.getTable().getGarbageTextBytes())
+                    .description("Text heap bytes of replaced or removed text, reclaimed on reload")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("familytree.offheap.dictionary.size", service, s -> s.getTable().getDictionarySize())
+                    .description("Distinct names, occupations and birth places in the dictionary")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.store.GraphPersonStore;
+import com.familytree.familytree.store.GraphStoreProperties;
+import com.familytree.familytree.store.JpaPersonStore;
+import com.familytree.familytree.store.PersonStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Selects the storage engine behind the person service.
+ * <p>
+ * {@code familytree.store.type=jpa}, the default, stores persons in the relational
+ * database; {@code familytree.store.type=graph}, set by the graph profile, in an embedded
+ * {@link GraphPersonStore}.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(GraphStoreProperties.class)
+public class PersonStoreConfig {
+
+    /**
+     * Creates the relational person store.
+     *
+     * @param personRepository the repository for person operations
+     * @param dataSource the data source every person is streamed from
+     * @return the JPA person store
+     */
+    @Bean
+    @ConditionalOnProperty(name = "familytree.store.type", havingValue = "jpa", matchIfMissing = true)
+    public PersonStore jpaPersonStore(PersonRepository personRepository, DataSource dataSource) {
+        return new JpaPersonStore(personRepository, dataSource);
+    }
+
+    /**
+     * Opens the graph person store, replaying its log.
+     *
+     * @param properties the graph store settings
+     * @return the graph person store
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "familytree.store.type", havingValue = "graph")
+    public GraphPersonStore graphPersonStore(GraphStoreProperties properties) {
+        return GraphPersonStore.open(properties);
+    }
+
+    /**
+     * Publishes the size of the graph store and its log.
+     *
+     * @param store the graph person store
+     * @return the gauges
+     */
+    @Bean
+    @ConditionalOnProperty(name = "familytree.store.type", havingValue = "graph")
+    public MeterBinder graphPersonStoreMetrics(GraphPersonStore store) {
+        return registry -> {
+            Gauge.builder("familytree.store.graph.persons", store, GraphPersonStore::size)
+                    .description("Persons held in the graph store")
+                    .register(registry);
+            Gauge.builder("familytree.store.graph.log.records", store, GraphPersonStore::logRecords)
+                    .description("Records in the graph store log, including superseded ones")
+                    .register(registry);
+            Gauge.builder("familytree.store.graph.log.size", store, GraphPersonStore::logBytes)
+                    .description("Size of the graph store log")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.familytree.familytree.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuration for the reactive profile.
+ * <p>
+ * JPA stays active next to R2DBC (Hibernate still owns the schema), but Spring Boot backs
+ * off from the JDBC data source and the JPA transaction manager as soon as an R2DBC
+ * connection factory exists. This class declares them explicitly and makes the JPA
+ * transaction manager the default for {@code @Transactional}.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Creates the JDBC data source used by JPA.
+     *
+     * @param properties the data source properties bound from {@code spring.datasource}
+     * @return the data source
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the JPA transaction manager used by {@code @Transactional}.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the transaction manager
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    /**
+     * Creates the R2DBC transaction manager used by the reactive service.
+     *
+     * @param connectionFactory the R2DBC connection factory
+     * @return the reactive transaction manager
+     */
+    @Bean
+    public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    /**
+     * Creates the operator that demarcates reactive transactions.
+     *
+     * @param reactiveTransactionManager the reactive transaction manager
+     * @return the transactional operator
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+}
@@ -0,0 +1,40 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.snapshot.PersonSnapshotService;
+import com.familytree.familytree.snapshot.SnapshotProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration for the snapshot profile.
+ * <p>
+ * Maps the person snapshot at startup and writes a fresh one on shutdown.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("snapshot")
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+
+    /**
+     * Creates the snapshot service and maps the existing snapshot.
+     *
+     * @param dataSource the application's data source
+     * @param properties the snapshot location
+     * @return the snapshot service
+     */
+    @Bean(initMethod = "load", destroyMethod = "close")
+    public PersonSnapshotService personSnapshotService(DataSource dataSource, SnapshotProperties properties) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(1_000);
+        return new PersonSnapshotService(jdbcTemplate, properties);
+    }
+}
@@ -0,0 +1,95 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.diagnostics.SqlDiagnosticsProperties;
+import com.familytree.familytree.diagnostics.SqlDiagnosticsService;
+import com.familytree.familytree.diagnostics.SqlRequestFilter;
+import com.familytree.familytree.diagnostics.SqlStatementRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration for the sql-diagnostics profile.
+ * <p>
+ * Wraps the JDBC data source in a datasource-proxy that reports every statement to the
+ * {@link SqlStatementRecorder}, and scopes statement collection to HTTP requests. The
+ * profile also turns on Hibernate statistics, which Spring Boot publishes as
+ * {@code hibernate.*} meters.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("sql-diagnostics")
+@EnableConfigurationProperties(SqlDiagnosticsProperties.class)
+public class SqlDiagnosticsConfig {
+
+    /**
+     * Creates the recorder the proxied data source reports to.
+     *
+     * @param properties the diagnostics thresholds
+     * @return the statement recorder
+     */
+    @Bean
+    public SqlStatementRecorder sqlStatementRecorder(SqlDiagnosticsProperties properties) {
+        return new SqlStatementRecorder(properties);
+    }
+
+    /**
+     * Creates the post-processor that wraps every data source in a recording proxy.
+     *
+     * @param recorder the recorder, resolved when the data source is created
+     * @return the data source post-processor
+     */
+    @Bean
+    public static BeanPostProcessor sqlRecordingDataSourcePostProcessor(ObjectProvider<SqlStatementRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(recorder.getObject())
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Creates the service behind the SQL diagnostics endpoint.
+     *
+     * @param recorder the statement recorder
+     * @param entityManagerFactory the entity manager factory
+     * @return the diagnostics service
+     */
+    @Bean
+    public SqlDiagnosticsService sqlDiagnosticsService(SqlStatementRecorder recorder,
+                                                       EntityManagerFactory entityManagerFactory) {
+        return new SqlDiagnosticsService(recorder, entityManagerFactory);
+    }
+
+    /**
+     * Creates the filter that collects statements per HTTP request.
+     *
+     * @param recorder the statement recorder
+     * @param meterRegistry the registry the per-request statement counts are recorded in
+     * @return the request filter
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public SqlRequestFilter sqlRequestFilter(SqlStatementRecorder recorder, MeterRegistry meterRegistry) {
+        return new SqlRequestFilter(recorder, meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.storage.StorageMaintenanceService;
+import com.familytree.familytree.storage.StorageProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Configuration for the durable profile.
+ * <p>
+ * The file-backed database itself is configured in {@code application-durable.properties};
+ * this adds the checkpoint and backup maintenance on top of it.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("durable")
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfig {
+
+    /**
+     * Creates the checkpoint and backup service.
+     *
+     * @param jdbcTemplate the template on the application's data source
+     * @param properties the database and backup locations
+     * @return the storage maintenance service
+     */
+    @Bean
+    public StorageMaintenanceService storageMaintenanceService(JdbcTemplate jdbcTemplate,
+                                                               StorageProperties properties) {
+        return new StorageMaintenanceService(jdbcTemplate, properties);
+    }
+}
@@ -0,0 +1,52 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.codec.ObservedJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing set-up beyond Spring Boot's OpenTelemetry auto-configuration.
+ * <p>
+ * Boot traces HTTP requests and exports spans over OTLP once
+ * {@code management.otlp.tracing.endpoint} is set; datasource-micrometer adds spans for
+ * connection acquisition, statements and result sets. This class adds a span for JSON
+ * serialization and, with {@code familytree.tracing.log-spans=true}, an exporter that
+ * writes finished spans to the log for local use.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Creates the exporter that logs every finished span.
+     *
+     * @return the logging span exporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "familytree.tracing.log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    /**
+     * Creates the JSON converter; it replaces Spring Boot's and observes serialization.
+     *
+     * @param objectMapper the object mapper configured by Spring Boot
+     * @param observationRegistry the registry the serialization observations are recorded in
+     * @return the JSON converter
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ObservedJsonHttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.codec.PersonProtobufHttpMessageConverter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary wire formats offered next to JSON through content negotiation.
+ * <p>
+ * Clients choose the format with the {@code Accept} header ({@code application/cbor},
+ * {@code application/x-jackson-smile} or {@code application/x-protobuf}) and send request
+ * bodies with the matching {@code Content-Type}. JSON remains the default.
+ * </p>
+ * <p>
+ * The CBOR and Smile mappers start from the same builder as the JSON mapper, but write dates
+ * as numeric arrays instead of ISO text and leave out null fields.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Creates the CBOR converter; it replaces the default one in place, after JSON.
+     *
+     * @param builder the object mapper builder configured by Spring Boot
+     * @return the CBOR converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binary(builder).factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile converter; it replaces the default one in place, after JSON.
+     *
+     * @param builder the object mapper builder configured by Spring Boot
+     * @return the Smile converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binary(builder).factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Appends the protobuf converter, so that it is only chosen when explicitly accepted.
+     *
+     * @param converters the configured converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PersonProtobufHttpMessageConverter());
+    }
+
+    private static Jackson2ObjectMapperBuilder binary(Jackson2ObjectMapperBuilder builder) {
+        return builder.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
@@ -0,0 +1,121 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.changes.ChangeFeedProperties;
+import com.familytree.familytree.changes.ChangeFeedService;
+import com.familytree.familytree.dto.PersonChangeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller for the person change feed.
+ * <p>
+ * Every change made through the person service is numbered in commit order. Clients read
+ * the changes after the last sequence number they processed, either by polling, which
+ * waits for the next commit when there is nothing new, or from an event stream.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+    private final ChangeFeedProperties properties;
+
+    /**
+     * Constructs a new ChangeFeedController with the specified ChangeFeedService.
+     *
+     * @param changeFeedService the service serving the change log
+     * @param properties the feed settings
+     */
+    @Autowired
+    public ChangeFeedController(ChangeFeedService changeFeedService, ChangeFeedProperties properties) {
+        this.changeFeedService = changeFeedService;
+        this.properties = properties;
+    }
+
+    /**
+     * Retrieves the changes after a sequence number, waiting for the next commit if there
+     * are none yet.
+     * <p>
+     * Example:
+     * <pre>
+     * curl "http://localhost:8080/api/changes?since=1042&amp;wait=30"
+     * </pre>
+     * </p>
+     *
+     * @param since the sequence number of the last change the client has processed
+     * @param limit the maximum number of changes (default and upper bound: the page size)
+     * @param wait how many seconds to wait for a change; 0 returns at once
+     * @return the changes, oldest first, with HTTP status 200 (OK); empty if the wait expired
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<PersonChangeDTO>>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer wait) {
+        return changeFeedService.awaitChanges(since,
+                        limit != null ? limit : properties.getPageSize(),
+                        wait != null ? Duration.ofSeconds(wait) : properties.getLongPollTimeout())
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams the changes after a sequence number as server-sent events, followed by every
+     * change as it commits. Each event is named after the change type and carries its
+     * sequence number as ID, so a reconnecting client resumes with {@code Last-Event-ID}.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -N -H "Accept: text/event-stream" "http://localhost:8080/api/changes?since=1042"
+     * </pre>
+     * </p>
+     *
+     * @param since the sequence number to stream after; defaults to the last committed change
+     * @param lastEventId the ID of the last event received, sent by reconnecting clients
+     * @return the event stream
+     * @throws IOException if the stream cannot be opened
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId)
+            throws IOException {
+        long start = lastEventId != null ? lastEventId
+                : since != null ? since
+                : changeFeedService.getLastSequence();
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        // Commits the response, so the client sees the stream open before the first change
+        emitter.send(SseEmitter.event().comment("changes after " + start));
+        ChangeFeedService.Subscription subscription = changeFeedService.subscribe(start, change -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(change.getSequence()))
+                        .name(change.getType().name().toLowerCase())
+                        .data(change, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
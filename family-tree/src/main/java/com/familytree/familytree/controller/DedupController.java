@@ -0,0 +1,77 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.DedupScanRequest;
+import com.familytree.familytree.dto.DuplicateCandidateDTO;
+import com.familytree.familytree.service.DuplicateDetectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * REST controller for duplicate person detection.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/dedup")
+public class DedupController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new DedupController.
+     *
+     * @param duplicateDetectionService the service to be used for duplicate detection
+     * @param objectMapper the mapper used to write the result lines
+     */
+    @Autowired
+    public DedupController(DuplicateDetectionService duplicateDetectionService, ObjectMapper objectMapper) {
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Scans all persons for probable duplicates.
+     * <p>
+     * The ranked pairs are streamed back as newline-delimited JSON, best match first.
+     * Example:
+     * <pre>
+     * curl -X POST http://localhost:8080/api/dedup/scan \
+     * -H "Content-Type: application/json" \
+     * -d '{
+     *     "minScore": 0.9,
+     *     "limit": 500
+     * }'
+     * </pre>
+     * </p>
+     *
+     * @param request the optional scan parameters
+     * @return the candidate pairs with HTTP status 200 (OK)
+     */
+    @PostMapping("/scan")
+    public ResponseEntity<StreamingResponseBody> scan(@RequestBody(required = false) DedupScanRequest request) {
+        List<DuplicateCandidateDTO> candidates = duplicateDetectionService.scan(
+                request != null ? request : new DedupScanRequest());
+        StreamingResponseBody body = outputStream -> {
+            for (DuplicateCandidateDTO candidate : candidates) {
+                outputStream.write(objectMapper.writeValueAsBytes(candidate));
+                outputStream.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
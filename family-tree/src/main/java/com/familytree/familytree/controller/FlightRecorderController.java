@@ -0,0 +1,83 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.diagnostics.FlightRecorderService;
+import com.familytree.familytree.dto.FlightRecordingReportDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * REST controller for the continuous flight recording of the jfr profile.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@Profile("jfr")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/jfr")
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    /**
+     * Constructs a new FlightRecorderController with the specified FlightRecorderService.
+     *
+     * @param flightRecorderService the service owning the recording
+     */
+    @Autowired
+    public FlightRecorderController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    /**
+     * Downloads the current ring buffer as a {@code .jfr} file, for JDK Mission Control or
+     * {@code jfr print}.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" -o spike.jfr http://localhost:8080/api/admin/jfr/recording
+     * </pre>
+     * </p>
+     *
+     * @return the recording with HTTP status 200 (OK)
+     */
+    @GetMapping("/recording")
+    public ResponseEntity<StreamingResponseBody> getRecording() {
+        String filename = "familytree-" + Instant.now().getEpochSecond() + ".jfr";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(flightRecorderService::writeDump);
+    }
+
+    /**
+     * Summarizes allocations, lock contention and service operations of the last minutes.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" "http://localhost:8080/api/admin/jfr/report?minutes=5"
+     * </pre>
+     * </p>
+     *
+     * @param minutes how many minutes back to summarize
+     * @return the report with HTTP status 200 (OK)
+     */
+    @GetMapping("/report")
+    public ResponseEntity<FlightRecordingReportDTO> getReport(@RequestParam(defaultValue = "5") long minutes) {
+        return ResponseEntity.ok(flightRecorderService.report(Duration.ofMinutes(minutes)));
+    }
+}
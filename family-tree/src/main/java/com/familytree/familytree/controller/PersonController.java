@@ -1,13 +1,16 @@
 package com.familytree.familytree.controller;
 
 import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.repository.PersonField;
 import com.familytree.familytree.service.PersonService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for managing family members and their relationships.
@@ -20,6 +23,7 @@ import java.util.List;
  * @version 1.0
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/person")
 public class PersonController {
 
@@ -103,6 +107,26 @@ public class PersonController {
         return ResponseEntity.ok(personService.getPerson(personId));
     }
 
+    /**
+     * Retrieves only the selected fields of a person.
+     * <p>
+     * Only the selected columns are read from the database.
+     * Example:
+     * <pre>
+     * curl -X GET "http://localhost:8080/api/person/1?fields=id,firstName,lastName,motherId"
+     * </pre>
+     * </p>
+     *
+     * @param personId the ID of the person to retrieve
+     * @param fields the comma-separated names of the fields to return
+     * @return the selected fields with HTTP status 200 (OK)
+     */
+    @GetMapping(value = "/{personId}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getPersonFields(@PathVariable Long personId,
+                                                               @RequestParam String fields) {
+        return ResponseEntity.ok(personService.getPersonFields(personId, PersonField.parse(fields)));
+    }
+
     /**
      * Deletes a person by their ID.
      * <p>
@@ -359,6 +383,24 @@ public class PersonController {
         return ResponseEntity.ok(personService.addFormerSpouse(personId, formerSpouseId));
     }
 
+    /**
+     * Merges a duplicate person into a survivor.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -X POST http://localhost:8080/api/person/1/merge/2
+     * </pre>
+     * </p>
+     *
+     * @param survivorId the ID of the person to keep
+     * @param duplicateId the ID of the duplicate to merge and delete
+     * @return the merged survivor with HTTP status 200 (OK)
+     */
+    @PostMapping("/{survivorId}/merge/{duplicateId}")
+    public ResponseEntity<PersonDTO> mergePerson(@PathVariable Long survivorId, @PathVariable Long duplicateId) {
+        return ResponseEntity.ok(personService.mergePerson(survivorId, duplicateId));
+    }
+
     /**
      * Finds persons by first name.
      * <p>
@@ -376,6 +418,25 @@ public class PersonController {
         return ResponseEntity.ok(personService.findPersonByFirstName(firstName));
     }
 
+    /**
+     * Finds persons by first name, returning only the selected fields.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -X GET "http://localhost:8080/api/person/first-name/John?fields=id,lastName"
+     * </pre>
+     * </p>
+     *
+     * @param firstName the first name to search for
+     * @param fields the comma-separated names of the fields to return
+     * @return the selected fields of each person with the specified first name
+     */
+    @GetMapping(value = "/first-name/{firstName}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> findPersonFieldsByFirstName(@PathVariable String firstName,
+                                                                                 @RequestParam String fields) {
+        return ResponseEntity.ok(personService.findPersonFieldsByFirstName(firstName, PersonField.parse(fields)));
+    }
+
     /**
      * Finds persons by last name.
      * <p>
@@ -392,4 +453,23 @@ public class PersonController {
     public ResponseEntity<List<PersonDTO>> findPersonByLastName(@PathVariable String lastName) {
         return ResponseEntity.ok(personService.findPersonByLastName(lastName));
     }
+
+    /**
+     * Finds persons by last name, returning only the selected fields.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -X GET "http://localhost:8080/api/person/last-name/Doe?fields=id,firstName"
+     * </pre>
+     * </p>
+     *
+     * @param lastName the last name to search for
+     * @param fields the comma-separated names of the fields to return
+     * @return the selected fields of each person with the specified last name
+     */
+    @GetMapping(value = "/last-name/{lastName}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> findPersonFieldsByLastName(@PathVariable String lastName,
+                                                                                @RequestParam String fields) {
+        return ResponseEntity.ok(personService.findPersonFieldsByLastName(lastName, PersonField.parse(fields)));
+    }
 } 
\ No newline at end of file
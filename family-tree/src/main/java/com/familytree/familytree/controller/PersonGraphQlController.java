@@ -0,0 +1,189 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.exception.PersonNotFoundException;
+import com.familytree.familytree.service.PersonService;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL controller for navigating the family tree.
+ * <p>
+ * Serves the schema in {@code graphql/schema.graphqls} at {@code /graphql}. The relationship
+ * fields are batch mappings: for all persons at one level of a response, the mothers are
+ * loaded with one {@link PersonService#getPersons} call, and the same holds for fathers,
+ * spouses and children, so the number of queries grows with the depth of the request and
+ * not with the number of persons.
+ * </p>
+ * <p>
+ * Example:
+ * <pre>
+ * curl -X POST http://localhost:8080/graphql \
+ * -H "Content-Type: application/json" \
+ * -d '{"query": "{ person(id: 1) { firstName mother { firstName children { firstName } } } }"}'
+ * </pre>
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PersonGraphQlController {
+
+    private final PersonService personService;
+
+    /**
+     * Constructs a new PersonGraphQlController with the specified PersonService.
+     *
+     * @param personService the service to be used for person operations
+     */
+    @Autowired
+    public PersonGraphQlController(PersonService personService) {
+        this.personService = personService;
+    }
+
+    /**
+     * Retrieves a person by ID.
+     *
+     * @param id the ID of the person
+     * @return the person
+     */
+    @QueryMapping
+    public PersonDTO person(@Argument Long id) {
+        return personService.getPerson(id);
+    }
+
+    /**
+     * Finds persons by first name.
+     *
+     * @param firstName the first name to search for
+     * @return the persons with the specified first name
+     */
+    @QueryMapping
+    public List<PersonDTO> personsByFirstName(@Argument String firstName) {
+        return personService.findPersonByFirstName(firstName);
+    }
+
+    /**
+     * Finds persons by last name.
+     *
+     * @param lastName the last name to search for
+     * @return the persons with the specified last name
+     */
+    @QueryMapping
+    public List<PersonDTO> personsByLastName(@Argument String lastName) {
+        return personService.findPersonByLastName(lastName);
+    }
+
+    /**
+     * Resolves the mothers of a batch of persons.
+     *
+     * @param persons the persons whose mothers are requested
+     * @return the mother of each person that has one
+     */
+    @BatchMapping(typeName = "Person")
+    public Map<PersonDTO, PersonDTO> mother(List<PersonDTO> persons) {
+        return relatives(persons, PersonDTO::getMotherId);
+    }
+
+    /**
+     * Resolves the fathers of a batch of persons.
+     *
+     * @param persons the persons whose fathers are requested
+     * @return the father of each person that has one
+     */
+    @BatchMapping(typeName = "Person")
+    public Map<PersonDTO, PersonDTO> father(List<PersonDTO> persons) {
+        return relatives(persons, PersonDTO::getFatherId);
+    }
+
+    /**
+     * Resolves the spouses of a batch of persons.
+     *
+     * @param persons the persons whose spouses are requested
+     * @return the spouse of each person that has one
+     */
+    @BatchMapping(typeName = "Person")
+    public Map<PersonDTO, PersonDTO> spouse(List<PersonDTO> persons) {
+        return relatives(persons, PersonDTO::getSpouseId);
+    }
+
+    /**
+     * Resolves the children of a batch of persons.
+     *
+     * @param persons the persons whose children are requested
+     * @return the children of each person
+     */
+    @BatchMapping(typeName = "Person")
+    public Map<PersonDTO, List<PersonDTO>> children(List<PersonDTO> persons) {
+        Set<Long> ids = persons.stream().map(PersonDTO::getId).collect(Collectors.toSet());
+        Map<Long, List<PersonDTO>> childrenByParent = personService.findChildren(ids);
+        Map<PersonDTO, List<PersonDTO>> result = new HashMap<>();
+        for (PersonDTO person : persons) {
+            result.put(person, childrenByParent.getOrDefault(person.getId(), List.of()));
+        }
+        return result;
+    }
+
+    /**
+     * Reports a missing person as a NOT_FOUND error instead of an internal error.
+     *
+     * @param ex the exception
+     * @param environment the environment of the failed field
+     * @return the GraphQL error
+     */
+    @GraphQlExceptionHandler
+    public GraphQLError handlePersonNotFound(PersonNotFoundException ex, DataFetchingEnvironment environment) {
+        return GraphQLError.newError()
+                .errorType(ErrorType.NOT_FOUND)
+                .message(ex.getMessage())
+                .path(environment.getExecutionStepInfo().getPath())
+                .location(environment.getField().getSourceLocation())
+                .build();
+    }
+
+    /**
+     * Loads the relatives referenced by one relationship ID of a batch of persons.
+     *
+     * @param persons the persons whose relatives are requested
+     * @param relativeId extracts the relationship ID from a person
+     * @return the relative of each person that has one
+     */
+    private Map<PersonDTO, PersonDTO> relatives(List<PersonDTO> persons, Function<PersonDTO, Long> relativeId) {
+        Set<Long> ids = persons.stream()
+                .map(relativeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, PersonDTO> relativesById = personService.getPersons(ids).stream()
+                .collect(Collectors.toMap(PersonDTO::getId, Function.identity()));
+        Map<PersonDTO, PersonDTO> result = new HashMap<>();
+        for (PersonDTO person : persons) {
+            PersonDTO relative = relativesById.get(relativeId.apply(person));
+            if (relative != null) {
+                result.put(person, relative);
+            }
+        }
+        return result;
+    }
+}
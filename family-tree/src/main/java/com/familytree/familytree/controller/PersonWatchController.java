@@ -0,0 +1,106 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.changes.ChangeFeedProperties;
+import com.familytree.familytree.changes.PersonWatchService;
+import com.familytree.familytree.dto.PersonChangeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * REST controller for watching the neighbourhood of a person.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/person")
+public class PersonWatchController {
+
+    private final PersonWatchService personWatchService;
+    private final ChangeFeedProperties properties;
+
+    /**
+     * Constructs a new PersonWatchController.
+     *
+     * @param personWatchService the service matching changes to watches
+     * @param properties the feed settings
+     */
+    @Autowired
+    public PersonWatchController(PersonWatchService personWatchService, ChangeFeedProperties properties) {
+        this.personWatchService = personWatchService;
+        this.properties = properties;
+    }
+
+    /**
+     * Streams the changes within the neighbourhood of a person as server-sent events.
+     * <p>
+     * The neighbourhood holds the persons within {@code depth} mother, father, parent, child
+     * or spouse links of the person. A {@code neighbourhood} event with the IDs of its
+     * persons is sent first and whenever they change. Each committed change within it
+     * follows as an event named after the change type, with the change feed sequence
+     * number as ID. The stream ends when the person is deleted.
+     * Example:
+     * <pre>
+     * curl -N -H "Accept: text/event-stream" "http://localhost:8080/api/person/1/watch?depth=2"
+     * </pre>
+     * </p>
+     *
+     * @param id the ID of the person to watch
+     * @param depth the number of links the neighbourhood reaches (default 1)
+     * @return the event stream
+     * @throws IOException if the stream cannot be opened
+     */
+    @GetMapping(value = "/{id}/watch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watchPerson(@PathVariable Long id, @RequestParam(defaultValue = "1") int depth)
+            throws IOException {
+        if (depth < 0 || depth > properties.getMaxWatchDepth()) {
+            throw new IllegalArgumentException(
+                    "Depth must be between 0 and " + properties.getMaxWatchDepth() + ": " + depth);
+        }
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        PersonWatchService.Watch watch = personWatchService.watch(id, depth, new PersonWatchService.Listener() {
+            @Override
+            public void onNeighbourhood(Set<Long> personIds) {
+                if (personIds.isEmpty()) {
+                    emitter.complete();
+                    return;
+                }
+                send(emitter, SseEmitter.event().name("neighbourhood").data(personIds, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onChange(PersonChangeDTO change) {
+                send(emitter, SseEmitter.event()
+                        .id(Long.toString(change.getSequence()))
+                        .name(change.getType().name().toLowerCase())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        });
+        emitter.onCompletion(watch::cancel);
+        emitter.onTimeout(watch::cancel);
+        emitter.onError(error -> watch.cancel());
+        // Commits the response, so the client sees the stream open before the first event
+        emitter.send(SseEmitter.event().comment("watching person " + id));
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
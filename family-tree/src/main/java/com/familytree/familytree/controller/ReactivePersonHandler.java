@@ -0,0 +1,272 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.ReactivePersonService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handler functions for managing family members and their relationships.
+ * <p>
+ * Serves the same contract as {@link PersonController}, with the same paths, status codes
+ * and bodies, on top of the {@link ReactivePersonService}. The routes are declared in
+ * {@link ReactivePersonRouter}.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Component
+@Profile("reactive")
+public class ReactivePersonHandler {
+
+    private final ReactivePersonService personService;
+
+    /**
+     * Constructs a new ReactivePersonHandler with the specified ReactivePersonService.
+     *
+     * @param personService the service to be used for person operations
+     */
+    @Autowired
+    public ReactivePersonHandler(ReactivePersonService personService) {
+        this.personService = personService;
+    }
+
+    /**
+     * Creates a new person.
+     *
+     * @param request the request carrying the person data
+     * @return the created person with HTTP status 201 (Created)
+     */
+    public Mono<ServerResponse> createPerson(ServerRequest request) {
+        return request.bodyToMono(PersonDTO.class)
+                .flatMap(personService::createNewPerson)
+                .flatMap(person -> ServerResponse.status(HttpStatus.CREATED).bodyValue(person));
+    }
+
+    /**
+     * Updates an existing person.
+     *
+     * @param request the request carrying the updated person data
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> updatePerson(ServerRequest request) {
+        return request.bodyToMono(PersonDTO.class)
+                .flatMap(personService::updatePerson)
+                .flatMap(person -> ServerResponse.ok().bodyValue(person));
+    }
+
+    /**
+     * Retrieves a person by ID.
+     *
+     * @param request the request carrying the person ID
+     * @return the person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> getPerson(ServerRequest request) {
+        return ok(personService.getPerson(id(request, "personId")));
+    }
+
+    /**
+     * Deletes a person by ID.
+     *
+     * @param request the request carrying the person ID
+     * @return HTTP status 204 (No Content)
+     */
+    public Mono<ServerResponse> deletePerson(ServerRequest request) {
+        return personService.deletePerson(id(request, "personId"))
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * Adds a new child to a person.
+     *
+     * @param request the request carrying the parent ID and the child data
+     * @return the created child with HTTP status 201 (Created)
+     */
+    public Mono<ServerResponse> addNewChild(ServerRequest request) {
+        return request.bodyToMono(PersonDTO.class)
+                .flatMap(child -> personService.addChild(id(request, "personId"), child))
+                .flatMap(child -> ServerResponse.status(HttpStatus.CREATED).bodyValue(child));
+    }
+
+    /**
+     * Adds an existing person as a child to another person.
+     *
+     * @param request the request carrying the parent and child IDs
+     * @return the updated child with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> addExistingChild(ServerRequest request) {
+        return ok(personService.addChild(id(request, "personId"), id(request, "childId")));
+    }
+
+    /**
+     * Sets a new mother for a person.
+     *
+     * @param request the request carrying the person ID and the mother data
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> setNewMother(ServerRequest request) {
+        return ok(request.bodyToMono(PersonDTO.class)
+                .flatMap(mother -> personService.setMother(id(request, "personId"), mother)));
+    }
+
+    /**
+     * Sets an existing person as the mother of another person.
+     *
+     * @param request the request carrying the person and mother IDs
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> setExistingMother(ServerRequest request) {
+        return ok(personService.setMother(id(request, "personId"), id(request, "motherId")));
+    }
+
+    /**
+     * Sets a new father for a person.
+     *
+     * @param request the request carrying the person ID and the father data
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> setNewFather(ServerRequest request) {
+        return ok(request.bodyToMono(PersonDTO.class)
+                .flatMap(father -> personService.setFather(id(request, "personId"), father)));
+    }
+
+    /**
+     * Sets an existing person as the father of another person.
+     *
+     * @param request the request carrying the person and father IDs
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> setExistingFather(ServerRequest request) {
+        return ok(personService.setFather(id(request, "personId"), id(request, "fatherId")));
+    }
+
+    /**
+     * Sets a new spouse for a person.
+     *
+     * @param request the request carrying the person ID and the spouse data
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> setNewSpouse(ServerRequest request) {
+        return ok(request.bodyToMono(PersonDTO.class)
+                .flatMap(spouse -> personService.setSpouse(id(request, "personId"), spouse)));
+    }
+
+    /**
+     * Sets an existing person as the spouse of another person.
+     *
+     * @param request the request carrying the person and spouse IDs
+     * @return the updated person with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> setExistingSpouse(ServerRequest request) {
+        return ok(personService.setSpouse(id(request, "personId"), id(request, "spouseId")));
+    }
+
+    /**
+     * Removes the spouse relationship from a person.
+     *
+     * @param request the request carrying the person ID
+     * @return HTTP status 204 (No Content)
+     */
+    public Mono<ServerResponse> deleteSpouse(ServerRequest request) {
+        return personService.deleteSpouse(id(request, "personId"))
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * Adds a new former spouse to a person.
+     *
+     * @param request the request carrying the person ID and the former spouse data
+     * @return the created former spouse with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> addNewFormerSpouse(ServerRequest request) {
+        return ok(request.bodyToMono(PersonDTO.class)
+                .flatMap(formerSpouse -> personService.addFormerSpouse(id(request, "personId"), formerSpouse)));
+    }
+
+    /**
+     * Adds an existing person as a former spouse to another person.
+     *
+     * @param request the request carrying the person and former spouse IDs
+     * @return the former spouse with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> addExistingFormerSpouse(ServerRequest request) {
+        return ok(personService.addFormerSpouse(id(request, "personId"), id(request, "formerSpouseId")));
+    }
+
+    /**
+     * Merges a duplicate person into a survivor.
+     *
+     * @param request the request carrying the survivor and duplicate IDs
+     * @return the merged survivor with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> mergePerson(ServerRequest request) {
+        return ok(personService.mergePerson(id(request, "survivorId"), id(request, "duplicateId")));
+    }
+
+    /**
+     * Finds persons by first name.
+     *
+     * @param request the request carrying the first name
+     * @return a list of persons with the specified first name
+     */
+    public Mono<ServerResponse> findPersonByFirstName(ServerRequest request) {
+        return ServerResponse.ok().body(
+                personService.findPersonByFirstName(request.pathVariable("firstName")), PersonDTO.class);
+    }
+
+    /**
+     * Finds persons by last name.
+     *
+     * @param request the request carrying the last name
+     * @return a list of persons with the specified last name
+     */
+    public Mono<ServerResponse> findPersonByLastName(ServerRequest request) {
+        return ServerResponse.ok().body(
+                personService.findPersonByLastName(request.pathVariable("lastName")), PersonDTO.class);
+    }
+
+    /**
+     * Streams the descendants of a person as newline-delimited JSON.
+     * <p>
+     * The stream is written as the tree is traversed, and the traversal only advances as fast
+     * as the client reads.
+     * </p>
+     * <p>
+     * Example:
+     * <pre>
+     * curl http://localhost:8080/api/person/1/descendants
+     * </pre>
+     * </p>
+     *
+     * @param request the request carrying the ancestor ID
+     * @return the descendants with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> getDescendants(ServerRequest request) {
+        Long personId = id(request, "personId");
+        // Resolve the ancestor first so that an unknown ID is still answered with 404
+        return personService.getPerson(personId)
+                .flatMap(ancestor -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(personService.getDescendants(personId), PersonDTO.class));
+    }
+
+    private static Mono<ServerResponse> ok(Mono<PersonDTO> person) {
+        return person.flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    private static Long id(ServerRequest request, String name) {
+        String value = request.pathVariable(name);
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+}
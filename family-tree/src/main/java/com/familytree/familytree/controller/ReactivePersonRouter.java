@@ -0,0 +1,86 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.ErrorResponse;
+import com.familytree.familytree.exception.FamilyTreeException;
+import com.familytree.familytree.exception.PersonNotFoundException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Routes of the reactive person API.
+ * <p>
+ * Maps the {@code /api/person} paths of {@link PersonController} to the
+ * {@link ReactivePersonHandler} functions and translates errors into the same
+ * {@link ErrorResponse} bodies the servlet exception handler produces.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Configuration
+@Profile("reactive")
+public class ReactivePersonRouter {
+
+    /**
+     * Declares the person routes.
+     *
+     * @param handler the handler functions
+     * @return the router function
+     */
+    @Bean
+    public RouterFunction<ServerResponse> personRoutes(ReactivePersonHandler handler) {
+        return route()
+                .path("/api/person", builder -> builder
+                        .POST("", handler::createPerson)
+                        .PUT("", handler::updatePerson)
+                        .GET("/first-name/{firstName}", handler::findPersonByFirstName)
+                        .GET("/last-name/{lastName}", handler::findPersonByLastName)
+                        .GET("/{personId}", handler::getPerson)
+                        .DELETE("/{personId}", handler::deletePerson)
+                        .GET("/{personId}/descendants", handler::getDescendants)
+                        .POST("/{personId}/child", handler::addNewChild)
+                        .POST("/{personId}/child/{childId}", handler::addExistingChild)
+                        .POST("/{personId}/mother", handler::setNewMother)
+                        .POST("/{personId}/mother/{motherId}", handler::setExistingMother)
+                        .POST("/{personId}/father", handler::setNewFather)
+                        .POST("/{personId}/father/{fatherId}", handler::setExistingFather)
+                        .POST("/{personId}/spouse", handler::setNewSpouse)
+                        .POST("/{personId}/spouse/{spouseId}", handler::setExistingSpouse)
+                        .DELETE("/{personId}/spouse", handler::deleteSpouse)
+                        .POST("/{personId}/former-spouse", handler::addNewFormerSpouse)
+                        .POST("/{personId}/former-spouse/{formerSpouseId}", handler::addExistingFormerSpouse)
+                        .POST("/{survivorId}/merge/{duplicateId}", handler::mergePerson))
+                .onError(FamilyTreeException.class, (ex, request) -> {
+                    FamilyTreeException error = (FamilyTreeException) ex;
+                    HttpStatus status = error instanceof PersonNotFoundException
+                            ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+                    return error(status, error.getErrorCode(), error.getMessage(), request);
+                })
+                .onError(IllegalArgumentException.class, (ex, request) ->
+                        error(HttpStatus.BAD_REQUEST, "ILLEGAL_ARGUMENT", ex.getMessage(), request))
+                .build();
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String errorCode, String message,
+                                              ServerRequest request) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .errorCode(errorCode)
+                .message(message)
+                .path(request.path())
+                .build();
+        return ServerResponse.status(status).bodyValue(error);
+    }
+}
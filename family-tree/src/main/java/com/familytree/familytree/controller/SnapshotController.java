@@ -0,0 +1,70 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.SnapshotDTO;
+import com.familytree.familytree.snapshot.PersonSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the person snapshot of the snapshot profile.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@Profile("snapshot")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/snapshot")
+public class SnapshotController {
+
+    private final PersonSnapshotService personSnapshotService;
+
+    /**
+     * Constructs a new SnapshotController with the specified PersonSnapshotService.
+     *
+     * @param personSnapshotService the service owning the snapshot
+     */
+    @Autowired
+    public SnapshotController(PersonSnapshotService personSnapshotService) {
+        this.personSnapshotService = personSnapshotService;
+    }
+
+    /**
+     * Describes the mapped snapshot.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" http://localhost:8080/api/admin/snapshot
+     * </pre>
+     * </p>
+     *
+     * @return the snapshot with HTTP status 200 (OK), or HTTP status 404 (Not Found) if none is mapped
+     */
+    @GetMapping
+    public ResponseEntity<SnapshotDTO> getSnapshot() {
+        return ResponseEntity.of(personSnapshotService.describe());
+    }
+
+    /**
+     * Writes a snapshot of the current person graph and maps it.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" -X POST http://localhost:8080/api/admin/snapshot
+     * </pre>
+     * </p>
+     *
+     * @return the new snapshot with HTTP status 201 (Created)
+     */
+    @PostMapping
+    public ResponseEntity<SnapshotDTO> createSnapshot() {
+        return new ResponseEntity<>(personSnapshotService.write(), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,70 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.diagnostics.SqlDiagnosticsService;
+import com.familytree.familytree.dto.SqlDiagnosticsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the aggregates of the sql-diagnostics profile.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@Profile("sql-diagnostics")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/sql-diagnostics")
+public class SqlDiagnosticsController {
+
+    private final SqlDiagnosticsService sqlDiagnosticsService;
+
+    /**
+     * Constructs a new SqlDiagnosticsController with the specified SqlDiagnosticsService.
+     *
+     * @param sqlDiagnosticsService the service holding the aggregates
+     */
+    @Autowired
+    public SqlDiagnosticsController(SqlDiagnosticsService sqlDiagnosticsService) {
+        this.sqlDiagnosticsService = sqlDiagnosticsService;
+    }
+
+    /**
+     * Retrieves the SQL statement aggregates and Hibernate statistics.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -X GET http://localhost:8080/api/admin/sql-diagnostics
+     * </pre>
+     * </p>
+     *
+     * @return the diagnostics with HTTP status 200 (OK)
+     */
+    @GetMapping
+    public ResponseEntity<SqlDiagnosticsDTO> getDiagnostics() {
+        return ResponseEntity.ok(sqlDiagnosticsService.getDiagnostics());
+    }
+
+    /**
+     * Discards the collected aggregates.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -X DELETE http://localhost:8080/api/admin/sql-diagnostics
+     * </pre>
+     * </p>
+     *
+     * @return HTTP status 204 (No Content)
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        sqlDiagnosticsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
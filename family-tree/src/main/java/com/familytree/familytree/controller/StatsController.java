@@ -0,0 +1,48 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonStatsDTO;
+import com.familytree.familytree.service.PersonStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for aggregate statistics about the family tree.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final PersonStatsService personStatsService;
+
+    /**
+     * Constructs a new StatsController with the specified PersonStatsService.
+     *
+     * @param personStatsService the service to be used for statistics
+     */
+    @Autowired
+    public StatsController(PersonStatsService personStatsService) {
+        this.personStatsService = personStatsService;
+    }
+
+    /**
+     * Retrieves the current statistics.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -X GET http://localhost:8080/api/stats
+     * </pre>
+     * </p>
+     *
+     * @return the statistics with HTTP status 200 (OK)
+     */
+    @GetMapping
+    public ResponseEntity<PersonStatsDTO> getStats() {
+        return ResponseEntity.ok(personStatsService.getStats());
+    }
+}
@@ -0,0 +1,106 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.BackupDTO;
+import com.familytree.familytree.dto.StorageStatusDTO;
+import com.familytree.familytree.storage.StorageMaintenanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for checkpoints and online backups of the durable profile.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@Profile("durable")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/storage")
+public class StorageController {
+
+    private final StorageMaintenanceService storageMaintenanceService;
+
+    /**
+     * Constructs a new StorageController with the specified StorageMaintenanceService.
+     *
+     * @param storageMaintenanceService the service maintaining the database file
+     */
+    @Autowired
+    public StorageController(StorageMaintenanceService storageMaintenanceService) {
+        this.storageMaintenanceService = storageMaintenanceService;
+    }
+
+    /**
+     * Reports the database file size and the MVStore settings and counters.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" http://localhost:8080/api/admin/storage
+     * </pre>
+     * </p>
+     *
+     * @return the storage status with HTTP status 200 (OK)
+     */
+    @GetMapping
+    public ResponseEntity<StorageStatusDTO> getStatus() {
+        return ResponseEntity.ok(storageMaintenanceService.status());
+    }
+
+    /**
+     * Flushes all committed changes to the database file and syncs it to disk.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" -X POST http://localhost:8080/api/admin/storage/checkpoint
+     * </pre>
+     * </p>
+     *
+     * @return HTTP status 204 (No Content)
+     */
+    @PostMapping("/checkpoint")
+    public ResponseEntity<Void> checkpoint() {
+        storageMaintenanceService.checkpoint();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Writes a backup archive of the running database.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" -X POST http://localhost:8080/api/admin/storage/backups
+     * </pre>
+     * </p>
+     *
+     * @return the new backup with HTTP status 201 (Created)
+     */
+    @PostMapping("/backups")
+    public ResponseEntity<BackupDTO> createBackup() {
+        return new ResponseEntity<>(storageMaintenanceService.backup(), HttpStatus.CREATED);
+    }
+
+    /**
+     * Lists the retained backup archives, newest first.
+     * <p>
+     * Example:
+     * <pre>
+     * curl -H "X-Admin-Token: $TOKEN" http://localhost:8080/api/admin/storage/backups
+     * </pre>
+     * </p>
+     *
+     * @return the backups with HTTP status 200 (OK)
+     */
+    @GetMapping("/backups")
+    public ResponseEntity<List<BackupDTO>> getBackups() {
+        return ResponseEntity.ok(storageMaintenanceService.listBackups());
+    }
+}
@@ -0,0 +1,78 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.sync.DeltaSyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for synchronising offline clients.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final DeltaSyncService deltaSyncService;
+
+    /**
+     * Constructs a new SyncController.
+     *
+     * @param deltaSyncService the service computing the changes since a sync token
+     */
+    @Autowired
+    public SyncController(DeltaSyncService deltaSyncService) {
+        this.deltaSyncService = deltaSyncService;
+    }
+
+    /**
+     * Returns what a client has to apply to catch up from its last sync.
+     * <p>
+     * Without a token, or when {@code full} is true in the response, the client replaces
+     * all its data with the persons and edges returned. Otherwise it upserts the persons,
+     * adds or removes the edges, and removes each person in {@code deleted} together with
+     * every edge to it. In both cases it keeps the returned token for the next sync; the
+     * token is opaque. The response is gzip-compressed when the client accepts it.
+     * Example:
+     * <pre>
+     * curl --compressed "http://localhost:8080/api/sync?token=1234"
+     * </pre>
+     * </p>
+     *
+     * @param token the token returned by the previous sync, if any
+     * @param acceptEncoding the encodings the client accepts
+     * @return the changes with HTTP status 200 (OK)
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> sync(
+            @RequestParam(required = false) String token,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Long since = deltaSyncService.parseToken(token);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.body(outputStream -> deltaSyncService.write(since, outputStream));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(outputStream -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            deltaSyncService.write(since, gzip);
+            gzip.finish();
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.familytree.familytree.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the continuous flight recording, bound from {@code familytree.jfr}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.jfr")
+public class FlightRecorderProperties {
+
+    /**
+     * The JFR settings the recording starts from; {@code default} keeps the overhead
+     * around one percent, {@code profile} samples more and costs more.
+     */
+    private String settings = "default";
+
+    /**
+     * How far back the ring buffer reaches.
+     */
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /**
+     * The disk space the ring buffer may use.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+
+    /**
+     * The number of entries per section of the summary report.
+     */
+    private int reportTopEntries = 10;
+}
@@ -0,0 +1,256 @@
+package com.familytree.familytree.diagnostics;
+
+import com.familytree.familytree.dto.FlightRecordingReportDTO;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps a continuous flight recording running and serves dumps and summaries of it.
+ * <p>
+ * The recording is a ring buffer on disk bounded by age and size, so a latency spike can
+ * be investigated after the fact: a dump contains everything JFR saw in the last
+ * {@code familytree.jfr.max-age}, including the {@link PersonOperationEvent}s of the
+ * service layer.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class FlightRecorderService {
+
+    private static final String RECORDING_NAME = "familytree-continuous";
+
+    private static final String APPLICATION_PACKAGE = "com.familytree.";
+
+    private final FlightRecorderProperties properties;
+
+    private Recording recording;
+
+    /**
+     * Constructs a new FlightRecorderService.
+     *
+     * @param properties the recording settings
+     */
+    public FlightRecorderService(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts the continuous recording.
+     *
+     * @throws IOException if the JFR settings cannot be read
+     * @throws ParseException if the JFR settings cannot be parsed
+     */
+    public synchronized void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.enable(PersonOperationEvent.NAME);
+        recording.start();
+    }
+
+    /**
+     * Stops the recording and discards its data.
+     */
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Writes the current content of the ring buffer as a {@code .jfr} file.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if the recording cannot be dumped or written
+     */
+    public void writeDump(OutputStream outputStream) throws IOException {
+        Path dump = dump();
+        try {
+            Files.copy(dump, outputStream);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * Summarizes allocations, contention and service operations of a recent window.
+     *
+     * @param window how far back from now to summarize
+     * @return the report
+     * @throws IllegalArgumentException if the window is not positive
+     */
+    public FlightRecordingReportDTO report(Duration window) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("The report window must be positive");
+        }
+        Instant to = Instant.now();
+        Instant from = to.minus(window);
+        Map<String, Aggregate> byType = new HashMap<>();
+        Map<String, Aggregate> bySite = new HashMap<>();
+        Map<String, Aggregate> contention = new HashMap<>();
+        Map<String, Aggregate> operations = new HashMap<>();
+        try {
+            Path dump = dump();
+            try (RecordingFile file = new RecordingFile(dump)) {
+                while (file.hasMoreEvents()) {
+                    RecordedEvent event = file.readEvent();
+                    if (event.getStartTime().isBefore(from)) {
+                        continue;
+                    }
+                    switch (event.getEventType().getName()) {
+                        case "jdk.ObjectAllocationSample" -> {
+                            long weight = event.getLong("weight");
+                            aggregate(byType, className(event.getClass("objectClass"))).add(weight, 0);
+                            String site = applicationFrame(event.getStackTrace());
+                            if (site != null) {
+                                aggregate(bySite, site).add(weight, 0);
+                            }
+                        }
+                        case "jdk.JavaMonitorEnter" ->
+                                aggregate(contention, "monitor " + className(event.getClass("monitorClass")))
+                                        .add(0, millis(event.getDuration()));
+                        case "jdk.ThreadPark" ->
+                                aggregate(contention, "park " + className(event.getClass("parkedClass")))
+                                        .add(0, millis(event.getDuration()));
+                        case PersonOperationEvent.NAME -> aggregate(operations, event.getString("operation"))
+                                .addOperation(millis(event.getDuration()), event.getInt("traversalSize"),
+                                        event.getBoolean("failed"));
+                        default -> {
+                        }
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the flight recording", ex);
+        }
+        return FlightRecordingReportDTO.builder()
+                .from(from)
+                .to(to)
+                .allocationsByType(top(byType, aggregate -> aggregate.bytes))
+                .allocationsBySite(top(bySite, aggregate -> aggregate.bytes))
+                .contention(top(contention, aggregate -> aggregate.totalMillis))
+                .operations(operations.entrySet().stream()
+                        .sorted(Comparator.comparingDouble(
+                                (Map.Entry<String, Aggregate> entry) -> entry.getValue().totalMillis).reversed())
+                        .map(entry -> entry.getValue().toOperation(entry.getKey()))
+                        .toList())
+                .build();
+    }
+
+    private synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("The flight recording is not running");
+        }
+        Path dump = Files.createTempFile("familytree-", ".jfr");
+        recording.dump(dump);
+        return dump;
+    }
+
+    private List<FlightRecordingReportDTO.Entry> top(Map<String, Aggregate> aggregates,
+                                                      ToDoubleFunction<Aggregate> weight) {
+        return aggregates.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, Aggregate> entry) -> weight.applyAsDouble(entry.getValue())).reversed())
+                .limit(properties.getReportTopEntries())
+                .map(entry -> entry.getValue().toEntry(entry.getKey()))
+                .toList();
+    }
+
+    private static Aggregate aggregate(Map<String, Aggregate> aggregates, String name) {
+        return aggregates.computeIfAbsent(name, k -> new Aggregate());
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "unknown" : recordedClass.getName();
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Running totals of one report line.
+     */
+    private static final class Aggregate {
+        private long events;
+        private long bytes;
+        private double totalMillis;
+        private double maxMillis;
+        private long failures;
+        private long maxTraversalSize;
+
+        Aggregate add(long bytes, double millis) {
+            events++;
+            this.bytes += bytes;
+            totalMillis += millis;
+            return this;
+        }
+
+        void addOperation(double millis, long traversalSize, boolean failed) {
+            add(0, millis);
+            maxMillis = Math.max(maxMillis, millis);
+            maxTraversalSize = Math.max(maxTraversalSize, traversalSize);
+            if (failed) {
+                failures++;
+            }
+        }
+
+        FlightRecordingReportDTO.Entry toEntry(String name) {
+            return FlightRecordingReportDTO.Entry.builder()
+                    .name(name)
+                    .events(events)
+                    .bytes(bytes)
+                    .totalMillis(totalMillis)
+                    .build();
+        }
+
+        FlightRecordingReportDTO.Operation toOperation(String operation) {
+            return FlightRecordingReportDTO.Operation.builder()
+                    .operation(operation)
+                    .calls(events)
+                    .failures(failures)
+                    .totalMillis(totalMillis)
+                    .maxMillis(maxMillis)
+                    .maxTraversalSize(maxTraversalSize)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.familytree.familytree.diagnostics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the ID arguments of an {@code @Observed} method to its observation.
+ * <p>
+ * Every argument whose parameter name ends in {@code Id} becomes a high-cardinality key,
+ * so {@code getPerson(personId)} is traced with {@code person.id} and
+ * {@code setMother(personId, motherId)} with {@code person.id} and {@code mother.id}.
+ * High-cardinality keys end up on spans only, never as metric tags.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class IdArgumentObservationConvention implements ObservationConvention<ObservedAspect.ObservedAspectContext> {
+
+    private static final String ID_SUFFIX = "Id";
+
+    @Override
+    public KeyValues getHighCardinalityKeyValues(ObservedAspect.ObservedAspectContext context) {
+        ProceedingJoinPoint joinPoint = context.getProceedingJoinPoint();
+        if (!(joinPoint.getSignature() instanceof MethodSignature signature)) {
+            return KeyValues.empty();
+        }
+        String[] names = signature.getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        if (names == null) {
+            return KeyValues.empty();
+        }
+        List<KeyValue> keyValues = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].endsWith(ID_SUFFIX) && args[i] != null) {
+                String entity = names[i].substring(0, names[i].length() - ID_SUFFIX.length());
+                keyValues.add(KeyValue.of(entity + ".id", String.valueOf(args[i])));
+            }
+        }
+        return KeyValues.of(keyValues);
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ObservedAspect.ObservedAspectContext;
+    }
+}
@@ -0,0 +1,49 @@
+package com.familytree.familytree.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code PersonServiceImpl} call.
+ * <p>
+ * The event spans the call, so JFR viewers show it alongside the allocation, lock and
+ * I/O events of the same thread.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Name(PersonOperationEvent.NAME)
+@Label("Person Operation")
+@Category("Family Tree")
+@Description("A PersonServiceImpl call")
+@StackTrace(false)
+public class PersonOperationEvent extends Event {
+
+    /**
+     * The event type name.
+     */
+    public static final String NAME = "com.familytree.PersonOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Person ID")
+    @Description("The first ID argument, or 0 if there is none")
+    long personId;
+
+    @Label("Requested")
+    @Description("The number of IDs passed in a collection argument")
+    int requested;
+
+    @Label("Traversal Size")
+    @Description("The number of persons or rows returned")
+    int traversalSize;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,79 @@
+package com.familytree.familytree.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Emits a {@link PersonOperationEvent} for every public {@code PersonServiceImpl} method.
+ * <p>
+ * While no recording has the event enabled the aspect only pays for an
+ * {@link PersonOperationEvent#isEnabled()} check.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Aspect
+public class PersonOperationEventAspect {
+
+    /**
+     * Wraps a service call in a flight recorder event.
+     *
+     * @param joinPoint the service call
+     * @return the result of the call
+     * @throws Throwable whatever the call throws
+     */
+    @Around("execution(public * com.familytree.familytree.service.impl.PersonServiceImpl.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        PersonOperationEvent event = new PersonOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                for (Object arg : joinPoint.getArgs()) {
+                    if (arg instanceof Long id && event.personId == 0) {
+                        event.personId = id;
+                    } else if (arg instanceof Collection<?> ids) {
+                        event.requested = ids.size();
+                    }
+                }
+                event.traversalSize = size(result);
+                event.commit();
+            }
+        }
+    }
+
+    private static int size(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            // Children grouped by parent count their members; a field map is a single person
+            int size = 0;
+            boolean grouped = false;
+            for (Object value : map.values()) {
+                if (value instanceof Collection<?> collection) {
+                    size += collection.size();
+                    grouped = true;
+                }
+            }
+            return grouped ? size : 1;
+        }
+        return result == null ? 0 : 1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.familytree.familytree.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Thresholds of the SQL diagnostics mode, bound from {@code familytree.sql-diagnostics}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.sql-diagnostics")
+public class SqlDiagnosticsProperties {
+
+    /**
+     * Statements running at least this long are logged with their bind parameters.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(100);
+
+    /**
+     * A request that runs the same SELECT with at least this many different parameter
+     * sets is reported as an N+1 suspect.
+     */
+    private int repeatedSelectThreshold = 5;
+
+    /**
+     * The number of distinct SQL strings aggregated individually; statements beyond
+     * this limit are folded into a single "other" entry.
+     */
+    private int maxTrackedStatements = 500;
+}
@@ -0,0 +1,82 @@
+package com.familytree.familytree.diagnostics;
+
+import com.familytree.familytree.dto.SqlDiagnosticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Combines the JDBC aggregates of the statement recorder with Hibernate statistics.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class SqlDiagnosticsService {
+
+    private static final int TOP_STATEMENTS = 20;
+
+    private final SqlStatementRecorder recorder;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs a new SqlDiagnosticsService.
+     *
+     * @param recorder the recorder holding the JDBC aggregates
+     * @param entityManagerFactory the entity manager factory whose statistics are reported
+     */
+    public SqlDiagnosticsService(SqlStatementRecorder recorder, EntityManagerFactory entityManagerFactory) {
+        this.recorder = recorder;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Returns the current aggregates.
+     *
+     * @return the SQL diagnostics
+     */
+    public SqlDiagnosticsDTO getDiagnostics() {
+        return SqlDiagnosticsDTO.builder()
+                .requests(recorder.getRequests())
+                .statements(recorder.getStatements())
+                .maxStatementsPerRequest(recorder.getMaxStatementsPerRequest())
+                .slowStatements(recorder.getSlowStatements())
+                .suspectedNPlusOne(recorder.getSuspectedNPlusOne())
+                .topStatements(recorder.topStatements(TOP_STATEMENTS))
+                .hibernate(hibernateStatistics(statistics()))
+                .build();
+    }
+
+    /**
+     * Discards the JDBC aggregates and clears the Hibernate statistics.
+     */
+    public void reset() {
+        recorder.reset();
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Map<String, Object> hibernateStatistics(Statistics statistics) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("sessionsOpened", statistics.getSessionOpenCount());
+        values.put("transactions", statistics.getTransactionCount());
+        values.put("preparedStatements", statistics.getPrepareStatementCount());
+        values.put("queryExecutions", statistics.getQueryExecutionCount());
+        values.put("queryExecutionMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        values.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        values.put("entityLoads", statistics.getEntityLoadCount());
+        values.put("entityFetches", statistics.getEntityFetchCount());
+        values.put("entityInserts", statistics.getEntityInsertCount());
+        values.put("entityUpdates", statistics.getEntityUpdateCount());
+        values.put("collectionLoads", statistics.getCollectionLoadCount());
+        values.put("collectionFetches", statistics.getCollectionFetchCount());
+        values.put("flushes", statistics.getFlushCount());
+        return values;
+    }
+}
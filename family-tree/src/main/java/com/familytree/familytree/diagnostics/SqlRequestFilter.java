@@ -0,0 +1,54 @@
+package com.familytree.familytree.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes SQL statement collection to HTTP requests.
+ * <p>
+ * The number of statements each request executes is recorded as the
+ * {@code familytree.sql.statements.per.request} distribution summary; the recorder
+ * reports N+1 suspects when the request ends.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class SqlRequestFilter extends OncePerRequestFilter {
+
+    private final SqlStatementRecorder recorder;
+
+    private final DistributionSummary statementsPerRequest;
+
+    /**
+     * Constructs a new SqlRequestFilter.
+     *
+     * @param recorder the recorder collecting the statements
+     * @param meterRegistry the registry the per-request statement counts are recorded in
+     */
+    public SqlRequestFilter(SqlStatementRecorder recorder, MeterRegistry meterRegistry) {
+        this.recorder = recorder;
+        this.statementsPerRequest = DistributionSummary.builder("familytree.sql.statements.per.request")
+                .description("SQL statements executed per HTTP request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        recorder.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementsPerRequest.record(recorder.endRequest(request.getMethod() + " " + request.getRequestURI()));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.familytree.familytree.diagnostics;
+
+import com.familytree.familytree.dto.SqlStatementStatsDTO;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records every statement that passes the data source proxy.
+ * <p>
+ * Statements are aggregated per SQL string for the lifetime of the application. While a
+ * request is in progress (see {@link SqlRequestFilter}) the statements of the current
+ * thread are also collected for that request, so that a SELECT repeated with different
+ * bind parameters can be reported as an N+1 suspect when the request ends. Statements
+ * over the slow-query threshold are logged with their bind parameters as they complete.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementRecorder.class);
+
+    private static final String OTHER = "<other>";
+
+    private final SqlDiagnosticsProperties properties;
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+
+    private final LongAdder slowStatements = new LongAdder();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder suspectedNPlusOne = new LongAdder();
+
+    private final LongAccumulator maxStatementsPerRequest = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs a new SqlStatementRecorder.
+     *
+     * @param properties the diagnostics thresholds
+     */
+    public SqlStatementRecorder(SqlDiagnosticsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        boolean slow = elapsedMillis >= properties.getSlowQueryThreshold().toMillis();
+        RequestStatements request = currentRequest.get();
+        for (QueryInfo query : queryInfoList) {
+            String sql = query.getQuery();
+            statements.increment();
+            aggregate(sql).record(elapsedMillis, slow);
+            if (request != null) {
+                request.record(sql, query.getParametersList());
+            }
+        }
+        if (slow) {
+            slowStatements.increment();
+            log.warn("Slow SQL ({} ms{}): {}", elapsedMillis,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    describe(queryInfoList));
+        }
+    }
+
+    /**
+     * Starts collecting the statements of the current thread for a request.
+     */
+    public void beginRequest() {
+        currentRequest.set(new RequestStatements());
+    }
+
+    /**
+     * Stops collecting the statements of the current thread and reports N+1 suspects.
+     *
+     * @param description the request, as it should appear in the log
+     * @return the number of statements the request executed
+     */
+    public int endRequest(String description) {
+        RequestStatements request = currentRequest.get();
+        currentRequest.remove();
+        if (request == null) {
+            return 0;
+        }
+        requests.increment();
+        maxStatementsPerRequest.accumulate(request.count);
+        request.parameterSets.forEach((sql, parameterSets) -> {
+            if (parameterSets.size() >= properties.getRepeatedSelectThreshold()) {
+                suspectedNPlusOne.increment();
+                aggregate(sql).suspectedNPlusOneRequests.increment();
+                log.warn("Possible N+1 in {}: {} executions of the same SELECT with {} different parameter sets: {}",
+                        description, request.selects.get(sql), parameterSets.size(), sql);
+            }
+        });
+        return request.count;
+    }
+
+    /**
+     * Returns the aggregated statements, ordered by accumulated execution time.
+     *
+     * @param limit the maximum number of statements to return
+     * @return the most expensive statements
+     */
+    public List<SqlStatementStatsDTO> topStatements(int limit) {
+        return aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .sorted(Comparator.comparingLong(SqlStatementStatsDTO::getTotalMillis)
+                        .thenComparingLong(SqlStatementStatsDTO::getExecutions)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns the number of statements executed.
+     *
+     * @return the number of statements executed
+     */
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    /**
+     * Returns the number of statements over the slow-query threshold.
+     *
+     * @return the number of statements over the slow-query threshold
+     */
+    public long getSlowStatements() {
+        return slowStatements.sum();
+    }
+
+    /**
+     * Returns the number of requests observed.
+     *
+     * @return the number of requests observed
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of N+1 suspects reported.
+     *
+     * @return the number of N+1 suspects reported
+     */
+    public long getSuspectedNPlusOne() {
+        return suspectedNPlusOne.sum();
+    }
+
+    /**
+     * Returns the largest number of statements executed by a single request.
+     *
+     * @return the largest number of statements executed by a single request
+     */
+    public long getMaxStatementsPerRequest() {
+        return maxStatementsPerRequest.get();
+    }
+
+    /**
+     * Discards all aggregates. Requests in progress keep their own statements.
+     */
+    public void reset() {
+        aggregates.clear();
+        statements.reset();
+        slowStatements.reset();
+        requests.reset();
+        suspectedNPlusOne.reset();
+        maxStatementsPerRequest.reset();
+    }
+
+    private Aggregate aggregate(String sql) {
+        Aggregate aggregate = aggregates.get(sql);
+        if (aggregate != null) {
+            return aggregate;
+        }
+        String key = aggregates.size() < properties.getMaxTrackedStatements() ? sql : OTHER;
+        return aggregates.computeIfAbsent(key, k -> new Aggregate());
+    }
+
+    private static String describe(List<QueryInfo> queries) {
+        return queries.stream()
+                .map(query -> query.getQuery() + " " + query.getParametersList().stream()
+                        .map(SqlStatementRecorder::formatParameters)
+                        .collect(Collectors.joining(", ")))
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String formatParameters(List<ParameterSetOperation> parameters) {
+        return parameters.stream()
+                .map(operation -> {
+                    Object[] args = operation.getArgs();
+                    Object value = ParameterSetOperation.isSetNullParameterOperation(operation) ? null : args[1];
+                    return args[0] + "=" + (value instanceof String ? "'" + value + "'" : value);
+                })
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /**
+     * Lifetime counters of one SQL string.
+     */
+    private static final class Aggregate {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+        private final LongAdder slowExecutions = new LongAdder();
+        private final LongAdder suspectedNPlusOneRequests = new LongAdder();
+
+        void record(long elapsedMillis, boolean slow) {
+            executions.increment();
+            totalMillis.add(elapsedMillis);
+            maxMillis.accumulate(elapsedMillis);
+            if (slow) {
+                slowExecutions.increment();
+            }
+        }
+
+        SqlStatementStatsDTO toDTO(String sql) {
+            return SqlStatementStatsDTO.builder()
+                    .sql(sql)
+                    .executions(executions.sum())
+                    .totalMillis(totalMillis.sum())
+                    .maxMillis(maxMillis.get())
+                    .slowExecutions(slowExecutions.sum())
+                    .suspectedNPlusOneRequests(suspectedNPlusOneRequests.sum())
+                    .build();
+        }
+    }
+
+    /**
+     * The statements of one request; only touched by the thread serving it.
+     */
+    private static final class RequestStatements {
+        private int count;
+        private final Map<String, Integer> selects = new HashMap<>();
+        private final Map<String, Set<String>> parameterSets = new HashMap<>();
+
+        void record(String sql, List<List<ParameterSetOperation>> parametersList) {
+            count++;
+            if (!sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                return;
+            }
+            selects.merge(sql, 1, Integer::sum);
+            Set<String> distinct = parameterSets.computeIfAbsent(sql, k -> new HashSet<>());
+            for (List<ParameterSetOperation> parameters : parametersList) {
+                distinct.add(formatParameters(parameters));
+            }
+        }
+    }
+}
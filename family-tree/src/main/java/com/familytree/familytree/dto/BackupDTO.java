@@ -0,0 +1,36 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for an online backup of the durable database.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class BackupDTO {
+    /**
+     * The file name of the backup archive in the backup directory.
+     */
+    private String file;
+
+    /**
+     * The size of the archive in bytes.
+     */
+    private long sizeBytes;
+
+    /**
+     * When the archive was written.
+     */
+    private Instant createdAt;
+
+    /**
+     * How long writing the archive took, in milliseconds; only set for a backup just taken.
+     */
+    private Long durationMillis;
+}
@@ -0,0 +1,37 @@
+package com.familytree.familytree.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the parameters of a duplicate detection scan.
+ * <p>
+ * All parameters are optional; unset values fall back to the service defaults.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DedupScanRequest {
+    /**
+     * The minimum score (0 to 1) for a pair to be reported.
+     */
+    private Double minScore;
+
+    /**
+     * The maximum number of pairs to report.
+     */
+    private Integer limit;
+
+    /**
+     * Blocks larger than this are split further by first name and birth place; parts
+     * that stay larger are skipped.
+     */
+    private Integer maxBlockSize;
+}
@@ -0,0 +1,44 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a pair of persons that are probably the same individual.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class DuplicateCandidateDTO {
+    /**
+     * The ID of the person with the lower ID.
+     */
+    private Long personId;
+
+    /**
+     * The ID of the probable duplicate.
+     */
+    private Long duplicateId;
+
+    /**
+     * The overall match score between 0 and 1.
+     */
+    private double score;
+
+    /**
+     * The similarity of the names between 0 and 1.
+     */
+    private double nameScore;
+
+    /**
+     * The similarity of the birth dates between 0 and 1.
+     */
+    private double dateScore;
+
+    /**
+     * The similarity of the birth places between 0 and 1.
+     */
+    private double placeScore;
+}
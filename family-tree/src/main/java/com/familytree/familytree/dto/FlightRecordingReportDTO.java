@@ -0,0 +1,116 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a summary of the continuous flight recording.
+ * <p>
+ * Allocation figures are estimates from JFR's sampled allocation events; contention
+ * figures only contain waits above the recording's thresholds (20 ms with the default
+ * settings).
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class FlightRecordingReportDTO {
+    /**
+     * The start of the summarized window.
+     */
+    private Instant from;
+
+    /**
+     * The end of the summarized window.
+     */
+    private Instant to;
+
+    /**
+     * The allocated types with the largest estimated allocation, largest first.
+     */
+    private List<Entry> allocationsByType;
+
+    /**
+     * The application frames with the largest estimated allocation, largest first.
+     */
+    private List<Entry> allocationsBySite;
+
+    /**
+     * The monitor and lock classes threads waited on longest, longest first.
+     */
+    private List<Entry> contention;
+
+    /**
+     * The {@code PersonServiceImpl} operations, by accumulated duration.
+     */
+    private List<Operation> operations;
+
+    /**
+     * One aggregated line of a report section.
+     */
+    @Data
+    @Builder
+    public static class Entry {
+        /**
+         * The type, frame or lock class.
+         */
+        private String name;
+
+        /**
+         * The number of events.
+         */
+        private long events;
+
+        /**
+         * The estimated bytes allocated, for allocation sections.
+         */
+        private long bytes;
+
+        /**
+         * The accumulated wait in milliseconds, for the contention section.
+         */
+        private double totalMillis;
+    }
+
+    /**
+     * The aggregated events of one service operation.
+     */
+    @Data
+    @Builder
+    public static class Operation {
+        /**
+         * The service method name.
+         */
+        private String operation;
+
+        /**
+         * The number of calls.
+         */
+        private long calls;
+
+        /**
+         * The number of failed calls.
+         */
+        private long failures;
+
+        /**
+         * The accumulated duration in milliseconds.
+         */
+        private double totalMillis;
+
+        /**
+         * The longest call in milliseconds.
+         */
+        private double maxMillis;
+
+        /**
+         * The largest traversal size of a single call.
+         */
+        private long maxTraversalSize;
+    }
+}
@@ -0,0 +1,59 @@
+package com.familytree.familytree.dto;
+
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object for an entry of the person change log.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class PersonChangeDTO {
+    /**
+     * The sequence number of the change; pass it as {@code since} to read the changes after it.
+     */
+    private long sequence;
+
+    /**
+     * The kind of change.
+     */
+    private PersonChangeEvent.ChangeType type;
+
+    /**
+     * The ID of the changed person.
+     */
+    private Long personId;
+
+    /**
+     * When the change was committed.
+     */
+    private Instant changedAt;
+
+    /**
+     * The state of the person before the change (null for creations).
+     */
+    private PersonState before;
+
+    /**
+     * The state of the person after the change (null for deletions and merges).
+     */
+    private PersonState after;
+
+    /**
+     * The ID of the survivor a merged duplicate was folded into (merges only).
+     */
+    private Long mergedIntoId;
+
+    /**
+     * The IDs of persons whose relationships were repointed to the survivor (merges only).
+     */
+    private List<Long> repointedIds;
+}
@@ -1,7 +1,9 @@
 package com.familytree.familytree.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 /**
@@ -16,6 +18,8 @@ import java.time.LocalDate;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PersonDTO {
     /**
      * The unique identifier of the person.
@@ -0,0 +1,45 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a relationship edge in a sync response.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class PersonEdgeDTO {
+
+    /**
+     * The relationship an edge stands for, from the person to the relative.
+     */
+    public enum Relation {
+        PARENT,
+        MOTHER,
+        FATHER,
+        SPOUSE
+    }
+
+    /**
+     * The ID of the person the relationship belongs to.
+     */
+    private Long personId;
+
+    /**
+     * The kind of relationship.
+     */
+    private Relation relation;
+
+    /**
+     * The ID of the related person.
+     */
+    private Long relativeId;
+
+    /**
+     * Whether the edge was removed rather than added.
+     */
+    private boolean removed;
+}
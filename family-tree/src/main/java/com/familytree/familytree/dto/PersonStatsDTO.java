@@ -0,0 +1,65 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for aggregate statistics about the family tree.
+ * <p>
+ * This class represents a point-in-time view of the counters maintained by the
+ * statistics service. Grouped counts only contain keys with a non-zero count.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class PersonStatsDTO {
+    /**
+     * The total number of persons.
+     */
+    private long totalPersons;
+
+    /**
+     * The number of persons without a death date.
+     */
+    private long living;
+
+    /**
+     * The number of persons with a death date.
+     */
+    private long deceased;
+
+    /**
+     * The number of persons who currently have a spouse.
+     */
+    private long married;
+
+    /**
+     * The number of persons who have at least one child.
+     */
+    private long parents;
+
+    /**
+     * The number of persons per last name.
+     */
+    private Map<String, Long> bySurname;
+
+    /**
+     * The number of persons per birth place.
+     */
+    private Map<String, Long> byBirthPlace;
+
+    /**
+     * The number of persons per occupation.
+     */
+    private Map<String, Long> byOccupation;
+
+    /**
+     * The number of persons per birth decade, keyed by the first year of the decade.
+     */
+    private Map<Integer, Long> byBirthDecade;
+}
@@ -0,0 +1,46 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for the mapped person snapshot.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class SnapshotDTO {
+    /**
+     * The snapshot file.
+     */
+    private String file;
+
+    /**
+     * The number of persons in the snapshot.
+     */
+    private int persons;
+
+    /**
+     * The number of parent-child links in the children index.
+     */
+    private int childLinks;
+
+    /**
+     * The size of the snapshot file in bytes.
+     */
+    private long sizeBytes;
+
+    /**
+     * When the snapshot was written.
+     */
+    private Instant createdAt;
+
+    /**
+     * How long writing the snapshot took, in milliseconds; only set for a snapshot just written.
+     */
+    private Long durationMillis;
+}
@@ -0,0 +1,56 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the aggregates collected by the SQL diagnostics mode.
+ * <p>
+ * JDBC figures come from the data source proxy and cover every statement since start-up
+ * or the last reset; Hibernate figures come from the session factory statistics.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class SqlDiagnosticsDTO {
+    /**
+     * The number of HTTP requests observed.
+     */
+    private long requests;
+
+    /**
+     * The number of SQL statements executed, inside and outside of requests.
+     */
+    private long statements;
+
+    /**
+     * The largest number of statements executed by a single request.
+     */
+    private long maxStatementsPerRequest;
+
+    /**
+     * The number of statements over the slow-query threshold.
+     */
+    private long slowStatements;
+
+    /**
+     * The number of N+1 suspects reported.
+     */
+    private long suspectedNPlusOne;
+
+    /**
+     * The statements with the highest accumulated execution time, most expensive first.
+     */
+    private List<SqlStatementStatsDTO> topStatements;
+
+    /**
+     * Selected Hibernate session factory statistics.
+     */
+    private Map<String, Object> hibernate;
+}
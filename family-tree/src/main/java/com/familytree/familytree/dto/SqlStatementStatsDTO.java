@@ -0,0 +1,44 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for the aggregated executions of one SQL statement.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class SqlStatementStatsDTO {
+    /**
+     * The SQL as prepared, with {@code ?} placeholders for bind parameters.
+     */
+    private String sql;
+
+    /**
+     * The number of executions.
+     */
+    private long executions;
+
+    /**
+     * The accumulated execution time in milliseconds.
+     */
+    private long totalMillis;
+
+    /**
+     * The longest single execution in milliseconds.
+     */
+    private long maxMillis;
+
+    /**
+     * The number of executions over the slow-query threshold.
+     */
+    private long slowExecutions;
+
+    /**
+     * The number of requests in which this statement was flagged as an N+1 suspect.
+     */
+    private long suspectedNPlusOneRequests;
+}
@@ -0,0 +1,32 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the state of the durable database.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class StorageStatusDTO {
+    /**
+     * The database file.
+     */
+    private String file;
+
+    /**
+     * The size of the database file in bytes.
+     */
+    private long fileSizeBytes;
+
+    /**
+     * The MVStore settings and counters reported by H2 ({@code info.*} in
+     * {@code INFORMATION_SCHEMA.SETTINGS}), such as cache size and file reads and writes.
+     */
+    private Map<String, String> store;
+}
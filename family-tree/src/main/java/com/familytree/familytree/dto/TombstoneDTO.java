@@ -0,0 +1,24 @@
+package com.familytree.familytree.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a deleted person in a sync response.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@Builder
+public class TombstoneDTO {
+    /**
+     * The ID of the deleted person; edges to it are gone as well.
+     */
+    private Long personId;
+
+    /**
+     * The ID of the person it was merged into, if it was deleted by a merge.
+     */
+    private Long mergedIntoId;
+}
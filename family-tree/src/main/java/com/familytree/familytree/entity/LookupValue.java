@@ -0,0 +1,70 @@
+package com.familytree.familytree.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity class representing one distinct value of a dictionary-encoded person column.
+ * <p>
+ * This class maps to the database table 'lookup_values'. Last names, occupations, birth
+ * places and addresses repeat across many persons, so the persons table stores the ID of
+ * the value instead of the value itself. Values are shared by all four columns, are never
+ * updated and are never deleted, so an ID keeps denoting the same value for the lifetime
+ * of the database.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "lookup_values")
+public class LookupValue {
+
+    /**
+     * The unique identifier of the value.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The value itself; the column is not called "value", which is a keyword in H2.
+     */
+    @Column(name = "text_value", nullable = false, unique = true)
+    private String value;
+
+    /**
+     * Gets the ID of the value.
+     *
+     * @return the ID
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the value.
+     *
+     * @param id the ID to set
+     */
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the value.
+     *
+     * @return the value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value.
+     *
+     * @param value the value to set
+     */
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.familytree.familytree.entity;
+
+import com.familytree.familytree.repository.LookupValueDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a dictionary-encoded person column as the ID of its {@link LookupValue}.
+ * <p>
+ * Hibernate obtains this converter from the Spring bean factory. Values read from the
+ * database resolve to the dictionary's shared instances. Values are only looked up here,
+ * never added: {@link LookupValueListener} adds the values of a person before it is
+ * written, and a query for a value that is not in the dictionary binds
+ * {@link LookupValueDictionary#NO_SUCH_VALUE}, which matches no person.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Converter
+public class LookupValueConverter implements AttributeConverter<String, Integer> {
+
+    private final LookupValueDictionary dictionary;
+
+    /**
+     * Constructs a new LookupValueConverter.
+     *
+     * @param dictionary the dictionary of lookup values
+     */
+    public LookupValueConverter(LookupValueDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String attribute) {
+        return attribute != null ? dictionary.idOf(attribute) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer dbData) {
+        return dbData != null ? dictionary.valueOf(dbData) : null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.familytree.familytree.entity;
+
+import com.familytree.familytree.repository.LookupValueDictionary;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Adds the dictionary-encoded values of a person to the dictionary before the person is
+ * inserted or updated, and replaces them with the dictionary's shared instances.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class LookupValueListener {
+
+    private final LookupValueDictionary dictionary;
+
+    /**
+     * Constructs a new LookupValueListener.
+     *
+     * @param dictionary the dictionary of lookup values
+     */
+    public LookupValueListener(LookupValueDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Interns the last name, occupation, birth place and address of a person.
+     *
+     * @param person the person about to be written
+     */
+    @PrePersist
+    @PreUpdate
+    public void intern(Person person) {
+        person.setLastName(dictionary.intern(person.getLastName()));
+        person.setOccupation(dictionary.intern(person.getOccupation()));
+        person.setBirthPlace(dictionary.intern(person.getBirthPlace()));
+        person.setCurrentlyLivesAtAddress(dictionary.intern(person.getCurrentlyLivesAtAddress()));
+    }
+}
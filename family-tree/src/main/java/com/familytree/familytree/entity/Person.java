@@ -11,12 +11,27 @@ import java.util.List;
  * This class maps to the database table 'persons' and contains all the information
  * about a person, including their personal details and relationships to other family members.
  * </p>
+ * <p>
+ * The last name, occupation, birth place and address are dictionary-encoded: their
+ * columns hold the ID of a {@link LookupValue}, and {@link LookupValueConverter} translates
+ * between the two, so searching by any of them compares indexed integers.
+ * </p>
+ * <p>
+ * Relatives are loaded lazily: reading their IDs does not touch the database, so loading a
+ * batch of persons does not pull in each one's ancestry. Anything else about a relative
+ * has to be read inside a transaction.
+ * </p>
  *
  * @author Family Tree Team
  * @version 1.0
  */
 @Entity
-@Table(name = "persons")
+@Table(name = "persons", indexes = {
+        @Index(columnList = "last_name_id"),
+        @Index(columnList = "occupation_id"),
+        @Index(columnList = "birth_place_id")
+})
+@EntityListeners(LookupValueListener.class)
 public class Person {
     
     /**
@@ -41,13 +56,15 @@ public class Person {
     /**
      * The last name of the person.
      */
-    @Column(nullable = false)
+    @Column(name = "last_name_id", nullable = false)
+    @Convert(converter = LookupValueConverter.class)
     private String lastName;
 
     /**
      * The occupation of the person.
      */
-    @Column
+    @Column(name = "occupation_id")
+    @Convert(converter = LookupValueConverter.class)
     private String occupation;
 
     /**
@@ -71,13 +88,15 @@ public class Person {
     /**
      * The place where the person was born.
      */
-    @Column
+    @Column(name = "birth_place_id")
+    @Convert(converter = LookupValueConverter.class)
     private String birthPlace;
 
     /**
      * The current address where the person lives.
      */
-    @Column
+    @Column(name = "currently_lives_at_address_id")
+    @Convert(converter = LookupValueConverter.class)
     private String currentlyLivesAtAddress;
 
     /**
@@ -89,28 +108,28 @@ public class Person {
     /**
      * The parent of this person.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Person parent;
 
     /**
      * The mother of this person.
      */
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mother_id")
     private Person mother;
 
     /**
      * The father of this person.
      */
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "father_id")
     private Person father;
 
     /**
      * The spouse of this person.
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "spouse_id")
     private Person spouse;
 
@@ -0,0 +1,217 @@
+package com.familytree.familytree.entity;
+
+import com.familytree.familytree.event.PersonChangeEvent;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing one entry of the person change log.
+ * <p>
+ * This class maps to the database table 'person_changes'. Every change made through the
+ * person service is appended in the transaction that makes it, with a sequence number
+ * that increases in commit order. Entries are never updated; the before and after states
+ * are stored as JSON, so the log stays readable whichever storage engine holds the persons.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "person_changes")
+public class PersonChange {
+
+    /**
+     * The sequence number of the change.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long sequence;
+
+    /**
+     * The ID of the changed person.
+     */
+    @Column(nullable = false)
+    private Long personId;
+
+    /**
+     * The kind of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PersonChangeEvent.ChangeType changeType;
+
+    /**
+     * When the change was committed.
+     */
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    /**
+     * The state of the person before the change, as JSON.
+     */
+    @Lob
+    private String beforeState;
+
+    /**
+     * The state of the person after the change, as JSON.
+     */
+    @Lob
+    private String afterState;
+
+    /**
+     * The ID of the survivor a merged duplicate was folded into.
+     */
+    private Long mergedIntoId;
+
+    /**
+     * The IDs of the persons repointed to the survivor by a merge, as a JSON array.
+     */
+    @Lob
+    private String repointedIds;
+
+    /**
+     * Gets the sequence number of the change.
+     *
+     * @return the sequence number
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the sequence number of the change.
+     *
+     * @param sequence the sequence number to set
+     */
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Gets the ID of the changed person.
+     *
+     * @return the person ID
+     */
+    public Long getPersonId() {
+        return personId;
+    }
+
+    /**
+     * Sets the ID of the changed person.
+     *
+     * @param personId the person ID to set
+     */
+    public void setPersonId(Long personId) {
+        this.personId = personId;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return the change type
+     */
+    public PersonChangeEvent.ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Sets the kind of change.
+     *
+     * @param changeType the change type to set
+     */
+    public void setChangeType(PersonChangeEvent.ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    /**
+     * Gets when the change was committed.
+     *
+     * @return the commit time
+     */
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * Sets when the change was committed.
+     *
+     * @param changedAt the commit time to set
+     */
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Gets the state before the change.
+     *
+     * @return the state as JSON, or null for a creation
+     */
+    public String getBeforeState() {
+        return beforeState;
+    }
+
+    /**
+     * Sets the state before the change.
+     *
+     * @param beforeState the state as JSON to set
+     */
+    public void setBeforeState(String beforeState) {
+        this.beforeState = beforeState;
+    }
+
+    /**
+     * Gets the state after the change.
+     *
+     * @return the state as JSON, or null for a deletion or merge
+     */
+    public String getAfterState() {
+        return afterState;
+    }
+
+    /**
+     * Sets the state after the change.
+     *
+     * @param afterState the state as JSON to set
+     */
+    public void setAfterState(String afterState) {
+        this.afterState = afterState;
+    }
+
+    /**
+     * Gets the ID of the survivor of a merge.
+     *
+     * @return the survivor ID, or null
+     */
+    public Long getMergedIntoId() {
+        return mergedIntoId;
+    }
+
+    /**
+     * Sets the ID of the survivor of a merge.
+     *
+     * @param mergedIntoId the survivor ID to set
+     */
+    public void setMergedIntoId(Long mergedIntoId) {
+        this.mergedIntoId = mergedIntoId;
+    }
+
+    /**
+     * Gets the IDs of the persons repointed by a merge.
+     *
+     * @return the IDs as a JSON array, or null
+     */
+    public String getRepointedIds() {
+        return repointedIds;
+    }
+
+    /**
+     * Sets the IDs of the persons repointed by a merge.
+     *
+     * @param repointedIds the IDs as a JSON array to set
+     */
+    public void setRepointedIds(String repointedIds) {
+        this.repointedIds = repointedIds;
+    }
+}
@@ -0,0 +1,106 @@
+package com.familytree.familytree.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Application event describing a single committed change to a person.
+ * <p>
+ * The service layer publishes one event per affected row. {@code before} is null for
+ * creations and {@code after} is null for deletions and merges. A merge removes the
+ * duplicate and repoints every relationship that referenced it to the survivor with bulk
+ * updates, so the repointed rows are listed on the merge event instead of being announced
+ * one by one.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Value
+public class PersonChangeEvent {
+
+    /**
+     * The kind of change that was made.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        MERGED
+    }
+
+    /**
+     * The kind of change that was made.
+     */
+    ChangeType type;
+
+    /**
+     * The ID of the changed person.
+     */
+    Long personId;
+
+    /**
+     * The state of the person before the change.
+     */
+    PersonState before;
+
+    /**
+     * The state of the person after the change.
+     */
+    PersonState after;
+
+    /**
+     * The ID of the survivor a merged duplicate was folded into (merges only).
+     */
+    Long mergedIntoId;
+
+    /**
+     * The IDs of persons whose relationships were repointed to the survivor (merges only).
+     */
+    List<Long> repointedIds;
+
+    /**
+     * Creates an event for a newly created person.
+     *
+     * @param after the state of the created person
+     * @return the event
+     */
+    public static PersonChangeEvent created(PersonState after) {
+        return new PersonChangeEvent(ChangeType.CREATED, after.getId(), null, after, null, List.of());
+    }
+
+    /**
+     * Creates an event for an updated person.
+     *
+     * @param before the state before the update
+     * @param after the state after the update
+     * @return the event
+     */
+    public static PersonChangeEvent updated(PersonState before, PersonState after) {
+        return new PersonChangeEvent(ChangeType.UPDATED, after.getId(), before, after, null, List.of());
+    }
+
+    /**
+     * Creates an event for a deleted person.
+     *
+     * @param before the state of the person when it was deleted
+     * @return the event
+     */
+    public static PersonChangeEvent deleted(PersonState before) {
+        return new PersonChangeEvent(ChangeType.DELETED, before.getId(), before, null, null, List.of());
+    }
+
+    /**
+     * Creates an event for a duplicate that was merged into a survivor.
+     *
+     * @param before the state of the duplicate when it was merged
+     * @param survivorId the ID of the surviving person
+     * @param repointedIds the IDs of persons whose relationships now reference the survivor
+     * @return the event
+     */
+    public static PersonChangeEvent merged(PersonState before, Long survivorId, List<Long> repointedIds) {
+        return new PersonChangeEvent(ChangeType.MERGED, before.getId(), before, null, survivorId,
+                List.copyOf(repointedIds));
+    }
+}
@@ -0,0 +1,119 @@
+package com.familytree.familytree.event;
+
+import com.familytree.familytree.entity.Person;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a person's column values at a point in time.
+ * <p>
+ * Instances are captured by the service layer before and after every write so that
+ * listeners can react to exactly what changed without reloading the entity or walking
+ * its lazy relationships. States are read back from JSON through the builder.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class PersonState {
+    /**
+     * The unique identifier of the person.
+     */
+    Long id;
+
+    /**
+     * The first name of the person.
+     */
+    String firstName;
+
+    /**
+     * The middle name of the person (optional).
+     */
+    String middleName;
+
+    /**
+     * The last name of the person.
+     */
+    String lastName;
+
+    /**
+     * The occupation of the person.
+     */
+    String occupation;
+
+    /**
+     * A detailed life story or biography of the person.
+     */
+    String lifeStory;
+
+    /**
+     * The date when the person was born.
+     */
+    LocalDate bornDate;
+
+    /**
+     * The date when the person died (null if still alive).
+     */
+    LocalDate diedDate;
+
+    /**
+     * The place where the person was born.
+     */
+    String birthPlace;
+
+    /**
+     * The current address where the person lives.
+     */
+    String currentlyLivesAtAddress;
+
+    /**
+     * The ID of the person's mother.
+     */
+    Long motherId;
+
+    /**
+     * The ID of the person's father.
+     */
+    Long fatherId;
+
+    /**
+     * The ID of the person's spouse.
+     */
+    Long spouseId;
+
+    /**
+     * The ID of the person's parent.
+     */
+    Long parentId;
+
+    /**
+     * Captures the current state of a Person entity.
+     *
+     * @param person the entity to copy
+     * @return the captured state
+     */
+    public static PersonState of(Person person) {
+        return PersonState.builder()
+                .id(person.getId())
+                .firstName(person.getFirstName())
+                .middleName(person.getMiddleName())
+                .lastName(person.getLastName())
+                .occupation(person.getOccupation())
+                .lifeStory(person.getLifeStory())
+                .bornDate(person.getBornDate())
+                .diedDate(person.getDiedDate())
+                .birthPlace(person.getBirthPlace())
+                .currentlyLivesAtAddress(person.getCurrentlyLivesAtAddress())
+                .motherId(person.getMother() != null ? person.getMother().getId() : null)
+                .fatherId(person.getFather() != null ? person.getFather().getId() : null)
+                .spouseId(person.getSpouse() != null ? person.getSpouse().getId() : null)
+                .parentId(person.getParent() != null ? person.getParent().getId() : null)
+                .build();
+    }
+}
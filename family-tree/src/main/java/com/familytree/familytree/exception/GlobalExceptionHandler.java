@@ -1,7 +1,12 @@
 package com.familytree.familytree.exception;
 
 import com.familytree.familytree.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -18,14 +23,29 @@ import java.util.Map;
  * <p>
  * This class provides centralized exception handling for the application.
  * It converts exceptions to appropriate HTTP responses with error details.
+ * Every handled exception is counted as {@code familytree.exceptions}, tagged with the
+ * handler branch and the exception type.
  * </p>
  *
  * @author Family Tree Team
  * @version 1.0
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new GlobalExceptionHandler.
+     *
+     * @param meterRegistry the registry the exception counters are recorded in
+     */
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handles FamilyTreeException and its subclasses.
      * <p>
@@ -41,6 +61,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(FamilyTreeException.class)
     public ResponseEntity<ErrorResponse> handleFamilyTreeException(
             FamilyTreeException ex, HttpServletRequest request) {
+        count("family_tree", ex);
         HttpStatus status = ex instanceof PersonNotFoundException ? 
                 HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
         
@@ -59,6 +80,7 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, HttpServletRequest request) {
+        count("illegal_argument", ex);
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.BAD_REQUEST.value())
@@ -70,6 +92,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles constraint violations reported by the database.
+     * <p>
+     * Relationships given by ID are attached without loading the related person, so a
+     * reference to a person that does not exist surfaces here, as do conflicting spouse
+     * assignments. Both are reported as HTTP 409 (Conflict).
+     * </p>
+     *
+     * @param ex the exception to handle
+     * @param request the HTTP request
+     * @return a ResponseEntity containing the error details
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, HttpServletRequest request) {
+        count("data_integrity", ex);
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .errorCode("DATA_INTEGRITY_VIOLATION")
+                .message("The change conflicts with existing data or references a person that does not exist")
+                .path(request.getRequestURI())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles MethodArgumentNotValidException.
      * <p>
@@ -85,6 +134,7 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
+        count("validation", ex);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error -> 
             errors.put(error.getField(), error.getDefaultMessage())
@@ -117,6 +167,7 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ErrorResponse> handleAllUncaughtException(
             Exception ex, HttpServletRequest request) {
+        count("unexpected", ex);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
@@ -128,4 +179,19 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Increments the exception counter of a handler branch.
+     *
+     * @param handler the handler branch
+     * @param ex the handled exception
+     */
+    private void count(String handler, Exception ex) {
+        Counter.builder("familytree.exceptions")
+                .description("Exceptions handled by the global exception handler")
+                .tag("handler", handler)
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,123 @@
+package com.familytree.familytree.mapper;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Streaming Jackson serializer for {@link PersonDTO}.
+ * <p>
+ * Writes the fields straight to the generator in declaration order with pre-encoded
+ * field names, bypassing the reflective bean serializer. The output is the same as the
+ * default serializer's: nulls are written unless the mapper excludes them, and dates are
+ * ISO strings unless the mapper writes dates as timestamps, in which case they become
+ * {@code [year, month, day]} arrays.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@JsonComponent
+public class PersonDTOSerializer extends StdSerializer<PersonDTO> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString MIDDLE_NAME = new SerializedString("middleName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString OCCUPATION = new SerializedString("occupation");
+    private static final SerializableString LIFE_STORY = new SerializedString("lifeStory");
+    private static final SerializableString BORN_DATE = new SerializedString("bornDate");
+    private static final SerializableString DIED_DATE = new SerializedString("diedDate");
+    private static final SerializableString BIRTH_PLACE = new SerializedString("birthPlace");
+    private static final SerializableString CURRENTLY_LIVES_AT_ADDRESS =
+            new SerializedString("currentlyLivesAtAddress");
+    private static final SerializableString MOTHER_ID = new SerializedString("motherId");
+    private static final SerializableString FATHER_ID = new SerializedString("fatherId");
+    private static final SerializableString SPOUSE_ID = new SerializedString("spouseId");
+
+    /**
+     * Constructs a new PersonDTOSerializer.
+     */
+    public PersonDTOSerializer() {
+        super(PersonDTO.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(PersonDTO person, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion(PersonDTO.class)
+                .getValueInclusion();
+        boolean writeNulls = inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+        boolean datesAsArrays = provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        generator.writeStartObject(person);
+        writeNumber(generator, ID, person.getId(), writeNulls);
+        writeString(generator, FIRST_NAME, person.getFirstName(), writeNulls);
+        writeString(generator, MIDDLE_NAME, person.getMiddleName(), writeNulls);
+        writeString(generator, LAST_NAME, person.getLastName(), writeNulls);
+        writeString(generator, OCCUPATION, person.getOccupation(), writeNulls);
+        writeString(generator, LIFE_STORY, person.getLifeStory(), writeNulls);
+        writeDate(generator, BORN_DATE, person.getBornDate(), writeNulls, datesAsArrays);
+        writeDate(generator, DIED_DATE, person.getDiedDate(), writeNulls, datesAsArrays);
+        writeString(generator, BIRTH_PLACE, person.getBirthPlace(), writeNulls);
+        writeString(generator, CURRENTLY_LIVES_AT_ADDRESS, person.getCurrentlyLivesAtAddress(), writeNulls);
+        writeNumber(generator, MOTHER_ID, person.getMotherId(), writeNulls);
+        writeNumber(generator, FATHER_ID, person.getFatherId(), writeNulls);
+        writeNumber(generator, SPOUSE_ID, person.getSpouseId(), writeNulls);
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value,
+                                    boolean writeNulls) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        } else if (writeNulls) {
+            generator.writeFieldName(name);
+            generator.writeNull();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Long value,
+                                    boolean writeNulls) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value);
+        } else if (writeNulls) {
+            generator.writeFieldName(name);
+            generator.writeNull();
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, SerializableString name, LocalDate value,
+                                  boolean writeNulls, boolean asArray) throws IOException {
+        if (value == null) {
+            if (writeNulls) {
+                generator.writeFieldName(name);
+                generator.writeNull();
+            }
+            return;
+        }
+        generator.writeFieldName(name);
+        if (asArray) {
+            generator.writeStartArray();
+            generator.writeNumber(value.getYear());
+            generator.writeNumber(value.getMonthValue());
+            generator.writeNumber(value.getDayOfMonth());
+            generator.writeEndArray();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
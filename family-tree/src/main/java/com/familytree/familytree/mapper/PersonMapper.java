@@ -0,0 +1,118 @@
+package com.familytree.familytree.mapper;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.store.PersonStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between Person entities, PersonState snapshots and PersonDTO objects.
+ * <p>
+ * The mapping is written out by hand: DTOs are created with a single constructor call
+ * instead of a builder, and relationships given by ID are attached as references
+ * from {@link PersonStore#getReference} rather than loaded. A reference to a person that
+ * does not exist is therefore only detected when the store checks it, for the relational
+ * store when the database enforces the foreign key on flush.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Component
+public class PersonMapper {
+
+    private final PersonStore personStore;
+
+    /**
+     * Constructs a new PersonMapper with the specified PersonStore.
+     *
+     * @param personStore the store used to obtain references to related persons
+     */
+    @Autowired
+    public PersonMapper(PersonStore personStore) {
+        this.personStore = personStore;
+    }
+
+    /**
+     * Converts a Person entity to a PersonDTO.
+     * <p>
+     * Only the IDs of related persons are read, which does not initialize lazy references.
+     * </p>
+     *
+     * @param person the Person entity to convert
+     * @return the converted PersonDTO
+     */
+    public PersonDTO toDTO(Person person) {
+        return new PersonDTO(
+                person.getId(),
+                person.getFirstName(),
+                person.getMiddleName(),
+                person.getLastName(),
+                person.getOccupation(),
+                person.getLifeStory(),
+                person.getBornDate(),
+                person.getDiedDate(),
+                person.getBirthPlace(),
+                person.getCurrentlyLivesAtAddress(),
+                idOf(person.getMother()),
+                idOf(person.getFather()),
+                idOf(person.getSpouse()));
+    }
+
+    /**
+     * Converts a PersonState snapshot to a PersonDTO.
+     *
+     * @param state the state to convert
+     * @return the converted PersonDTO
+     */
+    public PersonDTO toDTO(PersonState state) {
+        return new PersonDTO(
+                state.getId(),
+                state.getFirstName(),
+                state.getMiddleName(),
+                state.getLastName(),
+                state.getOccupation(),
+                state.getLifeStory(),
+                state.getBornDate(),
+                state.getDiedDate(),
+                state.getBirthPlace(),
+                state.getCurrentlyLivesAtAddress(),
+                state.getMotherId(),
+                state.getFatherId(),
+                state.getSpouseId());
+    }
+
+    /**
+     * Converts a PersonDTO to a Person entity.
+     *
+     * @param dto the PersonDTO to convert
+     * @return the converted Person entity, with references to the related persons
+     */
+    public Person toEntity(PersonDTO dto) {
+        Person person = new Person();
+        person.setId(dto.getId());
+        person.setFirstName(dto.getFirstName());
+        person.setMiddleName(dto.getMiddleName());
+        person.setLastName(dto.getLastName());
+        person.setOccupation(dto.getOccupation());
+        person.setLifeStory(dto.getLifeStory());
+        person.setBornDate(dto.getBornDate());
+        person.setDiedDate(dto.getDiedDate());
+        person.setBirthPlace(dto.getBirthPlace());
+        person.setCurrentlyLivesAtAddress(dto.getCurrentlyLivesAtAddress());
+        person.setMother(reference(dto.getMotherId()));
+        person.setFather(reference(dto.getFatherId()));
+        person.setSpouse(reference(dto.getSpouseId()));
+        return person;
+    }
+
+    private Person reference(Long personId) {
+        return personId != null ? personStore.getReference(personId) : null;
+    }
+
+    private static Long idOf(Person person) {
+        return person != null ? person.getId() : null;
+    }
+}
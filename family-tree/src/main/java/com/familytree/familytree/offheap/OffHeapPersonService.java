@@ -0,0 +1,379 @@
+package com.familytree.familytree.offheap;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.mapper.PersonMapper;
+import com.familytree.familytree.repository.PersonField;
+import com.familytree.familytree.repository.PersonSql;
+import com.familytree.familytree.service.PersonService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PersonService} that serves person reads from an {@link OffHeapPersonTable} and
+ * passes everything else to the JPA implementation.
+ * <p>
+ * The table is filled from the persons table when the application starts and kept up to
+ * date from committed {@link PersonChangeEvent}s, in the committing thread, so a caller
+ * reads its own writes. {@code getPerson}, {@code getPersons} and the name searches are
+ * answered without touching the database or creating entities; a person missing from the
+ * table (for example one whose text did not fit the text heap) is read from the database.
+ * Reads are counted as {@code familytree.offheap.reads}, tagged hit or miss.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class OffHeapPersonService implements PersonService {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapPersonService.class);
+
+    private static final String SELECT_PERSONS = PersonSql.SELECT;
+
+    private final PersonService delegate;
+    private final PersonMapper personMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final OffHeapProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+    private final Set<Long> uncached = ConcurrentHashMap.newKeySet();
+    private final Object writeMonitor = new Object();
+
+    private volatile OffHeapPersonTable table;
+
+    /**
+     * Constructs a new OffHeapPersonService.
+     *
+     * @param delegate the service that performs writes and uncached reads
+     * @param personMapper the mapper from person states to DTOs
+     * @param jdbcTemplate the template the table is loaded with
+     * @param properties the text heap settings
+     * @param meterRegistry the registry the read counters are recorded in
+     */
+    public OffHeapPersonService(PersonService delegate, PersonMapper personMapper, JdbcTemplate jdbcTemplate,
+                                OffHeapProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.personMapper = personMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.hits = readCounter("hit", meterRegistry);
+        this.misses = readCounter("miss", meterRegistry);
+        this.table = newTable();
+    }
+
+    /**
+     * Loads all persons into a new table and replaces the current one. Changes committed
+     * while loading wait and are applied to the new table.
+     */
+    public void load() {
+        synchronized (writeMonitor) {
+            long start = System.nanoTime();
+            OffHeapPersonTable loaded = newTable();
+            uncached.clear();
+            jdbcTemplate.query(SELECT_PERSONS, row -> {
+                put(loaded, PersonState.builder()
+                        .id(row.getLong("id"))
+                        .firstName(row.getString("first_name"))
+                        .middleName(row.getString("middle_name"))
+                        .lastName(row.getString("last_name"))
+                        .occupation(row.getString("occupation"))
+                        .lifeStory(row.getString("life_story"))
+                        .bornDate(row.getObject("born_date", LocalDate.class))
+                        .diedDate(row.getObject("died_date", LocalDate.class))
+                        .birthPlace(row.getString("birth_place"))
+                        .currentlyLivesAtAddress(row.getString("currently_lives_at_address"))
+                        .motherId(row.getObject("mother_id", Long.class))
+                        .fatherId(row.getObject("father_id", Long.class))
+                        .spouseId(row.getObject("spouse_id", Long.class))
+                        .parentId(row.getObject("parent_id", Long.class))
+                        .build());
+            });
+            table = loaded;
+            log.info("Loaded {} persons off-heap ({} MB records, {} MB text, {} dictionary entries) in {} ms",
+                    loaded.size(), loaded.getRecordBytes() >> 20, loaded.getTextBytes() >> 20,
+                    loaded.getDictionarySize(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Applies a committed person change to the table.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPersonChange(PersonChangeEvent event) {
+        synchronized (writeMonitor) {
+            OffHeapPersonTable current = table;
+            if (event.getAfter() != null) {
+                put(current, event.getAfter());
+            } else {
+                current.remove(event.getPersonId());
+                uncached.remove(event.getPersonId());
+            }
+            if (event.getType() == PersonChangeEvent.ChangeType.MERGED) {
+                current.repoint(event.getRepointedIds(), event.getPersonId(), event.getMergedIntoId());
+            }
+        }
+    }
+
+    /**
+     * Returns the table reads are currently served from.
+     *
+     * @return the table
+     */
+    public OffHeapPersonTable getTable() {
+        return table;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO getPerson(Long personId) {
+        PersonState person = table.get(personId);
+        if (person == null) {
+            misses.increment();
+            return delegate.getPerson(personId);
+        }
+        hits.increment();
+        return personMapper.toDTO(person);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PersonDTO> getPersons(Collection<Long> personIds) {
+        OffHeapPersonTable current = table;
+        List<PersonDTO> persons = new ArrayList<>(personIds.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long personId : personIds) {
+            PersonState person = current.get(personId);
+            if (person != null) {
+                persons.add(personMapper.toDTO(person));
+            } else if (uncached.contains(personId)) {
+                missing.add(personId);
+            }
+        }
+        hits.increment(persons.size());
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            persons.addAll(delegate.getPersons(missing));
+        }
+        return persons;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PersonDTO> findPersonByFirstName(String firstName) {
+        if (!uncached.isEmpty()) {
+            misses.increment();
+            return delegate.findPersonByFirstName(firstName);
+        }
+        hits.increment();
+        return table.findByFirstName(firstName).stream().map(personMapper::toDTO).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PersonDTO> findPersonByLastName(String lastName) {
+        if (!uncached.isEmpty()) {
+            misses.increment();
+            return delegate.findPersonByLastName(lastName);
+        }
+        hits.increment();
+        return table.findByLastName(lastName).stream().map(personMapper::toDTO).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO createNewPerson(PersonDTO personDTO) {
+        return delegate.createNewPerson(personDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO updatePerson(PersonDTO personDTO) {
+        return delegate.updatePerson(personDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletePerson(Long personId) {
+        delegate.deletePerson(personId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO addChild(Long personId, PersonDTO childDTO) {
+        return delegate.addChild(personId, childDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO addChild(Long personId, Long childId) {
+        return delegate.addChild(personId, childId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO setMother(Long personId, PersonDTO motherDTO) {
+        return delegate.setMother(personId, motherDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO setMother(Long personId, Long motherId) {
+        return delegate.setMother(personId, motherId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO setFather(Long personId, PersonDTO fatherDTO) {
+        return delegate.setFather(personId, fatherDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO setFather(Long personId, Long fatherId) {
+        return delegate.setFather(personId, fatherId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO setSpouse(Long personId, PersonDTO spouseDTO) {
+        return delegate.setSpouse(personId, spouseDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO setSpouse(Long personId, Long spouseId) {
+        return delegate.setSpouse(personId, spouseId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteSpouse(Long personId) {
+        delegate.deleteSpouse(personId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO addFormerSpouse(Long personId, PersonDTO formerSpouseDTO) {
+        return delegate.addFormerSpouse(personId, formerSpouseDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO addFormerSpouse(Long personId, Long formerSpouseId) {
+        return delegate.addFormerSpouse(personId, formerSpouseId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO mergePerson(Long survivorId, Long duplicateId) {
+        return delegate.mergePerson(survivorId, duplicateId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getPersonFields(Long personId, Set<PersonField> fields) {
+        return delegate.getPersonFields(personId, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> findPersonFieldsByFirstName(String firstName, Set<PersonField> fields) {
+        return delegate.findPersonFieldsByFirstName(firstName, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> findPersonFieldsByLastName(String lastName, Set<PersonField> fields) {
+        return delegate.findPersonFieldsByLastName(lastName, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Long, List<PersonDTO>> findChildren(Collection<Long> personIds) {
+        return delegate.findChildren(personIds);
+    }
+
+    private void put(OffHeapPersonTable target, PersonState person) {
+        try {
+            target.put(person);
+            uncached.remove(person.getId());
+        } catch (IllegalArgumentException e) {
+            uncached.add(person.getId());
+            log.debug("Person {} stays on the database read path: {}", person.getId(), e.getMessage());
+        }
+    }
+
+    private OffHeapPersonTable newTable() {
+        return new OffHeapPersonTable(Math.toIntExact(properties.getTextSlabSize().toBytes()));
+    }
+
+    private static Counter readCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("familytree.offheap.reads")
+                .description("Person reads by whether the off-heap table could answer them")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,487 @@
+package com.familytree.familytree.offheap;
+
+import com.familytree.familytree.event.PersonState;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Person records in fixed-layout slabs of direct memory, outside the garbage-collected heap.
+ * <p>
+ * A record is addressed by the person ID itself: record {@code id} lives at a fixed offset
+ * of slab {@code id / RECORDS_PER_SLAB}, so no on-heap index is needed. Each record holds
+ * dates as epoch days, relationships as IDs, repeated strings (names, occupation, birth
+ * place) as {@link StringDictionary} codes and free text (life story, address) as positions
+ * in an append-only off-heap text heap. Records of persons sharing a first or last name are
+ * chained in doubly linked lists, so name lookups follow the chain instead of scanning.
+ * </p>
+ * <p>
+ * Writers serialize on a {@link StampedLock}; readers use optimistic reads and only fall
+ * back to the read lock when a write overlapped them, so reads do not contend with each
+ * other. Replaced and removed text is not reclaimed until the table is reloaded; its size
+ * is reported by {@link #getGarbageTextBytes()}.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class OffHeapPersonTable {
+
+    static final int RECORDS_PER_SLAB = 1 << 14;
+
+    static final int RECORD_BYTES = 112;
+
+    private static final long NONE = 0;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_TEXT = -1;
+    private static final int PRESENT = 1;
+
+    private static final int FLAGS = 0;
+    private static final int BORN_DATE = 4;
+    private static final int DIED_DATE = 8;
+    private static final int FIRST_NAME = 12;
+    private static final int MIDDLE_NAME = 16;
+    private static final int LAST_NAME = 20;
+    private static final int OCCUPATION = 24;
+    private static final int BIRTH_PLACE = 28;
+    private static final int MOTHER_ID = 32;
+    private static final int FATHER_ID = 40;
+    private static final int SPOUSE_ID = 48;
+    private static final int PARENT_ID = 56;
+    private static final int LIFE_STORY = 64;
+    private static final int ADDRESS = 72;
+    private static final int PREVIOUS_SAME_FIRST_NAME = 80;
+    private static final int NEXT_SAME_FIRST_NAME = 88;
+    private static final int PREVIOUS_SAME_LAST_NAME = 96;
+    private static final int NEXT_SAME_LAST_NAME = 104;
+
+    private static final int[] RELATIONSHIPS = {MOTHER_ID, FATHER_ID, SPOUSE_ID, PARENT_ID};
+
+    private final StampedLock lock = new StampedLock();
+    private final StringDictionary dictionary = new StringDictionary();
+    private final int textSlabBytes;
+
+    private volatile ByteBuffer[] recordSlabs = new ByteBuffer[0];
+    private volatile ByteBuffer[] textSlabs = new ByteBuffer[0];
+    private volatile long[] firstNameHeads = new long[1024];
+    private volatile long[] lastNameHeads = new long[1024];
+    private long textPosition;
+    private long garbageTextBytes;
+    private long size;
+
+    /**
+     * Constructs an empty table.
+     *
+     * @param textSlabBytes the size of each text heap slab; the longest storable text
+     */
+    public OffHeapPersonTable(int textSlabBytes) {
+        this.textSlabBytes = textSlabBytes;
+    }
+
+    /**
+     * Inserts or replaces a person.
+     *
+     * @param person the person
+     * @throws IllegalArgumentException if a text field does not fit into a text slab; the
+     *         person is then not in the table
+     */
+    public void put(PersonState person) {
+        if (person.getId() == null || person.getId() <= 0) {
+            throw new IllegalArgumentException("Person IDs must be positive, got " + person.getId());
+        }
+        long id = person.getId();
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer slab = recordSlab(id, true);
+            int offset = offsetOf(id);
+            if (isPresent(slab, offset)) {
+                release(id, slab, offset);
+            } else {
+                size++;
+            }
+            long lifeStory = NO_TEXT;
+            long address;
+            try {
+                lifeStory = writeText(person.getLifeStory());
+                address = writeText(person.getCurrentlyLivesAtAddress());
+            } catch (IllegalArgumentException e) {
+                freeText(lifeStory);
+                slab.putInt(offset + FLAGS, 0);
+                size--;
+                throw e;
+            }
+            slab.putInt(offset + BORN_DATE, epochDay(person.getBornDate()));
+            slab.putInt(offset + DIED_DATE, epochDay(person.getDiedDate()));
+            slab.putInt(offset + FIRST_NAME, dictionary.encode(person.getFirstName()));
+            slab.putInt(offset + MIDDLE_NAME, dictionary.encode(person.getMiddleName()));
+            slab.putInt(offset + LAST_NAME, dictionary.encode(person.getLastName()));
+            slab.putInt(offset + OCCUPATION, dictionary.encode(person.getOccupation()));
+            slab.putInt(offset + BIRTH_PLACE, dictionary.encode(person.getBirthPlace()));
+            slab.putLong(offset + MOTHER_ID, idOrNone(person.getMotherId()));
+            slab.putLong(offset + FATHER_ID, idOrNone(person.getFatherId()));
+            slab.putLong(offset + SPOUSE_ID, idOrNone(person.getSpouseId()));
+            slab.putLong(offset + PARENT_ID, idOrNone(person.getParentId()));
+            slab.putLong(offset + LIFE_STORY, lifeStory);
+            slab.putLong(offset + ADDRESS, address);
+            slab.putInt(offset + FLAGS, PRESENT);
+            link(id, slab.getInt(offset + FIRST_NAME), true);
+            link(id, slab.getInt(offset + LAST_NAME), false);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a person if present.
+     *
+     * @param id the person ID
+     */
+    public void remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer slab = recordSlab(id, false);
+            int offset = offsetOf(id);
+            if (slab != null && isPresent(slab, offset)) {
+                release(id, slab, offset);
+                slab.putInt(offset + FLAGS, 0);
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces every relationship to one person with a relationship to another, for the
+     * given persons; mirrors the bulk updates of a merge.
+     *
+     * @param ids the persons whose relationships are repointed
+     * @param from the ID the relationships point to now
+     * @param to the ID they should point to
+     */
+    public void repoint(Collection<Long> ids, long from, long to) {
+        long stamp = lock.writeLock();
+        try {
+            for (long id : ids) {
+                ByteBuffer slab = recordSlab(id, false);
+                int offset = offsetOf(id);
+                if (slab == null || !isPresent(slab, offset)) {
+                    continue;
+                }
+                for (int relationship : RELATIONSHIPS) {
+                    if (slab.getLong(offset + relationship) == from) {
+                        slab.putLong(offset + relationship, to);
+                    }
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Reads a person.
+     *
+     * @param id the person ID
+     * @return the person, or null if not in the table
+     */
+    public PersonState get(long id) {
+        return read(() -> readRecord(id));
+    }
+
+    /**
+     * Finds the persons with a first name, in ascending ID order.
+     *
+     * @param firstName the first name
+     * @return the persons
+     */
+    public List<PersonState> findByFirstName(String firstName) {
+        return findByName(firstName, true);
+    }
+
+    /**
+     * Finds the persons with a last name, in ascending ID order.
+     *
+     * @param lastName the last name
+     * @return the persons
+     */
+    public List<PersonState> findByLastName(String lastName) {
+        return findByName(lastName, false);
+    }
+
+    /**
+     * Returns the number of persons in the table.
+     *
+     * @return the number of persons
+     */
+    public long size() {
+        return read(() -> size);
+    }
+
+    /**
+     * Returns the direct memory reserved for records.
+     *
+     * @return the record slab bytes
+     */
+    public long getRecordBytes() {
+        return (long) recordSlabs.length * RECORDS_PER_SLAB * RECORD_BYTES;
+    }
+
+    /**
+     * Returns the direct memory reserved for the text heap.
+     *
+     * @return the text slab bytes
+     */
+    public long getTextBytes() {
+        return (long) textSlabs.length * textSlabBytes;
+    }
+
+    /**
+     * Returns the text heap bytes occupied by replaced or removed text.
+     *
+     * @return the unreclaimed text bytes
+     */
+    public long getGarbageTextBytes() {
+        return read(() -> garbageTextBytes);
+    }
+
+    /**
+     * Returns the number of distinct dictionary-encoded strings.
+     *
+     * @return the dictionary size
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Runs a reader optimistically and repeats it under the read lock if a write overlapped.
+     * Readers must not fail on torn data; an exception during an overlapped read is discarded.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private List<PersonState> findByName(String name, boolean firstName) {
+        return read(() -> {
+            List<PersonState> persons = new ArrayList<>();
+            int code = dictionary.codeOf(name);
+            long[] heads = firstName ? firstNameHeads : lastNameHeads;
+            long id = code < heads.length ? heads[code] : NONE;
+            int next = firstName ? NEXT_SAME_FIRST_NAME : NEXT_SAME_LAST_NAME;
+            // A torn read could form a cycle; never follow more links than there are records
+            for (long steps = 0; id != NONE && steps <= size; steps++) {
+                PersonState person = readRecord(id);
+                if (person == null) {
+                    break;
+                }
+                persons.add(person);
+                id = recordSlab(id, false).getLong(offsetOf(id) + next);
+            }
+            persons.sort(Comparator.comparing(PersonState::getId));
+            return persons;
+        });
+    }
+
+    private PersonState readRecord(long id) {
+        ByteBuffer slab = recordSlab(id, false);
+        int offset = offsetOf(id);
+        if (slab == null || !isPresent(slab, offset)) {
+            return null;
+        }
+        return PersonState.builder()
+                .id(id)
+                .firstName(dictionary.decode(slab.getInt(offset + FIRST_NAME)))
+                .middleName(dictionary.decode(slab.getInt(offset + MIDDLE_NAME)))
+                .lastName(dictionary.decode(slab.getInt(offset + LAST_NAME)))
+                .occupation(dictionary.decode(slab.getInt(offset + OCCUPATION)))
+                .lifeStory(readText(slab.getLong(offset + LIFE_STORY)))
+                .bornDate(date(slab.getInt(offset + BORN_DATE)))
+                .diedDate(date(slab.getInt(offset + DIED_DATE)))
+                .birthPlace(dictionary.decode(slab.getInt(offset + BIRTH_PLACE)))
+                .currentlyLivesAtAddress(readText(slab.getLong(offset + ADDRESS)))
+                .motherId(idOrNull(slab.getLong(offset + MOTHER_ID)))
+                .fatherId(idOrNull(slab.getLong(offset + FATHER_ID)))
+                .spouseId(idOrNull(slab.getLong(offset + SPOUSE_ID)))
+                .parentId(idOrNull(slab.getLong(offset + PARENT_ID)))
+                .build();
+    }
+
+    /**
+     * Unlinks a present record from the name chains and releases its text.
+     */
+    private void release(long id, ByteBuffer slab, int offset) {
+        unlink(id, slab, offset, slab.getInt(offset + FIRST_NAME), true);
+        unlink(id, slab, offset, slab.getInt(offset + LAST_NAME), false);
+        freeText(slab.getLong(offset + LIFE_STORY));
+        freeText(slab.getLong(offset + ADDRESS));
+    }
+
+    private void link(long id, int code, boolean firstName) {
+        long[] heads = firstName ? firstNameHeads : lastNameHeads;
+        if (code >= heads.length) {
+            heads = Arrays.copyOf(heads, Math.max(code + 1, heads.length * 2));
+            if (firstName) {
+                firstNameHeads = heads;
+            } else {
+                lastNameHeads = heads;
+            }
+        }
+        int previous = firstName ? PREVIOUS_SAME_FIRST_NAME : PREVIOUS_SAME_LAST_NAME;
+        int next = firstName ? NEXT_SAME_FIRST_NAME : NEXT_SAME_LAST_NAME;
+        long head = heads[code];
+        ByteBuffer slab = recordSlab(id, false);
+        slab.putLong(offsetOf(id) + previous, NONE);
+        slab.putLong(offsetOf(id) + next, head);
+        if (head != NONE) {
+            recordSlab(head, false).putLong(offsetOf(head) + previous, id);
+        }
+        heads[code] = id;
+    }
+
+    private void unlink(long id, ByteBuffer slab, int offset, int code, boolean firstName) {
+        int previous = firstName ? PREVIOUS_SAME_FIRST_NAME : PREVIOUS_SAME_LAST_NAME;
+        int next = firstName ? NEXT_SAME_FIRST_NAME : NEXT_SAME_LAST_NAME;
+        long previousId = slab.getLong(offset + previous);
+        long nextId = slab.getLong(offset + next);
+        if (previousId != NONE) {
+            recordSlab(previousId, false).putLong(offsetOf(previousId) + next, nextId);
+        } else {
+            (firstName ? firstNameHeads : lastNameHeads)[code] = nextId;
+        }
+        if (nextId != NONE) {
+            recordSlab(nextId, false).putLong(offsetOf(nextId) + previous, previousId);
+        }
+    }
+
+    /**
+     * Returns the slab holding a record, allocating it and any missing slabs before it
+     * when asked to.
+     */
+    private ByteBuffer recordSlab(long id, boolean allocate) {
+        long index = id / RECORDS_PER_SLAB;
+        ByteBuffer[] slabs = recordSlabs;
+        if (index < slabs.length && slabs[(int) index] != null) {
+            return slabs[(int) index];
+        }
+        if (!allocate) {
+            return null;
+        }
+        if (index >= slabs.length) {
+            slabs = Arrays.copyOf(slabs, Math.toIntExact(Math.max(index + 1, slabs.length * 2L)));
+        }
+        slabs[(int) index] = ByteBuffer.allocateDirect(RECORDS_PER_SLAB * RECORD_BYTES);
+        recordSlabs = slabs;
+        return slabs[(int) index];
+    }
+
+    /**
+     * Appends a text to the text heap as its UTF-8 length and bytes.
+     *
+     * @return the position of the text, or {@link #NO_TEXT} for null
+     */
+    private long writeText(String text) {
+        if (text == null) {
+            return NO_TEXT;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int needed = 4 + bytes.length;
+        if (needed > textSlabBytes) {
+            throw new IllegalArgumentException("Text of " + bytes.length + " bytes exceeds the text slab size");
+        }
+        int offset = (int) (textPosition % textSlabBytes);
+        if (offset + needed > textSlabBytes) {
+            garbageTextBytes += textSlabBytes - offset;
+            textPosition += textSlabBytes - offset;
+        }
+        int index = Math.toIntExact(textPosition / textSlabBytes);
+        ByteBuffer[] slabs = textSlabs;
+        if (index == slabs.length) {
+            slabs = Arrays.copyOf(slabs, index + 1);
+            slabs[index] = ByteBuffer.allocateDirect(textSlabBytes);
+            textSlabs = slabs;
+        }
+        long position = textPosition;
+        ByteBuffer slab = slabs[index];
+        slab.putInt((int) (position % textSlabBytes), bytes.length);
+        slab.put((int) (position % textSlabBytes) + 4, bytes);
+        textPosition += needed;
+        return position;
+    }
+
+    private String readText(long position) {
+        if (position == NO_TEXT) {
+            return null;
+        }
+        ByteBuffer[] slabs = textSlabs;
+        long index = position / textSlabBytes;
+        if (position < 0 || index >= slabs.length) {
+            return null;
+        }
+        ByteBuffer slab = slabs[(int) index];
+        int offset = (int) (position % textSlabBytes);
+        int length = slab.getInt(offset);
+        if (length < 0 || offset + 4 + length > textSlabBytes) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        slab.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void freeText(long position) {
+        if (position != NO_TEXT) {
+            garbageTextBytes += 4 + textSlabs[(int) (position / textSlabBytes)].getInt((int) (position % textSlabBytes));
+        }
+    }
+
+    private static boolean isPresent(ByteBuffer slab, int offset) {
+        return slab.getInt(offset + FLAGS) == PRESENT;
+    }
+
+    private static int offsetOf(long id) {
+        return (int) (id % RECORDS_PER_SLAB) * RECORD_BYTES;
+    }
+
+    private static long idOrNone(Long id) {
+        return id != null ? id : NONE;
+    }
+
+    private static Long idOrNull(long id) {
+        return id != NONE ? id : null;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+    }
+
+    private static LocalDate date(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
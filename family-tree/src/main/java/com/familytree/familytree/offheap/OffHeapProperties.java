@@ -0,0 +1,22 @@
+package com.familytree.familytree.offheap;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the off-heap read path, bound from {@code familytree.offheap}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.offheap")
+public class OffHeapProperties {
+
+    /**
+     * The size of each slab of the text heap. Persons with a longer life story or address
+     * are not kept off-heap and are read from the database instead.
+     */
+    private DataSize textSlabSize = DataSize.ofMegabytes(64);
+}
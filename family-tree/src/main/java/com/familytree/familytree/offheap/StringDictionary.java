@@ -0,0 +1,84 @@
+package com.familytree.familytree.offheap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense integer codes to repeated strings, so that off-heap records store a
+ * four-byte code instead of a reference.
+ * <p>
+ * Code 0 stands for null. Codes are never reused, so each distinct value is held on the
+ * heap exactly once for the lifetime of the dictionary. Only the owner of the write lock
+ * of {@link OffHeapPersonTable} adds values; lookups are safe from any thread.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = 0;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    private volatile String[] values = new String[1024];
+
+    private int size = 1;
+
+    /**
+     * Returns the code of a value, adding it if it is new. Called by the writer only.
+     *
+     * @param value the value, may be null
+     * @return the code
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        // Publish the array before the code, so a reader that sees the code can decode it
+        values = current;
+        codes.put(value, size);
+        return size++;
+    }
+
+    /**
+     * Returns the code of a value without adding it.
+     *
+     * @param value the value
+     * @return the code, or {@link #NULL_CODE} if the value is unknown
+     */
+    int codeOf(String value) {
+        return value == null ? NULL_CODE : codes.getOrDefault(value, NULL_CODE);
+    }
+
+    /**
+     * Returns the value of a code. Codes that were never assigned decode to null, so that
+     * a torn optimistic read cannot fail here.
+     *
+     * @param code the code
+     * @return the value, or null
+     */
+    String decode(int code) {
+        String[] current = values;
+        return code > NULL_CODE && code < current.length ? current[code] : null;
+    }
+
+    /**
+     * Returns the number of distinct values.
+     *
+     * @return the number of distinct values
+     */
+    int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,257 @@
+package com.familytree.familytree.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cached, append-only dictionary of the {@code lookup_values} table.
+ * <p>
+ * Every value is held once on the heap: persons loaded through JPA share the instance
+ * cached here instead of each carrying its own copy of "London" or "Smith". The cache is
+ * filled from the table on first use and grows as values are added; since values are
+ * never changed or removed, cached entries never become stale.
+ * </p>
+ * <p>
+ * New values are merged into the table on the connection of the current transaction, the
+ * way {@link ReactivePersonRepository} adds them, so interning never waits for a second
+ * pooled connection. Until the transaction commits, its new values are only visible to
+ * itself; they enter the shared cache after the commit, and a rollback forgets them.
+ * Lookups that miss the cache fall back to the table, which picks up values written by
+ * other writers such as the reactive stack. Values the table does not hold are remembered
+ * for a minute, so repeated queries for an unknown name do not each read the table.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Repository
+public class LookupValueDictionary {
+
+    /**
+     * The ID bound for a value that is not in the dictionary; no person references it, so
+     * a query for an unknown value matches nothing.
+     */
+    public static final int NO_SUCH_VALUE = -1;
+
+    private static final String SELECT_ALL = "select id, text_value from lookup_values";
+    private static final String SELECT_ID = "select id from lookup_values where text_value = ?";
+    private static final String SELECT_VALUE = "select text_value from lookup_values where id = ?";
+    private static final String MERGE = "merge into lookup_values (text_value) key (text_value) values (?)";
+
+    private static final int MAX_CACHED_MISSES = 10_000;
+    private static final long MISS_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final Map<Integer, String> values = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> misses = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private volatile boolean loaded;
+
+    /**
+     * Constructs a new LookupValueDictionary.
+     *
+     * @param dataSource the data source holding the lookup_values table
+     */
+    public LookupValueDictionary(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Adds a value to the dictionary if it is not there yet.
+     *
+     * @param value the value, or null
+     * @return the cached instance equal to the value, or null for null
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        ensureLoaded();
+        Integer id = ids.get(value);
+        if (id != null) {
+            return values.get(id);
+        }
+        PendingValues pending = pendingValues();
+        if (pending != null && pending.ids.containsKey(value)) {
+            return value;
+        }
+        jdbcTemplate.update(MERGE, value);
+        id = jdbcTemplate.queryForObject(SELECT_ID, Integer.class, value);
+        if (pending != null) {
+            pending.ids.put(value, id);
+            return value;
+        }
+        misses.remove(value);
+        return cache(id, value);
+    }
+
+    /**
+     * Returns the ID of a value without adding it.
+     *
+     * @param value the value
+     * @return the ID of the value, or {@link #NO_SUCH_VALUE} if it is not in the dictionary
+     */
+    public int idOf(String value) {
+        ensureLoaded();
+        Integer id = ids.get(value);
+        if (id == null) {
+            PendingValues pending = currentPendingValues();
+            id = pending != null ? pending.ids.get(value) : null;
+        }
+        if (id != null) {
+            hitCount.increment();
+            return id;
+        }
+        Long missedAt = misses.get(value);
+        if (missedAt != null && System.nanoTime() - missedAt < MISS_TTL_NANOS) {
+            hitCount.increment();
+            return NO_SUCH_VALUE;
+        }
+        missCount.increment();
+        List<Integer> stored = jdbcTemplate.queryForList(SELECT_ID, Integer.class, value);
+        if (stored.isEmpty()) {
+            if (misses.size() >= MAX_CACHED_MISSES) {
+                misses.clear();
+            }
+            misses.put(value, System.nanoTime());
+            return NO_SUCH_VALUE;
+        }
+        misses.remove(value);
+        cache(stored.get(0), value);
+        return stored.get(0);
+    }
+
+    /**
+     * Returns the value of an ID.
+     *
+     * @param id the ID
+     * @return the cached value
+     * @throws IllegalStateException if no value has the ID
+     */
+    public String valueOf(int id) {
+        ensureLoaded();
+        String value = values.get(id);
+        if (value != null) {
+            return value;
+        }
+        PendingValues pending = currentPendingValues();
+        if (pending != null) {
+            for (Map.Entry<String, Integer> entry : pending.ids.entrySet()) {
+                if (entry.getValue() == id) {
+                    return entry.getKey();
+                }
+            }
+        }
+        List<String> stored = jdbcTemplate.queryForList(SELECT_VALUE, String.class, id);
+        if (stored.isEmpty()) {
+            throw new IllegalStateException("No lookup value with ID " + id);
+        }
+        return cache(id, stored.get(0));
+    }
+
+    /**
+     * Returns the number of cached values.
+     *
+     * @return the number of cached values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns the number of ID lookups answered from the cache, including values known
+     * not to be in the dictionary.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of ID lookups that read the table.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    jdbcTemplate.query(SELECT_ALL, row -> {
+                        cache(row.getInt(1), row.getString(2));
+                    });
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    private String cache(int id, String value) {
+        String cached = values.putIfAbsent(id, value);
+        String canonical = cached != null ? cached : value;
+        ids.putIfAbsent(canonical, id);
+        return canonical;
+    }
+
+    private PendingValues currentPendingValues() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? (PendingValues) TransactionSynchronizationManager.getResource(this)
+                : null;
+    }
+
+    private PendingValues pendingValues() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingValues pending = (PendingValues) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingValues();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * The values added by one transaction, cached once it has committed.
+     */
+    private final class PendingValues implements TransactionSynchronization {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            ids.forEach((value, id) -> {
+                misses.remove(value);
+                cache(id, value);
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LookupValueDictionary.this);
+        }
+    }
+}
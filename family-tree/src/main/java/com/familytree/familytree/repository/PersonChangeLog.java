@@ -0,0 +1,149 @@
+package com.familytree.familytree.repository;
+
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends to and reads the {@code person_changes} table.
+ * <p>
+ * Appends join the current transaction, so a change is logged if and only if it commits.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Repository
+public class PersonChangeLog {
+
+    private static final String INSERT = "insert into person_changes (person_id, change_type, changed_at, "
+            + "before_state, after_state, merged_into_id, repointed_ids) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_SINCE = "select seq, person_id, change_type, changed_at, before_state, "
+            + "after_state, merged_into_id, repointed_ids from person_changes where seq > ? order by seq limit ?";
+    private static final String SELECT_LAST = "select coalesce(max(seq), 0) from person_changes";
+
+    private static final TypeReference<List<Long>> ID_LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new PersonChangeLog.
+     *
+     * @param dataSource the data source holding the person_changes table
+     * @param objectMapper the mapper the person states are written with
+     */
+    public PersonChangeLog(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends changes in the given order.
+     *
+     * @param events the changes
+     * @param changedAt the time recorded for all of them
+     * @return the sequence number of the last appended change
+     */
+    public long append(List<PersonChangeEvent> events, Instant changedAt) {
+        long last = 0;
+        for (PersonChangeEvent event : events) {
+            KeyHolder key = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(INSERT, new String[]{"seq"});
+                insert.setLong(1, event.getPersonId());
+                insert.setString(2, event.getType().name());
+                insert.setTimestamp(3, Timestamp.from(changedAt));
+                insert.setString(4, write(event.getBefore()));
+                insert.setString(5, write(event.getAfter()));
+                if (event.getMergedIntoId() != null) {
+                    insert.setLong(6, event.getMergedIntoId());
+                } else {
+                    insert.setNull(6, Types.BIGINT);
+                }
+                insert.setString(7, event.getRepointedIds().isEmpty() ? null : write(event.getRepointedIds()));
+                return insert;
+            }, key);
+            last = key.getKey().longValue();
+        }
+        return last;
+    }
+
+    /**
+     * Reads the changes after a sequence number, oldest first.
+     *
+     * @param since the sequence number to read after
+     * @param limit the maximum number of changes
+     * @return the changes
+     */
+    public List<PersonChangeDTO> findSince(long since, int limit) {
+        return jdbcTemplate.query(SELECT_SINCE, changeMapper(), since, limit);
+    }
+
+    /**
+     * Returns the sequence number of the last committed change.
+     *
+     * @return the sequence number, or 0 if the log is empty
+     */
+    public long lastSequence() {
+        Long last = jdbcTemplate.queryForObject(SELECT_LAST, Long.class);
+        return last != null ? last : 0;
+    }
+
+    private RowMapper<PersonChangeDTO> changeMapper() {
+        return (row, rowNum) -> {
+            String repointedIds = row.getString(8);
+            return PersonChangeDTO.builder()
+                    .sequence(row.getLong(1))
+                    .personId(row.getLong(2))
+                    .type(PersonChangeEvent.ChangeType.valueOf(row.getString(3)))
+                    .changedAt(row.getTimestamp(4).toInstant())
+                    .before(read(row.getString(5)))
+                    .after(read(row.getString(6)))
+                    .mergedIntoId(row.getObject(7, Long.class))
+                    .repointedIds(repointedIds != null ? read(repointedIds, ID_LIST) : List.of())
+                    .build();
+        };
+    }
+
+    private String write(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write a change log entry", e);
+        }
+    }
+
+    private PersonState read(String json) {
+        return json != null ? read(json, new TypeReference<PersonState>() {
+        }) : null;
+    }
+
+    private <T> T read(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read a change log entry", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.familytree.familytree.repository;
+
+import jakarta.persistence.criteria.Path;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The fields of a person that can be selected individually, as named in the API.
+ * <p>
+ * Each field maps to the attribute path it is read from, so that a sparse fieldset
+ * translates directly into the select list of a query. Relationship IDs are read from
+ * the foreign key columns without joining the related person.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public enum PersonField {
+
+    ID("id", "id"),
+    FIRST_NAME("firstName", "firstName"),
+    MIDDLE_NAME("middleName", "middleName"),
+    LAST_NAME("lastName", "lastName"),
+    OCCUPATION("occupation", "occupation"),
+    LIFE_STORY("lifeStory", "lifeStory"),
+    BORN_DATE("bornDate", "bornDate"),
+    DIED_DATE("diedDate", "diedDate"),
+    BIRTH_PLACE("birthPlace", "birthPlace"),
+    CURRENTLY_LIVES_AT_ADDRESS("currentlyLivesAtAddress", "currentlyLivesAtAddress"),
+    MOTHER_ID("motherId", "mother", "id"),
+    FATHER_ID("fatherId", "father", "id"),
+    SPOUSE_ID("spouseId", "spouse", "id");
+
+    private final String fieldName;
+    private final String[] attributePath;
+
+    PersonField(String fieldName, String... attributePath) {
+        this.fieldName = fieldName;
+        this.attributePath = attributePath;
+    }
+
+    /**
+     * Gets the name of the field in the API.
+     *
+     * @return the field name
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Resolves the attribute this field is read from.
+     *
+     * @param root the person path to start from
+     * @return the attribute path
+     */
+    public Path<?> resolve(Path<?> root) {
+        Path<?> path = root;
+        for (String attribute : attributePath) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    /**
+     * Parses a comma-separated list of field names, such as {@code id,firstName,lastName}.
+     *
+     * @param fields the field names
+     * @return the selected fields, in declaration order
+     * @throws IllegalArgumentException if a name is unknown or no field is named
+     */
+    public static Set<PersonField> parse(String fields) {
+        Set<PersonField> selected = EnumSet.noneOf(PersonField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(Arrays.stream(values())
+                        .filter(field -> field.fieldName.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + trimmed
+                                + ". Supported fields: " + Arrays.stream(values())
+                                .map(PersonField::getFieldName)
+                                .collect(Collectors.joining(",")))));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be selected");
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,47 @@
+package com.familytree.familytree.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Queries that select only a chosen subset of person columns.
+ * <p>
+ * Results are returned as maps from API field name to value, ordered like
+ * {@link PersonField}. Fields that were not selected are absent; selected fields
+ * without a value map to null.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public interface PersonFieldsRepository {
+
+    /**
+     * Finds the selected fields of a person by ID.
+     *
+     * @param id the ID to search for
+     * @param fields the fields to select
+     * @return the selected fields, or empty if the person does not exist
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, Set<PersonField> fields);
+
+    /**
+     * Finds the selected fields of all persons with the specified first name.
+     *
+     * @param firstName the first name to search for
+     * @param fields the fields to select
+     * @return the selected fields of each matching person
+     */
+    List<Map<String, Object>> findFieldsByFirstName(String firstName, Set<PersonField> fields);
+
+    /**
+     * Finds the selected fields of all persons with the specified last name.
+     *
+     * @param lastName the last name to search for
+     * @param fields the fields to select
+     * @return the selected fields of each matching person
+     */
+    List<Map<String, Object>> findFieldsByLastName(String lastName, Set<PersonField> fields);
+}
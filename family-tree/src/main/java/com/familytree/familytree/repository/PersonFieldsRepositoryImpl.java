@@ -0,0 +1,86 @@
+package com.familytree.familytree.repository;
+
+import com.familytree.familytree.entity.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Criteria API implementation of {@link PersonFieldsRepository}.
+ * <p>
+ * Builds a tuple query whose select list contains only the requested fields, so that
+ * unrequested columns such as the life story are never read from the database.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+class PersonFieldsRepositoryImpl implements PersonFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<PersonField> fields) {
+        return findFieldsWhere("id", id, fields).stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> findFieldsByFirstName(String firstName, Set<PersonField> fields) {
+        return findFieldsWhere("firstName", firstName, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> findFieldsByLastName(String lastName, Set<PersonField> fields) {
+        return findFieldsWhere("lastName", lastName, fields);
+    }
+
+    /**
+     * Selects the given fields of all persons whose attribute equals a value.
+     *
+     * @param attribute the attribute to filter on
+     * @param value the value the attribute must equal
+     * @param fields the fields to select
+     * @return the selected fields of each matching person
+     */
+    private List<Map<String, Object>> findFieldsWhere(String attribute, Object value, Set<PersonField> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Person> person = query.from(Person.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (PersonField field : fields) {
+            selections.add(field.resolve(person).alias(field.getFieldName()));
+        }
+        query.multiselect(selections).where(builder.equal(person.get(attribute), value));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (PersonField field : fields) {
+                row.put(field.getFieldName(), tuple.get(field.getFieldName()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
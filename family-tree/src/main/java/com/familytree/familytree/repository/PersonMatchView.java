@@ -0,0 +1,48 @@
+package com.familytree.familytree.repository;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the columns needed to compare two persons for duplication.
+ * <p>
+ * A whole-table scan keeps this projection of each person instead of the full state, so
+ * the blocks it builds carry no large text columns.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Value
+public class PersonMatchView {
+    /**
+     * The unique identifier of the person.
+     */
+    Long id;
+
+    /**
+     * The first name of the person.
+     */
+    String firstName;
+
+    /**
+     * The middle name of the person (optional).
+     */
+    String middleName;
+
+    /**
+     * The last name of the person.
+     */
+    String lastName;
+
+    /**
+     * The date when the person was born.
+     */
+    LocalDate bornDate;
+
+    /**
+     * The place where the person was born.
+     */
+    String birthPlace;
+}
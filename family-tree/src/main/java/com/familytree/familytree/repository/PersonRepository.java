@@ -2,8 +2,12 @@ package com.familytree.familytree.repository;
 
 import com.familytree.familytree.entity.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.time.LocalDate;
@@ -12,14 +16,15 @@ import java.time.LocalDate;
  * Repository interface for Person entity.
  * <p>
  * This interface extends JpaRepository to provide basic CRUD operations and
- * adds custom query methods for finding persons by various criteria.
+ * adds custom query methods for finding persons by various criteria. Queries that select
+ * only some columns come from {@link PersonFieldsRepository}.
  * </p>
  *
  * @author Family Tree Team
  * @version 1.0
  */
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonFieldsRepository {
     
     /**
      * Finds a person by their first name and last name.
@@ -98,4 +103,83 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
      * @return a list of persons who are married
      */
     List<Person> findBySpouseIsNotNull();
+
+    /**
+     * Finds the IDs of all persons, other than the excluded one, that reference the given
+     * person as parent, mother, father or spouse.
+     *
+     * @param personId the referenced person
+     * @param excludedId a person to leave out of the result
+     * @return the referencing person IDs
+     */
+    @Query("select p.id from Person p where p.id <> :excludedId and (p.parent.id = :personId "
+            + "or p.mother.id = :personId or p.father.id = :personId or p.spouse.id = :personId)")
+    List<Long> findIdsReferencing(@Param("personId") Long personId, @Param("excludedId") Long excludedId);
+
+    /**
+     * Finds every person that has one of the given persons as parent, mother or father.
+     *
+     * @param parentIds the IDs of the parents
+     * @return the children of all given parents
+     */
+    @Query("select p from Person p where p.parent.id in :parentIds or p.mother.id in :parentIds "
+            + "or p.father.id in :parentIds")
+    List<Person> findChildrenOfAny(@Param("parentIds") Collection<Long> parentIds);
+
+    /**
+     * Repoints every parent reference from one person to another.
+     *
+     * @param from the currently referenced person
+     * @param to the person to reference instead
+     * @return the number of updated rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Person p set p.parent = :to where p.parent = :from and p <> :to")
+    int repointParent(@Param("from") Person from, @Param("to") Person to);
+
+    /**
+     * Repoints every mother reference from one person to another.
+     *
+     * @param from the currently referenced person
+     * @param to the person to reference instead
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update Person p set p.mother = :to where p.mother = :from and p <> :to")
+    int repointMother(@Param("from") Person from, @Param("to") Person to);
+
+    /**
+     * Repoints every father reference from one person to another.
+     *
+     * @param from the currently referenced person
+     * @param to the person to reference instead
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update Person p set p.father = :to where p.father = :from and p <> :to")
+    int repointFather(@Param("from") Person from, @Param("to") Person to);
+
+    /**
+     * Repoints every spouse reference from one person to another.
+     *
+     * @param from the currently referenced person
+     * @param to the person to reference instead
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update Person p set p.spouse = :to where p.spouse = :from and p <> :to")
+    int repointSpouse(@Param("from") Person from, @Param("to") Person to);
+
+    /**
+     * Deletes a single person with a bulk statement, bypassing the children cascade.
+     * <p>
+     * The persistence context is cleared afterwards, so previously loaded entities are detached.
+     * </p>
+     *
+     * @param personId the ID of the person to delete
+     * @return the number of deleted rows
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Person p where p.id = :personId")
+    int deleteByIdInBulk(@Param("personId") Long personId);
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.familytree.familytree.repository;
+
+/**
+ * SQL fragments for reading and writing the persons table without JPA.
+ * <p>
+ * The last name, occupation, birth place and address columns hold IDs of
+ * {@code lookup_values} rows. {@link #SELECT} joins them back and exposes the values under
+ * the column names the attributes had before they were encoded, so row mappers read
+ * {@code last_name} or {@code birth_place} as text.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class PersonSql {
+
+    /**
+     * Selects every column of the persons table, aliased {@code p}, with the
+     * dictionary-encoded columns decoded. Conditions and ordering are appended by the caller.
+     */
+    public static final String SELECT = "select p.id, p.first_name, p.middle_name, ln.text_value as last_name, "
+            + "oc.text_value as occupation, p.life_story, p.born_date, p.died_date, bp.text_value as birth_place, "
+            + "ad.text_value as currently_lives_at_address, p.mother_id, p.father_id, p.spouse_id, p.parent_id "
+            + "from persons p "
+            + "left join lookup_values ln on ln.id = p.last_name_id "
+            + "left join lookup_values oc on oc.id = p.occupation_id "
+            + "left join lookup_values bp on bp.id = p.birth_place_id "
+            + "left join lookup_values ad on ad.id = p.currently_lives_at_address_id";
+
+    private PersonSql() {
+    }
+
+    /**
+     * Returns a scalar subquery for the ID of the lookup value bound to a parameter; it is
+     * null when the value is null or not in the dictionary.
+     *
+     * @param parameter the parameter placeholder, such as {@code ?} or {@code :lastName}
+     * @return the subquery
+     */
+    public static String lookupId(String parameter) {
+        return "(select id from lookup_values where text_value = " + parameter + ")";
+    }
+}
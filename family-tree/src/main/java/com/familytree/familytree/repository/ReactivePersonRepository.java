@@ -0,0 +1,277 @@
+package com.familytree.familytree.repository;
+
+import com.familytree.familytree.event.PersonState;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Non-blocking data access for the persons table over R2DBC.
+ * <p>
+ * Rows are read and written as {@link PersonState} values, which carry the relationship
+ * columns as plain IDs. Relationships are never fetched eagerly; callers navigate them
+ * with further queries.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Repository
+@Profile("reactive")
+public class ReactivePersonRepository {
+
+    private static final String SELECT = PersonSql.SELECT;
+
+    private static final String MERGE_LOOKUP_VALUE = "merge into lookup_values (text_value) key (text_value) "
+            + "values (:value)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructs a new ReactivePersonRepository.
+     *
+     * @param databaseClient the R2DBC client
+     */
+    public ReactivePersonRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds a person by ID.
+     *
+     * @param id the ID to search for
+     * @return the person, or empty if not found
+     */
+    public Mono<PersonState> findById(Long id) {
+        return databaseClient.sql(SELECT + " where p.id = :id")
+                .bind("id", id)
+                .map(ReactivePersonRepository::toState)
+                .one();
+    }
+
+    /**
+     * Checks whether a person exists.
+     *
+     * @param id the ID to check
+     * @return true if the person exists
+     */
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("select count(*) from persons where id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    /**
+     * Finds all persons with the specified first name.
+     *
+     * @param firstName the first name to search for
+     * @return the matching persons
+     */
+    public Flux<PersonState> findByFirstName(String firstName) {
+        return databaseClient.sql(SELECT + " where p.first_name = :firstName")
+                .bind("firstName", firstName)
+                .map(ReactivePersonRepository::toState)
+                .all();
+    }
+
+    /**
+     * Finds all persons with the specified last name.
+     *
+     * @param lastName the last name to search for
+     * @return the matching persons
+     */
+    public Flux<PersonState> findByLastName(String lastName) {
+        return databaseClient.sql(SELECT + " where p.last_name_id = " + PersonSql.lookupId(":lastName"))
+                .bind("lastName", lastName)
+                .map(ReactivePersonRepository::toState)
+                .all();
+    }
+
+    /**
+     * Finds the children of a person through the parent relationship only, which is the
+     * relationship the delete cascade follows.
+     *
+     * @param parentId the ID of the parent
+     * @return the children
+     */
+    public Flux<PersonState> findByParentId(Long parentId) {
+        return databaseClient.sql(SELECT + " where p.parent_id = :parentId")
+                .bind("parentId", parentId)
+                .map(ReactivePersonRepository::toState)
+                .all();
+    }
+
+    /**
+     * Finds everyone who has the given person as parent, mother or father.
+     *
+     * @param personId the ID of the parent
+     * @return the children
+     */
+    public Flux<PersonState> findChildrenOf(Long personId) {
+        return databaseClient.sql(SELECT + " where p.parent_id = :id or p.mother_id = :id or p.father_id = :id")
+                .bind("id", personId)
+                .map(ReactivePersonRepository::toState)
+                .all();
+    }
+
+    /**
+     * Finds the IDs of all persons, other than the excluded one, that reference the given
+     * person as parent, mother, father or spouse.
+     *
+     * @param personId the referenced person
+     * @param excludedId a person to leave out of the result
+     * @return the referencing person IDs
+     */
+    public Flux<Long> findIdsReferencing(Long personId, Long excludedId) {
+        return databaseClient.sql("select id from persons where id <> :excludedId and (parent_id = :id "
+                        + "or mother_id = :id or father_id = :id or spouse_id = :id)")
+                .bind("id", personId)
+                .bind("excludedId", excludedId)
+                .map(row -> row.get(0, Long.class))
+                .all();
+    }
+
+    /**
+     * Inserts a new person, adding its dictionary-encoded values to the lookup table first.
+     *
+     * @param state the person to insert; its ID is ignored
+     * @return the inserted person with its generated ID
+     */
+    public Mono<PersonState> insert(PersonState state) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into persons (first_name, middle_name, "
+                        + "last_name_id, occupation_id, life_story, born_date, died_date, birth_place_id, "
+                        + "currently_lives_at_address_id, mother_id, father_id, spouse_id, parent_id) values (:firstName, "
+                        + ":middleName, " + PersonSql.lookupId(":lastName") + ", " + PersonSql.lookupId(":occupation")
+                        + ", :lifeStory, :bornDate, :diedDate, " + PersonSql.lookupId(":birthPlace") + ", "
+                        + PersonSql.lookupId(":currentlyLivesAtAddress") + ", :motherId, :fatherId, :spouseId, :parentId)")
+                .filter((statement, next) -> next.execute(statement.returnGeneratedValues("id")));
+        return internLookupValues(state).then(Mono.defer(() -> bindColumns(spec, state)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(id -> state.toBuilder().id(id).build())));
+    }
+
+    /**
+     * Updates every column of an existing person, adding its dictionary-encoded values to the
+     * lookup table first.
+     *
+     * @param state the new state of the person
+     * @return the updated person
+     */
+    public Mono<PersonState> update(PersonState state) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("update persons set first_name = :firstName, "
+                        + "middle_name = :middleName, last_name_id = " + PersonSql.lookupId(":lastName") + ", "
+                        + "occupation_id = " + PersonSql.lookupId(":occupation") + ", "
+                        + "life_story = :lifeStory, born_date = :bornDate, died_date = :diedDate, "
+                        + "birth_place_id = " + PersonSql.lookupId(":birthPlace") + ", "
+                        + "currently_lives_at_address_id = " + PersonSql.lookupId(":currentlyLivesAtAddress") + ", "
+                        + "mother_id = :motherId, father_id = :fatherId, spouse_id = :spouseId, "
+                        + "parent_id = :parentId where id = :id")
+                .bind("id", state.getId());
+        return internLookupValues(state)
+                .then(Mono.defer(() -> bindColumns(spec, state).fetch().rowsUpdated()))
+                .thenReturn(state);
+    }
+
+    /**
+     * Repoints one relationship column from one person to another.
+     *
+     * @param column the relationship column: parent_id, mother_id, father_id or spouse_id
+     * @param from the currently referenced person
+     * @param to the person to reference instead
+     * @return the number of updated rows
+     */
+    public Mono<Long> repoint(String column, Long from, Long to) {
+        if (!column.matches("(parent|mother|father|spouse)_id")) {
+            throw new IllegalArgumentException("Not a relationship column: " + column);
+        }
+        return databaseClient.sql("update persons set " + column + " = :to where " + column + " = :from and id <> :to")
+                .bind("from", from)
+                .bind("to", to)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Deletes a single person.
+     *
+     * @param id the ID of the person to delete
+     * @return the number of deleted rows
+     */
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("delete from persons where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Adds the last name, occupation, birth place and address of a person to the lookup
+     * table unless they are already there.
+     *
+     * @param state the person about to be written
+     * @return completion once every value has a lookup ID
+     */
+    private Mono<Void> internLookupValues(PersonState state) {
+        return Flux.fromStream(Stream.of(state.getLastName(), state.getOccupation(), state.getBirthPlace(),
+                        state.getCurrentlyLivesAtAddress()).filter(Objects::nonNull).distinct())
+                .concatMap(value -> databaseClient.sql(MERGE_LOOKUP_VALUE)
+                        .bind("value", value)
+                        .fetch()
+                        .rowsUpdated()
+                        // a concurrent writer added the same value first
+                        .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(0L)))
+                .then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec,
+                                                                 PersonState state) {
+        spec = bind(spec, "firstName", state.getFirstName(), String.class);
+        spec = bind(spec, "middleName", state.getMiddleName(), String.class);
+        spec = bind(spec, "lastName", state.getLastName(), String.class);
+        spec = bind(spec, "occupation", state.getOccupation(), String.class);
+        spec = bind(spec, "lifeStory", state.getLifeStory(), String.class);
+        spec = bind(spec, "bornDate", state.getBornDate(), LocalDate.class);
+        spec = bind(spec, "diedDate", state.getDiedDate(), LocalDate.class);
+        spec = bind(spec, "birthPlace", state.getBirthPlace(), String.class);
+        spec = bind(spec, "currentlyLivesAtAddress", state.getCurrentlyLivesAtAddress(), String.class);
+        spec = bind(spec, "motherId", state.getMotherId(), Long.class);
+        spec = bind(spec, "fatherId", state.getFatherId(), Long.class);
+        spec = bind(spec, "spouseId", state.getSpouseId(), Long.class);
+        return bind(spec, "parentId", state.getParentId(), Long.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                          Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static PersonState toState(Readable row) {
+        return PersonState.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .middleName(row.get("middle_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .occupation(row.get("occupation", String.class))
+                .lifeStory(row.get("life_story", String.class))
+                .bornDate(row.get("born_date", LocalDate.class))
+                .diedDate(row.get("died_date", LocalDate.class))
+                .birthPlace(row.get("birth_place", String.class))
+                .currentlyLivesAtAddress(row.get("currently_lives_at_address", String.class))
+                .motherId(row.get("mother_id", Long.class))
+                .fatherId(row.get("father_id", Long.class))
+                .spouseId(row.get("spouse_id", Long.class))
+                .parentId(row.get("parent_id", Long.class))
+                .build();
+    }
+}
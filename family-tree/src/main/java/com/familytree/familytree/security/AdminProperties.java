@@ -0,0 +1,21 @@
+package com.familytree.familytree.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Access settings of the {@code /api/admin} endpoints, bound from {@code familytree.admin}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.admin")
+public class AdminProperties {
+
+    /**
+     * The token clients must send in the {@code X-Admin-Token} header. While no token is
+     * configured, every admin request is rejected.
+     */
+    private String token;
+}
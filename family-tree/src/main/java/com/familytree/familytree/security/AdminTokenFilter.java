@@ -0,0 +1,79 @@
+package com.familytree.familytree.security;
+
+import com.familytree.familytree.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+/**
+ * Rejects admin requests that do not carry the configured admin token.
+ * <p>
+ * Admin endpoints expose recordings and statement logs that may contain personal data,
+ * so they are closed unless {@code familytree.admin.token} is set and the request sends
+ * the same value in the {@code X-Admin-Token} header. Missing or wrong tokens are
+ * answered with HTTP 401 (Unauthorized).
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    /**
+     * The header carrying the admin token.
+     */
+    public static final String HEADER = "X-Admin-Token";
+
+    private final AdminProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new AdminTokenFilter.
+     *
+     * @param properties the admin access settings
+     * @param objectMapper the mapper used to write error responses
+     */
+    public AdminTokenFilter(AdminProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (authorized(request.getHeader(HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .error(HttpStatus.UNAUTHORIZED.getReasonPhrase())
+                .errorCode("ADMIN_TOKEN_REQUIRED")
+                .message("A valid " + HEADER + " header is required")
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private boolean authorized(String token) {
+        String expected = properties.getToken();
+        if (expected == null || expected.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
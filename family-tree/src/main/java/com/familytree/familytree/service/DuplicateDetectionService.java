@@ -0,0 +1,22 @@
+package com.familytree.familytree.service;
+
+import com.familytree.familytree.dto.DedupScanRequest;
+import com.familytree.familytree.dto.DuplicateCandidateDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for finding probable duplicate persons.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public interface DuplicateDetectionService {
+    /**
+     * Scans all persons for probable duplicates.
+     *
+     * @param request the scan parameters
+     * @return the candidate pairs, best match first
+     */
+    List<DuplicateCandidateDTO> scan(DedupScanRequest request);
+}
@@ -1,7 +1,11 @@
 package com.familytree.familytree.service;
 
 import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.repository.PersonField;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service interface for managing family members and their relationships.
@@ -157,4 +161,62 @@ public interface PersonService {
      * @return the former spouse
      */
     PersonDTO addFormerSpouse(Long personId, Long formerSpouseId);
+
+    /**
+     * Merges a duplicate person into a survivor.
+     * <p>
+     * Every relationship that references the duplicate is repointed to the survivor, empty
+     * fields of the survivor are filled from the duplicate, and the duplicate is deleted.
+     * </p>
+     *
+     * @param survivorId the ID of the person to keep
+     * @param duplicateId the ID of the person to merge and delete
+     * @return the merged survivor
+     */
+    PersonDTO mergePerson(Long survivorId, Long duplicateId);
+
+    /**
+     * Retrieves only the selected fields of a person.
+     *
+     * @param personId the ID of the person to retrieve
+     * @param fields the fields to retrieve
+     * @return the selected fields by name
+     * @throws com.familytree.familytree.exception.PersonNotFoundException if the person is not found
+     */
+    Map<String, Object> getPersonFields(Long personId, Set<PersonField> fields);
+
+    /**
+     * Finds the selected fields of all persons with the specified first name.
+     *
+     * @param firstName the first name to search for
+     * @param fields the fields to retrieve
+     * @return the selected fields of each matching person
+     */
+    List<Map<String, Object>> findPersonFieldsByFirstName(String firstName, Set<PersonField> fields);
+
+    /**
+     * Finds the selected fields of all persons with the specified last name.
+     *
+     * @param lastName the last name to search for
+     * @param fields the fields to retrieve
+     * @return the selected fields of each matching person
+     */
+    List<Map<String, Object>> findPersonFieldsByLastName(String lastName, Set<PersonField> fields);
+
+    /**
+     * Retrieves several persons by ID in a single query.
+     *
+     * @param personIds the IDs of the persons to retrieve
+     * @return the persons that exist, in no particular order
+     */
+    List<PersonDTO> getPersons(Collection<Long> personIds);
+
+    /**
+     * Finds the children of several persons in a single query, following the parent,
+     * mother and father relationships.
+     *
+     * @param personIds the IDs of the parents
+     * @return the children by parent ID; parents without children are absent
+     */
+    Map<Long, List<PersonDTO>> findChildren(Collection<Long> personIds);
 } 
\ No newline at end of file
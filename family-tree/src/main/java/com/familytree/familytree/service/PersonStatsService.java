@@ -0,0 +1,22 @@
+package com.familytree.familytree.service;
+
+import com.familytree.familytree.dto.PersonStatsDTO;
+
+/**
+ * Service interface for aggregate statistics about the family tree.
+ * <p>
+ * Implementations keep their counters up to date from person change events instead of
+ * querying the whole table on every request.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public interface PersonStatsService {
+    /**
+     * Returns the current statistics.
+     *
+     * @return the statistics
+     */
+    PersonStatsDTO getStats();
+}
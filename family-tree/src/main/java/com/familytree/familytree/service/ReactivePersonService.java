@@ -0,0 +1,187 @@
+package com.familytree.familytree.service;
+
+import com.familytree.familytree.dto.PersonDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link PersonService}.
+ * <p>
+ * Offers the same operations with the same semantics and error types, but returns
+ * {@link Mono} and {@link Flux} publishers so that no thread waits on the database.
+ * Errors are signalled through the publishers rather than thrown.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public interface ReactivePersonService {
+
+    /**
+     * Creates a new person in the family tree.
+     *
+     * @param personDTO the person data to create
+     * @return the created person with generated ID
+     */
+    Mono<PersonDTO> createNewPerson(PersonDTO personDTO);
+
+    /**
+     * Updates an existing person's information.
+     *
+     * @param personDTO the updated person data
+     * @return the updated person
+     */
+    Mono<PersonDTO> updatePerson(PersonDTO personDTO);
+
+    /**
+     * Retrieves a person by their ID.
+     *
+     * @param personId the ID of the person to retrieve
+     * @return the person, or a PersonNotFoundException if not found
+     */
+    Mono<PersonDTO> getPerson(Long personId);
+
+    /**
+     * Finds all persons with the specified first name.
+     *
+     * @param firstName the first name to search for
+     * @return the persons with the specified first name
+     */
+    Flux<PersonDTO> findPersonByFirstName(String firstName);
+
+    /**
+     * Finds all persons with the specified last name.
+     *
+     * @param lastName the last name to search for
+     * @return the persons with the specified last name
+     */
+    Flux<PersonDTO> findPersonByLastName(String lastName);
+
+    /**
+     * Deletes a person and their children from the family tree.
+     *
+     * @param personId the ID of the person to delete
+     * @return completes when the person has been deleted
+     */
+    Mono<Void> deletePerson(Long personId);
+
+    /**
+     * Adds a new child to a person.
+     *
+     * @param personId the ID of the parent
+     * @param childDTO the child data to create
+     * @return the created child
+     */
+    Mono<PersonDTO> addChild(Long personId, PersonDTO childDTO);
+
+    /**
+     * Adds an existing person as a child to another person.
+     *
+     * @param personId the ID of the parent
+     * @param childId the ID of the existing person to add as a child
+     * @return the updated child
+     */
+    Mono<PersonDTO> addChild(Long personId, Long childId);
+
+    /**
+     * Sets a new mother for a person.
+     *
+     * @param personId the ID of the person
+     * @param motherDTO the mother data to create
+     * @return the updated person
+     */
+    Mono<PersonDTO> setMother(Long personId, PersonDTO motherDTO);
+
+    /**
+     * Sets an existing person as the mother of another person.
+     *
+     * @param personId the ID of the person
+     * @param motherId the ID of the existing person to set as mother
+     * @return the updated person
+     */
+    Mono<PersonDTO> setMother(Long personId, Long motherId);
+
+    /**
+     * Sets a new father for a person.
+     *
+     * @param personId the ID of the person
+     * @param fatherDTO the father data to create
+     * @return the updated person
+     */
+    Mono<PersonDTO> setFather(Long personId, PersonDTO fatherDTO);
+
+    /**
+     * Sets an existing person as the father of another person.
+     *
+     * @param personId the ID of the person
+     * @param fatherId the ID of the existing person to set as father
+     * @return the updated person
+     */
+    Mono<PersonDTO> setFather(Long personId, Long fatherId);
+
+    /**
+     * Sets a new spouse for a person.
+     *
+     * @param personId the ID of the person
+     * @param spouseDTO the spouse data to create
+     * @return the updated person
+     */
+    Mono<PersonDTO> setSpouse(Long personId, PersonDTO spouseDTO);
+
+    /**
+     * Sets an existing person as the spouse of another person.
+     *
+     * @param personId the ID of the person
+     * @param spouseId the ID of the existing person to set as spouse
+     * @return the updated person
+     */
+    Mono<PersonDTO> setSpouse(Long personId, Long spouseId);
+
+    /**
+     * Removes the spouse relationship from a person.
+     *
+     * @param personId the ID of the person
+     * @return completes when the relationship has been removed
+     */
+    Mono<Void> deleteSpouse(Long personId);
+
+    /**
+     * Adds a new former spouse to a person.
+     *
+     * @param personId the ID of the person
+     * @param formerSpouseDTO the former spouse data to create
+     * @return the created former spouse
+     */
+    Mono<PersonDTO> addFormerSpouse(Long personId, PersonDTO formerSpouseDTO);
+
+    /**
+     * Adds an existing person as a former spouse to another person.
+     *
+     * @param personId the ID of the person
+     * @param formerSpouseId the ID of the existing person to add as former spouse
+     * @return the former spouse
+     */
+    Mono<PersonDTO> addFormerSpouse(Long personId, Long formerSpouseId);
+
+    /**
+     * Merges a duplicate person into a survivor.
+     *
+     * @param survivorId the ID of the person to keep
+     * @param duplicateId the ID of the person to merge and remove
+     * @return the merged survivor
+     */
+    Mono<PersonDTO> mergePerson(Long survivorId, Long duplicateId);
+
+    /**
+     * Streams all descendants of a person, generation by generation, following the
+     * parent, mother and father relationships.
+     * <p>
+     * Each generation is only queried when the subscriber has requested the
+     * persons before it, so slow consumers hold back the traversal.
+     * </p>
+     *
+     * @param personId the ID of the ancestor
+     * @return the descendants, or a PersonNotFoundException if the ancestor is not found
+     */
+    Flux<PersonDTO> getDescendants(Long personId);
+}
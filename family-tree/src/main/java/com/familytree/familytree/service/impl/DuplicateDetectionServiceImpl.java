@@ -0,0 +1,344 @@
+package com.familytree.familytree.service.impl;
+
+import com.familytree.familytree.dto.DedupScanRequest;
+import com.familytree.familytree.dto.DuplicateCandidateDTO;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonMatchView;
+import com.familytree.familytree.service.DuplicateDetectionService;
+import com.familytree.familytree.store.PersonStore;
+import com.familytree.familytree.util.Soundex;
+import com.familytree.familytree.util.StringSimilarity;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the DuplicateDetectionService interface.
+ * <p>
+ * Persons are read through the selected {@link PersonStore}, so the scan covers whichever
+ * storage engine is configured. Comparing every pair of persons is quadratic, so persons
+ * are first grouped into blocks
+ * that share the Soundex code of their last name and their birth year; only pairs within
+ * a block are scored. Blocks that are still too large are split by ever longer first-name
+ * prefixes, then by full first name and then by birth place, until every part fits; parts
+ * that cannot be split any further are skipped and reported in the log. Scoring runs on
+ * a dedicated fork-join pool, splitting the work down to slices of roughly
+ * {@value #PAIRS_PER_TASK} comparisons, and each task keeps only its best {@code limit}
+ * pairs, so memory stays bounded however low the minimum score is.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Service
+public class DuplicateDetectionServiceImpl implements DuplicateDetectionService {
+
+    static final double DEFAULT_MIN_SCORE = 0.85;
+    static final int DEFAULT_LIMIT = 1000;
+    static final int DEFAULT_MAX_BLOCK_SIZE = 5000;
+    private static final int PAIRS_PER_TASK = 50_000;
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionServiceImpl.class);
+
+    /**
+     * Best candidates first; ties are broken by IDs so results are deterministic.
+     */
+    static final Comparator<DuplicateCandidateDTO> RANKING =
+            Comparator.comparingDouble(DuplicateCandidateDTO::getScore).reversed()
+                    .thenComparing(DuplicateCandidateDTO::getPersonId)
+                    .thenComparing(DuplicateCandidateDTO::getDuplicateId);
+
+    /**
+     * The keys an oversized block is split by, each applied only to parts the previous
+     * one left too large.
+     */
+    private static final List<Function<PersonMatchView, String>> SPLIT_KEYS = List.of(
+            view -> prefix(view.getFirstName(), 1),
+            view -> prefix(view.getFirstName(), 2),
+            view -> prefix(view.getFirstName(), 3),
+            view -> prefix(view.getFirstName(), Integer.MAX_VALUE),
+            view -> prefix(view.getBirthPlace(), Integer.MAX_VALUE));
+
+    private static final double NAME_WEIGHT = 0.5;
+    private static final double DATE_WEIGHT = 0.3;
+    private static final double PLACE_WEIGHT = 0.2;
+
+    private final PersonStore personStore;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Constructs a new DuplicateDetectionServiceImpl.
+     *
+     * @param personStore the store to scan
+     */
+    @Autowired
+    public DuplicateDetectionServiceImpl(PersonStore personStore) {
+        this.personStore = personStore;
+    }
+
+    /**
+     * Shuts down the scoring pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DuplicateCandidateDTO> scan(DedupScanRequest request) {
+        double minScore = request.getMinScore() != null ? request.getMinScore() : DEFAULT_MIN_SCORE;
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+        int maxBlockSize = request.getMaxBlockSize() != null ? request.getMaxBlockSize() : DEFAULT_MAX_BLOCK_SIZE;
+        if (minScore < 0 || minScore > 1) {
+            throw new IllegalArgumentException("minScore must be between 0 and 1");
+        }
+        if (limit < 1 || maxBlockSize < 2) {
+            throw new IllegalArgumentException("limit must be positive and maxBlockSize at least 2");
+        }
+
+        List<ScoreSlice> slices = slice(block(), maxBlockSize);
+        return pool.invoke(new ScoreTask(slices, 0, slices.size(), minScore, limit)).toList();
+    }
+
+    /**
+     * Groups all stored persons by phonetic last name and birth year, keeping only the
+     * columns needed for matching.
+     *
+     * @return the blocks with at least two members
+     */
+    private Collection<List<PersonMatchView>> block() {
+        Map<String, List<PersonMatchView>> blocks = new HashMap<>();
+        personStore.forEachState(state -> {
+            String soundex = Soundex.encode(state.getLastName());
+            if (soundex != null) {
+                String year = state.getBornDate() != null ? String.valueOf(state.getBornDate().getYear()) : "?";
+                blocks.computeIfAbsent(soundex + ':' + year, key -> new ArrayList<>()).add(matchView(state));
+            }
+        });
+        blocks.values().removeIf(block -> block.size() < 2);
+        return blocks.values();
+    }
+
+    private static PersonMatchView matchView(PersonState state) {
+        return new PersonMatchView(state.getId(), state.getFirstName(), state.getMiddleName(),
+                state.getLastName(), state.getBornDate(), state.getBirthPlace());
+    }
+
+    /**
+     * Splits oversized blocks and cuts every block into slices of bounded work.
+     *
+     * @param blocks the blocks to slice
+     * @param maxBlockSize the size above which a block is split further
+     * @return the slices to score
+     */
+    static List<ScoreSlice> slice(Collection<List<PersonMatchView>> blocks, int maxBlockSize) {
+        List<List<PersonMatchView>> parts = new ArrayList<>();
+        int[] skipped = new int[2];
+        for (List<PersonMatchView> block : blocks) {
+            split(block, 0, maxBlockSize, parts, skipped);
+        }
+        if (skipped[0] > 0) {
+            log.warn("Skipped {} blocks with {} persons that could not be split below {} persons",
+                    skipped[0], skipped[1], maxBlockSize);
+        }
+        List<ScoreSlice> slices = new ArrayList<>();
+        for (List<PersonMatchView> part : parts) {
+            int from = 0;
+            while (from < part.size() - 1) {
+                // Row i is compared with every later row, so earlier rows carry more work
+                int to = from;
+                long pairs = 0;
+                while (to < part.size() - 1 && pairs < PAIRS_PER_TASK) {
+                    pairs += part.size() - 1 - to;
+                    to++;
+                }
+                slices.add(new ScoreSlice(part, from, to));
+                from = to;
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * Adds the parts of a block that fit the maximum size, splitting it by the key at the
+     * given level and the following ones.
+     */
+    private static void split(List<PersonMatchView> block, int level, int maxBlockSize,
+                              List<List<PersonMatchView>> parts, int[] skipped) {
+        if (block.size() < 2) {
+            return;
+        }
+        if (block.size() <= maxBlockSize) {
+            parts.add(block);
+            return;
+        }
+        if (level == SPLIT_KEYS.size()) {
+            skipped[0]++;
+            skipped[1] += block.size();
+            return;
+        }
+        Collection<List<PersonMatchView>> split = block.stream()
+                .collect(Collectors.groupingBy(SPLIT_KEYS.get(level))).values();
+        for (List<PersonMatchView> part : split) {
+            split(part, level + 1, maxBlockSize, parts, skipped);
+        }
+    }
+
+    private static String prefix(String value, int length) {
+        if (value == null || value.isBlank()) {
+            return "?";
+        }
+        String normalized = value.trim().toUpperCase();
+        return normalized.length() > length ? normalized.substring(0, length) : normalized;
+    }
+
+    /**
+     * Scores two persons from the same block.
+     *
+     * @param a the first person
+     * @param b the second person
+     * @return the candidate pair with its score breakdown
+     */
+    static DuplicateCandidateDTO score(PersonMatchView a, PersonMatchView b) {
+        double firstName = StringSimilarity.jaroWinkler(a.getFirstName(), b.getFirstName());
+        double lastName = StringSimilarity.jaroWinkler(a.getLastName(), b.getLastName());
+        double nameScore = 0.7 * firstName + 0.3 * lastName;
+        if (a.getMiddleName() != null && b.getMiddleName() != null) {
+            nameScore = 0.9 * nameScore + 0.1 * StringSimilarity.jaroWinkler(a.getMiddleName(), b.getMiddleName());
+        }
+        double dateScore = dateScore(a.getBornDate(), b.getBornDate());
+        double placeScore = a.getBirthPlace() == null || b.getBirthPlace() == null
+                ? 0.5
+                : StringSimilarity.jaroWinkler(a.getBirthPlace(), b.getBirthPlace());
+        boolean ordered = a.getId() < b.getId();
+        return DuplicateCandidateDTO.builder()
+                .personId(ordered ? a.getId() : b.getId())
+                .duplicateId(ordered ? b.getId() : a.getId())
+                .score(NAME_WEIGHT * nameScore + DATE_WEIGHT * dateScore + PLACE_WEIGHT * placeScore)
+                .nameScore(nameScore)
+                .dateScore(dateScore)
+                .placeScore(placeScore)
+                .build();
+    }
+
+    private static double dateScore(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return 0.5;
+        }
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.getYear() == b.getYear() && a.getMonthValue() == b.getDayOfMonth()
+                && a.getDayOfMonth() == b.getMonthValue()) {
+            return 0.8; // day and month swapped on entry
+        }
+        if (a.getYear() == b.getYear() && a.getMonthValue() == b.getMonthValue()) {
+            return 0.7;
+        }
+        return a.getYear() == b.getYear() ? 0.5 : 0;
+    }
+
+    /**
+     * A range of rows in a block; each row is compared with every later row of the block.
+     */
+    record ScoreSlice(List<PersonMatchView> block, int from, int to) {
+    }
+
+    /**
+     * The best candidates seen so far, at most a fixed number of them.
+     */
+    static final class TopCandidates {
+
+        private final int limit;
+        // The worst kept candidate is at the head, ready to be replaced
+        private final PriorityQueue<DuplicateCandidateDTO> heap = new PriorityQueue<>(RANKING.reversed());
+
+        TopCandidates(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(DuplicateCandidateDTO candidate) {
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (RANKING.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+
+        TopCandidates merge(TopCandidates other) {
+            other.heap.forEach(this::offer);
+            return this;
+        }
+
+        List<DuplicateCandidateDTO> toList() {
+            List<DuplicateCandidateDTO> ranked = new ArrayList<>(heap);
+            ranked.sort(RANKING);
+            return ranked;
+        }
+    }
+
+    /**
+     * Fork-join task that scores a range of slices, halving the range until one slice remains.
+     */
+    private static final class ScoreTask extends RecursiveTask<TopCandidates> {
+
+        private final List<ScoreSlice> slices;
+        private final int from;
+        private final int to;
+        private final double minScore;
+        private final int limit;
+
+        ScoreTask(List<ScoreSlice> slices, int from, int to, double minScore, int limit) {
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+            this.minScore = minScore;
+            this.limit = limit;
+        }
+
+        @Override
+        protected TopCandidates compute() {
+            if (to - from <= 1) {
+                return from < to ? scoreSlice(slices.get(from)) : new TopCandidates(limit);
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(slices, from, middle, minScore, limit);
+            left.fork();
+            TopCandidates result = new ScoreTask(slices, middle, to, minScore, limit).compute();
+            return result.merge(left.join());
+        }
+
+        private TopCandidates scoreSlice(ScoreSlice slice) {
+            TopCandidates result = new TopCandidates(limit);
+            List<PersonMatchView> block = slice.block();
+            for (int i = slice.from(); i < slice.to(); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    DuplicateCandidateDTO candidate = score(block.get(i), block.get(j));
+                    if (candidate.getScore() >= minScore) {
+                        result.offer(candidate);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
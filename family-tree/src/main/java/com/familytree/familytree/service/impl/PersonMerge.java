@@ -0,0 +1,59 @@
+package com.familytree.familytree.service.impl;
+
+import com.familytree.familytree.event.PersonState;
+
+/**
+ * The field rules of merging a duplicate person into a survivor, shared by the servlet and
+ * the reactive person services.
+ * <p>
+ * Empty fields of the survivor are filled from the duplicate. Relationships of the survivor
+ * that point at the duplicate are dropped, as are relationships of the duplicate that point
+ * at the survivor, so that the merge never leaves a person related to itself.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class PersonMerge {
+
+    private PersonMerge() {
+    }
+
+    /**
+     * Returns the state of the survivor after merging the duplicate into it.
+     *
+     * @param survivor the person to keep
+     * @param duplicate the person being merged
+     * @return the merged state of the survivor
+     */
+    static PersonState merge(PersonState survivor, PersonState duplicate) {
+        return survivor.toBuilder()
+                .firstName(firstNonBlank(survivor.getFirstName(), duplicate.getFirstName()))
+                .middleName(firstNonBlank(survivor.getMiddleName(), duplicate.getMiddleName()))
+                .lastName(firstNonBlank(survivor.getLastName(), duplicate.getLastName()))
+                .occupation(firstNonBlank(survivor.getOccupation(), duplicate.getOccupation()))
+                .lifeStory(firstNonBlank(survivor.getLifeStory(), duplicate.getLifeStory()))
+                .birthPlace(firstNonBlank(survivor.getBirthPlace(), duplicate.getBirthPlace()))
+                .currentlyLivesAtAddress(firstNonBlank(survivor.getCurrentlyLivesAtAddress(),
+                        duplicate.getCurrentlyLivesAtAddress()))
+                .bornDate(survivor.getBornDate() != null ? survivor.getBornDate() : duplicate.getBornDate())
+                .diedDate(survivor.getDiedDate() != null ? survivor.getDiedDate() : duplicate.getDiedDate())
+                .parentId(mergeRelative(survivor.getParentId(), duplicate.getParentId(), survivor, duplicate))
+                .motherId(mergeRelative(survivor.getMotherId(), duplicate.getMotherId(), survivor, duplicate))
+                .fatherId(mergeRelative(survivor.getFatherId(), duplicate.getFatherId(), survivor, duplicate))
+                .spouseId(mergeRelative(survivor.getSpouseId(), duplicate.getSpouseId(), survivor, duplicate))
+                .build();
+    }
+
+    private static String firstNonBlank(String preferred, String fallback) {
+        return preferred != null && !preferred.isBlank() ? preferred : fallback;
+    }
+
+    private static Long mergeRelative(Long current, Long fallback, PersonState survivor, PersonState duplicate) {
+        Long chosen = current != null && !duplicate.getId().equals(current) ? current : fallback;
+        if (chosen == null || survivor.getId().equals(chosen) || duplicate.getId().equals(chosen)) {
+            return null;
+        }
+        return chosen;
+    }
+}
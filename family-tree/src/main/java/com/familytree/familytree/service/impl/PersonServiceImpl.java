@@ -2,22 +2,40 @@ package com.familytree.familytree.service.impl;
 
 import com.familytree.familytree.dto.PersonDTO;
 import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
 import com.familytree.familytree.exception.PersonNotFoundException;
-import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.mapper.PersonMapper;
+import com.familytree.familytree.repository.PersonField;
 import com.familytree.familytree.service.PersonService;
+import com.familytree.familytree.store.PersonStore;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the PersonService interface.
  * <p>
  * This class provides the business logic for managing family members and their relationships.
- * It uses the PersonRepository for data access and handles the conversion between
- * Person entities and PersonDTO objects.
+ * It uses the configured {@link PersonStore} for data access and the PersonMapper for the conversion
+ * between Person entities and PersonDTO objects. Every write publishes a {@link PersonChangeEvent}
+ * per affected person so that derived views can be maintained incrementally.
+ * </p>
+ * <p>
+ * Every public method is observed as {@code familytree.service}: timed, tagged with the method
+ * name, and traced as a span carrying the person IDs it was called with.
  * </p>
  *
  * @author Family Tree Team
@@ -25,18 +43,26 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Observed(name = "familytree.service")
 public class PersonServiceImpl implements PersonService {
 
-    private final PersonRepository personRepository;
+    private final PersonStore personStore;
+    private final PersonMapper personMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Constructs a new PersonServiceImpl with the specified PersonRepository.
+     * Constructs a new PersonServiceImpl with the specified PersonStore.
      *
-     * @param personRepository the repository to be used for person operations
+     * @param personStore the storage engine to be used for person operations
+     * @param personMapper the mapper between entities and DTOs
+     * @param eventPublisher the publisher used to announce person changes
      */
     @Autowired
-    public PersonServiceImpl(PersonRepository personRepository) {
-        this.personRepository = personRepository;
+    public PersonServiceImpl(PersonStore personStore, PersonMapper personMapper,
+                             ApplicationEventPublisher eventPublisher) {
+        this.personStore = personStore;
+        this.personMapper = personMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -44,9 +70,10 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO createNewPerson(PersonDTO personDTO) {
-        Person person = convertToEntity(personDTO);
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person person = personMapper.toEntity(personDTO);
+        Person savedPerson = personStore.save(person);
+        publishCreated(savedPerson);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -57,9 +84,16 @@ public class PersonServiceImpl implements PersonService {
         if (personDTO.getId() == null) {
             throw new IllegalArgumentException("Person ID cannot be null for update");
         }
-        Person person = convertToEntity(personDTO);
-        Person updatedPerson = personRepository.save(person);
-        return convertToDTO(updatedPerson);
+        Person existing = personStore.findById(personDTO.getId()).orElse(null);
+        PersonState before = existing != null ? PersonState.of(existing) : null;
+        Person person = personMapper.toEntity(personDTO);
+        if (existing != null) {
+            // The DTO carries no parent, so an update keeps the one already stored
+            person.setParent(existing.getParent());
+        }
+        Person updatedPerson = personStore.save(person);
+        publishUpdated(before, updatedPerson);
+        return personMapper.toDTO(updatedPerson);
     }
 
     /**
@@ -67,9 +101,9 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO getPerson(Long personId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        return convertToDTO(person);
+        return personMapper.toDTO(person);
     }
 
     /**
@@ -77,8 +111,8 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public List<PersonDTO> findPersonByFirstName(String firstName) {
-        return personRepository.findByFirstName(firstName).stream()
-                .map(this::convertToDTO)
+        return personStore.findByFirstName(firstName).stream()
+                .map(personMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -87,19 +121,78 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public List<PersonDTO> findPersonByLastName(String lastName) {
-        return personRepository.findByLastName(lastName).stream()
-                .map(this::convertToDTO)
+        return personStore.findByLastName(lastName).stream()
+                .map(personMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getPersonFields(Long personId, Set<PersonField> fields) {
+        return personStore.findFieldsById(personId, fields)
+                .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> findPersonFieldsByFirstName(String firstName, Set<PersonField> fields) {
+        return personStore.findFieldsByFirstName(firstName, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> findPersonFieldsByLastName(String lastName, Set<PersonField> fields) {
+        return personStore.findFieldsByLastName(lastName, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PersonDTO> getPersons(Collection<Long> personIds) {
+        return personStore.findAllById(personIds).stream()
+                .map(personMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Long, List<PersonDTO>> findChildren(Collection<Long> personIds) {
+        Map<Long, List<PersonDTO>> childrenByParent = new HashMap<>();
+        for (Person child : personStore.findChildrenOfAny(personIds)) {
+            PersonDTO childDTO = personMapper.toDTO(child);
+            // A child appears once per parent, even if it is both parent and mother
+            Stream.of(child.getParent(), child.getMother(), child.getFather())
+                    .filter(Objects::nonNull)
+                    .map(Person::getId)
+                    .filter(personIds::contains)
+                    .distinct()
+                    .forEach(parentId -> childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>())
+                            .add(childDTO));
+        }
+        return childrenByParent;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void deletePerson(Long personId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        personRepository.delete(person);
+        // Children are removed by cascade, so they are announced as deleted as well
+        List<PersonState> removed = new ArrayList<>();
+        collectSubtree(person, removed);
+        personStore.delete(person);
+        removed.forEach(state -> eventPublisher.publishEvent(PersonChangeEvent.deleted(state)));
     }
 
     /**
@@ -107,13 +200,14 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO addChild(Long personId, PersonDTO childDTO) {
-        Person parent = personRepository.findById(personId)
+        Person parent = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Parent not found with id: " + personId));
-        Person child = convertToEntity(childDTO);
+        Person child = personMapper.toEntity(childDTO);
         child.setParent(parent);
         parent.getChildren().add(child);
-        Person savedChild = personRepository.save(child);
-        return convertToDTO(savedChild);
+        Person savedChild = personStore.save(child);
+        publishCreated(savedChild);
+        return personMapper.toDTO(savedChild);
     }
 
     /**
@@ -121,14 +215,16 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO addChild(Long personId, Long childId) {
-        Person parent = personRepository.findById(personId)
+        Person parent = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Parent not found with id: " + personId));
-        Person child = personRepository.findById(childId)
+        Person child = personStore.findById(childId)
                 .orElseThrow(() -> new PersonNotFoundException("Child not found with id: " + childId));
+        PersonState before = PersonState.of(child);
         child.setParent(parent);
         parent.getChildren().add(child);
-        Person savedChild = personRepository.save(child);
-        return convertToDTO(savedChild);
+        Person savedChild = personStore.save(child);
+        publishUpdated(before, savedChild);
+        return personMapper.toDTO(savedChild);
     }
 
     /**
@@ -136,12 +232,15 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO setMother(Long personId, PersonDTO motherDTO) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person mother = convertToEntity(motherDTO);
+        PersonState before = PersonState.of(person);
+        Person mother = personStore.save(personMapper.toEntity(motherDTO));
         person.setMother(mother);
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person savedPerson = personStore.save(person);
+        publishCreated(mother);
+        publishUpdated(before, savedPerson);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -149,13 +248,15 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO setMother(Long personId, Long motherId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person mother = personRepository.findById(motherId)
+        Person mother = personStore.findById(motherId)
                 .orElseThrow(() -> new PersonNotFoundException("Mother not found with id: " + motherId));
+        PersonState before = PersonState.of(person);
         person.setMother(mother);
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person savedPerson = personStore.save(person);
+        publishUpdated(before, savedPerson);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -163,12 +264,15 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO setFather(Long personId, PersonDTO fatherDTO) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person father = convertToEntity(fatherDTO);
+        PersonState before = PersonState.of(person);
+        Person father = personStore.save(personMapper.toEntity(fatherDTO));
         person.setFather(father);
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person savedPerson = personStore.save(person);
+        publishCreated(father);
+        publishUpdated(before, savedPerson);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -176,13 +280,15 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO setFather(Long personId, Long fatherId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person father = personRepository.findById(fatherId)
+        Person father = personStore.findById(fatherId)
                 .orElseThrow(() -> new PersonNotFoundException("Father not found with id: " + fatherId));
+        PersonState before = PersonState.of(person);
         person.setFather(father);
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person savedPerson = personStore.save(person);
+        publishUpdated(before, savedPerson);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -190,13 +296,17 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO setSpouse(Long personId, PersonDTO spouseDTO) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person spouse = convertToEntity(spouseDTO);
+        PersonState before = PersonState.of(person);
+        Person spouse = personStore.save(personMapper.toEntity(spouseDTO));
         person.setSpouse(spouse);
         spouse.setSpouse(person); // Set bidirectional relationship
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person savedPerson = personStore.save(person);
+        personStore.save(spouse);
+        publishCreated(spouse);
+        publishUpdated(before, savedPerson);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -204,14 +314,19 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO setSpouse(Long personId, Long spouseId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person spouse = personRepository.findById(spouseId)
+        Person spouse = personStore.findById(spouseId)
                 .orElseThrow(() -> new PersonNotFoundException("Spouse not found with id: " + spouseId));
+        PersonState personBefore = PersonState.of(person);
+        PersonState spouseBefore = PersonState.of(spouse);
         person.setSpouse(spouse);
         spouse.setSpouse(person); // Set bidirectional relationship
-        Person savedPerson = personRepository.save(person);
-        return convertToDTO(savedPerson);
+        Person savedPerson = personStore.save(person);
+        personStore.save(spouse);
+        publishUpdated(personBefore, savedPerson);
+        publishUpdated(spouseBefore, spouse);
+        return personMapper.toDTO(savedPerson);
     }
 
     /**
@@ -219,12 +334,18 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public void deleteSpouse(Long personId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
         if (person.getSpouse() != null) {
-            person.getSpouse().setSpouse(null); // Remove bidirectional relationship
+            Person spouse = person.getSpouse();
+            PersonState personBefore = PersonState.of(person);
+            PersonState spouseBefore = PersonState.of(spouse);
+            spouse.setSpouse(null); // Remove bidirectional relationship
             person.setSpouse(null);
-            personRepository.save(person);
+            personStore.save(person);
+            personStore.save(spouse);
+            publishUpdated(personBefore, person);
+            publishUpdated(spouseBefore, spouse);
         }
     }
 
@@ -233,13 +354,14 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO addFormerSpouse(Long personId, PersonDTO formerSpouseDTO) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person formerSpouse = convertToEntity(formerSpouseDTO);
+        Person formerSpouse = personMapper.toEntity(formerSpouseDTO);
         // Here you might want to add logic to store former spouses in a separate table
         // For now, we'll just create the former spouse as a new person
-        Person savedFormerSpouse = personRepository.save(formerSpouse);
-        return convertToDTO(savedFormerSpouse);
+        Person savedFormerSpouse = personStore.save(formerSpouse);
+        publishCreated(savedFormerSpouse);
+        return personMapper.toDTO(savedFormerSpouse);
     }
 
     /**
@@ -247,69 +369,136 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonDTO addFormerSpouse(Long personId, Long formerSpouseId) {
-        Person person = personRepository.findById(personId)
+        Person person = personStore.findById(personId)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person formerSpouse = personRepository.findById(formerSpouseId)
+        Person formerSpouse = personStore.findById(formerSpouseId)
                 .orElseThrow(() -> new PersonNotFoundException("Former spouse not found with id: " + formerSpouseId));
         // Here you might want to add logic to store former spouses in a separate table
         // For now, we'll just return the existing former spouse
-        return convertToDTO(formerSpouse);
+        return personMapper.toDTO(formerSpouse);
     }
 
     /**
-     * Converts a PersonDTO to a Person entity.
-     *
-     * @param dto the PersonDTO to convert
-     * @return the converted Person entity
+     * {@inheritDoc}
      */
-    private Person convertToEntity(PersonDTO dto) {
-        Person person = new Person();
-        person.setId(dto.getId());
-        person.setFirstName(dto.getFirstName());
-        person.setMiddleName(dto.getMiddleName());
-        person.setLastName(dto.getLastName());
-        person.setOccupation(dto.getOccupation());
-        person.setLifeStory(dto.getLifeStory());
-        person.setBornDate(dto.getBornDate());
-        person.setDiedDate(dto.getDiedDate());
-        person.setBirthPlace(dto.getBirthPlace());
-        person.setCurrentlyLivesAtAddress(dto.getCurrentlyLivesAtAddress());
-        
-        // Handle relationships if IDs are provided
-        if (dto.getMotherId() != null) {
-            person.setMother(personRepository.findById(dto.getMotherId()).orElse(null));
+    @Override
+    public PersonDTO mergePerson(Long survivorId, Long duplicateId) {
+        if (survivorId.equals(duplicateId)) {
+            throw new IllegalArgumentException("A person cannot be merged into itself");
         }
-        if (dto.getFatherId() != null) {
-            person.setFather(personRepository.findById(dto.getFatherId()).orElse(null));
+        Person survivor = personStore.findById(survivorId)
+                .orElseThrow(() -> new PersonNotFoundException("Survivor not found with id: " + survivorId));
+        Person duplicate = personStore.findById(duplicateId)
+                .orElseThrow(() -> new PersonNotFoundException("Duplicate not found with id: " + duplicateId));
+        PersonState survivorBefore = PersonState.of(survivor);
+        PersonState duplicateBefore = PersonState.of(duplicate);
+        Person duplicateSpouse = duplicate.getSpouse();
+
+        mergeFields(survivor, duplicate, PersonMerge.merge(survivorBefore, duplicateBefore));
+        personStore.save(survivor);
+        // A survivor that keeps its own spouse leaves the duplicate's spouse unmarried
+        Person releasedSpouse = duplicateSpouse != null
+                && !duplicateSpouse.getId().equals(survivorId)
+                && (survivor.getSpouse() == null || !duplicateSpouse.getId().equals(survivor.getSpouse().getId()))
+                && duplicateSpouse.getSpouse() != null && duplicateId.equals(duplicateSpouse.getSpouse().getId())
+                ? duplicateSpouse : null;
+        PersonState releasedSpouseBefore = null;
+        if (releasedSpouse != null) {
+            releasedSpouseBefore = PersonState.of(releasedSpouse);
+            releasedSpouse.setSpouse(null);
+            personStore.save(releasedSpouse);
+            personStore.flush();
+        }
+        List<Long> repointedIds = personStore.findIdsReferencing(duplicateId, survivorId);
+        personStore.repointReferences(duplicate, survivor);
+        personStore.deleteByIdInBulk(duplicateId);
+
+        Person merged = personStore.findById(survivorId)
+                .orElseThrow(() -> new PersonNotFoundException("Survivor not found with id: " + survivorId));
+        publishUpdated(survivorBefore, merged);
+        if (releasedSpouse != null) {
+            publishUpdated(releasedSpouseBefore, releasedSpouse);
         }
-        if (dto.getSpouseId() != null) {
-            person.setSpouse(personRepository.findById(dto.getSpouseId()).orElse(null));
+        eventPublisher.publishEvent(PersonChangeEvent.merged(duplicateBefore, survivorId, repointedIds));
+        return personMapper.toDTO(merged);
+    }
+
+    /**
+     * Applies the merged state of a survivor to its entity.
+     * <p>
+     * Every merged relationship is one the survivor or the duplicate already had, so it is
+     * set to that person rather than to a new reference.
+     * </p>
+     *
+     * @param survivor the person to keep
+     * @param duplicate the person being merged
+     * @param merged the merged state of the survivor
+     */
+    private void mergeFields(Person survivor, Person duplicate, PersonState merged) {
+        Person parent = duplicate.getParent();
+        Person mother = duplicate.getMother();
+        Person father = duplicate.getFather();
+        Person spouse = duplicate.getSpouse();
+        // Release the duplicate's spouse first; spouse_id is unique
+        duplicate.setSpouse(null);
+        personStore.save(duplicate);
+        personStore.flush();
+
+        survivor.setFirstName(merged.getFirstName());
+        survivor.setMiddleName(merged.getMiddleName());
+        survivor.setLastName(merged.getLastName());
+        survivor.setOccupation(merged.getOccupation());
+        survivor.setLifeStory(merged.getLifeStory());
+        survivor.setBirthPlace(merged.getBirthPlace());
+        survivor.setCurrentlyLivesAtAddress(merged.getCurrentlyLivesAtAddress());
+        survivor.setBornDate(merged.getBornDate());
+        survivor.setDiedDate(merged.getDiedDate());
+        survivor.setParent(relative(merged.getParentId(), survivor.getParent(), parent));
+        survivor.setMother(relative(merged.getMotherId(), survivor.getMother(), mother));
+        survivor.setFather(relative(merged.getFatherId(), survivor.getFather(), father));
+        survivor.setSpouse(relative(merged.getSpouseId(), survivor.getSpouse(), spouse));
+    }
+
+    private static Person relative(Long id, Person current, Person fallback) {
+        if (id == null) {
+            return null;
         }
-        
-        return person;
+        return current != null && id.equals(current.getId()) ? current : fallback;
     }
 
     /**
-     * Converts a Person entity to a PersonDTO.
+     * Publishes a creation event for a newly saved person.
      *
-     * @param person the Person entity to convert
-     * @return the converted PersonDTO
+     * @param person the saved person
      */
-    private PersonDTO convertToDTO(Person person) {
-        return PersonDTO.builder()
-                .id(person.getId())
-                .firstName(person.getFirstName())
-                .middleName(person.getMiddleName())
-                .lastName(person.getLastName())
-                .occupation(person.getOccupation())
-                .lifeStory(person.getLifeStory())
-                .bornDate(person.getBornDate())
-                .diedDate(person.getDiedDate())
-                .birthPlace(person.getBirthPlace())
-                .currentlyLivesAtAddress(person.getCurrentlyLivesAtAddress())
-                .motherId(person.getMother() != null ? person.getMother().getId() : null)
-                .fatherId(person.getFather() != null ? person.getFather().getId() : null)
-                .spouseId(person.getSpouse() != null ? person.getSpouse().getId() : null)
-                .build();
+    private void publishCreated(Person person) {
+        eventPublisher.publishEvent(PersonChangeEvent.created(PersonState.of(person)));
+    }
+
+    /**
+     * Publishes an update event for a saved person, or a creation event if the
+     * person did not exist before.
+     *
+     * @param before the state before the change, or null if the person is new
+     * @param person the saved person
+     */
+    private void publishUpdated(PersonState before, Person person) {
+        PersonState after = PersonState.of(person);
+        eventPublisher.publishEvent(before == null
+                ? PersonChangeEvent.created(after)
+                : PersonChangeEvent.updated(before, after));
+    }
+
+    /**
+     * Collects the state of a person and all of their descendants.
+     *
+     * @param person the root of the subtree
+     * @param states the list to add the captured states to
+     */
+    private void collectSubtree(Person person, List<PersonState> states) {
+        states.add(PersonState.of(person));
+        for (Person child : person.getChildren()) {
+            collectSubtree(child, states);
+        }
     }
 } 
\ No newline at end of file
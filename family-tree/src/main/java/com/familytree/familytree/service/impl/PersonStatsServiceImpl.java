@@ -0,0 +1,155 @@
+package com.familytree.familytree.service.impl;
+
+import com.familytree.familytree.dto.PersonStatsDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.service.PersonStatsService;
+import com.familytree.familytree.store.PersonStore;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the PersonStatsService interface.
+ * <p>
+ * The counters are seeded once at startup from the state of every person in the selected
+ * {@link PersonStore}, so they follow whichever storage engine is configured, and are
+ * afterwards adjusted from committed {@link PersonChangeEvent}s, so reading the statistics
+ * never touches the database. Each event removes the contribution of the old state and adds
+ * the contribution of the new one.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Service
+public class PersonStatsServiceImpl implements PersonStatsService {
+
+    private final PersonStore personStore;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong living = new AtomicLong();
+    private final AtomicLong married = new AtomicLong();
+    private final Map<String, Long> bySurname = new ConcurrentHashMap<>();
+    private final Map<String, Long> byBirthPlace = new ConcurrentHashMap<>();
+    private final Map<String, Long> byOccupation = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> byBirthDecade = new ConcurrentHashMap<>();
+    private final Map<Long, Long> childrenByParent = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new PersonStatsServiceImpl with the specified PersonStore.
+     *
+     * @param personStore the store used to seed the counters
+     */
+    @Autowired
+    public PersonStatsServiceImpl(PersonStore personStore) {
+        this.personStore = personStore;
+    }
+
+    /**
+     * Seeds the counters from the current contents of the person store.
+     */
+    @PostConstruct
+    public void initialize() {
+        personStore.forEachState(state -> apply(state, 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonStatsDTO getStats() {
+        long totalCount = total.get();
+        long livingCount = living.get();
+        return PersonStatsDTO.builder()
+                .totalPersons(totalCount)
+                .living(livingCount)
+                .deceased(totalCount - livingCount)
+                .married(married.get())
+                .parents(childrenByParent.size())
+                .bySurname(new TreeMap<>(bySurname))
+                .byBirthPlace(new TreeMap<>(byBirthPlace))
+                .byOccupation(new TreeMap<>(byOccupation))
+                .byBirthDecade(new TreeMap<>(byBirthDecade))
+                .build();
+    }
+
+    /**
+     * Applies a committed person change to the counters.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPersonChange(PersonChangeEvent event) {
+        apply(event.getBefore(), -1);
+        apply(event.getAfter(), 1);
+        if (event.getType() == PersonChangeEvent.ChangeType.MERGED) {
+            // The duplicate's children were repointed to the survivor in bulk
+            Long children = childrenByParent.remove(event.getPersonId());
+            if (children != null) {
+                adjust(childrenByParent, event.getMergedIntoId(), children);
+            }
+        }
+    }
+
+    /**
+     * Adds or removes the contribution of a single person state.
+     *
+     * @param state the state to apply, ignored if null
+     * @param delta +1 to add the state, -1 to remove it
+     */
+    private void apply(PersonState state, int delta) {
+        if (state == null) {
+            return;
+        }
+        total.addAndGet(delta);
+        if (state.getDiedDate() == null) {
+            living.addAndGet(delta);
+        }
+        if (state.getSpouseId() != null) {
+            married.addAndGet(delta);
+        }
+        adjust(bySurname, state.getLastName(), delta);
+        adjust(byBirthPlace, state.getBirthPlace(), delta);
+        adjust(byOccupation, state.getOccupation(), delta);
+        if (state.getBornDate() != null) {
+            adjust(byBirthDecade, decadeOf(state.getBornDate().getYear()), delta);
+        }
+        adjust(childrenByParent, state.getParentId(), delta);
+    }
+
+    /**
+     * Atomically adjusts a grouped count, dropping the key once it reaches zero.
+     *
+     * @param counts the counter map
+     * @param key the key to adjust, ignored if null
+     * @param delta the amount to add
+     * @param <K> the key type
+     */
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        if (key == null) {
+            return;
+        }
+        counts.compute(key, (k, current) -> {
+            long updated = (current == null ? 0 : current) + delta;
+            return updated == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Returns the first year of the decade containing the given year.
+     *
+     * @param year the year
+     * @return the decade
+     */
+    private static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+}
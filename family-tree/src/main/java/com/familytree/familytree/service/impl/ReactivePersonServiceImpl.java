@@ -0,0 +1,418 @@
+package com.familytree.familytree.service.impl;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.exception.PersonNotFoundException;
+import com.familytree.familytree.mapper.PersonMapper;
+import com.familytree.familytree.repository.ReactivePersonRepository;
+import com.familytree.familytree.service.ReactivePersonService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Implementation of the ReactivePersonService interface on top of R2DBC.
+ * <p>
+ * Every write runs in a single reactive transaction. The {@link PersonChangeEvent}s of a
+ * write are collected while it runs and published once the transaction has committed,
+ * which is the point at which the servlet implementation's after-commit listeners fire.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Service
+@Profile("reactive")
+public class ReactivePersonServiceImpl implements ReactivePersonService {
+
+    private final ReactivePersonRepository personRepository;
+    private final PersonMapper personMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new ReactivePersonServiceImpl.
+     *
+     * @param personRepository the repository to be used for person operations
+     * @param personMapper the mapper from person states to DTOs
+     * @param transactionalOperator the operator that demarcates write transactions
+     * @param eventPublisher the publisher used to announce person changes
+     */
+    @Autowired
+    public ReactivePersonServiceImpl(ReactivePersonRepository personRepository,
+                                     PersonMapper personMapper,
+                                     TransactionalOperator transactionalOperator,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.personRepository = personRepository;
+        this.personMapper = personMapper;
+        this.transactionalOperator = transactionalOperator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> createNewPerson(PersonDTO personDTO) {
+        return write(events -> resolveRelatives(personDTO)
+                .flatMap(personRepository::insert)
+                .doOnNext(saved -> events.add(PersonChangeEvent.created(saved))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> updatePerson(PersonDTO personDTO) {
+        if (personDTO.getId() == null) {
+            return Mono.error(new IllegalArgumentException("Person ID cannot be null for update"));
+        }
+        return write(events -> personRepository.findById(personDTO.getId())
+                .flatMap(before -> resolveRelatives(personDTO)
+                        .map(state -> state.toBuilder().parentId(before.getParentId()).build())
+                        .flatMap(personRepository::update)
+                        .doOnNext(saved -> events.add(PersonChangeEvent.updated(before, saved))))
+                .switchIfEmpty(Mono.defer(() -> resolveRelatives(personDTO)
+                        .flatMap(personRepository::insert)
+                        .doOnNext(saved -> events.add(PersonChangeEvent.created(saved))))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> getPerson(Long personId) {
+        return find(personId, "Person").map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<PersonDTO> findPersonByFirstName(String firstName) {
+        return personRepository.findByFirstName(firstName).map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<PersonDTO> findPersonByLastName(String lastName) {
+        return personRepository.findByLastName(lastName).map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> deletePerson(Long personId) {
+        return write(events -> find(personId, "Person")
+                // Children go with their parent, as with the cascade of the JPA mapping
+                .flatMapMany(person -> Flux.just(person)
+                        .expand(parent -> personRepository.findByParentId(parent.getId())))
+                .collectList()
+                .flatMap(subtree -> {
+                    List<PersonState> deepestFirst = new ArrayList<>(subtree);
+                    Collections.reverse(deepestFirst);
+                    return Flux.fromIterable(deepestFirst)
+                            .concatMap(state -> personRepository.deleteById(state.getId()))
+                            .then(Mono.fromRunnable(() ->
+                                    subtree.forEach(state -> events.add(PersonChangeEvent.deleted(state)))));
+                }))
+                .then();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> addChild(Long personId, PersonDTO childDTO) {
+        return write(events -> find(personId, "Parent")
+                .then(resolveRelatives(childDTO))
+                .map(child -> child.toBuilder().parentId(personId).build())
+                .flatMap(personRepository::insert)
+                .doOnNext(saved -> events.add(PersonChangeEvent.created(saved))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> addChild(Long personId, Long childId) {
+        return write(events -> find(personId, "Parent")
+                .then(find(childId, "Child"))
+                .flatMap(before -> update(before, before.toBuilder().parentId(personId).build(), events)))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> setMother(Long personId, PersonDTO motherDTO) {
+        return write(events -> find(personId, "Person")
+                .flatMap(before -> insertRelative(motherDTO, null, events)
+                        .flatMap(mother -> update(before, before.toBuilder().motherId(mother.getId()).build(), events))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> setMother(Long personId, Long motherId) {
+        return write(events -> find(personId, "Person")
+                .flatMap(before -> find(motherId, "Mother")
+                        .flatMap(mother -> update(before, before.toBuilder().motherId(motherId).build(), events))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> setFather(Long personId, PersonDTO fatherDTO) {
+        return write(events -> find(personId, "Person")
+                .flatMap(before -> insertRelative(fatherDTO, null, events)
+                        .flatMap(father -> update(before, before.toBuilder().fatherId(father.getId()).build(), events))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> setFather(Long personId, Long fatherId) {
+        return write(events -> find(personId, "Person")
+                .flatMap(before -> find(fatherId, "Father")
+                        .flatMap(father -> update(before, before.toBuilder().fatherId(fatherId).build(), events))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> setSpouse(Long personId, PersonDTO spouseDTO) {
+        return write(events -> find(personId, "Person")
+                // Set bidirectional relationship
+                .flatMap(before -> insertRelative(spouseDTO, personId, events)
+                        .flatMap(spouse -> update(before, before.toBuilder().spouseId(spouse.getId()).build(), events))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> setSpouse(Long personId, Long spouseId) {
+        return write(events -> find(personId, "Person")
+                .flatMap(personBefore -> find(spouseId, "Spouse")
+                        // Set bidirectional relationship
+                        .flatMap(spouseBefore -> update(spouseBefore,
+                                spouseBefore.toBuilder().spouseId(personId).build(), events))
+                        .then(update(personBefore, personBefore.toBuilder().spouseId(spouseId).build(), events))))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> deleteSpouse(Long personId) {
+        return write(events -> find(personId, "Person")
+                .filter(person -> person.getSpouseId() != null)
+                .flatMap(personBefore -> personRepository.findById(personBefore.getSpouseId())
+                        // Remove bidirectional relationship
+                        .flatMap(spouseBefore -> update(spouseBefore,
+                                spouseBefore.toBuilder().spouseId(null).build(), events))
+                        .then(update(personBefore, personBefore.toBuilder().spouseId(null).build(), events))))
+                .then();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> addFormerSpouse(Long personId, PersonDTO formerSpouseDTO) {
+        // Former spouses are not stored as a relationship yet, only as a new person
+        return write(events -> find(personId, "Person")
+                .then(insertRelative(formerSpouseDTO, null, events)))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> addFormerSpouse(Long personId, Long formerSpouseId) {
+        return find(personId, "Person")
+                .then(find(formerSpouseId, "Former spouse"))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PersonDTO> mergePerson(Long survivorId, Long duplicateId) {
+        if (survivorId.equals(duplicateId)) {
+            return Mono.error(new IllegalArgumentException("A person cannot be merged into itself"));
+        }
+        return write(events -> find(survivorId, "Survivor")
+                .zipWith(find(duplicateId, "Duplicate"))
+                .flatMap(pair -> {
+                    PersonState survivorBefore = pair.getT1();
+                    PersonState duplicateBefore = pair.getT2();
+                    PersonState merged = PersonMerge.merge(survivorBefore, duplicateBefore);
+                    Long duplicateSpouseId = duplicateBefore.getSpouseId();
+                    // A survivor that keeps its own spouse leaves the duplicate's spouse unmarried
+                    Mono<Void> releaseSpouse = duplicateSpouseId == null
+                            || duplicateSpouseId.equals(survivorId)
+                            || duplicateSpouseId.equals(merged.getSpouseId())
+                            ? Mono.empty()
+                            : personRepository.findById(duplicateSpouseId)
+                                    .filter(spouse -> duplicateId.equals(spouse.getSpouseId()))
+                                    .flatMap(spouse -> update(spouse, spouse.toBuilder().spouseId(null).build(), events))
+                                    .then();
+                    // Release the duplicate's spouse first; spouse_id is unique
+                    return personRepository.update(duplicateBefore.toBuilder().spouseId(null).build())
+                            .then(releaseSpouse)
+                            .then(personRepository.findIdsReferencing(duplicateId, survivorId).collectList())
+                            .flatMap(repointedIds -> personRepository.update(merged)
+                                    .then(personRepository.repoint("parent_id", duplicateId, survivorId))
+                                    .then(personRepository.repoint("mother_id", duplicateId, survivorId))
+                                    .then(personRepository.repoint("father_id", duplicateId, survivorId))
+                                    .then(personRepository.repoint("spouse_id", duplicateId, survivorId))
+                                    .then(personRepository.deleteById(duplicateId))
+                                    .then(Mono.fromCallable(() -> {
+                                        events.add(PersonChangeEvent.updated(survivorBefore, merged));
+                                        events.add(PersonChangeEvent.merged(duplicateBefore, survivorId, repointedIds));
+                                        return merged;
+                                    })));
+                }))
+                .map(personMapper::toDTO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<PersonDTO> getDescendants(Long personId) {
+        return find(personId, "Person").flatMapMany(ancestor -> {
+            // Guards against cycles and against children reachable through several parents
+            Set<Long> visited = Collections.synchronizedSet(new HashSet<>());
+            visited.add(ancestor.getId());
+            return personRepository.findChildrenOf(ancestor.getId())
+                    .filter(child -> visited.add(child.getId()))
+                    .expand(parent -> personRepository.findChildrenOf(parent.getId())
+                            .filter(child -> visited.add(child.getId())));
+        }).map(personMapper::toDTO);
+    }
+
+    /**
+     * Runs a write in a transaction and publishes the events it collected after commit.
+     *
+     * @param work the write, given the list to collect its events in
+     * @param <T> the result type of the write
+     * @return the result of the write
+     */
+    private <T> Mono<T> write(Function<List<PersonChangeEvent>, Mono<T>> work) {
+        return Mono.defer(() -> {
+            List<PersonChangeEvent> events = new ArrayList<>();
+            return work.apply(events)
+                    .as(transactionalOperator::transactional)
+                    .doOnSuccess(result -> events.forEach(eventPublisher::publishEvent));
+        });
+    }
+
+    /**
+     * Finds a person or signals a PersonNotFoundException.
+     *
+     * @param personId the ID of the person
+     * @param role the role of the person, used in the error message
+     * @return the person
+     */
+    private Mono<PersonState> find(Long personId, String role) {
+        return personRepository.findById(personId)
+                .switchIfEmpty(Mono.error(() ->
+                        new PersonNotFoundException(role + " not found with id: " + personId)));
+    }
+
+    /**
+     * Saves the new state of an existing person and records the update event.
+     *
+     * @param before the state before the change
+     * @param after the state to save
+     * @param events the list to add the event to
+     * @return the saved state
+     */
+    private Mono<PersonState> update(PersonState before, PersonState after, List<PersonChangeEvent> events) {
+        return personRepository.update(after)
+                .doOnNext(saved -> events.add(PersonChangeEvent.updated(before, saved)));
+    }
+
+    /**
+     * Inserts a new relative and records the creation event.
+     *
+     * @param dto the relative data to create
+     * @param spouseId the spouse of the new relative, or null
+     * @param events the list to add the event to
+     * @return the inserted relative
+     */
+    private Mono<PersonState> insertRelative(PersonDTO dto, Long spouseId, List<PersonChangeEvent> events) {
+        return resolveRelatives(dto)
+                .map(state -> spouseId != null ? state.toBuilder().spouseId(spouseId).build() : state)
+                .flatMap(personRepository::insert)
+                .doOnNext(saved -> events.add(PersonChangeEvent.created(saved)));
+    }
+
+    /**
+     * Converts a PersonDTO to a PersonState, dropping relationship IDs that do not
+     * refer to an existing person.
+     *
+     * @param dto the PersonDTO to convert
+     * @return the converted state
+     */
+    private Mono<PersonState> resolveRelatives(PersonDTO dto) {
+        return Mono.zip(existingOrZero(dto.getMotherId()), existingOrZero(dto.getFatherId()),
+                        existingOrZero(dto.getSpouseId()))
+                .map(ids -> PersonState.builder()
+                        .id(dto.getId())
+                        .firstName(dto.getFirstName())
+                        .middleName(dto.getMiddleName())
+                        .lastName(dto.getLastName())
+                        .occupation(dto.getOccupation())
+                        .lifeStory(dto.getLifeStory())
+                        .bornDate(dto.getBornDate())
+                        .diedDate(dto.getDiedDate())
+                        .birthPlace(dto.getBirthPlace())
+                        .currentlyLivesAtAddress(dto.getCurrentlyLivesAtAddress())
+                        .motherId(ids.getT1() != 0L ? ids.getT1() : null)
+                        .fatherId(ids.getT2() != 0L ? ids.getT2() : null)
+                        .spouseId(ids.getT3() != 0L ? ids.getT3() : null)
+                        .build());
+    }
+
+    private Mono<Long> existingOrZero(Long personId) {
+        if (personId == null) {
+            return Mono.just(0L);
+        }
+        return personRepository.existsById(personId).map(exists -> exists ? personId : 0L);
+    }
+}
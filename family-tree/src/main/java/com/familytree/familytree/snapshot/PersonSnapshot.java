@@ -0,0 +1,415 @@
+package com.familytree.familytree.snapshot;
+
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.snapshot.PersonSnapshotFormat.TextColumn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static com.familytree.familytree.snapshot.PersonSnapshotFormat.*;
+
+/**
+ * A read-only view of the person graph, memory-mapped from a snapshot file written by
+ * {@link PersonSnapshotWriter}.
+ * <p>
+ * Opening a snapshot only reads the header and maps the sections with
+ * {@link FileChannel#map}; pages are read by the operating system when first touched.
+ * Persons are addressed by row (0 to {@link #size()} - 1, in ascending ID order) and
+ * their fields are read straight from the mapped columns, so nothing is allocated per
+ * person unless a text field or a {@link PersonState} is requested. Relationships are
+ * stored as rows, and {@link #childCount(int)} and {@link #child(int, int)} read a
+ * prebuilt children index, so traversals need no rebuilding on load.
+ * </p>
+ * <p>
+ * A snapshot is a point in time: changes made after it was written are not in it.
+ * Instances are immutable and safe to share between threads.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class PersonSnapshot {
+
+    /**
+     * The row returned for a missing relationship or an unknown ID.
+     */
+    public static final int NO_ROW = PersonSnapshotFormat.NO_ROW;
+
+    private final Path file;
+    private final long sizeBytes;
+    private final Instant createdAt;
+    private final int size;
+    private final int childLinks;
+    private final LongBuffer ids;
+    private final IntBuffer bornDates;
+    private final IntBuffer diedDates;
+    private final IntBuffer mothers;
+    private final IntBuffer fathers;
+    private final IntBuffer spouses;
+    private final IntBuffer parents;
+    private final IntBuffer childOffsets;
+    private final IntBuffer children;
+    private final IntBuffer[] textOffsets = new IntBuffer[TextColumn.values().length];
+    private final ByteBuffer[] textBytes = new ByteBuffer[TextColumn.values().length];
+    private final LongBuffer[] textNulls = new LongBuffer[TextColumn.values().length];
+
+    private PersonSnapshot(Path file, FileChannel channel) throws IOException {
+        this.file = file;
+        this.sizeBytes = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // read the whole header
+        }
+        header.flip();
+        if (header.remaining() < 8 || header.getInt() != MAGIC) {
+            throw new IllegalStateException(file + " is not a person snapshot");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported person snapshot version " + version + " in " + file
+                    + "; expected " + VERSION);
+        }
+        createdAt = Instant.ofEpochMilli(header.getLong());
+        size = header.getInt();
+        childLinks = header.getInt();
+        if (header.getInt() != SECTIONS) {
+            throw new IllegalStateException("Corrupt person snapshot " + file + ": unexpected section count");
+        }
+        ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+        for (int section = 0; section < SECTIONS; section++) {
+            long offset = header.getLong();
+            long length = header.getLong();
+            if (offset < HEADER_BYTES || length < 0 || offset + length > sizeBytes) {
+                throw new IllegalStateException("Corrupt person snapshot " + file + ": section " + section
+                        + " lies outside the file");
+            }
+            sections[section] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+        ids = sections[IDS].asLongBuffer();
+        bornDates = sections[BORN_DATES].asIntBuffer();
+        diedDates = sections[DIED_DATES].asIntBuffer();
+        mothers = sections[MOTHERS].asIntBuffer();
+        fathers = sections[FATHERS].asIntBuffer();
+        spouses = sections[SPOUSES].asIntBuffer();
+        parents = sections[PARENTS].asIntBuffer();
+        childOffsets = sections[CHILD_OFFSETS].asIntBuffer();
+        children = sections[CHILDREN].asIntBuffer();
+        for (TextColumn column : TextColumn.values()) {
+            textOffsets[column.ordinal()] = sections[column.offsetsSection()].asIntBuffer();
+            textBytes[column.ordinal()] = sections[column.bytesSection()];
+            textNulls[column.ordinal()] = sections[column.nullsSection()].asLongBuffer();
+        }
+        if (ids.capacity() != size || childOffsets.capacity() != size + 1 || children.capacity() != childLinks) {
+            throw new IllegalStateException("Corrupt person snapshot " + file + ": section sizes do not match");
+        }
+    }
+
+    /**
+     * Maps a snapshot file. The file is not read beyond its header.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalStateException if the file is not a snapshot of the supported version
+     */
+    public static PersonSnapshot open(Path file) throws IOException {
+        // The mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new PersonSnapshot(file, channel);
+        }
+    }
+
+    /**
+     * Returns the snapshot file.
+     *
+     * @return the snapshot file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the size of the snapshot file in bytes.
+     *
+     * @return the file size
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Returns when the snapshot was written.
+     *
+     * @return the creation time
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the number of persons.
+     *
+     * @return the number of persons
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of parent-child links in the children index.
+     *
+     * @return the number of parent-child links
+     */
+    public int childLinks() {
+        return childLinks;
+    }
+
+    /**
+     * Finds the row of a person by binary search over the ID column.
+     *
+     * @param id the person ID
+     * @return the row, or {@link #NO_ROW} if the snapshot does not contain the person
+     */
+    public int rowOf(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long candidate = ids.get(middle);
+            if (candidate < id) {
+                low = middle + 1;
+            } else if (candidate > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return NO_ROW;
+    }
+
+    /**
+     * Materializes a person by ID.
+     *
+     * @param id the person ID
+     * @return the person, or empty if the snapshot does not contain it
+     */
+    public Optional<PersonState> find(long id) {
+        int row = rowOf(id);
+        return row == NO_ROW ? Optional.empty() : Optional.of(state(row));
+    }
+
+    /**
+     * Materializes all fields of a row.
+     *
+     * @param row the row
+     * @return the person
+     */
+    public PersonState state(int row) {
+        return PersonState.builder()
+                .id(id(row))
+                .firstName(firstName(row))
+                .middleName(middleName(row))
+                .lastName(lastName(row))
+                .occupation(occupation(row))
+                .lifeStory(lifeStory(row))
+                .bornDate(bornDate(row))
+                .diedDate(diedDate(row))
+                .birthPlace(birthPlace(row))
+                .currentlyLivesAtAddress(currentlyLivesAtAddress(row))
+                .motherId(idOf(mother(row)))
+                .fatherId(idOf(father(row)))
+                .spouseId(idOf(spouse(row)))
+                .parentId(idOf(parent(row)))
+                .build();
+    }
+
+    /**
+     * Returns the ID of a row.
+     *
+     * @param row the row
+     * @return the person ID
+     */
+    public long id(int row) {
+        return ids.get(row);
+    }
+
+    /**
+     * Returns the first name of a row.
+     *
+     * @param row the row
+     * @return the first name
+     */
+    public String firstName(int row) {
+        return text(TextColumn.FIRST_NAME, row);
+    }
+
+    /**
+     * Returns the middle name of a row.
+     *
+     * @param row the row
+     * @return the middle name, or null
+     */
+    public String middleName(int row) {
+        return text(TextColumn.MIDDLE_NAME, row);
+    }
+
+    /**
+     * Returns the last name of a row.
+     *
+     * @param row the row
+     * @return the last name
+     */
+    public String lastName(int row) {
+        return text(TextColumn.LAST_NAME, row);
+    }
+
+    /**
+     * Returns the occupation of a row.
+     *
+     * @param row the row
+     * @return the occupation, or null
+     */
+    public String occupation(int row) {
+        return text(TextColumn.OCCUPATION, row);
+    }
+
+    /**
+     * Returns the life story of a row.
+     *
+     * @param row the row
+     * @return the life story, or null
+     */
+    public String lifeStory(int row) {
+        return text(TextColumn.LIFE_STORY, row);
+    }
+
+    /**
+     * Returns the birth place of a row.
+     *
+     * @param row the row
+     * @return the birth place, or null
+     */
+    public String birthPlace(int row) {
+        return text(TextColumn.BIRTH_PLACE, row);
+    }
+
+    /**
+     * Returns the current address of a row.
+     *
+     * @param row the row
+     * @return the address, or null
+     */
+    public String currentlyLivesAtAddress(int row) {
+        return text(TextColumn.CURRENTLY_LIVES_AT_ADDRESS, row);
+    }
+
+    /**
+     * Returns the birth date of a row.
+     *
+     * @param row the row
+     * @return the birth date, or null
+     */
+    public LocalDate bornDate(int row) {
+        return date(bornDates.get(row));
+    }
+
+    /**
+     * Returns the date of death of a row.
+     *
+     * @param row the row
+     * @return the date of death, or null
+     */
+    public LocalDate diedDate(int row) {
+        return date(diedDates.get(row));
+    }
+
+    /**
+     * Returns the row of the person's mother.
+     *
+     * @param row the row
+     * @return the mother's row, or {@link #NO_ROW}
+     */
+    public int mother(int row) {
+        return mothers.get(row);
+    }
+
+    /**
+     * Returns the row of the person's father.
+     *
+     * @param row the row
+     * @return the father's row, or {@link #NO_ROW}
+     */
+    public int father(int row) {
+        return fathers.get(row);
+    }
+
+    /**
+     * Returns the row of the person's spouse.
+     *
+     * @param row the row
+     * @return the spouse's row, or {@link #NO_ROW}
+     */
+    public int spouse(int row) {
+        return spouses.get(row);
+    }
+
+    /**
+     * Returns the row of the person's parent.
+     *
+     * @param row the row
+     * @return the parent's row, or {@link #NO_ROW}
+     */
+    public int parent(int row) {
+        return parents.get(row);
+    }
+
+    /**
+     * Returns the number of persons that have this person as parent, mother or father.
+     *
+     * @param row the row
+     * @return the number of children
+     */
+    public int childCount(int row) {
+        return childOffsets.get(row + 1) - childOffsets.get(row);
+    }
+
+    /**
+     * Returns the row of a child, in ascending ID order.
+     *
+     * @param row the row of the parent
+     * @param index the index of the child, from 0 to {@link #childCount(int)} - 1
+     * @return the child's row
+     */
+    public int child(int row, int index) {
+        return children.get(childOffsets.get(row) + index);
+    }
+
+    private String text(TextColumn column, int row) {
+        int index = column.ordinal();
+        if ((textNulls[index].get(row >>> 6) & (1L << row)) != 0) {
+            return null;
+        }
+        IntBuffer offsets = textOffsets[index];
+        int start = offsets.get(row);
+        byte[] bytes = new byte[offsets.get(row + 1) - start];
+        textBytes[index].get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Long idOf(int row) {
+        return row == NO_ROW ? null : ids.get(row);
+    }
+
+    private static LocalDate date(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
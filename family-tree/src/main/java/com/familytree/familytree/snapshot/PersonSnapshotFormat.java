@@ -0,0 +1,104 @@
+package com.familytree.familytree.snapshot;
+
+import com.familytree.familytree.event.PersonState;
+
+import java.util.function.Function;
+
+/**
+ * Layout of a person snapshot file, shared by {@link PersonSnapshotWriter} and
+ * {@link PersonSnapshot}.
+ * <p>
+ * All values are big-endian. The file starts with a header:
+ * <pre>
+ * int  magic           "FTSN"
+ * int  version
+ * long createdAt       epoch milliseconds
+ * int  persons         n
+ * int  children        m, the number of parent-child links
+ * int  sections
+ * sections x (long offset, long length)
+ * </pre>
+ * followed by the sections, each aligned to 8 bytes and in the order of the section
+ * indexes below. Persons are stored by row in ascending ID order:
+ * </p>
+ * <ul>
+ *     <li>{@code ids}: {@code long[n]}</li>
+ *     <li>{@code bornDates}, {@code diedDates}: {@code int[n]} epoch days, {@link #NO_DATE} for none</li>
+ *     <li>{@code mothers}, {@code fathers}, {@code spouses}, {@code parents}: {@code int[n]}
+ *         row of the related person, {@link #NO_ROW} for none</li>
+ *     <li>{@code childOffsets}: {@code int[n + 1]}, {@code children}: {@code int[m]}; the
+ *         children of row {@code i} (as parent, mother or father) are the rows
+ *         {@code children[childOffsets[i] .. childOffsets[i + 1])}</li>
+ *     <li>per {@link TextColumn}: {@code int[n + 1]} offsets into a UTF-8 byte heap, the
+ *         heap, and a {@code long[(n + 63) / 64]} bitmap of null values</li>
+ * </ul>
+ * <p>
+ * A change to the layout must increment {@link #VERSION}; readers reject other versions.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class PersonSnapshotFormat {
+
+    static final int MAGIC = 0x4654534E;
+
+    static final int VERSION = 1;
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    static final int NO_ROW = -1;
+
+    static final int IDS = 0;
+    static final int BORN_DATES = 1;
+    static final int DIED_DATES = 2;
+    static final int MOTHERS = 3;
+    static final int FATHERS = 4;
+    static final int SPOUSES = 5;
+    static final int PARENTS = 6;
+    static final int CHILD_OFFSETS = 7;
+    static final int CHILDREN = 8;
+    private static final int FIRST_TEXT_SECTION = 9;
+
+    static final int SECTIONS = FIRST_TEXT_SECTION + 3 * TextColumn.values().length;
+
+    static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + SECTIONS * 16;
+
+    private PersonSnapshotFormat() {
+    }
+
+    /**
+     * The text fields of a person, each stored as a column of its own.
+     */
+    enum TextColumn {
+        FIRST_NAME(PersonState::getFirstName),
+        MIDDLE_NAME(PersonState::getMiddleName),
+        LAST_NAME(PersonState::getLastName),
+        OCCUPATION(PersonState::getOccupation),
+        LIFE_STORY(PersonState::getLifeStory),
+        BIRTH_PLACE(PersonState::getBirthPlace),
+        CURRENTLY_LIVES_AT_ADDRESS(PersonState::getCurrentlyLivesAtAddress);
+
+        private final Function<PersonState, String> getter;
+
+        TextColumn(Function<PersonState, String> getter) {
+            this.getter = getter;
+        }
+
+        String of(PersonState state) {
+            return getter.apply(state);
+        }
+
+        int offsetsSection() {
+            return FIRST_TEXT_SECTION + 3 * ordinal();
+        }
+
+        int bytesSection() {
+            return offsetsSection() + 1;
+        }
+
+        int nullsSection() {
+            return offsetsSection() + 2;
+        }
+    }
+}
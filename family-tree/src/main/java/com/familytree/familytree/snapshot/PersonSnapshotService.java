@@ -0,0 +1,153 @@
+package com.familytree.familytree.snapshot;
+
+import com.familytree.familytree.dto.SnapshotDTO;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonSql;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the person graph to a {@link PersonSnapshot} file and keeps the latest snapshot
+ * mapped.
+ * <p>
+ * At startup an existing snapshot file is mapped instead of scanning the persons table,
+ * which takes milliseconds regardless of the tree size. Writing streams the table in ID
+ * order with a plain JDBC query, so no entities are loaded.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class PersonSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonSnapshotService.class);
+
+    private static final String SELECT_PERSONS = PersonSql.SELECT + " order by p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SnapshotProperties properties;
+
+    private volatile PersonSnapshot snapshot;
+
+    /**
+     * Constructs a new PersonSnapshotService.
+     *
+     * @param jdbcTemplate the template the persons table is streamed with
+     * @param properties the snapshot location
+     */
+    public PersonSnapshotService(JdbcTemplate jdbcTemplate, SnapshotProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Maps the snapshot file if it exists. A file that cannot be read, for example one
+     * written by an incompatible version, is ignored until the next snapshot replaces it.
+     */
+    public void load() {
+        if (!Files.exists(properties.getFile())) {
+            log.info("No person snapshot at {}", properties.getFile());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            snapshot = PersonSnapshot.open(properties.getFile());
+            log.info("Mapped person snapshot of {} persons from {} in {} ms", snapshot.size(),
+                    snapshot.getCreatedAt(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Ignoring unreadable person snapshot {}: {}", properties.getFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current persons table and maps it.
+     *
+     * @return the new snapshot
+     */
+    public synchronized SnapshotDTO write() {
+        long start = System.nanoTime();
+        try (PersonSnapshotWriter writer = new PersonSnapshotWriter(properties.getFile())) {
+            jdbcTemplate.query(SELECT_PERSONS, row -> {
+                try {
+                    writer.add(toState(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            snapshot = PersonSnapshot.open(writer.finish());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write person snapshot " + properties.getFile(), e);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Wrote person snapshot of {} persons to {} in {} ms", snapshot.size(), snapshot.getFile(), millis);
+        return describe(snapshot, millis);
+    }
+
+    /**
+     * Writes a final snapshot if configured to; called on shutdown.
+     */
+    public void close() {
+        if (properties.isWriteOnShutdown()) {
+            write();
+        }
+    }
+
+    /**
+     * Returns the mapped snapshot.
+     *
+     * @return the snapshot, or empty if none has been loaded or written
+     */
+    public Optional<PersonSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Describes the mapped snapshot.
+     *
+     * @return the description, or empty if no snapshot is mapped
+     */
+    public Optional<SnapshotDTO> describe() {
+        return current().map(current -> describe(current, null));
+    }
+
+    private static SnapshotDTO describe(PersonSnapshot snapshot, Long durationMillis) {
+        return SnapshotDTO.builder()
+                .file(snapshot.getFile().toString())
+                .persons(snapshot.size())
+                .childLinks(snapshot.childLinks())
+                .sizeBytes(snapshot.getSizeBytes())
+                .createdAt(snapshot.getCreatedAt())
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    private static PersonState toState(ResultSet row) throws SQLException {
+        return PersonState.builder()
+                .id(row.getLong("id"))
+                .firstName(row.getString("first_name"))
+                .middleName(row.getString("middle_name"))
+                .lastName(row.getString("last_name"))
+                .occupation(row.getString("occupation"))
+                .lifeStory(row.getString("life_story"))
+                .bornDate(row.getObject("born_date", LocalDate.class))
+                .diedDate(row.getObject("died_date", LocalDate.class))
+                .birthPlace(row.getString("birth_place"))
+                .currentlyLivesAtAddress(row.getString("currently_lives_at_address"))
+                .motherId(row.getObject("mother_id", Long.class))
+                .fatherId(row.getObject("father_id", Long.class))
+                .spouseId(row.getObject("spouse_id", Long.class))
+                .parentId(row.getObject("parent_id", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,271 @@
+package com.familytree.familytree.snapshot;
+
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.snapshot.PersonSnapshotFormat.TextColumn;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+import static com.familytree.familytree.snapshot.PersonSnapshotFormat.*;
+
+/**
+ * Writes persons into a {@link PersonSnapshot} file.
+ * <p>
+ * Persons must be added in ascending ID order. Every section is spooled to a temporary
+ * file while persons are added, so memory use stays at a few ints per person however
+ * long the text fields are; relationships are resolved from IDs to rows in
+ * {@link #finish()}, which assembles the sections and atomically replaces the target
+ * file. Closing an unfinished writer discards it.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class PersonSnapshotWriter implements AutoCloseable {
+
+    private static final long NO_ID = Long.MIN_VALUE;
+
+    private final Path file;
+    private final Path spoolDirectory;
+    private final DataOutputStream[] sections = new DataOutputStream[SECTIONS];
+    private final DataOutputStream relations;
+    private final BitSet[] nulls = new BitSet[TextColumn.values().length];
+    private final int[] heapSizes = new int[TextColumn.values().length];
+    private long[] ids = new long[1024];
+    private int count;
+    private boolean finished;
+
+    /**
+     * Starts a snapshot that will replace the given file when finished.
+     *
+     * @param file the snapshot file
+     * @throws IOException if the spool files cannot be created
+     */
+    public PersonSnapshotWriter(Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        Files.createDirectories(this.file.getParent());
+        this.spoolDirectory = Files.createTempDirectory(this.file.getParent(), ".snapshot");
+        for (int section = 0; section < SECTIONS; section++) {
+            sections[section] = spool("section-" + section);
+        }
+        relations = spool("relations");
+        for (TextColumn column : TextColumn.values()) {
+            nulls[column.ordinal()] = new BitSet();
+        }
+    }
+
+    /**
+     * Adds the next person.
+     *
+     * @param person the person; its ID must be greater than that of the previous person
+     * @throws IOException if a spool file cannot be written
+     */
+    public void add(PersonState person) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Snapshot already finished");
+        }
+        Long id = person.getId();
+        if (id == null || (count > 0 && id <= ids[count - 1])) {
+            throw new IllegalArgumentException("Persons must be added in ascending ID order, got " + id
+                    + " after " + (count > 0 ? ids[count - 1] : null));
+        }
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+        }
+        ids[count] = id;
+        sections[BORN_DATES].writeInt(epochDay(person.getBornDate()));
+        sections[DIED_DATES].writeInt(epochDay(person.getDiedDate()));
+        relations.writeLong(idOrNone(person.getMotherId()));
+        relations.writeLong(idOrNone(person.getFatherId()));
+        relations.writeLong(idOrNone(person.getSpouseId()));
+        relations.writeLong(idOrNone(person.getParentId()));
+        for (TextColumn column : TextColumn.values()) {
+            addText(column, column.of(person));
+        }
+        count++;
+    }
+
+    /**
+     * Resolves the relationships, writes the snapshot file and replaces the target with it.
+     *
+     * @return the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public Path finish() throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Snapshot already finished");
+        }
+        finished = true;
+        for (long id : Arrays.copyOf(ids, count)) {
+            sections[IDS].writeLong(id);
+        }
+        for (TextColumn column : TextColumn.values()) {
+            sections[column.offsetsSection()].writeInt(heapSizes[column.ordinal()]);
+            long[] words = Arrays.copyOf(nulls[column.ordinal()].toLongArray(), (count + 63) / 64);
+            for (long word : words) {
+                sections[column.nullsSection()].writeLong(word);
+            }
+        }
+        int childLinks = writeRelationships();
+        for (DataOutputStream section : sections) {
+            section.close();
+        }
+        Path assembled = spoolDirectory.resolve("snapshot");
+        assemble(assembled, childLinks);
+        Files.move(assembled, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    /**
+     * Deletes the spool files; an unfinished snapshot is discarded.
+     *
+     * @throws IOException if the spool files cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (DataOutputStream section : sections) {
+                section.close();
+            }
+            relations.close();
+        } finally {
+            FileSystemUtils.deleteRecursively(spoolDirectory);
+        }
+    }
+
+    private void addText(TextColumn column, String value) throws IOException {
+        int index = column.ordinal();
+        sections[column.offsetsSection()].writeInt(heapSizes[index]);
+        if (value == null) {
+            nulls[index].set(count);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            heapSizes[index] = Math.addExact(heapSizes[index], bytes.length);
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("The " + column + " column exceeds 2 GB", e);
+        }
+        sections[column.bytesSection()].write(bytes);
+    }
+
+    /**
+     * Resolves the spooled relationship IDs to rows and builds the children index.
+     *
+     * @return the number of parent-child links
+     */
+    private int writeRelationships() throws IOException {
+        relations.close();
+        int[] mothers = new int[count];
+        int[] fathers = new int[count];
+        int[] parents = new int[count];
+        int[] childCounts = new int[count + 1];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(spoolDirectory.resolve("relations")), 1 << 16))) {
+            for (int row = 0; row < count; row++) {
+                mothers[row] = rowOf(in.readLong());
+                fathers[row] = rowOf(in.readLong());
+                sections[SPOUSES].writeInt(rowOf(in.readLong()));
+                parents[row] = rowOf(in.readLong());
+                forEachParent(mothers[row], fathers[row], parents[row], parent -> childCounts[parent + 1]++);
+            }
+        }
+        for (int row = 0; row < count; row++) {
+            sections[MOTHERS].writeInt(mothers[row]);
+            sections[FATHERS].writeInt(fathers[row]);
+            sections[PARENTS].writeInt(parents[row]);
+            childCounts[row + 1] += childCounts[row];
+        }
+        for (int offset : childCounts) {
+            sections[CHILD_OFFSETS].writeInt(offset);
+        }
+        int[] children = new int[childCounts[count]];
+        int[] cursor = Arrays.copyOf(childCounts, count);
+        for (int row = 0; row < count; row++) {
+            int child = row;
+            forEachParent(mothers[row], fathers[row], parents[row], parent -> children[cursor[parent]++] = child);
+        }
+        for (int child : children) {
+            sections[CHILDREN].writeInt(child);
+        }
+        return children.length;
+    }
+
+    /**
+     * Visits each distinct parent row of a person once.
+     */
+    private static void forEachParent(int mother, int father, int parent, IntConsumer action) {
+        if (mother != NO_ROW) {
+            action.accept(mother);
+        }
+        if (father != NO_ROW && father != mother) {
+            action.accept(father);
+        }
+        if (parent != NO_ROW && parent != mother && parent != father) {
+            action.accept(parent);
+        }
+    }
+
+    private void assemble(Path target, int childLinks) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis())
+                    .putInt(count).putInt(childLinks).putInt(SECTIONS);
+            long position = align(HEADER_BYTES);
+            for (int section = 0; section < SECTIONS; section++) {
+                Path spool = spoolDirectory.resolve("section-" + section);
+                long length = Files.size(spool);
+                try (FileChannel in = FileChannel.open(spool, StandardOpenOption.READ)) {
+                    long transferred = 0;
+                    while (transferred < length) {
+                        transferred += in.transferTo(transferred, length - transferred, out.position(position + transferred));
+                    }
+                }
+                header.putLong(position).putLong(length);
+                position = align(position + length);
+            }
+            out.write(header.flip(), 0);
+            out.force(true);
+        }
+    }
+
+    private DataOutputStream spool(String name) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(spoolDirectory.resolve(name)), 1 << 16));
+    }
+
+    private int rowOf(long id) {
+        if (id == NO_ID) {
+            return NO_ROW;
+        }
+        int row = Arrays.binarySearch(ids, 0, count, id);
+        return row >= 0 ? row : NO_ROW;
+    }
+
+    private static long idOrNone(Long id) {
+        return id != null ? id : NO_ID;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -0,0 +1,27 @@
+package com.familytree.familytree.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the person snapshot, bound from {@code familytree.snapshot}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * The snapshot file, mapped at startup if it exists.
+     */
+    private Path file = Path.of("data", "familytree.snapshot");
+
+    /**
+     * Whether a fresh snapshot is written when the application shuts down.
+     */
+    private boolean writeOnShutdown = true;
+}
@@ -0,0 +1,178 @@
+package com.familytree.familytree.storage;
+
+import com.familytree.familytree.dto.BackupDTO;
+import com.familytree.familytree.dto.StorageStatusDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Checkpoints and backs up the file-backed H2 database of the durable profile while the
+ * application keeps serving requests.
+ * <p>
+ * A checkpoint ({@code CHECKPOINT SYNC}) writes all committed changes still held in the
+ * MVStore's write buffer to the file and forces it to disk, so nothing committed within
+ * the {@code WRITE_DELAY} window is lost if the process is killed afterwards. A backup
+ * ({@code BACKUP TO}) copies a consistent snapshot of the store into a zip archive without
+ * blocking writers; only the newest {@code familytree.storage.retained-backups} archives
+ * are kept.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class StorageMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageMaintenanceService.class);
+
+    private static final String BACKUP_PREFIX = "familytree-";
+
+    private static final String BACKUP_SUFFIX = ".zip";
+
+    private static final DateTimeFormatter BACKUP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StorageProperties properties;
+
+    /**
+     * Constructs a new StorageMaintenanceService.
+     *
+     * @param jdbcTemplate the template on the application's data source
+     * @param properties the database and backup locations
+     */
+    public StorageMaintenanceService(JdbcTemplate jdbcTemplate, StorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Flushes all committed changes to the database file and syncs it to disk.
+     *
+     * @return how long the checkpoint took, in milliseconds
+     */
+    public long checkpoint() {
+        long start = System.nanoTime();
+        jdbcTemplate.execute("CHECKPOINT SYNC");
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Checkpoint completed in {} ms", millis);
+        return millis;
+    }
+
+    /**
+     * Writes a backup archive of the running database and deletes the oldest archives
+     * beyond the retention limit. Backups are taken one at a time.
+     *
+     * @return the new backup
+     */
+    public synchronized BackupDTO backup() {
+        Path directory = properties.getBackupDirectory();
+        Instant now = Instant.now();
+        Path archive = directory.resolve(BACKUP_PREFIX + BACKUP_TIMESTAMP.format(now) + BACKUP_SUFFIX);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            jdbcTemplate.execute("BACKUP TO '" + archive.toAbsolutePath().toString().replace("'", "''") + "'");
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long size = Files.size(archive);
+            log.info("Backup {} ({} bytes) written in {} ms", archive, size, millis);
+            prune();
+            return BackupDTO.builder()
+                    .file(archive.getFileName().toString())
+                    .sizeBytes(size)
+                    .createdAt(now)
+                    .durationMillis(millis)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write backup " + archive, e);
+        }
+    }
+
+    /**
+     * Lists the backup archives in the backup directory, newest first.
+     *
+     * @return the backups
+     */
+    public List<BackupDTO> listBackups() {
+        return backupFiles().stream()
+                .map(file -> {
+                    try {
+                        return BackupDTO.builder()
+                                .file(file.getFileName().toString())
+                                .sizeBytes(Files.size(file))
+                                .createdAt(Files.getLastModifiedTime(file).toInstant())
+                                .build();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+    }
+
+    /**
+     * Reports the database file size and the MVStore settings and counters.
+     *
+     * @return the storage status
+     */
+    public StorageStatusDTO status() {
+        Path file = Path.of(properties.getDatabase() + ".mv.db");
+        Map<String, String> store = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT SETTING_NAME, SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS "
+                        + "WHERE SETTING_NAME LIKE 'info.%' ORDER BY SETTING_NAME",
+                row -> {
+                    store.put(row.getString(1).substring("info.".length()), row.getString(2));
+                });
+        try {
+            return StorageStatusDTO.builder()
+                    .file(file.toAbsolutePath().normalize().toString())
+                    .fileSizeBytes(Files.exists(file) ? Files.size(file) : 0)
+                    .store(store)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> backups = backupFiles();
+        for (Path expired : backups.subList(Math.min(properties.getRetainedBackups(), backups.size()), backups.size())) {
+            Files.deleteIfExists(expired);
+            log.info("Deleted expired backup {}", expired);
+        }
+    }
+
+    /**
+     * Returns the backup archives, newest first; the timestamped names sort chronologically.
+     */
+    private List<Path> backupFiles() {
+        Path directory = properties.getBackupDirectory();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(BACKUP_PREFIX) && name.endsWith(BACKUP_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.familytree.familytree.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the durable storage mode, bound from {@code familytree.storage}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.storage")
+public class StorageProperties {
+
+    /**
+     * The H2 database path, without the {@code .mv.db} suffix.
+     */
+    private Path database = Path.of("data", "familytree");
+
+    /**
+     * The directory online backups are written to.
+     */
+    private Path backupDirectory = Path.of("data", "backups");
+
+    /**
+     * The number of backups kept; older ones are deleted after each new backup.
+     */
+    private int retainedBackups = 7;
+}
@@ -0,0 +1,154 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A person loaded from a {@link GraphPersonStore}.
+ * <p>
+ * The scalar fields are copied when the person is loaded; relationships are held as IDs
+ * and resolved against the store on first access, so loading a person never walks the
+ * graph. A relationship that is set explicitly replaces the stored ID.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class GraphPerson extends Person {
+
+    private final GraphPersonStore store;
+    private final Long motherId;
+    private final Long fatherId;
+    private final Long spouseId;
+    private final Long parentId;
+    private boolean motherResolved;
+    private boolean fatherResolved;
+    private boolean spouseResolved;
+    private boolean parentResolved;
+    private boolean childrenResolved;
+
+    GraphPerson(GraphPersonStore store, PersonState state) {
+        this.store = store;
+        setId(state.getId());
+        setFirstName(state.getFirstName());
+        setMiddleName(state.getMiddleName());
+        setLastName(state.getLastName());
+        setOccupation(state.getOccupation());
+        setLifeStory(state.getLifeStory());
+        setBornDate(state.getBornDate());
+        setDiedDate(state.getDiedDate());
+        setBirthPlace(state.getBirthPlace());
+        setCurrentlyLivesAtAddress(state.getCurrentlyLivesAtAddress());
+        this.motherId = state.getMotherId();
+        this.fatherId = state.getFatherId();
+        this.spouseId = state.getSpouseId();
+        this.parentId = state.getParentId();
+    }
+
+    /**
+     * Captures the current fields and relationships without resolving relationships that
+     * have not been accessed.
+     *
+     * @return the state of this person
+     */
+    PersonState toState() {
+        return PersonState.builder()
+                .id(getId())
+                .firstName(getFirstName())
+                .middleName(getMiddleName())
+                .lastName(getLastName())
+                .occupation(getOccupation())
+                .lifeStory(getLifeStory())
+                .bornDate(getBornDate())
+                .diedDate(getDiedDate())
+                .birthPlace(getBirthPlace())
+                .currentlyLivesAtAddress(getCurrentlyLivesAtAddress())
+                .motherId(motherResolved ? idOf(super.getMother()) : motherId)
+                .fatherId(fatherResolved ? idOf(super.getFather()) : fatherId)
+                .spouseId(spouseResolved ? idOf(super.getSpouse()) : spouseId)
+                .parentId(parentResolved ? idOf(super.getParent()) : parentId)
+                .build();
+    }
+
+    @Override
+    public List<Person> getChildren() {
+        if (!childrenResolved) {
+            super.setChildren(new ArrayList<>(store.findChildrenByParent(getId())));
+            childrenResolved = true;
+        }
+        return super.getChildren();
+    }
+
+    @Override
+    public void setChildren(List<Person> children) {
+        childrenResolved = true;
+        super.setChildren(children);
+    }
+
+    @Override
+    public Person getParent() {
+        if (!parentResolved) {
+            super.setParent(store.load(parentId));
+            parentResolved = true;
+        }
+        return super.getParent();
+    }
+
+    @Override
+    public void setParent(Person parent) {
+        parentResolved = true;
+        super.setParent(parent);
+    }
+
+    @Override
+    public Person getMother() {
+        if (!motherResolved) {
+            super.setMother(store.load(motherId));
+            motherResolved = true;
+        }
+        return super.getMother();
+    }
+
+    @Override
+    public void setMother(Person mother) {
+        motherResolved = true;
+        super.setMother(mother);
+    }
+
+    @Override
+    public Person getFather() {
+        if (!fatherResolved) {
+            super.setFather(store.load(fatherId));
+            fatherResolved = true;
+        }
+        return super.getFather();
+    }
+
+    @Override
+    public void setFather(Person father) {
+        fatherResolved = true;
+        super.setFather(father);
+    }
+
+    @Override
+    public Person getSpouse() {
+        if (!spouseResolved) {
+            super.setSpouse(store.load(spouseId));
+            spouseResolved = true;
+        }
+        return super.getSpouse();
+    }
+
+    @Override
+    public void setSpouse(Person spouse) {
+        spouseResolved = true;
+        super.setSpouse(spouse);
+    }
+
+    private static Long idOf(Person person) {
+        return person != null ? person.getId() : null;
+    }
+}
@@ -0,0 +1,711 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonField;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link PersonStore} that keeps the family graph in memory as adjacency maps, made
+ * durable by an append-only {@link GraphStoreLog}.
+ * <p>
+ * Every person is held as an immutable {@link PersonState}; the children of each person,
+ * over any of the parent, mother and father relationships, are indexed by the person's
+ * ID, so traversing a generation is one map lookup per person instead of a query. First
+ * and last names are indexed as well. When the store is opened, the log is replayed to
+ * rebuild the maps.
+ * </p>
+ * <p>
+ * Writes are checked as they are made and buffered per Spring transaction; reads within
+ * the transaction see its own writes over the committed state, while other threads see
+ * only the committed state. Before the transaction commits, its writes are checked again
+ * against the state other transactions have committed meanwhile, then appended to the log
+ * with a commit record and applied to the maps, all under a store-wide lock. A transaction
+ * that rolls back has changed nothing. Writes of the same person by concurrent
+ * transactions are not detected as conflicts: the last transaction to commit wins. A write
+ * outside any transaction is committed on its own.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class GraphPersonStore implements PersonStore, Closeable {
+
+    private static final String LOG_FILE = "persons.log";
+
+    private final GraphStoreProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, PersonState> persons = new HashMap<>();
+
+    private final Map<Long, Set<Long>> children = new HashMap<>();
+
+    private final Map<Long, Long> spouseOf = new HashMap<>();
+
+    private final Map<String, Set<Long>> byFirstName = new HashMap<>();
+
+    private final Map<String, Set<Long>> byLastName = new HashMap<>();
+
+    private GraphStoreLog log;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private GraphPersonStore(GraphStoreProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Opens the store in the configured directory, replaying its log.
+     *
+     * @param properties the settings of the store
+     * @return the opened store
+     * @throws UncheckedIOException if the log cannot be read or created
+     */
+    public static GraphPersonStore open(GraphStoreProperties properties) {
+        GraphPersonStore store = new GraphPersonStore(properties);
+        try {
+            store.log = GraphStoreLog.open(properties.getDirectory().resolve(LOG_FILE), properties.isSyncWrites(),
+                    state -> store.apply(store.persons.get(state.getId()), state),
+                    id -> store.apply(store.persons.get(id), null));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the graph store in " + properties.getDirectory(), e);
+        }
+        return store;
+    }
+
+    @Override
+    public Optional<Person> findById(Long id) {
+        return Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public Person getReference(Long id) {
+        Person reference = new Person();
+        reference.setId(id);
+        return reference;
+    }
+
+    @Override
+    public List<Person> findAllById(Collection<Long> ids) {
+        return materialize(ids);
+    }
+
+    @Override
+    public List<Person> findByFirstName(String firstName) {
+        return materialize(idsOf(byFirstName, firstName, PersonState::getFirstName));
+    }
+
+    @Override
+    public List<Person> findByLastName(String lastName) {
+        return materialize(idsOf(byLastName, lastName, PersonState::getLastName));
+    }
+
+    @Override
+    public List<Person> findChildrenOfAny(Collection<Long> parentIds) {
+        Transaction transaction = current();
+        Set<Long> childIds = new TreeSet<>();
+        lock.readLock().lock();
+        try {
+            for (Long parentId : parentIds) {
+                childIds.addAll(childIds(transaction, parentId));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return materialize(childIds);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<PersonField> fields) {
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(state(transaction, id)).map(state -> select(state, fields));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByFirstName(String firstName, Set<PersonField> fields) {
+        return selectAll(idsOf(byFirstName, firstName, PersonState::getFirstName), fields);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByLastName(String lastName, Set<PersonField> fields) {
+        return selectAll(idsOf(byLastName, lastName, PersonState::getLastName), fields);
+    }
+
+    @Override
+    public void forEachState(Consumer<PersonState> action) {
+        Transaction transaction = current();
+        List<PersonState> states;
+        lock.readLock().lock();
+        try {
+            states = new ArrayList<>(persons.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        // The action runs outside the lock, so a slow consumer does not hold up commits
+        for (PersonState state : states) {
+            if (transaction == null || !transaction.writes.containsKey(state.getId())) {
+                action.accept(state);
+            }
+        }
+        if (transaction != null) {
+            transaction.writes.values().stream().filter(Objects::nonNull).forEach(action);
+        }
+    }
+
+    @Override
+    public Person save(Person person) {
+        Transaction transaction = transaction();
+        Long id;
+        lock.readLock().lock();
+        try {
+            id = person.getId() != null ? person.getId() : nextId.getAndIncrement();
+            PersonState after = (person instanceof GraphPerson stored ? stored.toState() : PersonState.of(person))
+                    .toBuilder()
+                    .id(id)
+                    .build();
+            checkReferences(transaction, after);
+            transaction.writes.put(id, after);
+        } finally {
+            lock.readLock().unlock();
+        }
+        transaction.commitIfStandalone();
+        person.setId(id);
+        return person;
+    }
+
+    @Override
+    public void delete(Person person) {
+        Transaction transaction = transaction();
+        lock.readLock().lock();
+        try {
+            Set<Long> deleted = new HashSet<>();
+            Deque<Long> pending = new ArrayDeque<>();
+            pending.push(person.getId());
+            while (!pending.isEmpty()) {
+                Long id = pending.pop();
+                if (state(transaction, id) != null && deleted.add(id)) {
+                    pending.addAll(childIdsByParent(transaction, id));
+                }
+            }
+            for (Long id : deleted) {
+                for (Long referrer : referrers(transaction, id)) {
+                    if (!deleted.contains(referrer)) {
+                        throw new DataIntegrityViolationException(
+                                "Person " + id + " is still referenced by person " + referrer);
+                    }
+                }
+            }
+            for (Long id : deleted) {
+                transaction.writes.put(id, null);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        transaction.commitIfStandalone();
+    }
+
+    @Override
+    public List<Long> findIdsReferencing(Long personId, Long excludedId) {
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            return referrers(transaction, personId).stream()
+                    .filter(id -> !id.equals(excludedId))
+                    .sorted()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void repointReferences(Person from, Person to) {
+        Transaction transaction = transaction();
+        lock.readLock().lock();
+        try {
+            Long fromId = from.getId();
+            Long toId = to.getId();
+            for (Long id : referrers(transaction, fromId)) {
+                if (id.equals(toId)) {
+                    continue;
+                }
+                PersonState before = state(transaction, id);
+                PersonState after = before.toBuilder()
+                        .parentId(repoint(before.getParentId(), fromId, toId))
+                        .motherId(repoint(before.getMotherId(), fromId, toId))
+                        .fatherId(repoint(before.getFatherId(), fromId, toId))
+                        .spouseId(repoint(before.getSpouseId(), fromId, toId))
+                        .build();
+                checkReferences(transaction, after);
+                transaction.writes.put(id, after);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        transaction.commitIfStandalone();
+    }
+
+    @Override
+    public void deleteByIdInBulk(Long id) {
+        Transaction transaction = transaction();
+        lock.readLock().lock();
+        try {
+            if (state(transaction, id) == null) {
+                return;
+            }
+            checkUnreferenced(transaction, id);
+            transaction.writes.put(id, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+        transaction.commitIfStandalone();
+    }
+
+    @Override
+    public void flush() {
+        // Writes are checked as they are made and applied when the transaction commits
+    }
+
+    /**
+     * Stores a person as is, without checking its references and outside any transaction,
+     * for bulk imports that write persons before the persons they reference.
+     *
+     * @param state the person to store, with its ID
+     */
+    public void put(PersonState state) {
+        Transaction transaction = new Transaction(true);
+        transaction.writes.put(state.getId(), state);
+        commit(transaction, false);
+    }
+
+    /**
+     * Returns the number of stored persons.
+     *
+     * @return the number of persons
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return persons.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records in the log, including superseded ones.
+     *
+     * @return the number of log records
+     */
+    public long logRecords() {
+        lock.readLock().lock();
+        try {
+            return log.records();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the size of the log file.
+     *
+     * @return the size in bytes
+     */
+    public long logBytes() {
+        lock.readLock().lock();
+        try {
+            return log.bytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads a person.
+     *
+     * @param id the ID of the person, or null
+     * @return the person, or null if the ID is null or unknown
+     */
+    Person load(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            PersonState state = state(transaction, id);
+            return state != null ? new GraphPerson(this, state) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the persons that have the given person as parent.
+     *
+     * @param parentId the ID of the parent
+     * @return the children, ordered by ID
+     */
+    List<Person> findChildrenByParent(Long parentId) {
+        if (parentId == null) {
+            return List.of();
+        }
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            return materialize(childIdsByParent(transaction, parentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the transaction of the current thread, or null if it has none.
+     */
+    private Transaction current() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? (Transaction) TransactionSynchronizationManager.getResource(this)
+                : null;
+    }
+
+    /**
+     * Returns the transaction of the current thread, beginning it on the first write, or a
+     * standalone transaction if the thread has no Spring transaction.
+     */
+    private Transaction transaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Transaction(true);
+        }
+        Transaction transaction = (Transaction) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            transaction = new Transaction(false);
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        return transaction;
+    }
+
+    /**
+     * Returns the state of a person as seen by a transaction: its own write if it made one,
+     * the committed state otherwise.
+     */
+    private PersonState state(Transaction transaction, Long id) {
+        if (transaction != null && transaction.writes.containsKey(id)) {
+            return transaction.writes.get(id);
+        }
+        return persons.get(id);
+    }
+
+    /**
+     * Looks up IDs in a committed index, corrected by the writes of a transaction.
+     */
+    private static Set<Long> lookup(Transaction transaction, Set<Long> committed, Predicate<PersonState> matches) {
+        Set<Long> ids = new TreeSet<>(committed);
+        if (transaction != null) {
+            transaction.writes.forEach((id, state) -> {
+                if (state != null && matches.test(state)) {
+                    ids.add(id);
+                } else {
+                    ids.remove(id);
+                }
+            });
+        }
+        return ids;
+    }
+
+    private Set<Long> childIds(Transaction transaction, Long parentId) {
+        return lookup(transaction, children.getOrDefault(parentId, Set.of()),
+                state -> relatives(state).contains(parentId));
+    }
+
+    private List<Long> childIdsByParent(Transaction transaction, Long parentId) {
+        return childIds(transaction, parentId).stream()
+                .filter(id -> parentId.equals(state(transaction, id).getParentId()))
+                .toList();
+    }
+
+    private Set<Long> spouseReferrers(Transaction transaction, Long spouseId) {
+        Long committed = spouseOf.get(spouseId);
+        return lookup(transaction, committed != null ? Set.of(committed) : Set.of(),
+                state -> spouseId.equals(state.getSpouseId()));
+    }
+
+    private Set<Long> referrers(Transaction transaction, Long id) {
+        Set<Long> referrers = childIds(transaction, id);
+        referrers.addAll(spouseReferrers(transaction, id));
+        return referrers;
+    }
+
+    private void checkReferences(Transaction transaction, PersonState state) {
+        Stream.of(state.getParentId(), state.getMotherId(), state.getFatherId(), state.getSpouseId())
+                .filter(Objects::nonNull)
+                .filter(id -> !id.equals(state.getId()) && state(transaction, id) == null)
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new DataIntegrityViolationException(
+                            "Person " + state.getId() + " references person " + id + ", which does not exist");
+                });
+        if (state.getSpouseId() != null) {
+            spouseReferrers(transaction, state.getSpouseId()).stream()
+                    .filter(referrer -> !referrer.equals(state.getId()))
+                    .findFirst()
+                    .ifPresent(referrer -> {
+                        throw new DataIntegrityViolationException("Person " + state.getSpouseId()
+                                + " is already the spouse of person " + referrer);
+                    });
+        }
+    }
+
+    private void checkUnreferenced(Transaction transaction, Long id) {
+        Set<Long> referrers = referrers(transaction, id);
+        referrers.remove(id);
+        if (!referrers.isEmpty()) {
+            throw new DataIntegrityViolationException(
+                    "Person " + id + " is still referenced by persons " + referrers);
+        }
+    }
+
+    /**
+     * Checks the writes of a transaction against the committed state, appends them to the
+     * log with a commit record and applies them to the maps.
+     */
+    private void commit(Transaction transaction, boolean check) {
+        if (transaction.writes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (check) {
+                transaction.writes.forEach((id, after) -> {
+                    if (after != null) {
+                        checkReferences(transaction, after);
+                    } else {
+                        checkUnreferenced(transaction, id);
+                    }
+                });
+            }
+            try {
+                log.commit(transaction.writes);
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Failed to append to the graph store log", e);
+            }
+            transaction.writes.forEach((id, after) -> apply(persons.get(id), after));
+            compactIfWorthwhile();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces one stored state with another in the maps.
+     */
+    private void apply(PersonState before, PersonState after) {
+        if (before != null) {
+            persons.remove(before.getId());
+            for (Long relative : relatives(before)) {
+                unindex(children, relative, before.getId());
+            }
+            if (before.getSpouseId() != null) {
+                spouseOf.remove(before.getSpouseId(), before.getId());
+            }
+            unindex(byFirstName, before.getFirstName(), before.getId());
+            unindex(byLastName, before.getLastName(), before.getId());
+        }
+        if (after != null) {
+            persons.put(after.getId(), after);
+            for (Long relative : relatives(after)) {
+                index(children, relative, after.getId());
+            }
+            if (after.getSpouseId() != null) {
+                spouseOf.put(after.getSpouseId(), after.getId());
+            }
+            index(byFirstName, after.getFirstName(), after.getId());
+            index(byLastName, after.getLastName(), after.getId());
+            nextId.accumulateAndGet(after.getId() + 1, Math::max);
+        }
+    }
+
+    private void compactIfWorthwhile() {
+        long records = log.records();
+        if (records < properties.getCompactionMinRecords()
+                || records - persons.size() < properties.getCompactionRatio() * records) {
+            return;
+        }
+        try {
+            log.compact(new ArrayList<>(persons.values()));
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to compact the graph store log", e);
+        }
+    }
+
+    private List<Person> materialize(Collection<Long> ids) {
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            List<Person> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                PersonState state = state(transaction, id);
+                if (state != null) {
+                    result.add(new GraphPerson(this, state));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Map<String, Object>> selectAll(Collection<Long> ids, Set<PersonField> fields) {
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            List<Map<String, Object>> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                PersonState state = state(transaction, id);
+                if (state != null) {
+                    result.add(select(state, fields));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> idsOf(Map<String, Set<Long>> index, String key, Function<PersonState, String> indexed) {
+        if (key == null) {
+            return List.of();
+        }
+        Transaction transaction = current();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(lookup(transaction, index.getOrDefault(key, Set.of()),
+                    state -> key.equals(indexed.apply(state))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Object> select(PersonState state, Set<PersonField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (PersonField field : fields) {
+            selected.put(field.getFieldName(), switch (field) {
+                case ID -> state.getId();
+                case FIRST_NAME -> state.getFirstName();
+                case MIDDLE_NAME -> state.getMiddleName();
+                case LAST_NAME -> state.getLastName();
+                case OCCUPATION -> state.getOccupation();
+                case LIFE_STORY -> state.getLifeStory();
+                case BORN_DATE -> state.getBornDate();
+                case DIED_DATE -> state.getDiedDate();
+                case BIRTH_PLACE -> state.getBirthPlace();
+                case CURRENTLY_LIVES_AT_ADDRESS -> state.getCurrentlyLivesAtAddress();
+                case MOTHER_ID -> state.getMotherId();
+                case FATHER_ID -> state.getFatherId();
+                case SPOUSE_ID -> state.getSpouseId();
+            });
+        }
+        return selected;
+    }
+
+    private static Set<Long> relatives(PersonState state) {
+        Set<Long> relatives = new HashSet<>(4);
+        Stream.of(state.getParentId(), state.getMotherId(), state.getFatherId())
+                .filter(Objects::nonNull)
+                .forEach(relatives::add);
+        return relatives;
+    }
+
+    private static Long repoint(Long reference, Long from, Long to) {
+        return from.equals(reference) ? to : reference;
+    }
+
+    private static <K> void index(Map<K, Set<Long>> index, K key, Long id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private static <K> void unindex(Map<K, Set<Long>> index, K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        Set<Long> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * The writes of one transaction by person ID, null for a deleted person, applied when
+     * it commits and discarded when it rolls back.
+     */
+    private final class Transaction implements TransactionSynchronization {
+
+        private final Map<Long, PersonState> writes = new LinkedHashMap<>();
+
+        private final boolean standalone;
+
+        private Transaction(boolean standalone) {
+            this.standalone = standalone;
+        }
+
+        private void commitIfStandalone() {
+            if (standalone) {
+                commit(this, true);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commit(this, true);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GraphPersonStore.this);
+        }
+    }
+}
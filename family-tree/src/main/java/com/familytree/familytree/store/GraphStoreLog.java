@@ -0,0 +1,332 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.event.PersonState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the graph store.
+ * <p>
+ * The file starts with a magic number and a format version, followed by the records of
+ * committed transactions: one record per written person, holding its full state or, for
+ * a deleted person, its ID, and then a commit record. Each record is framed by its length
+ * and a CRC-32 of its content, and a transaction is appended with a single write. Replaying
+ * the log from the start rebuilds the store; a record cut short or damaged by a crash ends
+ * the replay, the records of a transaction without its commit record are ignored, and the
+ * file is truncated after the last commit record. Compaction rewrites the log as a single
+ * transaction with one record per live person and replaces it atomically.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+final class GraphStoreLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphStoreLog.class);
+
+    private static final int MAGIC = 0x46544752;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte COMMIT = 3;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final Path file;
+    private final boolean sync;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream out = new DataOutputStream(record);
+    private FileChannel channel;
+    private long records;
+
+    private GraphStoreLog(Path file, boolean sync) {
+        this.file = file;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens the log in a file, replaying its records, or creates an empty one.
+     *
+     * @param file the log file
+     * @param sync whether every append is forced to the storage device
+     * @param onPut receives the state of every stored person of a committed transaction, in log order
+     * @param onDelete receives the ID of every deleted person of a committed transaction, in log order
+     * @return the log, positioned for appending
+     * @throws IOException if the file cannot be read or created, or is not a graph store log
+     */
+    static GraphStoreLog open(Path file, boolean sync, Consumer<PersonState> onPut, LongConsumer onDelete)
+            throws IOException {
+        GraphStoreLog storeLog = new GraphStoreLog(file, sync);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        long intact = Files.exists(file) ? storeLog.replay(onPut, onDelete) : -1;
+        storeLog.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (intact < 0) {
+            storeLog.channel.truncate(0);
+            storeLog.channel.write(header());
+        } else if (intact < storeLog.channel.size()) {
+            log.warn("Discarding {} bytes after the last commit record of {}", storeLog.channel.size() - intact, file);
+            storeLog.channel.truncate(intact);
+        }
+        storeLog.channel.position(storeLog.channel.size());
+        return storeLog;
+    }
+
+    /**
+     * Appends a transaction: the records of its writes, followed by a commit record.
+     *
+     * @param writes the new state of every written person by ID, null for a deleted person
+     * @throws IOException if the records cannot be written
+     */
+    void commit(Map<Long, PersonState> writes) throws IOException {
+        ByteArrayOutputStream transaction = new ByteArrayOutputStream(256 * (writes.size() + 1));
+        for (Map.Entry<Long, PersonState> write : writes.entrySet()) {
+            record.reset();
+            if (write.getValue() != null) {
+                writeState(out, write.getValue());
+            } else {
+                out.writeByte(DELETE);
+                out.writeLong(write.getKey());
+            }
+            transaction.write(frame().array());
+        }
+        record.reset();
+        out.writeByte(COMMIT);
+        transaction.write(frame().array());
+        ByteBuffer buffer = ByteBuffer.wrap(transaction.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+        records += writes.size();
+    }
+
+    /**
+     * Replaces the log with one holding a single record per live person.
+     *
+     * @param live the states of all stored persons
+     * @throws IOException if the new log cannot be written
+     */
+    void compact(Collection<PersonState> live) throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            target.write(header());
+            for (PersonState state : live) {
+                record.reset();
+                writeState(out, state);
+                target.write(frame());
+            }
+            record.reset();
+            out.writeByte(COMMIT);
+            target.write(frame());
+            target.force(true);
+        }
+        channel.close();
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        records = live.size();
+    }
+
+    /**
+     * Returns the number of records in the log, not counting commit records.
+     *
+     * @return the number of records
+     */
+    long records() {
+        return records;
+    }
+
+    /**
+     * Returns the size of the log file.
+     *
+     * @return the size in bytes
+     */
+    long bytes() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer frame() {
+        CRC32 crc = new CRC32();
+        crc.update(record.toByteArray());
+        ByteBuffer frame = ByteBuffer.allocate(8 + record.size());
+        frame.putInt(record.size()).putInt((int) crc.getValue()).put(record.toByteArray()).flip();
+        return frame;
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    /**
+     * Replays the intact records of every committed transaction.
+     *
+     * @return the offset after the last commit record, or -1 if the file is empty
+     */
+    private long replay(Consumer<PersonState> onPut, LongConsumer onDelete) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16))) {
+            int magic;
+            try {
+                magic = in.readInt();
+            } catch (EOFException empty) {
+                return -1;
+            }
+            int version = in.readInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException(file + " is not a graph store log of version " + VERSION);
+            }
+            long offset = HEADER_BYTES;
+            long committed = offset;
+            List<byte[]> transaction = new ArrayList<>();
+            while (true) {
+                byte[] content;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > 1 << 26) {
+                        return committed;
+                    }
+                    content = new byte[length];
+                    in.readFully(content);
+                } catch (EOFException truncated) {
+                    return committed;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                if ((int) crc.getValue() != checksum) {
+                    return committed;
+                }
+                offset += 8 + content.length;
+                if (content[0] != COMMIT) {
+                    transaction.add(content);
+                    continue;
+                }
+                for (byte[] write : transaction) {
+                    DataInputStream fields = new DataInputStream(new ByteArrayInputStream(write));
+                    if (fields.readByte() == PUT) {
+                        onPut.accept(readState(fields));
+                    } else {
+                        onDelete.accept(fields.readLong());
+                    }
+                }
+                records += transaction.size();
+                transaction.clear();
+                committed = offset;
+            }
+        }
+    }
+
+    private static void writeState(DataOutputStream out, PersonState state) throws IOException {
+        out.writeByte(PUT);
+        out.writeLong(state.getId());
+        writeString(out, state.getFirstName());
+        writeString(out, state.getMiddleName());
+        writeString(out, state.getLastName());
+        writeString(out, state.getOccupation());
+        writeString(out, state.getLifeStory());
+        writeDate(out, state.getBornDate());
+        writeDate(out, state.getDiedDate());
+        writeString(out, state.getBirthPlace());
+        writeString(out, state.getCurrentlyLivesAtAddress());
+        writeId(out, state.getMotherId());
+        writeId(out, state.getFatherId());
+        writeId(out, state.getSpouseId());
+        writeId(out, state.getParentId());
+    }
+
+    private static PersonState readState(DataInputStream in) throws IOException {
+        return PersonState.builder()
+                .id(in.readLong())
+                .firstName(readString(in))
+                .middleName(readString(in))
+                .lastName(readString(in))
+                .occupation(readString(in))
+                .lifeStory(readString(in))
+                .bornDate(readDate(in))
+                .diedDate(readDate(in))
+                .birthPlace(readString(in))
+                .currentlyLivesAtAddress(readString(in))
+                .motherId(readId(in))
+                .fatherId(readId(in))
+                .spouseId(readId(in))
+                .parentId(readId(in))
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : NO_DATE);
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private static void writeId(DataOutputStream out, Long id) throws IOException {
+        out.writeLong(id != null ? id : 0);
+    }
+
+    private static Long readId(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        return id != 0 ? id : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.familytree.familytree.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the graph storage engine, bound from {@code familytree.store.graph}.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Data
+@ConfigurationProperties("familytree.store.graph")
+public class GraphStoreProperties {
+
+    /**
+     * The directory holding the log of the graph store.
+     */
+    private Path directory = Path.of("data", "graph");
+
+    /**
+     * Whether every write is forced to the storage device before it returns; otherwise it
+     * is handed to the operating system and survives a crash of the application only.
+     */
+    private boolean syncWrites = false;
+
+    /**
+     * The log is compacted when at least this share of its records has been superseded.
+     */
+    private double compactionRatio = 0.5;
+
+    /**
+     * The log is not compacted while it holds fewer records than this.
+     */
+    private int compactionMinRecords = 10_000;
+}
@@ -0,0 +1,162 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonField;
+import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.repository.PersonSql;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link PersonStore} on the relational database, through {@link PersonRepository}.
+ * <p>
+ * Loaded persons are managed entities: relationships are joined or fetched lazily, and
+ * changes are written when the persistence context is flushed, whether or not the person
+ * is passed to {@link #save}. {@link #forEachState} streams the rows over JDBC instead, so
+ * exporting every person does not fill the persistence context.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public class JpaPersonStore implements PersonStore {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final PersonRepository personRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new JpaPersonStore.
+     *
+     * @param personRepository the repository to be used for person operations
+     * @param dataSource the data source every person is streamed from
+     */
+    public JpaPersonStore(PersonRepository personRepository, DataSource dataSource) {
+        this.personRepository = personRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public Optional<Person> findById(Long id) {
+        return personRepository.findById(id);
+    }
+
+    @Override
+    public Person getReference(Long id) {
+        return personRepository.getReferenceById(id);
+    }
+
+    @Override
+    public List<Person> findAllById(Collection<Long> ids) {
+        return personRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Person> findByFirstName(String firstName) {
+        return personRepository.findByFirstName(firstName);
+    }
+
+    @Override
+    public List<Person> findByLastName(String lastName) {
+        return personRepository.findByLastName(lastName);
+    }
+
+    @Override
+    public List<Person> findChildrenOfAny(Collection<Long> parentIds) {
+        return personRepository.findChildrenOfAny(parentIds);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<PersonField> fields) {
+        return personRepository.findFieldsById(id, fields);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByFirstName(String firstName, Set<PersonField> fields) {
+        return personRepository.findFieldsByFirstName(firstName, fields);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByLastName(String lastName, Set<PersonField> fields) {
+        return personRepository.findFieldsByLastName(lastName, fields);
+    }
+
+    @Override
+    public void forEachState(Consumer<PersonState> action) {
+        jdbcTemplate.query(PersonSql.SELECT, row -> {
+            action.accept(readState(row));
+        });
+    }
+
+    @Override
+    public Person save(Person person) {
+        return personRepository.save(person);
+    }
+
+    @Override
+    public void delete(Person person) {
+        personRepository.delete(person);
+    }
+
+    @Override
+    public List<Long> findIdsReferencing(Long personId, Long excludedId) {
+        return personRepository.findIdsReferencing(personId, excludedId);
+    }
+
+    @Override
+    public void repointReferences(Person from, Person to) {
+        // Set-based rewiring; the first update flushes pending changes
+        personRepository.repointParent(from, to);
+        personRepository.repointMother(from, to);
+        personRepository.repointFather(from, to);
+        personRepository.repointSpouse(from, to);
+    }
+
+    @Override
+    public void deleteByIdInBulk(Long id) {
+        personRepository.deleteByIdInBulk(id);
+    }
+
+    @Override
+    public void flush() {
+        personRepository.flush();
+    }
+
+    private static PersonState readState(ResultSet row) throws SQLException {
+        return PersonState.builder()
+                .id(row.getLong("id"))
+                .firstName(row.getString("first_name"))
+                .middleName(row.getString("middle_name"))
+                .lastName(row.getString("last_name"))
+                .occupation(row.getString("occupation"))
+                .lifeStory(row.getString("life_story"))
+                .bornDate(toLocalDate(row.getDate("born_date")))
+                .diedDate(toLocalDate(row.getDate("died_date")))
+                .birthPlace(row.getString("birth_place"))
+                .currentlyLivesAtAddress(row.getString("currently_lives_at_address"))
+                .motherId(row.getObject("mother_id", Long.class))
+                .fatherId(row.getObject("father_id", Long.class))
+                .spouseId(row.getObject("spouse_id", Long.class))
+                .parentId(row.getObject("parent_id", Long.class))
+                .build();
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
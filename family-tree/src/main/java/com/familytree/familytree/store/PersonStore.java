@@ -0,0 +1,164 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonField;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine behind {@link com.familytree.familytree.service.impl.PersonServiceImpl}.
+ * <p>
+ * The engine is selected with {@code familytree.store.type}: {@code jpa} (the default)
+ * keeps persons in the relational database, {@code graph} in a {@link GraphPersonStore}.
+ * Persons are exchanged as {@link Person} objects whose relationships can be navigated.
+ * Changes to a loaded person are only stored when it is passed to {@link #save}.
+ * </p>
+ * <p>
+ * A reference to a person that does not exist, or a person that is given as spouse by two
+ * persons, is rejected with a {@link org.springframework.dao.DataIntegrityViolationException}
+ * at the latest when the transaction commits.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public interface PersonStore {
+
+    /**
+     * Finds a person by ID.
+     *
+     * @param id the ID to search for
+     * @return the person, or empty if not found
+     */
+    Optional<Person> findById(Long id);
+
+    /**
+     * Returns a person that stands for the given ID in a relationship, without checking
+     * that the person exists.
+     *
+     * @param id the ID of the person
+     * @return a person with the given ID
+     */
+    Person getReference(Long id);
+
+    /**
+     * Finds the persons with the given IDs; missing IDs are skipped.
+     *
+     * @param ids the IDs to search for
+     * @return the persons found
+     */
+    List<Person> findAllById(Collection<Long> ids);
+
+    /**
+     * Finds all persons with the specified first name.
+     *
+     * @param firstName the first name to search for
+     * @return the matching persons
+     */
+    List<Person> findByFirstName(String firstName);
+
+    /**
+     * Finds all persons with the specified last name.
+     *
+     * @param lastName the last name to search for
+     * @return the matching persons
+     */
+    List<Person> findByLastName(String lastName);
+
+    /**
+     * Finds every person that has one of the given persons as parent, mother or father.
+     *
+     * @param parentIds the IDs of the parents
+     * @return the children of all given parents, each once
+     */
+    List<Person> findChildrenOfAny(Collection<Long> parentIds);
+
+    /**
+     * Selects the given fields of a person.
+     *
+     * @param id the ID of the person
+     * @param fields the fields to select
+     * @return the selected fields by field name, or empty if the person does not exist
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, Set<PersonField> fields);
+
+    /**
+     * Selects the given fields of all persons with the specified first name.
+     *
+     * @param firstName the first name to search for
+     * @param fields the fields to select
+     * @return the selected fields of each matching person
+     */
+    List<Map<String, Object>> findFieldsByFirstName(String firstName, Set<PersonField> fields);
+
+    /**
+     * Selects the given fields of all persons with the specified last name.
+     *
+     * @param lastName the last name to search for
+     * @param fields the fields to select
+     * @return the selected fields of each matching person
+     */
+    List<Map<String, Object>> findFieldsByLastName(String lastName, Set<PersonField> fields);
+
+    /**
+     * Passes the state of every stored person to an action, one person at a time and in
+     * no particular order, without loading the persons as {@link Person} objects.
+     *
+     * @param action receives each state
+     */
+    void forEachState(Consumer<PersonState> action);
+
+    /**
+     * Inserts a new person, or stores the fields and relationships of an existing one.
+     *
+     * @param person the person to store; a new person is given its ID
+     * @return the stored person
+     */
+    Person save(Person person);
+
+    /**
+     * Deletes a person together with every person below it through the parent relationship.
+     *
+     * @param person the person to delete
+     */
+    void delete(Person person);
+
+    /**
+     * Finds the IDs of all persons, other than the excluded one, that reference the given
+     * person as parent, mother, father or spouse.
+     *
+     * @param personId the referenced person
+     * @param excludedId a person to leave out of the result
+     * @return the referencing person IDs
+     */
+    List<Long> findIdsReferencing(Long personId, Long excludedId);
+
+    /**
+     * Repoints every parent, mother, father and spouse reference from one person to
+     * another, except the references of the target person itself.
+     *
+     * @param from the currently referenced person
+     * @param to the person to reference instead
+     */
+    void repointReferences(Person from, Person to);
+
+    /**
+     * Deletes a single person, bypassing the children cascade. Persons loaded earlier
+     * may no longer reflect the stored state afterwards.
+     *
+     * @param id the ID of the person to delete
+     */
+    void deleteByIdInBulk(Long id);
+
+    /**
+     * Writes pending changes to the underlying storage, so that constraint violations
+     * surface now rather than at commit.
+     */
+    void flush();
+}
@@ -0,0 +1,275 @@
+package com.familytree.familytree.sync;
+
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.dto.PersonEdgeDTO;
+import com.familytree.familytree.dto.TombstoneDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.mapper.PersonMapper;
+import com.familytree.familytree.repository.PersonChangeLog;
+import com.familytree.familytree.store.PersonStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes what a client has to apply to catch up from a sync token.
+ * <p>
+ * A sync token is the sequence number of the last change log entry the client has seen.
+ * The entries after it are folded per person: a person changed many times is sent once,
+ * in its latest state, with the relationship edges that differ from its state at the
+ * token; a person deleted since is sent as a tombstone, unless it was also created after
+ * the token. Persons whose relationships a merge repointed in bulk are sent in their
+ * current state with all their edges.
+ * </p>
+ * <p>
+ * Without a token, or with one the change log does not reach, every person is sent
+ * instead, streamed from the {@link PersonStore}. The new token is taken before the persons
+ * are read, so a change made meanwhile is sent again on the next sync; applying a person
+ * or an edge twice has no effect.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+@Service
+public class DeltaSyncService {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    private final PersonChangeLog changeLog;
+    private final PersonStore personStore;
+    private final PersonMapper personMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new DeltaSyncService.
+     *
+     * @param changeLog the change log deltas are read from
+     * @param personStore the store full syncs and repointed persons are read from
+     * @param personMapper the mapper from person states to DTOs
+     * @param objectMapper the mapper the response is written with
+     */
+    public DeltaSyncService(PersonChangeLog changeLog, PersonStore personStore, PersonMapper personMapper,
+                            ObjectMapper objectMapper) {
+        this.changeLog = changeLog;
+        this.personStore = personStore;
+        this.personMapper = personMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parses a sync token.
+     *
+     * @param token the token sent by the client, or null for a first sync
+     * @return the sequence number it stands for, or null for a first sync
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public Long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(token);
+            if (sequence >= 0) {
+                return sequence;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid sync token: " + token);
+    }
+
+    /**
+     * Writes the sync response for a token as JSON: the new token, whether the client has
+     * to replace its data ({@code full}), and the persons, edges and tombstones to apply.
+     *
+     * @param since the sequence number of the token, or null for a first sync
+     * @param out the stream to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    public void write(Long since, OutputStream out) throws IOException {
+        long last = changeLog.lastSequence();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (since == null || since > last) {
+                writeFull(last, generator);
+            } else {
+                writeDelta(since, generator);
+            }
+        }
+    }
+
+    private void writeFull(long token, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("token", Long.toString(token));
+        generator.writeBooleanField("full", true);
+        generator.writeArrayFieldStart("persons");
+        forEachState(state -> objectMapper.writeValue(generator, personMapper.toDTO(state)));
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("edges");
+        forEachState(state -> {
+            for (PersonEdgeDTO edge : edges(state)) {
+                objectMapper.writeValue(generator, edge);
+            }
+        });
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("deleted");
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeDelta(long since, JsonGenerator generator) throws IOException {
+        Map<Long, FoldedChange> folded = new LinkedHashMap<>();
+        Set<Long> repointed = new LinkedHashSet<>();
+        long token = since;
+        List<PersonChangeDTO> page;
+        do {
+            page = changeLog.findSince(token, PAGE_SIZE);
+            for (PersonChangeDTO change : page) {
+                folded.computeIfAbsent(change.getPersonId(), id -> new FoldedChange(change)).apply(change);
+                repointed.addAll(change.getRepointedIds());
+                token = change.getSequence();
+            }
+        } while (page.size() == PAGE_SIZE);
+        // A merge rewires the duplicate's relatives without logging them one by one
+        repointed.removeIf(id -> folded.containsKey(id) && folded.get(id).latest == null);
+        Map<Long, PersonState> current = new LinkedHashMap<>();
+        personStore.findAllById(repointed).forEach(person -> current.put(person.getId(), PersonState.of(person)));
+
+        generator.writeStartObject();
+        generator.writeStringField("token", Long.toString(token));
+        generator.writeBooleanField("full", false);
+        generator.writeArrayFieldStart("persons");
+        for (FoldedChange change : folded.values()) {
+            if (change.latest != null && !current.containsKey(change.personId)) {
+                objectMapper.writeValue(generator, personMapper.toDTO(change.latest));
+            }
+        }
+        for (PersonState state : current.values()) {
+            objectMapper.writeValue(generator, personMapper.toDTO(state));
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("edges");
+        for (FoldedChange change : folded.values()) {
+            PersonState latest = current.getOrDefault(change.personId, change.latest);
+            if (latest == null) {
+                continue;
+            }
+            List<PersonEdgeDTO> before = change.first != null ? edges(change.first) : List.of();
+            List<PersonEdgeDTO> after = edges(latest);
+            for (PersonEdgeDTO edge : before) {
+                if (!after.contains(edge) && !isDeleted(folded, edge.getRelativeId())) {
+                    objectMapper.writeValue(generator, removed(edge));
+                }
+            }
+            for (PersonEdgeDTO edge : after) {
+                if (!before.contains(edge) || current.containsKey(change.personId)) {
+                    objectMapper.writeValue(generator, edge);
+                }
+            }
+        }
+        for (PersonState state : current.values()) {
+            if (!folded.containsKey(state.getId())) {
+                for (PersonEdgeDTO edge : edges(state)) {
+                    objectMapper.writeValue(generator, edge);
+                }
+            }
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("deleted");
+        for (FoldedChange change : folded.values()) {
+            if (change.latest == null && change.first != null) {
+                objectMapper.writeValue(generator, TombstoneDTO.builder()
+                        .personId(change.personId)
+                        .mergedIntoId(change.mergedIntoId)
+                        .build());
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static boolean isDeleted(Map<Long, FoldedChange> folded, Long personId) {
+        FoldedChange change = folded.get(personId);
+        return change != null && change.latest == null;
+    }
+
+    private static PersonEdgeDTO removed(PersonEdgeDTO added) {
+        return PersonEdgeDTO.builder()
+                .personId(added.getPersonId())
+                .relation(added.getRelation())
+                .relativeId(added.getRelativeId())
+                .removed(true)
+                .build();
+    }
+
+    private static List<PersonEdgeDTO> edges(PersonState state) {
+        List<PersonEdgeDTO> edges = new ArrayList<>(4);
+        addEdge(edges, state.getId(), PersonEdgeDTO.Relation.PARENT, state.getParentId());
+        addEdge(edges, state.getId(), PersonEdgeDTO.Relation.MOTHER, state.getMotherId());
+        addEdge(edges, state.getId(), PersonEdgeDTO.Relation.FATHER, state.getFatherId());
+        addEdge(edges, state.getId(), PersonEdgeDTO.Relation.SPOUSE, state.getSpouseId());
+        return edges;
+    }
+
+    private static void addEdge(List<PersonEdgeDTO> edges, Long personId, PersonEdgeDTO.Relation relation,
+                                Long relativeId) {
+        if (relativeId != null) {
+            edges.add(PersonEdgeDTO.builder()
+                    .personId(personId)
+                    .relation(relation)
+                    .relativeId(relativeId)
+                    .build());
+        }
+    }
+
+    private void forEachState(StateWriter writer) {
+        personStore.forEachState(state -> {
+            try {
+                writer.write(state);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Writes the state of one person.
+     */
+    @FunctionalInterface
+    private interface StateWriter {
+        void write(PersonState state) throws IOException;
+    }
+
+    /**
+     * The changes of one person after the token, folded into its state at the token and
+     * its latest state.
+     */
+    private static final class FoldedChange {
+
+        private final Long personId;
+        private final PersonState first;
+        private PersonState latest;
+        private Long mergedIntoId;
+
+        private FoldedChange(PersonChangeDTO firstChange) {
+            this.personId = firstChange.getPersonId();
+            this.first = firstChange.getType() == PersonChangeEvent.ChangeType.CREATED ? null : firstChange.getBefore();
+        }
+
+        private void apply(PersonChangeDTO change) {
+            latest = change.getAfter();
+            mergedIntoId = change.getMergedIntoId();
+        }
+    }
+}
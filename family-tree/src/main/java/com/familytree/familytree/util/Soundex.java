@@ -0,0 +1,55 @@
+package com.familytree.familytree.util;
+
+import java.text.Normalizer;
+
+/**
+ * American Soundex encoding for surnames.
+ * <p>
+ * Names that sound alike ("Smith", "Smyth", "Schmidt") map to the same four character
+ * code, which makes the code suitable as a blocking key for duplicate detection.
+ * Diacritics are stripped before encoding and characters outside A-Z are ignored.
+ * </p>
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class Soundex {
+
+    private static final String CODES = "01230120022455012623010202";
+
+    private Soundex() {
+    }
+
+    /**
+     * Encodes a name to its Soundex code.
+     *
+     * @param name the name to encode
+     * @return the four character code, or null if the name contains no letters
+     */
+    public static String encode(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFD).toUpperCase();
+        char[] code = {0, '0', '0', '0'};
+        int length = 0;
+        char previous = 0;
+        for (int i = 0; i < normalized.length() && length < code.length; i++) {
+            char c = normalized.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                continue;
+            }
+            char digit = CODES.charAt(c - 'A');
+            if (length == 0) {
+                code[length++] = c;
+            } else if (digit != '0' && digit != previous) {
+                code[length++] = digit;
+            }
+            // H and W do not separate letters with the same code, vowels do
+            if (c != 'H' && c != 'W') {
+                previous = digit;
+            }
+        }
+        return length == 0 ? null : new String(code);
+    }
+}
@@ -0,0 +1,88 @@
+package com.familytree.familytree.util;
+
+/**
+ * String similarity measures used for fuzzy matching of person records.
+ *
+ * @author Family Tree Team
+ * @version 1.0
+ */
+public final class StringSimilarity {
+
+    private static final double WINKLER_SCALING = 0.1;
+    private static final int WINKLER_PREFIX = 4;
+
+    private StringSimilarity() {
+    }
+
+    /**
+     * Computes the case-insensitive Jaro-Winkler similarity of two strings.
+     *
+     * @param first the first string
+     * @param second the second string
+     * @return a similarity between 0 (no similarity) and 1 (equal)
+     */
+    public static double jaroWinkler(String first, String second) {
+        if (first == null || second == null) {
+            return 0;
+        }
+        String a = first.trim().toLowerCase();
+        String b = second.trim().toLowerCase();
+        if (a.equals(b)) {
+            return a.isEmpty() ? 0 : 1;
+        }
+        double jaro = jaro(a, b);
+        int prefix = 0;
+        int maxPrefix = Math.min(WINKLER_PREFIX, Math.min(a.length(), b.length()));
+        while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * WINKLER_SCALING * (1 - jaro);
+    }
+
+    /**
+     * Computes the Jaro similarity of two lower-cased strings.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return a similarity between 0 and 1
+     */
+    private static double jaro(String a, String b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        int k = 0;
+        for (int i = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[k]) {
+                    k++;
+                }
+                if (a.charAt(i) != b.charAt(k)) {
+                    transpositions++;
+                }
+                k++;
+            }
+        }
+        double m = matches;
+        return (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+    }
+}
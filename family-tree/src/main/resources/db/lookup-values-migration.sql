@@ -0,0 +1,31 @@
+-- Moves a database written before dictionary encoding to lookup IDs.
+-- Start the application on the database once, so that Hibernate creates lookup_values,
+-- then stop it and run this script, for example with
+-- java -cp h2.jar org.h2.tools.RunScript -url jdbc:h2:file:./data/familytree -user sa -password password
+--     -script lookup-values-migration.sql
+
+ALTER TABLE persons ADD COLUMN IF NOT EXISTS last_name_id INTEGER;
+ALTER TABLE persons ADD COLUMN IF NOT EXISTS occupation_id INTEGER;
+ALTER TABLE persons ADD COLUMN IF NOT EXISTS birth_place_id INTEGER;
+ALTER TABLE persons ADD COLUMN IF NOT EXISTS currently_lives_at_address_id INTEGER;
+
+INSERT INTO lookup_values (text_value)
+SELECT v FROM (
+    SELECT last_name AS v FROM persons
+    UNION SELECT occupation FROM persons
+    UNION SELECT birth_place FROM persons
+    UNION SELECT currently_lives_at_address FROM persons
+) legacy
+WHERE v IS NOT NULL AND v NOT IN (SELECT text_value FROM lookup_values);
+
+UPDATE persons p SET
+    last_name_id = (SELECT id FROM lookup_values WHERE text_value = p.last_name),
+    occupation_id = (SELECT id FROM lookup_values WHERE text_value = p.occupation),
+    birth_place_id = (SELECT id FROM lookup_values WHERE text_value = p.birth_place),
+    currently_lives_at_address_id = (SELECT id FROM lookup_values WHERE text_value = p.currently_lives_at_address);
+
+ALTER TABLE persons ALTER COLUMN last_name_id SET NOT NULL;
+ALTER TABLE persons DROP COLUMN last_name;
+ALTER TABLE persons DROP COLUMN occupation;
+ALTER TABLE persons DROP COLUMN birth_place;
+ALTER TABLE persons DROP COLUMN currently_lives_at_address;
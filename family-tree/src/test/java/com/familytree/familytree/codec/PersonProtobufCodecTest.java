@@ -0,0 +1,78 @@
+package com.familytree.familytree.codec;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonProtobufCodecTest {
+
+    @Test
+    void encodeDecode_AllFields() throws Exception {
+        PersonDTO person = PersonDTO.builder()
+                .id(42L)
+                .firstName("Zoë")
+                .middleName("Marie")
+                .lastName("Müller")
+                .occupation("Engineer")
+                .lifeStory("Born in a small town.")
+                .bornDate(LocalDate.of(1899, 12, 31))
+                .diedDate(LocalDate.of(1975, 6, 1))
+                .birthPlace("Zürich")
+                .currentlyLivesAtAddress("Main Street 1")
+                .motherId(1L)
+                .fatherId(2L)
+                .spouseId(3L)
+                .build();
+
+        PersonDTO decoded = PersonProtobufCodec.decode(CodedInputStream.newInstance(PersonProtobufCodec.encode(person)));
+
+        assertEquals(person, decoded);
+    }
+
+    @Test
+    void encodeDecode_NullFieldsStayNull() throws Exception {
+        PersonDTO person = PersonDTO.builder().firstName("").lastName("Doe").build();
+
+        PersonDTO decoded = PersonProtobufCodec.decode(CodedInputStream.newInstance(PersonProtobufCodec.encode(person)));
+
+        assertEquals("", decoded.getFirstName());
+        assertNull(decoded.getId());
+        assertNull(decoded.getBornDate());
+        assertNull(decoded.getMotherId());
+    }
+
+    @Test
+    void encodeDecodeList_PreservesOrder() throws Exception {
+        List<PersonDTO> persons = List.of(
+                PersonDTO.builder().id(1L).firstName("A").lastName("One").build(),
+                PersonDTO.builder().id(2L).firstName("B").lastName("Two").build());
+
+        List<PersonDTO> decoded = PersonProtobufCodec.decodeList(
+                CodedInputStream.newInstance(PersonProtobufCodec.encodeList(persons)));
+
+        assertEquals(persons, decoded);
+        assertTrue(PersonProtobufCodec.decodeList(CodedInputStream.newInstance(new byte[0])).isEmpty());
+    }
+
+    @Test
+    void decode_SkipsUnknownFields() throws Exception {
+        byte[] known = PersonProtobufCodec.encode(PersonDTO.builder().id(7L).firstName("Ann").build());
+        byte[] bytes = new byte[known.length + 16];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        output.writeRawBytes(known);
+        output.writeString(99, "future");
+        output.flush();
+
+        PersonDTO decoded = PersonProtobufCodec.decode(
+                CodedInputStream.newInstance(bytes, 0, bytes.length - output.spaceLeft()));
+
+        assertEquals(7L, decoded.getId());
+        assertEquals("Ann", decoded.getFirstName());
+    }
+}
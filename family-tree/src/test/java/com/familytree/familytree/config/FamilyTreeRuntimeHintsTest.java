@@ -0,0 +1,40 @@
+package com.familytree.familytree.config;
+
+import com.familytree.familytree.dto.ErrorResponse;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.entity.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FamilyTreeRuntimeHintsTest {
+
+    private final RuntimeHints hints = registeredHints();
+
+    @Test
+    void registerHints_PersonEntityFieldsAndConstructor() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Person.class.getDeclaredField("mother")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(Person.class.getDeclaredConstructor()).test(hints));
+    }
+
+    @Test
+    void registerHints_JacksonBindingOfDtos() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(PersonDTO.class.getMethod("getFirstName")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(PersonDTO.class.getMethod("setFirstName", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ErrorResponse.class.getMethod("getErrorCode")).test(hints));
+    }
+
+    @Test
+    void registerHints_GraphQlSchema() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("graphql/schema.graphqls").test(hints));
+    }
+
+    private static RuntimeHints registeredHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new FamilyTreeRuntimeHints().registerHints(hints, FamilyTreeRuntimeHintsTest.class.getClassLoader());
+        return hints;
+    }
+}
@@ -0,0 +1,131 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.changes.ChangeFeedService;
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeFeedControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getChanges_ReturnsMutationsInCommitOrder() throws Exception {
+        long since = lastLoggedSequence();
+        PersonDTO husband = personService.createNewPerson(PersonDTO.builder().firstName("Carl").lastName("Feed").build());
+        PersonDTO wife = personService.createNewPerson(PersonDTO.builder().firstName("Cora").lastName("Feed").build());
+        personService.setSpouse(husband.getId(), wife.getId());
+        personService.deleteSpouse(husband.getId());
+
+        MvcResult result = mockMvc.perform(get("/api/changes").param("since", Long.toString(since)).param("wait", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[0].type").value("CREATED"))
+                .andExpect(jsonPath("$[0].personId").value(husband.getId()))
+                .andExpect(jsonPath("$[0].after.firstName").value("Carl"))
+                .andExpect(jsonPath("$[2].type").value("UPDATED"))
+                .andExpect(jsonPath("$[2].after.spouseId").value(wife.getId()))
+                .andExpect(jsonPath("$[4].before.spouseId").value(wife.getId()))
+                .andExpect(jsonPath("$[4].after.spouseId").isEmpty());
+        List<PersonChangeDTO> changes = changeFeedService.getChanges(since, 100);
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).getSequence() > changes.get(i - 1).getSequence());
+        }
+    }
+
+    @Test
+    void getChanges_WaitsForNextCommit() throws Exception {
+        long since = lastLoggedSequence();
+
+        MvcResult result = mockMvc.perform(get("/api/changes").param("since", Long.toString(since)).param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThrows(IllegalStateException.class, () -> result.getAsyncResult(0), "poll completed before any change");
+        PersonDTO created = personService.createNewPerson(PersonDTO.builder().firstName("Lena").lastName("Poll").build());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].personId").value(created.getId()));
+    }
+
+    @Test
+    void rolledBackOperation_IsNotLogged() {
+        PersonDTO husband = personService.createNewPerson(PersonDTO.builder().firstName("Rob").lastName("Log").build());
+        PersonDTO wife = personService.createNewPerson(PersonDTO.builder().firstName("Ria").lastName("Log").build());
+        PersonDTO other = personService.createNewPerson(PersonDTO.builder().firstName("Ole").lastName("Log").build());
+        personService.setSpouse(husband.getId(), wife.getId());
+        long since = lastLoggedSequence();
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> personService.setSpouse(other.getId(), husband.getId()));
+
+        assertEquals(since, lastLoggedSequence());
+        assertTrue(changeFeedService.getChanges(since, 100).isEmpty());
+    }
+
+    @Test
+    void subscribe_DeliversBacklogThenLiveChanges() throws Exception {
+        long since = lastLoggedSequence();
+        PersonDTO first = personService.createNewPerson(PersonDTO.builder().firstName("Sue").lastName("Stream").build());
+        BlockingQueue<PersonChangeDTO> received = new LinkedBlockingQueue<>();
+
+        ChangeFeedService.Subscription subscription = changeFeedService.subscribe(since, received::add);
+        try {
+            PersonDTO second = personService.createNewPerson(PersonDTO.builder().firstName("Sid").lastName("Stream").build());
+
+            assertEquals(first.getId(), received.poll(5, TimeUnit.SECONDS).getPersonId());
+            assertEquals(second.getId(), received.poll(5, TimeUnit.SECONDS).getPersonId());
+        } finally {
+            subscription.cancel();
+        }
+    }
+
+    @Test
+    void streamChanges_OpensEventStream() throws Exception {
+        mockMvc.perform(get("/api/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    // Other test contexts share the database, so the feed of this context may lag behind it
+    private long lastLoggedSequence() {
+        return jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from person_changes", Long.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DedupControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void scan_FindsPhoneticDuplicates() throws Exception {
+        PersonDTO original = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Johnathan")
+                .lastName("Smythe")
+                .birthPlace("Manchester")
+                .bornDate(LocalDate.of(1901, 3, 4))
+                .build());
+        PersonDTO duplicate = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Jonathan")
+                .lastName("Smith")
+                .birthPlace("Manchester")
+                .bornDate(LocalDate.of(1901, 3, 4))
+                .build());
+        personService.createNewPerson(PersonDTO.builder()
+                .firstName("Jonathan")
+                .lastName("Smith")
+                .birthPlace("Manchester")
+                .bornDate(LocalDate.of(1950, 3, 4))
+                .build());
+
+        MvcResult result = mockMvc.perform(post("/api/dedup/scan")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"minScore\": 0.9}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("\"personId\":" + original.getId() + ",\"duplicateId\":" + duplicate.getId()));
+    }
+
+    @Test
+    void scan_InvalidScore() throws Exception {
+        mockMvc.perform(post("/api/dedup/scan")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"minScore\": 2}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,83 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.security.AdminTokenFilter;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "familytree.admin.token=" + FlightRecorderControllerIntegrationTest.TOKEN)
+@AutoConfigureMockMvc
+@ActiveProfiles("jfr")
+class FlightRecorderControllerIntegrationTest {
+
+    static final String TOKEN = "jfr-test-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void adminEndpoints_RequireToken() throws Exception {
+        mockMvc.perform(get("/api/admin/jfr/report"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorCode").value("ADMIN_TOKEN_REQUIRED"));
+        mockMvc.perform(get("/api/admin/jfr/report").header(AdminTokenFilter.HEADER, "wrong"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getReport_SummarizesServiceOperations() throws Exception {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Recorded")
+                .lastName("Flight")
+                .build());
+        personService.addChild(parent.getId(), PersonDTO.builder()
+                .firstName("Child")
+                .lastName("Flight")
+                .build());
+        personService.findPersonByLastName("Flight");
+
+        mockMvc.perform(get("/api/admin/jfr/report").param("minutes", "1").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operations[*].operation",
+                        hasItems("createNewPerson", "addChild", "findPersonByLastName")))
+                .andExpect(jsonPath("$.operations[?(@.operation == 'findPersonByLastName')].maxTraversalSize",
+                        hasItem(greaterThanOrEqualTo(2))))
+                .andExpect(jsonPath("$.allocationsByType").isArray())
+                .andExpect(jsonPath("$.contention").isArray());
+    }
+
+    @Test
+    void getReport_RejectsNonPositiveWindow() throws Exception {
+        mockMvc.perform(get("/api/admin/jfr/report").param("minutes", "0").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getRecording_ReturnsJfrFile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/jfr/recording").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] recording = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", startsWith("attachment; filename=\"familytree-")))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("FLR", new String(Arrays.copyOf(recording, 3), StandardCharsets.US_ASCII));
+    }
+}
@@ -1,7 +1,12 @@
 package com.familytree.familytree.controller;
 
+import com.familytree.familytree.codec.PersonProtobufCodec;
+import com.familytree.familytree.codec.PersonProtobufHttpMessageConverter;
 import com.familytree.familytree.dto.PersonDTO;
 import com.familytree.familytree.service.PersonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedInputStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -11,7 +16,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +33,9 @@ class PersonControllerIntegrationTest {
     @Autowired
     private PersonService personService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void createPerson_Success() throws Exception {
         String personJson = """
@@ -167,6 +177,28 @@ class PersonControllerIntegrationTest {
                 .andExpect(jsonPath("$.lastName").value("Smith"));
     }
 
+    @Test
+    void updatePerson_KeepsParent() throws Exception {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Paula")
+                .lastName("Update")
+                .build());
+        PersonDTO child = personService.addChild(parent.getId(), PersonDTO.builder()
+                .firstName("Chris")
+                .lastName("Update")
+                .build());
+        child.setOccupation("Baker");
+
+        mockMvc.perform(put("/api/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(child)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupation").value("Baker"));
+
+        List<PersonDTO> children = personService.findChildren(List.of(parent.getId())).get(parent.getId());
+        assertEquals(List.of(child.getId()), children.stream().map(PersonDTO::getId).toList());
+    }
+
     @Test
     void setMother_Success() throws Exception {
         // First create a person
@@ -317,4 +349,184 @@ class PersonControllerIntegrationTest {
                 .andExpect(jsonPath("$.firstName").value("Former"))
                 .andExpect(jsonPath("$.lastName").value("Smith"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void mergePerson_Success() throws Exception {
+        // Create the survivor, which already has a child of its own
+        PersonDTO survivor = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Mary")
+                .lastName("Merge")
+                .bornDate(LocalDate.of(1940, 2, 2))
+                .build());
+        PersonDTO ownChild = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Own")
+                .lastName("Merge")
+                .build());
+        personService.setMother(ownChild.getId(), survivor.getId());
+
+        // Create the duplicate with extra details, a spouse and a child
+        PersonDTO duplicate = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Mary")
+                .lastName("Merge")
+                .occupation("Nurse")
+                .birthPlace("Dublin")
+                .build());
+        PersonDTO spouse = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Tom")
+                .lastName("Merge")
+                .build());
+        personService.setSpouse(duplicate.getId(), spouse.getId());
+        PersonDTO child = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Kid")
+                .lastName("Merge")
+                .build());
+        personService.setMother(child.getId(), duplicate.getId());
+
+        // Merge
+        mockMvc.perform(post("/api/person/" + survivor.getId() + "/merge/" + duplicate.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupation").value("Nurse"))
+                .andExpect(jsonPath("$.birthPlace").value("Dublin"))
+                .andExpect(jsonPath("$.bornDate").value("1940-02-02"))
+                .andExpect(jsonPath("$.spouseId").value(spouse.getId()));
+
+        // Verify relationships were rewired and the duplicate is gone
+        mockMvc.perform(get("/api/person/" + child.getId()))
+                .andExpect(jsonPath("$.motherId").value(survivor.getId()));
+        mockMvc.perform(get("/api/person/" + ownChild.getId()))
+                .andExpect(jsonPath("$.motherId").value(survivor.getId()));
+        mockMvc.perform(get("/api/person/" + spouse.getId()))
+                .andExpect(jsonPath("$.spouseId").value(survivor.getId()));
+        mockMvc.perform(get("/api/person/" + duplicate.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void mergePerson_BothMarried_SurvivorKeepsItsSpouse() throws Exception {
+        PersonDTO survivor = personService.createNewPerson(PersonDTO.builder().firstName("Anna").lastName("Wed").build());
+        PersonDTO survivorSpouse = personService.createNewPerson(PersonDTO.builder().firstName("Tim").lastName("Wed").build());
+        personService.setSpouse(survivor.getId(), survivorSpouse.getId());
+        PersonDTO duplicate = personService.createNewPerson(PersonDTO.builder().firstName("Anna").lastName("Wed").build());
+        PersonDTO duplicateSpouse = personService.createNewPerson(PersonDTO.builder().firstName("Sam").lastName("Wed").build());
+        personService.setSpouse(duplicate.getId(), duplicateSpouse.getId());
+
+        mockMvc.perform(post("/api/person/" + survivor.getId() + "/merge/" + duplicate.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.spouseId").value(survivorSpouse.getId()));
+
+        mockMvc.perform(get("/api/person/" + survivorSpouse.getId()))
+                .andExpect(jsonPath("$.spouseId").value(survivor.getId()));
+        mockMvc.perform(get("/api/person/" + duplicateSpouse.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.spouseId").isEmpty());
+        mockMvc.perform(get("/api/person/" + duplicate.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void mergePerson_IntoItself() throws Exception {
+        mockMvc.perform(post("/api/person/1/merge/1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPerson_Cbor() throws Exception {
+        PersonDTO created = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Carla")
+                .lastName("Binary")
+                .bornDate(LocalDate.of(1970, 3, 4))
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/person/" + created.getId())
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        PersonDTO person = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+                .readValue(result.getResponse().getContentAsByteArray(), PersonDTO.class);
+        assertEquals("Carla", person.getFirstName());
+        assertEquals(LocalDate.of(1970, 3, 4), person.getBornDate());
+    }
+
+    @Test
+    void createAndFindPerson_Protobuf() throws Exception {
+        PersonDTO person = PersonDTO.builder()
+                .firstName("Proto")
+                .lastName("Buffer")
+                .bornDate(LocalDate.of(1901, 2, 3))
+                .build();
+
+        MvcResult created = mockMvc.perform(post("/api/person")
+                .contentType(PersonProtobufHttpMessageConverter.PROTOBUF)
+                .accept(PersonProtobufHttpMessageConverter.PROTOBUF)
+                .content(PersonProtobufCodec.encode(person)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(PersonProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn();
+        PersonDTO saved = PersonProtobufCodec.decode(
+                CodedInputStream.newInstance(created.getResponse().getContentAsByteArray()));
+        assertNotNull(saved.getId());
+        assertEquals(LocalDate.of(1901, 2, 3), saved.getBornDate());
+
+        MvcResult found = mockMvc.perform(get("/api/person/last-name/Buffer")
+                .accept(PersonProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<PersonDTO> persons = PersonProtobufCodec.decodeList(
+                CodedInputStream.newInstance(found.getResponse().getContentAsByteArray()));
+        assertEquals(List.of(saved), persons);
+    }
+
+    @Test
+    void getPerson_DefaultsToJson() throws Exception {
+        PersonDTO created = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Jason")
+                .lastName("Default")
+                .build());
+
+        mockMvc.perform(get("/api/person/" + created.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getPerson_SparseFieldset() throws Exception {
+        PersonDTO created = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Sparse")
+                .lastName("Fields")
+                .lifeStory("A long story that list views never show.")
+                .build());
+
+        mockMvc.perform(get("/api/person/" + created.getId()).param("fields", "id,firstName,motherId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(created.getId()))
+                .andExpect(jsonPath("$.firstName").value("Sparse"))
+                .andExpect(jsonPath("$.motherId").isEmpty())
+                .andExpect(jsonPath("$.lifeStory").doesNotExist())
+                .andExpect(jsonPath("$.lastName").doesNotExist());
+
+        mockMvc.perform(get("/api/person/last-name/Fields").param("fields", "firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("Sparse"))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+    }
+
+    @Test
+    void getPerson_SparseFieldsetUnknownField() throws Exception {
+        mockMvc.perform(get("/api/person/1").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Unknown field: password")));
+    }
+
+    @Test
+    void createPerson_UnknownMother() throws Exception {
+        mockMvc.perform(post("/api/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"firstName": "Orphan", "lastName": "Doe", "motherId": 987654}
+                    """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("DATA_INTEGRITY_VIOLATION"));
+    }
+}
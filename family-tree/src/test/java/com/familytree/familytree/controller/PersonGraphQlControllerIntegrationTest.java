@@ -0,0 +1,130 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.diagnostics.SqlStatementRecorder;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("sql-diagnostics")
+class PersonGraphQlControllerIntegrationTest {
+
+    @Autowired
+    private HttpGraphQlTester graphQlTester;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @MockitoSpyBean
+    private PersonService personService;
+
+    @Test
+    void person_ResolvesAncestorsAndChildrenInBatches() {
+        PersonDTO grandmother = create("Gerda", "Graph");
+        PersonDTO grandfather = create("Gustav", "Graph");
+        PersonDTO mother = create("Marta", "Graph");
+        personService.setMother(mother.getId(), grandmother.getId());
+        personService.setFather(mother.getId(), grandfather.getId());
+        PersonDTO father = create("Fritz", "Graph");
+        PersonDTO me = create("Ich", "Graph");
+        personService.setMother(me.getId(), mother.getId());
+        personService.setFather(me.getId(), father.getId());
+        PersonDTO sister = create("Schwester", "Graph");
+        personService.setMother(sister.getId(), mother.getId());
+        clearInvocations(personService);
+        sqlStatementRecorder.reset();
+
+        graphQlTester.document("""
+                        query($id: ID!) {
+                          person(id: $id) {
+                            firstName
+                            mother { firstName mother { firstName } father { firstName } children { firstName } }
+                            father { firstName mother { firstName } father { firstName } children { firstName } }
+                          }
+                        }
+                        """)
+                .variable("id", me.getId())
+                .execute()
+                .path("person.mother.firstName").entity(String.class).isEqualTo("Marta")
+                .path("person.father.firstName").entity(String.class).isEqualTo("Fritz")
+                .path("person.mother.mother.firstName").entity(String.class).isEqualTo("Gerda")
+                .path("person.mother.father.firstName").entity(String.class).isEqualTo("Gustav")
+                .path("person.father.mother").valueIsNull()
+                .path("person.mother.children[*].firstName").entityList(String.class)
+                .containsExactly("Ich", "Schwester")
+                .path("person.father.children[*].firstName").entityList(String.class).containsExactly("Ich");
+
+        // At most one load per relationship and level, however many persons a level holds;
+        // the data loaders may also merge levels into a single batch
+        verify(personService, times(1)).getPerson(me.getId());
+        verify(personService, atMost(4)).getPersons(anyCollection());
+        verify(personService, times(1)).findChildren(anyCollection());
+        // One SELECT per service call; loading a relative must not load its relatives too
+        assertEquals(1, sqlStatementRecorder.getRequests());
+        assertTrue(sqlStatementRecorder.getMaxStatementsPerRequest() >= 3, "statements were not recorded");
+        assertTrue(sqlStatementRecorder.getMaxStatementsPerRequest() <= 6,
+                () -> sqlStatementRecorder.getMaxStatementsPerRequest() + " statements for one query");
+        assertEquals(0, sqlStatementRecorder.getSuspectedNPlusOne());
+    }
+
+    @Test
+    void personsByLastName_LoadsRelativesWithoutPerRowSelects() {
+        for (int i = 0; i < 6; i++) {
+            PersonDTO grandmother = create("Oma" + i, "Ahnin");
+            PersonDTO mother = create("Mutter" + i, "Ahnin");
+            personService.setMother(mother.getId(), grandmother.getId());
+            PersonDTO child = create("Kind" + i, "Sql");
+            personService.setMother(child.getId(), mother.getId());
+        }
+        sqlStatementRecorder.reset();
+
+        graphQlTester.document("{ personsByLastName(lastName: \"Sql\") { firstName mother { firstName } } }")
+                .execute()
+                .path("personsByLastName[*].mother.firstName").entityList(String.class).hasSize(6);
+
+        // The persons, then their mothers in one batch; neither drags in further ancestors
+        assertEquals(1, sqlStatementRecorder.getRequests());
+        assertTrue(sqlStatementRecorder.getMaxStatementsPerRequest() <= 3,
+                () -> sqlStatementRecorder.getMaxStatementsPerRequest() + " statements for one query");
+        assertEquals(0, sqlStatementRecorder.getSuspectedNPlusOne());
+    }
+
+    @Test
+    void personsByLastName_Success() {
+        create("Anna", "Query");
+        create("Bert", "Query");
+
+        graphQlTester.document("{ personsByLastName(lastName: \"Query\") { firstName bornDate } }")
+                .execute()
+                .path("personsByLastName[*].firstName").entityList(String.class).containsExactly("Anna", "Bert");
+    }
+
+    @Test
+    void person_NotFound() {
+        graphQlTester.document("{ person(id: 999999) { firstName } }")
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.NOT_FOUND
+                        && List.of("person").equals(error.getParsedPath()))
+                .verify()
+                .path("person").valueIsNull();
+    }
+
+    private PersonDTO create(String firstName, String lastName) {
+        return personService.createNewPerson(PersonDTO.builder().firstName(firstName).lastName(lastName).build());
+    }
+}
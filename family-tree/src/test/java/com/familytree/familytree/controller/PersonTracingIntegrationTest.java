@@ -0,0 +1,105 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "familytree.tracing.log-spans=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("tracing")
+class PersonTracingIntegrationTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    void getPerson_TracesRequestServiceSqlAndSerialization() throws Exception {
+        PersonDTO mother = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Traced")
+                .lastName("Mother")
+                .build());
+        PersonDTO person = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Traced")
+                .lastName("Person")
+                .build());
+        personService.setMother(person.getId(), mother.getId());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        exporter.reset();
+
+        mockMvc.perform(get("/api/person/" + person.getId())).andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        SpanData request = span(spans, "http get /api/person/{personId}");
+        SpanData service = span(spans, "person-service-impl#get-person");
+        SpanData serialization = span(spans, "familytree.serialization");
+        SpanData resultSet = span(spans, "result-set");
+        span(spans, "connection");
+        span(spans, "query");
+
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(request.getTraceId())));
+        assertTrue(isDescendant(spans, service, request));
+        assertTrue(isDescendant(spans, resultSet, service));
+        assertTrue(isDescendant(spans, serialization, request));
+        assertEquals(String.valueOf(person.getId()), service.getAttributes().get(AttributeKey.stringKey("person.id")));
+        assertEquals("PersonDTO", serialization.getAttributes().get(AttributeKey.stringKey("type")));
+        assertEquals("1", resultSet.getAttributes().get(AttributeKey.stringKey("jdbc.row-count")));
+    }
+
+    private static boolean isDescendant(List<SpanData> spans, SpanData span, SpanData ancestor) {
+        String parentId = span.getParentSpanId();
+        while (!parentId.equals(ancestor.getSpanId())) {
+            String current = parentId;
+            SpanData parent = spans.stream().filter(s -> s.getSpanId().equals(current)).findFirst().orElse(null);
+            if (parent == null) {
+                return false;
+            }
+            parentId = parent.getParentSpanId();
+        }
+        return true;
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans.stream().map(SpanData::getName).toList()));
+    }
+}
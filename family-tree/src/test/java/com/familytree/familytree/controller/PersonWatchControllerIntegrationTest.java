@@ -0,0 +1,154 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.changes.PersonWatchService;
+import com.familytree.familytree.dto.PersonChangeDTO;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonWatchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonWatchService personWatchService;
+
+    @Test
+    void watch_DeliversChangesWithinNeighbourhoodOnly() throws Exception {
+        PersonDTO root = personService.createNewPerson(PersonDTO.builder().firstName("Vera").lastName("Watch").build());
+        PersonDTO child = personService.createNewPerson(PersonDTO.builder().firstName("Wim").lastName("Watch").build());
+        PersonDTO grandchild = personService.createNewPerson(PersonDTO.builder().firstName("Xena").lastName("Watch").build());
+        personService.setMother(child.getId(), root.getId());
+        personService.setMother(grandchild.getId(), child.getId());
+        Recorder recorder = new Recorder();
+
+        PersonWatchService.Watch watch = personWatchService.watch(root.getId(), 1, recorder);
+        try {
+            assertEquals(Set.of(root.getId(), child.getId()), recorder.nextNeighbourhood());
+
+            PersonDTO grandchildUpdate = personService.getPerson(grandchild.getId());
+            grandchildUpdate.setOccupation("Painter");
+            personService.updatePerson(grandchildUpdate);
+            PersonDTO childUpdate = personService.getPerson(child.getId());
+            childUpdate.setOccupation("Carpenter");
+            personService.updatePerson(childUpdate);
+
+            PersonChangeDTO change = recorder.nextChange();
+            assertEquals(child.getId(), change.getPersonId(), "changes two links away are not delivered");
+            assertEquals("Carpenter", change.getAfter().getOccupation());
+
+            PersonDTO spouse = personService.createNewPerson(PersonDTO.builder().firstName("Yves").lastName("Watch").build());
+            personService.setSpouse(root.getId(), spouse.getId());
+
+            assertEquals(Set.of(root.getId(), child.getId(), spouse.getId()), recorder.nextNeighbourhood());
+            PersonDTO spouseUpdate = personService.getPerson(spouse.getId());
+            spouseUpdate.setOccupation("Tailor");
+            personService.updatePerson(spouseUpdate);
+            assertTrue(recorder.drainChanges().stream().anyMatch(c -> c.getPersonId().equals(spouse.getId())
+                    && "Tailor".equals(c.getAfter().getOccupation())));
+        } finally {
+            watch.cancel();
+        }
+    }
+
+    @Test
+    void watch_EndsWhenWatchedPersonIsDeleted() throws Exception {
+        PersonDTO person = personService.createNewPerson(PersonDTO.builder().firstName("Bert").lastName("Watch").build());
+        Recorder recorder = new Recorder();
+
+        PersonWatchService.Watch watch = personWatchService.watch(person.getId(), 2, recorder);
+        try {
+            assertEquals(Set.of(person.getId()), recorder.nextNeighbourhood());
+            personService.deletePerson(person.getId());
+
+            assertEquals(PersonChangeEvent.ChangeType.DELETED, recorder.nextChange().getType());
+            assertEquals(Set.of(), recorder.nextNeighbourhood());
+        } finally {
+            watch.cancel();
+        }
+    }
+
+    @Test
+    void watchPerson_OpensEventStream() throws Exception {
+        PersonDTO person = personService.createNewPerson(PersonDTO.builder().firstName("Zora").lastName("Watch").build());
+
+        mockMvc.perform(get("/api/person/" + person.getId() + "/watch").param("depth", "2")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    @Test
+    void watchPerson_WithTooLargeDepth_ReturnsBadRequest() throws Exception {
+        PersonDTO person = personService.createNewPerson(PersonDTO.builder().firstName("Adam").lastName("Watch").build());
+
+        mockMvc.perform(get("/api/person/" + person.getId() + "/watch").param("depth", "50"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void watchPerson_WithUnknownPerson_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/person/999999/watch"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static final class Recorder implements PersonWatchService.Listener {
+
+        private final BlockingQueue<Set<Long>> neighbourhoods = new LinkedBlockingQueue<>();
+        private final BlockingQueue<PersonChangeDTO> changes = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onNeighbourhood(Set<Long> personIds) {
+            neighbourhoods.add(personIds);
+        }
+
+        @Override
+        public void onChange(PersonChangeDTO change) {
+            changes.add(change);
+        }
+
+        Set<Long> nextNeighbourhood() throws InterruptedException {
+            Set<Long> next = neighbourhoods.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "no neighbourhood event");
+            return next;
+        }
+
+        PersonChangeDTO nextChange() throws InterruptedException {
+            PersonChangeDTO next = changes.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "no change event");
+            return next;
+        }
+
+        List<PersonChangeDTO> drainChanges() throws InterruptedException {
+            List<PersonChangeDTO> drained = new ArrayList<>();
+            PersonChangeDTO next;
+            while ((next = changes.poll(1, TimeUnit.SECONDS)) != null) {
+                drained.add(next);
+            }
+            return drained;
+        }
+    }
+}
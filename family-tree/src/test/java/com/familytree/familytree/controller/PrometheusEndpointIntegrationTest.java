@@ -0,0 +1,48 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void prometheus_ExposesEndpointServiceRepositoryPoolAndExceptionMetrics() throws Exception {
+        PersonDTO person = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Metric")
+                .lastName("Reader")
+                .build());
+        mockMvc.perform(get("/api/person/" + person.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/person/999999")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/person/{personId}\""),
+                        containsString("familytree_service_seconds_count{"),
+                        containsString("method=\"getPerson\""),
+                        containsString("spring_data_repository_invocations_seconds_count{"),
+                        containsString("hikaricp_connections_acquire_seconds_bucket{"),
+                        containsString("familytree_exceptions_total{"),
+                        containsString("handler=\"family_tree\""))));
+    }
+}
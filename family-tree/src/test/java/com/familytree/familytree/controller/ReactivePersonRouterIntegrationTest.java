@@ -0,0 +1,215 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.changes.ChangeFeedService;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.repository.PersonChangeLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactivePersonRouterIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PersonChangeLog changeLog;
+
+    @Test
+    void createAndGetPerson_Success() {
+        PersonDTO created = createPerson("Ada", "Reactive");
+
+        webTestClient.get().uri("/api/person/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Ada")
+                .jsonPath("$.lastName").isEqualTo("Reactive")
+                .jsonPath("$.bornDate").isEqualTo("1980-01-01");
+    }
+
+    @Test
+    void createPerson_IsNotRecordedInChangeLog() {
+        long before = changeLog.lastSequence();
+
+        createPerson("Nils", "Unlogged");
+
+        assertEquals(before, changeLog.lastSequence());
+        assertNull(applicationContext.getBeanProvider(ChangeFeedService.class).getIfAvailable());
+    }
+
+    @Test
+    void getPerson_NotFound() {
+        webTestClient.get().uri("/api/person/{id}", 999999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Person not found with id: 999999");
+    }
+
+    @Test
+    void setSpouseAndMerge_Success() {
+        PersonDTO husband = createPerson("Otto", "Flux");
+        PersonDTO wife = createPerson("Olga", "Flux");
+        PersonDTO duplicate = createPerson("Olga", "Flux");
+
+        webTestClient.post().uri("/api/person/{id}/spouse/{spouseId}", husband.getId(), wife.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.spouseId").isEqualTo(wife.getId());
+
+        webTestClient.post().uri("/api/person/{id}/merge/{duplicateId}", wife.getId(), duplicate.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(wife.getId())
+                .jsonPath("$.spouseId").isEqualTo(husband.getId());
+
+        webTestClient.get().uri("/api/person/{id}", duplicate.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void mergePerson_BothMarried_SurvivorKeepsItsSpouse() {
+        PersonDTO survivor = createPerson("Rita", "Wed");
+        PersonDTO survivorSpouse = createPerson("Theo", "Wed");
+        PersonDTO duplicate = createPerson("Rita", "Wed");
+        PersonDTO duplicateSpouse = createPerson("Sven", "Wed");
+        webTestClient.post().uri("/api/person/{id}/spouse/{spouseId}", survivor.getId(), survivorSpouse.getId())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/api/person/{id}/spouse/{spouseId}", duplicate.getId(), duplicateSpouse.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri("/api/person/{id}/merge/{duplicateId}", survivor.getId(), duplicate.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.spouseId").isEqualTo(survivorSpouse.getId());
+
+        webTestClient.get().uri("/api/person/{id}", survivorSpouse.getId())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.spouseId").isEqualTo(survivor.getId());
+        webTestClient.get().uri("/api/person/{id}", duplicateSpouse.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.spouseId").doesNotExist();
+    }
+
+    @Test
+    void mergePerson_IntoItself() {
+        PersonDTO person = createPerson("Self", "Flux");
+
+        webTestClient.post().uri("/api/person/{id}/merge/{duplicateId}", person.getId(), person.getId())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ILLEGAL_ARGUMENT");
+    }
+
+    @Test
+    void getDescendants_StreamsAllGenerations() {
+        PersonDTO grandparent = createPerson("Gustav", "Stream");
+        PersonDTO parent = addChild(grandparent.getId(), "Greta");
+        addChild(parent.getId(), "Gerd");
+        addChild(parent.getId(), "Gisela");
+
+        Flux<PersonDTO> descendants = webTestClient.get()
+                .uri("/api/person/{id}/descendants", grandparent.getId())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PersonDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(descendants.map(PersonDTO::getFirstName))
+                .expectNext("Greta")
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void updatePerson_KeepsParent() {
+        PersonDTO parent = createPerson("Paula", "Stream");
+        PersonDTO child = addChild(parent.getId(), "Chris");
+        child.setOccupation("Baker");
+
+        webTestClient.put().uri("/api/person")
+                .bodyValue(child)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.occupation").isEqualTo("Baker");
+
+        Flux<PersonDTO> descendants = webTestClient.get()
+                .uri("/api/person/{id}/descendants", parent.getId())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PersonDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(descendants.map(PersonDTO::getId))
+                .expectNext(child.getId())
+                .verifyComplete();
+    }
+
+    @Test
+    void deletePerson_RemovesChildren() {
+        PersonDTO parent = createPerson("Dora", "Delete");
+        PersonDTO child = addChild(parent.getId(), "Dieter");
+
+        webTestClient.delete().uri("/api/person/{id}", parent.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/person/{id}", child.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private PersonDTO createPerson(String firstName, String lastName) {
+        return webTestClient.post().uri("/api/person")
+                .bodyValue(PersonDTO.builder()
+                        .firstName(firstName)
+                        .lastName(lastName)
+                        .bornDate(LocalDate.of(1980, 1, 1))
+                        .build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PersonDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private PersonDTO addChild(Long parentId, String firstName) {
+        return webTestClient.post().uri("/api/person/{id}/child", parentId)
+                .bodyValue(PersonDTO.builder().firstName(firstName).lastName("Stream").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PersonDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
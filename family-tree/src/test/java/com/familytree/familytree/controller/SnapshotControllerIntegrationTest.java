@@ -0,0 +1,74 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.security.AdminTokenFilter;
+import com.familytree.familytree.service.PersonService;
+import com.familytree.familytree.snapshot.PersonSnapshot;
+import com.familytree.familytree.snapshot.PersonSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "familytree.admin.token=" + SnapshotControllerIntegrationTest.TOKEN,
+        "familytree.snapshot.file=target/snapshot-test/familytree.snapshot",
+        "familytree.snapshot.write-on-shutdown=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("snapshot")
+class SnapshotControllerIntegrationTest {
+
+    static final String TOKEN = "snapshot-test-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonSnapshotService personSnapshotService;
+
+    @Test
+    void adminEndpoints_RequireToken() throws Exception {
+        mockMvc.perform(post("/api/admin/snapshot"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorCode").value("ADMIN_TOKEN_REQUIRED"));
+    }
+
+    @Test
+    void createSnapshot_MapsCurrentPersonGraph() throws Exception {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Mapped")
+                .lastName("Snapshot")
+                .build());
+        PersonDTO child = personService.addChild(parent.getId(), PersonDTO.builder()
+                .firstName("Child")
+                .lastName("Snapshot")
+                .build());
+
+        mockMvc.perform(post("/api/admin/snapshot").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.persons", greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.childLinks", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.durationMillis").isNumber());
+        mockMvc.perform(get("/api/admin/snapshot").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.file", endsWith("familytree.snapshot")))
+                .andExpect(jsonPath("$.durationMillis").doesNotExist());
+
+        PersonSnapshot snapshot = personSnapshotService.current().orElseThrow();
+        int parentRow = snapshot.rowOf(parent.getId());
+        assertEquals("Mapped", snapshot.firstName(parentRow));
+        assertEquals(1, snapshot.childCount(parentRow));
+        assertEquals(child.getId(), snapshot.id(snapshot.child(parentRow, 0)));
+    }
+}
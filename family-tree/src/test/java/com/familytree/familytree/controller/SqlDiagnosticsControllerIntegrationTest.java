@@ -0,0 +1,56 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.security.AdminTokenFilter;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "familytree.admin.token=" + SqlDiagnosticsControllerIntegrationTest.TOKEN)
+@AutoConfigureMockMvc
+@ActiveProfiles("sql-diagnostics")
+class SqlDiagnosticsControllerIntegrationTest {
+
+    static final String TOKEN = "sql-test-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void getDiagnostics_ReportsStatementsAndSuspectedNPlusOne() throws Exception {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Parent")
+                .lastName("Elder")
+                .build());
+        for (int i = 0; i < 6; i++) {
+            personService.addChild(parent.getId(), PersonDTO.builder()
+                    .firstName("Child" + i)
+                    .lastName("Diagnosed")
+                    .build());
+        }
+        mockMvc.perform(delete("/api/admin/sql-diagnostics").header(AdminTokenFilter.HEADER, TOKEN)).andExpect(status().isNoContent());
+
+        // Deleting walks the subtree, loading the children of every child one by one
+        mockMvc.perform(delete("/api/person/" + parent.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admin/sql-diagnostics").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.maxStatementsPerRequest").value(greaterThanOrEqualTo(7)))
+                .andExpect(jsonPath("$.suspectedNPlusOne").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.topStatements[?(@.suspectedNPlusOneRequests > 0)].sql",
+                        everyItem(containsString("parent_id=?"))))
+                .andExpect(jsonPath("$.hibernate.entityLoads").value(greaterThanOrEqualTo(7)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.dto.PersonStatsDTO;
+import com.familytree.familytree.service.PersonService;
+import com.familytree.familytree.service.PersonStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonStatsService personStatsService;
+
+    @Test
+    void getStats_ReflectsCommittedWrites() throws Exception {
+        PersonStatsDTO before = personStatsService.getStats();
+
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Stat")
+                .lastName("Counter")
+                .occupation("Statistician")
+                .birthPlace("Vienna")
+                .bornDate(LocalDate.of(1950, 6, 1))
+                .build());
+        personService.addChild(parent.getId(), PersonDTO.builder()
+                .firstName("Junior")
+                .lastName("Counter")
+                .bornDate(LocalDate.of(1980, 6, 1))
+                .diedDate(LocalDate.of(2010, 6, 1))
+                .build());
+
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPersons").value(before.getTotalPersons() + 2))
+                .andExpect(jsonPath("$.deceased").value(before.getDeceased() + 1))
+                .andExpect(jsonPath("$.parents").value(before.getParents() + 1))
+                .andExpect(jsonPath("$.bySurname.Counter").value(2))
+                .andExpect(jsonPath("$.byOccupation.Statistician").value(1))
+                .andExpect(jsonPath("$.byBirthDecade.1950").value(1));
+    }
+}
@@ -0,0 +1,127 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.security.AdminTokenFilter;
+import com.familytree.familytree.service.PersonService;
+import org.h2.tools.Restore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "familytree.admin.token=" + StorageControllerIntegrationTest.TOKEN,
+        "familytree.storage.retained-backups=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("durable")
+class StorageControllerIntegrationTest {
+
+    static final String TOKEN = "storage-test-token";
+
+    private static final Path STORAGE = createStorageDirectory();
+
+    @DynamicPropertySource
+    static void storageLocation(DynamicPropertyRegistry registry) {
+        registry.add("familytree.storage.database", () -> STORAGE.resolve("familytree").toString());
+        registry.add("familytree.storage.backup-directory", () -> STORAGE.resolve("backups").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void adminEndpoints_RequireToken() throws Exception {
+        mockMvc.perform(post("/api/admin/storage/backups"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorCode").value("ADMIN_TOKEN_REQUIRED"));
+    }
+
+    @Test
+    void getStatus_ReportsFileBackedStore() throws Exception {
+        mockMvc.perform(post("/api/admin/storage/checkpoint").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admin/storage").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.file", endsWith("familytree.mv.db")))
+                .andExpect(jsonPath("$.fileSizeBytes", greaterThan(0)))
+                .andExpect(jsonPath("$.store.CACHE_MAX_SIZE").value("64"));
+    }
+
+    @Test
+    void createBackup_ContainsCommittedData() throws Exception {
+        personService.createNewPerson(PersonDTO.builder()
+                .firstName("Backed")
+                .lastName("Durable")
+                .build());
+
+        mockMvc.perform(post("/api/admin/storage/backups").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.file", allOf(startsWith("familytree-"), endsWith(".zip"))))
+                .andExpect(jsonPath("$.sizeBytes", greaterThan(0)))
+                .andExpect(jsonPath("$.durationMillis").isNumber());
+
+        assertEquals("1", personCountInNewestBackup());
+    }
+
+    @Test
+    void createBackup_KeepsOnlyRetainedBackups() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/admin/storage/backups").header(AdminTokenFilter.HEADER, TOKEN))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/admin/storage/backups").header(AdminTokenFilter.HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    /**
+     * Restores the newest backup into a scratch directory and counts the persons it holds.
+     */
+    private String personCountInNewestBackup() throws Exception {
+        Path backup;
+        try (var files = Files.list(STORAGE.resolve("backups"))) {
+            backup = files.max(Path::compareTo).orElseThrow();
+        }
+        Path restored = Files.createTempDirectory(STORAGE, "restored");
+        Restore.execute(backup.toString(), restored.toString(), "familytree");
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:file:" + restored.resolve("familytree"), "sa", "password");
+             ResultSet rows = connection.createStatement()
+                     .executeQuery("SELECT COUNT(*) FROM persons p JOIN lookup_values l ON l.id = p.last_name_id "
+                             + "WHERE l.text_value = 'Durable'")) {
+            rows.next();
+            return rows.getString(1);
+        }
+    }
+
+    private static Path createStorageDirectory() {
+        try {
+            Path target = Files.createDirectories(Path.of("target"));
+            return Files.createTempDirectory(target, "durable-test").toAbsolutePath();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
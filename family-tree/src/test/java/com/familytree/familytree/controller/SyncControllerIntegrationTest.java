@@ -0,0 +1,161 @@
+package com.familytree.familytree.controller;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SyncControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void sync_CompactsChangesSinceToken() throws Exception {
+        PersonDTO person = personService.createNewPerson(PersonDTO.builder().firstName("Nora").lastName("Sync").build());
+        PersonDTO formerSpouse = personService.createNewPerson(PersonDTO.builder().firstName("Olaf").lastName("Sync").build());
+        personService.setSpouse(person.getId(), formerSpouse.getId());
+        String token = Long.toString(lastLoggedSequence());
+
+        personService.deleteSpouse(person.getId());
+        PersonDTO spouse = personService.createNewPerson(PersonDTO.builder().firstName("Piet").lastName("Sync").build());
+        personService.setSpouse(person.getId(), spouse.getId());
+        PersonDTO update = personService.getPerson(person.getId());
+        update.setOccupation("Baker");
+        personService.updatePerson(update);
+        update.setOccupation("Miller");
+        personService.updatePerson(update);
+        PersonDTO shortLived = personService.createNewPerson(PersonDTO.builder().firstName("Quin").lastName("Sync").build());
+        personService.deletePerson(shortLived.getId());
+
+        JsonNode response = sync(token, false);
+        assertFalse(response.get("full").asBoolean());
+        assertEquals(Long.toString(lastLoggedSequence()), response.get("token").asText());
+        List<JsonNode> persons = find(response.get("persons"), "id", person.getId());
+        assertEquals(1, persons.size(), "one entry per changed person");
+        assertEquals("Miller", persons.get(0).get("occupation").asText());
+        assertEquals(1, find(response.get("persons"), "id", spouse.getId()).size());
+        assertTrue(find(response.get("persons"), "id", shortLived.getId()).isEmpty());
+        assertEquals(0, response.get("deleted").size(), "persons created and deleted since the token are omitted");
+
+        List<JsonNode> edges = find(response.get("edges"), "personId", person.getId());
+        assertEquals(2, edges.size());
+        assertEdge(edges, "SPOUSE", formerSpouse.getId(), true);
+        assertEdge(edges, "SPOUSE", spouse.getId(), false);
+        assertEdge(find(response.get("edges"), "personId", formerSpouse.getId()), "SPOUSE", person.getId(), true);
+
+        JsonNode caughtUp = sync(response.get("token").asText(), false);
+        assertEquals(0, caughtUp.get("persons").size());
+        assertEquals(0, caughtUp.get("edges").size());
+    }
+
+    @Test
+    void sync_ReturnsTombstonesForDeletedPersons() throws Exception {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder().firstName("Rolf").lastName("Gone").build());
+        PersonDTO child = personService.addChild(parent.getId(),
+                PersonDTO.builder().firstName("Sina").lastName("Gone").build());
+        String token = Long.toString(lastLoggedSequence());
+
+        personService.deletePerson(parent.getId());
+
+        JsonNode response = sync(token, false);
+        assertEquals(1, find(response.get("deleted"), "personId", parent.getId()).size());
+        assertEquals(1, find(response.get("deleted"), "personId", child.getId()).size());
+        assertTrue(find(response.get("persons"), "id", parent.getId()).isEmpty());
+        assertTrue(find(response.get("edges"), "personId", child.getId()).isEmpty(),
+                "edges to deleted persons go with their tombstones");
+    }
+
+    @Test
+    void sync_WithoutToken_ReturnsEverythingGzipped() throws Exception {
+        PersonDTO husband = personService.createNewPerson(PersonDTO.builder().firstName("Timo").lastName("Full").build());
+        PersonDTO wife = personService.createNewPerson(PersonDTO.builder().firstName("Ulla").lastName("Full").build());
+        personService.setSpouse(husband.getId(), wife.getId());
+
+        JsonNode response = sync(null, true);
+        assertTrue(response.get("full").asBoolean());
+        assertEquals("Full", find(response.get("persons"), "id", husband.getId()).get(0).get("lastName").asText());
+        assertEdge(find(response.get("edges"), "personId", husband.getId()), "SPOUSE", wife.getId(), false);
+        assertFalse(sync(response.get("token").asText(), false).get("full").asBoolean());
+    }
+
+    @Test
+    void sync_WithInvalidToken_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/sync").param("token", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode sync(String token, boolean gzip) throws Exception {
+        var request = get("/api/sync");
+        if (token != null) {
+            request.param("token", token);
+        }
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = result.getResponse().getContentAsByteArray();
+        if (gzip) {
+            assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            }
+        }
+        return objectMapper.readTree(body);
+    }
+
+    private static List<JsonNode> find(JsonNode array, String field, Long id) {
+        List<JsonNode> found = new ArrayList<>();
+        array.forEach(node -> {
+            if (node.get(field).asLong() == id) {
+                found.add(node);
+            }
+        });
+        return found;
+    }
+
+    private static void assertEdge(List<JsonNode> edges, String relation, Long relativeId, boolean removed) {
+        assertTrue(edges.stream().anyMatch(edge -> edge.get("relation").asText().equals(relation)
+                        && edge.get("relativeId").asLong() == relativeId
+                        && edge.get("removed").asBoolean() == removed),
+                () -> "no " + (removed ? "removed " : "") + relation + " edge to " + relativeId + " in " + edges);
+    }
+
+    private long lastLoggedSequence() {
+        return jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from person_changes", Long.class);
+    }
+}
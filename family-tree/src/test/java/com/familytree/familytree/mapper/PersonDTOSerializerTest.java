@@ -0,0 +1,50 @@
+package com.familytree.familytree.mapper;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonDTOSerializerTest {
+
+    private final PersonDTO person = PersonDTO.builder()
+            .id(1L)
+            .firstName("Jane")
+            .lastName("Doe \"Junior\"")
+            .lifeStory("Line one\nLine two")
+            .bornDate(LocalDate.of(1985, 5, 15))
+            .motherId(7L)
+            .build();
+
+    @Test
+    void serialize_MatchesBeanSerializer() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        assertEquals(builder.build().writeValueAsString(person), withSerializer(builder).writeValueAsString(person));
+    }
+
+    @Test
+    void serialize_HonoursInclusionAndDateFormat() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL);
+
+        String json = withSerializer(builder).writeValueAsString(person);
+
+        assertEquals(builder.build().writeValueAsString(person), json);
+        assertTrue(json.contains("\"bornDate\":[1985,5,15]"));
+        assertFalse(json.contains("null"));
+    }
+
+    private static ObjectMapper withSerializer(Jackson2ObjectMapperBuilder builder) {
+        return builder.build().registerModule(new SimpleModule().addSerializer(new PersonDTOSerializer()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.familytree.familytree.offheap;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.exception.PersonNotFoundException;
+import com.familytree.familytree.service.PersonService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("offheap")
+class OffHeapPersonServiceIntegrationTest {
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private OffHeapPersonService offHeapPersonService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void personService_IsServedOffHeap() {
+        assertSame(offHeapPersonService, personService);
+    }
+
+    @Test
+    void writes_AreVisibleToOffHeapReads() {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Heap")
+                .lastName("Offley")
+                .birthPlace("York")
+                .build());
+        PersonDTO child = personService.addChild(parent.getId(), PersonDTO.builder()
+                .firstName("Child")
+                .lastName("Offley")
+                .build());
+        PersonDTO spouse = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Spouse")
+                .lastName("Offley-Smith")
+                .build());
+        personService.setSpouse(parent.getId(), spouse.getId());
+        double hits = hits();
+
+        assertEquals("York", personService.getPerson(parent.getId()).getBirthPlace());
+        assertEquals(spouse.getId(), personService.getPerson(parent.getId()).getSpouseId());
+        assertEquals(parent.getId(), personService.getPerson(spouse.getId()).getSpouseId());
+        assertEquals(List.of(parent.getId(), child.getId()),
+                personService.findPersonByLastName("Offley").stream().map(PersonDTO::getId).toList());
+        assertEquals(hits + 4, hits());
+        assertEquals(parent.getId(), offHeapPersonService.getTable().get(child.getId()).getParentId());
+
+        personService.deleteSpouse(parent.getId());
+        assertNull(personService.getPerson(spouse.getId()).getSpouseId());
+
+        PersonDTO changed = personService.getPerson(parent.getId());
+        changed.setOccupation("Archivist");
+        personService.updatePerson(changed);
+        assertEquals("Archivist", personService.getPerson(parent.getId()).getOccupation());
+        personService.deletePerson(parent.getId());
+        assertNull(offHeapPersonService.getTable().get(child.getId()), "Children are deleted by cascade");
+        assertThrows(PersonNotFoundException.class, () -> personService.getPerson(parent.getId()));
+    }
+
+    @Test
+    void merge_RepointsRelationshipsOffHeap() {
+        PersonDTO mother = personService.createNewPerson(PersonDTO.builder().firstName("Mary").lastName("Merge").build());
+        PersonDTO duplicate = personService.createNewPerson(PersonDTO.builder().firstName("Mary").lastName("Merge")
+                .occupation("Weaver").build());
+        PersonDTO child = personService.createNewPerson(PersonDTO.builder().firstName("Kid").lastName("Merge").build());
+        personService.setMother(child.getId(), duplicate.getId());
+
+        personService.mergePerson(mother.getId(), duplicate.getId());
+
+        assertEquals(mother.getId(), personService.getPerson(child.getId()).getMotherId());
+        assertEquals("Weaver", personService.getPerson(mother.getId()).getOccupation());
+        assertNull(offHeapPersonService.getTable().get(duplicate.getId()));
+    }
+
+    @Test
+    void load_PicksUpRowsWrittenOutsideTheService() {
+        jdbcTemplate.update("insert into lookup_values (text_value) values ('Directly')");
+        jdbcTemplate.update("insert into persons (first_name, last_name_id) "
+                + "select 'Loaded', id from lookup_values where text_value = 'Directly'");
+        assertTrue(personService.findPersonByLastName("Directly").isEmpty());
+
+        offHeapPersonService.load();
+
+        assertEquals(1, personService.findPersonByLastName("Directly").size());
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from persons", Long.class),
+                offHeapPersonService.getTable().size());
+    }
+
+    private double hits() {
+        return meterRegistry.get("familytree.offheap.reads").tag("result", "hit").counter().count();
+    }
+}
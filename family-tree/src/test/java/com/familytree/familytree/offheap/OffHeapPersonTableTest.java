@@ -0,0 +1,142 @@
+package com.familytree.familytree.offheap;
+
+import com.familytree.familytree.event.PersonState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapPersonTableTest {
+
+    private final OffHeapPersonTable table = new OffHeapPersonTable(1024);
+
+    private final PersonState jane = PersonState.builder()
+            .id(7L).firstName("Jane").middleName("Q").lastName("Doe").occupation("Engineer")
+            .lifeStory("Grew up in Leeds — moved to York").bornDate(LocalDate.of(1985, 5, 15))
+            .diedDate(LocalDate.of(2060, 1, 1)).birthPlace("Leeds").currentlyLivesAtAddress("1 Main St")
+            .motherId(3L).fatherId(4L).spouseId(9L).parentId(3L).build();
+
+    @Test
+    void put_RoundTripsEveryField() {
+        table.put(jane);
+        table.put(PersonState.builder().id(8L).firstName("John").lastName("Doe").build());
+
+        assertEquals(jane, table.get(7));
+        assertEquals(PersonState.builder().id(8L).firstName("John").lastName("Doe").build(), table.get(8));
+        assertNull(table.get(6));
+        assertNull(table.get(1_000_000));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void put_ReplacesPersonAndMovesNameChains() {
+        table.put(jane);
+        table.put(PersonState.builder().id(5L).firstName("Jane").lastName("Doe").build());
+        table.put(jane.toBuilder().lastName("Smith").lifeStory(null).build());
+
+        assertEquals(List.of(5L), ids(table.findByLastName("Doe")));
+        assertEquals(List.of(7L), ids(table.findByLastName("Smith")));
+        assertEquals(List.of(5L, 7L), ids(table.findByFirstName("Jane")));
+        assertNull(table.get(7).getLifeStory());
+        assertEquals(2, table.size());
+        assertTrue(table.getGarbageTextBytes() > 0, "The replaced life story is garbage");
+    }
+
+    @Test
+    void remove_UnlinksFromNameChains() {
+        for (long id = 1; id <= 5; id++) {
+            table.put(PersonState.builder().id(id).firstName("P" + id).lastName("Doe").build());
+        }
+        table.remove(3);
+        table.remove(1);
+        table.remove(5);
+        table.remove(42);
+
+        assertEquals(List.of(2L, 4L), ids(table.findByLastName("Doe")));
+        assertNull(table.get(3));
+        assertEquals(2, table.size());
+        assertTrue(table.findByLastName("Unknown").isEmpty());
+    }
+
+    @Test
+    void repoint_RewritesRelationshipsToSurvivor() {
+        table.put(jane);
+
+        table.repoint(List.of(7L, 100L), 3L, 30L);
+
+        assertEquals(30L, table.get(7).getMotherId());
+        assertEquals(30L, table.get(7).getParentId());
+        assertEquals(4L, table.get(7).getFatherId());
+    }
+
+    @Test
+    void put_RejectsTextLargerThanSlab() {
+        table.put(jane);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> table.put(jane.toBuilder().lifeStory("x".repeat(2000)).build()));
+        assertNull(table.get(7));
+        assertEquals(0, table.size());
+        assertTrue(table.findByFirstName("Jane").isEmpty());
+    }
+
+    @Test
+    void put_SpansSlabs() {
+        long far = OffHeapPersonTable.RECORDS_PER_SLAB * 3L + 5;
+        table.put(jane.toBuilder().id(far).build());
+        for (int i = 0; i < 50; i++) {
+            table.put(jane.toBuilder().id(far + 1).lifeStory("story " + i).build());
+        }
+
+        assertEquals(far, table.get(far).getId());
+        assertEquals("story 49", table.get(far + 1).getLifeStory());
+        assertTrue(table.getTextBytes() > 1024, "Text spilled into further slabs");
+    }
+
+    @Test
+    void get_NeverObservesTornRecordsDuringWrites() throws Exception {
+        PersonState first = jane.toBuilder().firstName("Alpha").lifeStory("a".repeat(100)).build();
+        PersonState second = jane.toBuilder().firstName("Omega").lastName("Other").bornDate(null)
+                .lifeStory("b".repeat(50)).spouseId(null).build();
+        OffHeapPersonTable large = new OffHeapPersonTable(1 << 20);
+        large.put(first);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> reads = List.of(readers.submit(() -> readWhile(large, writing, first, second)),
+                    readers.submit(() -> readWhile(large, writing, first, second)));
+            for (int i = 0; i < 20_000; i++) {
+                large.put(i % 2 == 0 ? second : first);
+            }
+            writing.set(false);
+            for (Future<Integer> read : reads) {
+                assertTrue(read.get() > 0);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    private static int readWhile(OffHeapPersonTable table, AtomicBoolean writing, PersonState first,
+                                 PersonState second) {
+        int reads = 0;
+        while (writing.get() || reads == 0) {
+            PersonState read = table.get(7);
+            if (!first.equals(read) && !second.equals(read)) {
+                throw new AssertionError("Torn read: " + read);
+            }
+            reads++;
+        }
+        return reads;
+    }
+
+    private static List<Long> ids(List<PersonState> persons) {
+        return persons.stream().map(PersonState::getId).toList();
+    }
+}
@@ -0,0 +1,168 @@
+package com.familytree.familytree.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Drives an HTTP service at a fixed arrival rate and records per-operation latency in
+ * HdrHistograms.
+ * <p>
+ * Requests are started on their own virtual threads on a fixed schedule, whether or not
+ * earlier requests have completed, and latency is measured from the scheduled start. A
+ * slow server therefore shows up as queueing delay in the percentiles instead of quietly
+ * lowering the request rate (coordinated omission).
+ * </p>
+ */
+final class OpenLoopLoadDriver {
+
+    /**
+     * One kind of request in the mix.
+     *
+     * @param name the operation name used in reports
+     * @param weight the relative frequency of the operation
+     * @param request builds a request for the operation
+     */
+    record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {
+    }
+
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    OpenLoopLoadDriver(HttpClient client, List<Operation> operations) {
+        this.client = client;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    /**
+     * Sends requests at {@code ratePerSecond} for {@code duration} and waits for all of
+     * them to complete.
+     *
+     * @param ratePerSecond the arrival rate
+     * @param duration how long to keep sending
+     * @return the recorded latencies and errors
+     */
+    Results run(int ratePerSecond, Duration duration) {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            histograms.put(operation.name(), new ConcurrentHistogram(3));
+            errors.put(operation.name(), new LongAdder());
+        }
+        long interval = 1_000_000_000L / ratePerSecond;
+        long requests = duration.toNanos() / interval;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick(ThreadLocalRandom.current());
+                executor.execute(() -> {
+                    boolean failed;
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                operation.request().apply(ThreadLocalRandom.current()),
+                                HttpResponse.BodyHandlers.discarding());
+                        failed = response.statusCode() >= 400;
+                    } catch (IOException e) {
+                        failed = true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    histograms.get(operation.name()).recordValue((System.nanoTime() - scheduled) / 1_000);
+                    if (failed) {
+                        errors.get(operation.name()).increment();
+                    }
+                });
+            }
+        }
+        return new Results(histograms, errors, requests, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Operation weights changed");
+    }
+
+    /**
+     * The outcome of a run. Histograms hold latencies in microseconds.
+     *
+     * @param histograms latency per operation
+     * @param errors failed requests per operation
+     * @param sent the number of requests sent
+     * @param elapsed the time from the first request to the last response
+     */
+    record Results(Map<String, Histogram> histograms, Map<String, LongAdder> errors, long sent,
+                   Duration elapsed) {
+
+        double throughput() {
+            return sent / (elapsed.toNanos() / 1e9);
+        }
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        double percentileMillis(String operation, double percentile) {
+            return histograms.get(operation).getValueAtPercentile(percentile) / 1_000.0;
+        }
+
+        void print(PrintStream out) {
+            out.printf("%-20s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            histograms.forEach((name, histogram) -> out.printf("%-20s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, histogram.getTotalCount(), errors.get(name).sum(),
+                    histogram.getValueAtPercentile(50) / 1_000.0, histogram.getValueAtPercentile(90) / 1_000.0,
+                    histogram.getValueAtPercentile(99) / 1_000.0, histogram.getValueAtPercentile(99.9) / 1_000.0,
+                    histogram.getMaxValue() / 1_000.0));
+            out.printf("%,d requests in %.1f s (%.1f req/s)%n", sent, elapsed.toNanos() / 1e9, throughput());
+        }
+
+        /**
+         * Writes the histograms, tagged with their operation names, as an HdrHistogram log
+         * so that runs can be compared with the HdrHistogram tools.
+         */
+        void writeLog(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                HistogramLogWriter writer = new HistogramLogWriter(out);
+                writer.outputLogFormatVersion();
+                writer.outputLegend();
+                histograms.forEach((name, histogram) -> {
+                    histogram.setTag(name);
+                    writer.outputIntervalHistogram(histogram);
+                });
+            }
+        }
+    }
+}
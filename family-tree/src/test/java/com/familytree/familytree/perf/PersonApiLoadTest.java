@@ -0,0 +1,184 @@
+package com.familytree.familytree.perf;
+
+import com.familytree.familytree.FamilyTreeApplication;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test of the person REST API with latency service level objectives.
+ * <p>
+ * Runs the embedded application and drives a mix of lookups, name searches, relationship
+ * edits and creates at a fixed arrival rate. The test fails when an operation's p99
+ * latency exceeds its objective, more than 0.1% of requests fail, or the application
+ * cannot sustain the requested rate. Histograms are written to
+ * {@code target/load-test/person-api.hlog}.
+ * </p>
+ * <p>
+ * Run with {@code mvn test -Pperf -Dtest=PersonApiLoadTest}. The rate and durations can be
+ * changed with {@code -Dload.rate=500 -Dload.duration=PT60S -Dload.warmup=PT10S}, and an
+ * objective with {@code -Dload.slo.get-person=20} (p99 in milliseconds).
+ * </p>
+ */
+@Tag("perf")
+class PersonApiLoadTest {
+
+    private static final int PARENTS = 200;
+    private static final int CHILDREN = 1800;
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Anne", "William", "Sarah", "Thomas", "Emma", "George", "Alice"};
+    private static final Map<String, Double> P99_SLO_MILLIS = Map.of(
+            "get-person", 25.0,
+            "search-first-name", 150.0,
+            "search-last-name", 100.0,
+            "set-mother", 50.0,
+            "set-father", 50.0,
+            "add-child", 50.0,
+            "create-person", 50.0);
+
+    @Test
+    void personApiMeetsLatencyObjectives() throws Exception {
+        int rate = Integer.getInteger("load.rate", 200);
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FamilyTreeApplication.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            Population population = seed(context.getBean(PersonService.class));
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientThreads)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            OpenLoopLoadDriver driver = new OpenLoopLoadDriver(client,
+                    operations("http://localhost:" + port + "/api/person", population));
+
+            driver.run(rate, warmup);
+            OpenLoopLoadDriver.Results results = driver.run(rate, duration);
+            results.print(System.out);
+            results.writeLog(Path.of("target", "load-test", "person-api.hlog"));
+
+            List<String> violations = new ArrayList<>();
+            P99_SLO_MILLIS.forEach((operation, defaultSlo) -> {
+                double slo = Double.parseDouble(System.getProperty("load.slo." + operation, defaultSlo.toString()));
+                double p99 = results.percentileMillis(operation, 99);
+                if (p99 > slo) {
+                    violations.add(String.format("%s p99 %.2f ms > %.2f ms", operation, p99, slo));
+                }
+            });
+            if (results.totalErrors() > results.sent() / 1000) {
+                violations.add(results.totalErrors() + " of " + results.sent() + " requests failed");
+            }
+            if (results.throughput() < rate * 0.95) {
+                violations.add(String.format("sustained %.1f req/s of %d req/s", results.throughput(), rate));
+            }
+            assertTrue(violations.isEmpty(), "Service level objectives violated: " + violations);
+        }
+    }
+
+    /**
+     * The request mix. Relationship edits always point a child at a member of the parent
+     * pool, whose own relationships are never edited, so lookups stay shallow however
+     * long the test runs.
+     */
+    private static List<OpenLoopLoadDriver.Operation> operations(String base, Population population) {
+        return List.of(
+                new OpenLoopLoadDriver.Operation("get-person", 50,
+                        random -> get(base + "/" + population.anyone(random))),
+                new OpenLoopLoadDriver.Operation("search-first-name", 8,
+                        random -> get(base + "/first-name/" + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])),
+                new OpenLoopLoadDriver.Operation("search-last-name", 12,
+                        random -> get(base + "/last-name/" + surname(random.nextInt(100)))),
+                new OpenLoopLoadDriver.Operation("set-mother", 8,
+                        random -> post(base + "/" + population.child(random) + "/mother/" + population.mother(random),
+                                null)),
+                new OpenLoopLoadDriver.Operation("set-father", 7,
+                        random -> post(base + "/" + population.child(random) + "/father/" + population.father(random),
+                                null)),
+                new OpenLoopLoadDriver.Operation("add-child", 5,
+                        random -> post(base + "/" + population.father(random) + "/child", personJson(random))),
+                new OpenLoopLoadDriver.Operation("create-person", 10,
+                        random -> post(base, personJson(random))));
+    }
+
+    private static Population seed(PersonService personService) {
+        List<Long> mothers = new ArrayList<>();
+        List<Long> fathers = new ArrayList<>();
+        List<Long> children = new ArrayList<>();
+        for (int i = 0; i < PARENTS + CHILDREN; i++) {
+            Long id = personService.createNewPerson(PersonDTO.builder()
+                    .firstName(FIRST_NAMES[i % FIRST_NAMES.length])
+                    .lastName(surname(i % 100))
+                    .birthPlace("City" + (i % 20))
+                    .bornDate(LocalDate.of(i < PARENTS ? 1950 : 1980, 1 + i % 12, 1 + i % 28))
+                    .build()).getId();
+            (i >= PARENTS ? children : i % 2 == 0 ? fathers : mothers).add(id);
+        }
+        return new Population(mothers, fathers, children);
+    }
+
+    private static String surname(int index) {
+        return "Surname" + index;
+    }
+
+    private static String personJson(ThreadLocalRandom random) {
+        return "{\"firstName\":\"" + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]
+                + "\",\"lastName\":\"" + surname(random.nextInt(100))
+                + "\",\"birthPlace\":\"City" + random.nextInt(20) + "\",\"bornDate\":\"2001-02-03\"}";
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(10)).build();
+    }
+
+    private static HttpRequest post(String uri, String json) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(json != null ? HttpRequest.BodyPublishers.ofString(json) : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private record Population(List<Long> mothers, List<Long> fathers, List<Long> children) {
+
+        long mother(ThreadLocalRandom random) {
+            return mothers.get(random.nextInt(mothers.size()));
+        }
+
+        long father(ThreadLocalRandom random) {
+            return fathers.get(random.nextInt(fathers.size()));
+        }
+
+        long child(ThreadLocalRandom random) {
+            return children.get(random.nextInt(children.size()));
+        }
+
+        long anyone(ThreadLocalRandom random) {
+            int index = random.nextInt(mothers.size() + fathers.size() + children.size());
+            return index < children.size() ? children.get(index)
+                    : index < children.size() + mothers.size() ? mothers.get(index - children.size())
+                    : fathers.get(index - children.size() - mothers.size());
+        }
+    }
+}
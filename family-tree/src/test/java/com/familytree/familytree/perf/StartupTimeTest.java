@@ -0,0 +1,142 @@
+package com.familytree.familytree.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the time from process launch until the application answers its health check,
+ * for every packaging of the application that has been built.
+ * <p>
+ * Build the variants first, then run the test:
+ * <pre>
+ * mvn -Paot,cds package -DskipTests
+ * mvn -Pnative native:compile          # optional, with GraalVM
+ * mvn test -Pperf -Dtest=StartupTimeTest
+ * </pre>
+ * Variants whose artifacts are missing are skipped. {@code -Dstartup.runs=10} changes the
+ * number of launches per variant.
+ * </p>
+ */
+@Tag("perf")
+class StartupTimeTest {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path CDS = TARGET.resolve("cds");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @Test
+    void compareStartupTimes() throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        Map<String, List<String>> variants = variants();
+        assertFalse(variants.isEmpty(), "No packaged application in target/; run mvn package first");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        System.out.printf("%-22s %10s %10s %10s%n", "variant", "min ms", "median ms", "max ms");
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = launch(client, variant.getValue());
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-22s %10d %10d %10d%n",
+                    variant.getKey(), millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    private Map<String, List<String>> variants() throws IOException {
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        String aot = "-Dspring.aot.enabled=" + Files.exists(
+                Path.of("target", "classes", "com", "familytree", "familytree",
+                        "FamilyTreeApplication__ApplicationContextInitializer.class"));
+        Path jar = find(TARGET, "-exec.jar");
+        if (jar != null) {
+            variants.put("fat jar", List.of(java(), aot, "-jar", jar.toString()));
+        }
+        Path extracted = find(CDS, "-exec.jar");
+        if (extracted != null) {
+            variants.put("extracted jar", List.of(java(), aot, "-jar", extracted.toString()));
+            Path archive = CDS.resolve("family-tree.jsa");
+            if (Files.exists(archive)) {
+                variants.put("extracted jar + cds", List.of(java(), aot,
+                        "-XX:SharedArchiveFile=" + archive, "-jar", extracted.toString()));
+            }
+        }
+        Path nativeImage = TARGET.resolve("family-tree");
+        if (Files.isExecutable(nativeImage) && !Files.isDirectory(nativeImage)) {
+            variants.put("native image", List.of(nativeImage.toString()));
+        }
+        return variants;
+    }
+
+    private long launch(HttpClient client, List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--logging.level.root=WARN");
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    fail("Application exited with " + process.exitValue() + ": " + arguments);
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(10);
+            }
+            return fail("Application did not become healthy within " + TIMEOUT + ": " + arguments);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Path find(Path directory, String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).findFirst().orElse(null);
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.familytree.familytree.perf;
+
+import com.familytree.familytree.FamilyTreeApplication;
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares throughput and tail latency of the platform request thread pool against
+ * virtual-thread request handling under the same mixed workload.
+ * <p>
+ * Run with {@code mvn test -Pperf -Dtest=ThreadModeLoadTest}.
+ * </p>
+ */
+@Tag("perf")
+class ThreadModeLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final int SEED_PERSONS = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareThreadModes() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FamilyTreeApplication.class)
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=50")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> ids = seed(context.getBean(PersonService.class));
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder().executor(clients).build();
+                drive(clients, client, port, ids, WARMUP);
+                return drive(clients, client, port, ids, MEASUREMENT);
+            }
+        }
+    }
+
+    private List<Long> seed(PersonService personService) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SEED_PERSONS; i++) {
+            ids.add(personService.createNewPerson(PersonDTO.builder()
+                    .firstName("Load" + i)
+                    .lastName("Surname" + (i % 50))
+                    .birthPlace("City" + (i % 20))
+                    .bornDate(LocalDate.of(1900 + i % 100, 1, 1))
+                    .build()).getId());
+        }
+        return ids;
+    }
+
+    private LoadResult drive(ExecutorService clients, HttpClient client, int port, List<Long> ids,
+                             Duration duration) throws Exception {
+        String base = "http://localhost:" + port + "/api/person";
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = nextRequest(base, ids, random);
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = System.nanoTime() - start;
+                    if (response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = elapsed;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            all.add(result.get());
+        }
+        long[] merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new LoadResult(merged.length / (double) duration.toSeconds(),
+                percentile(merged, 0.50), percentile(merged, 0.99), errors.get());
+    }
+
+    private HttpRequest nextRequest(String base, List<Long> ids, ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 80) {
+            return HttpRequest.newBuilder(URI.create(base + "/" + ids.get(random.nextInt(ids.size())))).build();
+        }
+        if (roll < 90) {
+            return HttpRequest.newBuilder(URI.create(base + "/last-name/Surname" + random.nextInt(50))).build();
+        }
+        String body = "{\"firstName\":\"Created\",\"lastName\":\"Load\",\"bornDate\":\"1990-01-01\"}";
+        return HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(double throughput, double p50Millis, double p99Millis, long errors) {
+        String format(String mode) {
+            return String.format("%-10s %12.1f %10.2f %10.2f %8d", mode, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
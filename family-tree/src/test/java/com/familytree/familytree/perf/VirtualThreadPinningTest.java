@@ -0,0 +1,103 @@
+package com.familytree.familytree.perf;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the JDBC stack does not pin carrier threads when PersonService work runs
+ * on virtual threads.
+ * <p>
+ * Far more virtual threads than pooled connections run service calls concurrently, so
+ * threads park both inside HikariCP (waiting for a connection) and inside H2 (waiting
+ * for row locks). Any {@code jdk.VirtualThreadPinned} event whose stack passes through
+ * HikariCP or H2 fails the test. Run with {@code mvn test -Pperf}.
+ * </p>
+ */
+@Tag("perf")
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.jpa.show-sql=false"
+})
+class VirtualThreadPinningTest {
+
+    private static final int TASKS = 500;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void jdbcStackDoesNotPinCarriers() throws Exception {
+        PersonDTO parent = personService.createNewPerson(PersonDTO.builder()
+                .firstName("Pinned")
+                .lastName("Parent")
+                .build());
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < TASKS; i++) {
+                    int n = i;
+                    futures.add(executor.submit(() -> {
+                        PersonDTO child = personService.addChild(parent.getId(), PersonDTO.builder()
+                                .firstName("Child" + n)
+                                .lastName("Parent")
+                                .bornDate(LocalDate.of(2000, 1, 1))
+                                .build());
+                        personService.getPerson(child.getId());
+                        personService.findPersonByLastName("Parent");
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> offenders = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                .map(VirtualThreadPinningTest::jdbcFrame)
+                .filter(frame -> frame != null)
+                .distinct()
+                .collect(Collectors.toList());
+        Files.deleteIfExists(dump);
+        assertTrue(offenders.isEmpty(), "Carrier pinned in: " + offenders);
+    }
+
+    private static String jdbcFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return null;
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.zaxxer.hikari.") || type.startsWith("org.h2.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.familytree.familytree.perf;
+
+import com.familytree.familytree.codec.PersonProtobufCodec;
+import com.familytree.familytree.config.WireFormatConfig;
+import com.familytree.familytree.dto.PersonDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.protobuf.CodedInputStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares payload size and encode/decode CPU time of the JSON, CBOR, Smile and protobuf
+ * representations of a page of persons.
+ * <p>
+ * The mappers are configured as in the application. Run with
+ * {@code mvn test -Pperf -Dtest=WireFormatBenchmarkTest}.
+ * </p>
+ */
+@Tag("perf")
+class WireFormatBenchmarkTest {
+
+    private static final int PERSONS = 1000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private static final TypeReference<List<PersonDTO>> PERSON_LIST = new TypeReference<>() {
+    };
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareWireFormats() throws Exception {
+        List<PersonDTO> persons = persons();
+        WireFormatConfig config = new WireFormatConfig();
+        ObjectMapper json = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        ObjectMapper smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        List<Result> results = List.of(
+                measure("json", persons, json::writeValueAsBytes, bytes -> json.readValue(bytes, PERSON_LIST)),
+                measure("cbor", persons, cbor::writeValueAsBytes, bytes -> cbor.readValue(bytes, PERSON_LIST)),
+                measure("smile", persons, smile::writeValueAsBytes, bytes -> smile.readValue(bytes, PERSON_LIST)),
+                measure("protobuf", persons, PersonProtobufCodec::encodeList,
+                        bytes -> PersonProtobufCodec.decodeList(CodedInputStream.newInstance(bytes))));
+
+        System.out.printf("%-10s %12s %16s %16s%n", "format", "bytes", "encode cpu us", "decode cpu us");
+        results.forEach(result -> System.out.printf("%-10s %12d %16.1f %16.1f%n",
+                result.format(), result.bytes(), result.encodeMicros(), result.decodeMicros()));
+        Result jsonResult = results.get(0);
+        results.stream().skip(1).forEach(result -> assertTrue(result.bytes() < jsonResult.bytes(),
+                result.format() + " should be smaller than json"));
+    }
+
+    private Result measure(String format, List<PersonDTO> persons, Encoder encoder, Decoder decoder)
+            throws Exception {
+        byte[] bytes = encoder.encode(persons);
+        assertEquals(persons, decoder.decode(bytes), format + " must round-trip");
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            decoder.decode(encoder.encode(persons));
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            encoder.encode(persons);
+        }
+        long encodeNanos = threads.getCurrentThreadCpuTime() - start;
+        start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            decoder.decode(bytes);
+        }
+        long decodeNanos = threads.getCurrentThreadCpuTime() - start;
+        return new Result(format, bytes.length, encodeNanos / 1000.0 / MEASURED_ROUNDS,
+                decodeNanos / 1000.0 / MEASURED_ROUNDS);
+    }
+
+    private static List<PersonDTO> persons() {
+        String[] firstNames = {"John", "Mary", "Anna", "Peter", "Elisabeth", "Karl", "Sophie", "Heinrich"};
+        String[] lastNames = {"Smith", "Müller", "Johnson", "Schneider", "Brown", "Fischer", "Weber"};
+        String[] places = {"Vienna", "Boston", "Hamburg", "New York", "Zürich", "London"};
+        Random random = new Random(42);
+        List<PersonDTO> persons = new ArrayList<>(PERSONS);
+        for (long id = 1; id <= PERSONS; id++) {
+            LocalDate born = LocalDate.of(1850 + random.nextInt(150), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            persons.add(PersonDTO.builder()
+                    .id(id)
+                    .firstName(firstNames[random.nextInt(firstNames.length)])
+                    .lastName(lastNames[random.nextInt(lastNames.length)])
+                    .occupation(random.nextBoolean() ? "Farmer" : null)
+                    .bornDate(born)
+                    .diedDate(random.nextBoolean() ? born.plusYears(40 + random.nextInt(50)) : null)
+                    .birthPlace(places[random.nextInt(places.length)])
+                    .motherId(id > 2 ? (long) random.nextInt((int) id - 1) + 1 : null)
+                    .fatherId(id > 2 ? (long) random.nextInt((int) id - 1) + 1 : null)
+                    .build());
+        }
+        return persons;
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode(List<PersonDTO> persons) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        List<PersonDTO> decode(byte[] bytes) throws Exception;
+    }
+
+    private record Result(String format, int bytes, double encodeMicros, double decodeMicros) {
+    }
+}
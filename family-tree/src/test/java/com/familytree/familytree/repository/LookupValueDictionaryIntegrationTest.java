@@ -0,0 +1,59 @@
+package com.familytree.familytree.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LookupValueDictionaryIntegrationTest {
+
+    @Autowired
+    private LookupValueDictionary dictionary;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void intern_IsCachedOnlyOnceTheTransactionCommits() {
+        String committed = "Committed-" + UUID.randomUUID();
+        String rolledBack = "RolledBack-" + UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            int size = dictionary.size();
+            dictionary.intern(committed);
+            assertNotEquals(LookupValueDictionary.NO_SUCH_VALUE, dictionary.idOf(committed));
+            assertEquals(size, dictionary.size(), "not shared before the commit");
+        });
+        transaction.executeWithoutResult(status -> {
+            dictionary.intern(rolledBack);
+            status.setRollbackOnly();
+        });
+
+        long misses = dictionary.getMissCount();
+        assertEquals(committed, dictionary.valueOf(dictionary.idOf(committed)));
+        assertEquals(misses, dictionary.getMissCount());
+        assertEquals(LookupValueDictionary.NO_SUCH_VALUE, dictionary.idOf(rolledBack));
+    }
+
+    @Test
+    void idOf_UnknownValue_ReadsTableOnce() {
+        String unknown = "Unknown-" + UUID.randomUUID();
+        long hits = dictionary.getHitCount();
+        long misses = dictionary.getMissCount();
+
+        assertEquals(LookupValueDictionary.NO_SUCH_VALUE, dictionary.idOf(unknown));
+        assertEquals(LookupValueDictionary.NO_SUCH_VALUE, dictionary.idOf(unknown));
+
+        assertEquals(misses + 1, dictionary.getMissCount());
+        assertEquals(hits + 1, dictionary.getHitCount());
+        dictionary.intern(unknown);
+        assertNotEquals(LookupValueDictionary.NO_SUCH_VALUE, dictionary.idOf(unknown), "adding a value forgets the miss");
+    }
+}
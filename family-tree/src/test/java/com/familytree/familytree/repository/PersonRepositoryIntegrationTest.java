@@ -6,19 +6,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(LookupValueDictionary.class)
 class PersonRepositoryIntegrationTest {
 
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private PersonRepository personRepository;
 
@@ -81,6 +89,32 @@ class PersonRepositoryIntegrationTest {
         assertEquals("Engineer", found.get(0).getOccupation());
     }
 
+    @Test
+    void findByOccupation_UnknownValue_ReturnsEmptyWithoutAddingIt() {
+        assertTrue(personRepository.findByOccupation("Astronaut").isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from lookup_values where text_value = 'Astronaut'", Integer.class));
+    }
+
+    @Test
+    void dictionaryEncodedColumns_StoreLookupIdsAndShareInstances() {
+        Person sibling = new Person();
+        sibling.setFirstName("Jane");
+        sibling.setLastName(new String("Doe"));
+        sibling.setBirthPlace(new String("New York"));
+        entityManager.persist(sibling);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, jdbcTemplate.queryForObject("select count(distinct last_name_id) from persons", Integer.class));
+        assertEquals("New York", jdbcTemplate.queryForObject("select l.text_value from persons p "
+                + "join lookup_values l on l.id = p.birth_place_id where p.id = ?", String.class, sibling.getId()));
+        Person first = personRepository.findById(person.getId()).orElseThrow();
+        Person second = personRepository.findById(sibling.getId()).orElseThrow();
+        assertSame(first.getLastName(), second.getLastName());
+        assertSame(first.getBirthPlace(), second.getBirthPlace());
+    }
+
     @Test
     void findByBornDateBetween_Success() {
         LocalDate startDate = LocalDate.of(1979, 1, 1);
@@ -134,4 +168,32 @@ class PersonRepositoryIntegrationTest {
         assertFalse(found.isEmpty());
         assertEquals(2, found.size()); // Both person and spouse should be found
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findFieldsById_SelectsOnlyRequestedFields() {
+        Person mother = new Person();
+        mother.setFirstName("Mary");
+        mother.setLastName("Doe");
+        person.setMother(entityManager.persist(mother));
+        entityManager.flush();
+
+        Optional<Map<String, Object>> found = personRepository.findFieldsById(person.getId(),
+                EnumSet.of(PersonField.LAST_NAME, PersonField.ID, PersonField.MOTHER_ID, PersonField.DIED_DATE));
+
+        assertTrue(found.isPresent());
+        assertEquals(List.of("id", "lastName", "diedDate", "motherId"), List.copyOf(found.get().keySet()));
+        assertEquals(person.getId(), found.get().get("id"));
+        assertEquals("Doe", found.get().get("lastName"));
+        assertNull(found.get().get("diedDate"));
+        assertEquals(mother.getId(), found.get().get("motherId"));
+    }
+
+    @Test
+    void findFieldsByLastName_Success() {
+        List<Map<String, Object>> found = personRepository.findFieldsByLastName("Doe",
+                EnumSet.of(PersonField.FIRST_NAME, PersonField.BORN_DATE));
+
+        assertEquals(List.of(Map.of("firstName", "John", "bornDate", LocalDate.of(1980, 1, 1))), found);
+        assertTrue(personRepository.findFieldsById(-1L, EnumSet.of(PersonField.ID)).isEmpty());
+    }
+}
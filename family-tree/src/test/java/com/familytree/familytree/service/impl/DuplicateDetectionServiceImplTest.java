@@ -0,0 +1,152 @@
+package com.familytree.familytree.service.impl;
+
+import com.familytree.familytree.dto.DedupScanRequest;
+import com.familytree.familytree.dto.DuplicateCandidateDTO;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonMatchView;
+import com.familytree.familytree.store.PersonStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateDetectionServiceImplTest {
+
+    @Mock
+    private PersonStore personStore;
+
+    private DuplicateDetectionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DuplicateDetectionServiceImpl(personStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void score_IdenticalPersonsScoreOne() {
+        PersonMatchView a = view(1L, "John", "Smith", LocalDate.of(1900, 3, 4), "Leeds");
+        PersonMatchView b = view(2L, "john", "SMITH", LocalDate.of(1900, 3, 4), "leeds");
+
+        DuplicateCandidateDTO candidate = DuplicateDetectionServiceImpl.score(a, b);
+
+        assertEquals(1.0, candidate.getScore(), 1e-9);
+        assertEquals(1.0, candidate.getNameScore(), 1e-9);
+        assertEquals(1.0, candidate.getDateScore(), 1e-9);
+        assertEquals(1.0, candidate.getPlaceScore(), 1e-9);
+    }
+
+    @Test
+    void score_OrdersIdsAndIsSymmetric() {
+        PersonMatchView a = view(7L, "Jon", "Smyth", LocalDate.of(1900, 3, 4), "Leeds");
+        PersonMatchView b = view(3L, "John", "Smith", LocalDate.of(1900, 4, 3), null);
+
+        DuplicateCandidateDTO forward = DuplicateDetectionServiceImpl.score(a, b);
+        DuplicateCandidateDTO backward = DuplicateDetectionServiceImpl.score(b, a);
+
+        assertEquals(3L, forward.getPersonId());
+        assertEquals(7L, forward.getDuplicateId());
+        assertEquals(forward, backward);
+    }
+
+    @Test
+    void score_DateAndPlaceComponents() {
+        LocalDate born = LocalDate.of(1900, 3, 4);
+        assertEquals(0.8, DuplicateDetectionServiceImpl.score(
+                view(1L, "A", "B", born, null), view(2L, "A", "B", LocalDate.of(1900, 4, 3), null)).getDateScore());
+        assertEquals(0.7, DuplicateDetectionServiceImpl.score(
+                view(1L, "A", "B", born, null), view(2L, "A", "B", LocalDate.of(1900, 3, 20), null)).getDateScore());
+        assertEquals(0.5, DuplicateDetectionServiceImpl.score(
+                view(1L, "A", "B", born, null), view(2L, "A", "B", LocalDate.of(1900, 9, 20), null)).getDateScore());
+        assertEquals(0.0, DuplicateDetectionServiceImpl.score(
+                view(1L, "A", "B", born, null), view(2L, "A", "B", LocalDate.of(1950, 3, 4), null)).getDateScore());
+        DuplicateCandidateDTO unknown = DuplicateDetectionServiceImpl.score(
+                view(1L, "A", "B", null, null), view(2L, "A", "B", born, "Leeds"));
+        assertEquals(0.5, unknown.getDateScore());
+        assertEquals(0.5, unknown.getPlaceScore());
+    }
+
+    @Test
+    void scan_ReturnsBestCandidatesUpToLimit() {
+        List<PersonState> states = new ArrayList<>();
+        IntStream.rangeClosed(1, 400).forEach(i -> states.add(PersonState.builder()
+                .id((long) i).firstName("Name" + (char) ('a' + i % 26)).lastName("Smith").build()));
+        doAnswer(invocation -> {
+            Consumer<PersonState> action = invocation.getArgument(0);
+            states.forEach(action);
+            return null;
+        }).when(personStore).forEachState(any());
+
+        List<DuplicateCandidateDTO> all = service.scan(request(0.0, 100_000, 5000));
+        List<DuplicateCandidateDTO> top = service.scan(request(0.0, 25, 5000));
+
+        assertEquals(400 * 399 / 2, all.size());
+        assertEquals(all.subList(0, 25), top);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(DuplicateDetectionServiceImpl.RANKING.compare(all.get(i - 1), all.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void slice_SplitsOversizedBlocksRecursively() {
+        List<PersonMatchView> block = new ArrayList<>();
+        IntStream.range(0, 30).forEach(i -> block.add(view((long) i, "Ma" + (char) ('a' + i % 3), "Smith", null, null)));
+
+        List<DuplicateDetectionServiceImpl.ScoreSlice> slices = DuplicateDetectionServiceImpl.slice(List.of(block), 10);
+
+        // One initial and one two-letter prefix: only the three-letter prefixes fit
+        assertEquals(3, slices.stream().map(DuplicateDetectionServiceImpl.ScoreSlice::block).distinct().count());
+        assertTrue(slices.stream().allMatch(slice -> slice.block().size() <= 10));
+    }
+
+    @Test
+    void slice_SkipsBlocksThatCannotBeSplit() {
+        List<PersonMatchView> block = new ArrayList<>();
+        IntStream.range(0, 12).forEach(i -> block.add(view((long) i, "Mary", "Smith", null, "Leeds")));
+        List<PersonMatchView> small = List.of(view(100L, "Anna", "Jones", null, null),
+                view(101L, "Anne", "Jones", null, null));
+
+        List<DuplicateDetectionServiceImpl.ScoreSlice> slices =
+                DuplicateDetectionServiceImpl.slice(List.of(block, small), 10);
+
+        assertEquals(1, slices.size());
+        assertSame(small, slices.get(0).block());
+    }
+
+    @Test
+    void scan_RejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> service.scan(request(1.5, 10, 10)));
+        assertThrows(IllegalArgumentException.class, () -> service.scan(request(0.5, 0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> service.scan(request(0.5, 10, 1)));
+    }
+
+    private static DedupScanRequest request(double minScore, int limit, int maxBlockSize) {
+        DedupScanRequest request = new DedupScanRequest();
+        request.setMinScore(minScore);
+        request.setLimit(limit);
+        request.setMaxBlockSize(maxBlockSize);
+        return request;
+    }
+
+    private static PersonMatchView view(Long id, String firstName, String lastName, LocalDate bornDate,
+                                        String birthPlace) {
+        return new PersonMatchView(id, firstName, null, lastName, bornDate, birthPlace);
+    }
+}
@@ -2,14 +2,20 @@ package com.familytree.familytree.service.impl;
 
 import com.familytree.familytree.dto.PersonDTO;
 import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonChangeEvent;
 import com.familytree.familytree.exception.PersonNotFoundException;
+import com.familytree.familytree.mapper.PersonMapper;
 import com.familytree.familytree.repository.PersonRepository;
+import com.familytree.familytree.store.JpaPersonStore;
+import com.familytree.familytree.store.PersonStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.sql.DataSource;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -26,7 +32,9 @@ class PersonServiceImplTest {
     @Mock
     private PersonRepository personRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private PersonServiceImpl personService;
 
     private Person person;
@@ -34,6 +42,9 @@ class PersonServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        PersonStore personStore = new JpaPersonStore(personRepository, mock(DataSource.class));
+        personService = new PersonServiceImpl(personStore, new PersonMapper(personStore), eventPublisher);
+
         person = new Person();
         person.setId(1L);
         person.setFirstName("John");
@@ -62,6 +73,7 @@ class PersonServiceImplTest {
         assertEquals(personDTO.getFirstName(), result.getFirstName());
         assertEquals(personDTO.getLastName(), result.getLastName());
         verify(personRepository, times(1)).save(any(Person.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PersonChangeEvent.class));
     }
 
     @Test
@@ -117,6 +129,7 @@ class PersonServiceImplTest {
 
         verify(personRepository, times(1)).findById(1L);
         verify(personRepository, times(1)).delete(person);
+        verify(eventPublisher, times(1)).publishEvent(any(PersonChangeEvent.class));
     }
 
     @Test
@@ -126,5 +139,6 @@ class PersonServiceImplTest {
         assertThrows(PersonNotFoundException.class, () -> personService.deletePerson(1L));
         verify(personRepository, times(1)).findById(1L);
         verify(personRepository, never()).delete(any(Person.class));
+        verifyNoInteractions(eventPublisher);
     }
 } 
\ No newline at end of file
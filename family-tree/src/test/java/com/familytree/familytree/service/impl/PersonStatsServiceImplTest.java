@@ -0,0 +1,133 @@
+package com.familytree.familytree.service.impl;
+
+import com.familytree.familytree.dto.PersonStatsDTO;
+import com.familytree.familytree.event.PersonChangeEvent;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.store.PersonStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonStatsServiceImplTest {
+
+    @Mock
+    private PersonStore personStore;
+
+    @InjectMocks
+    private PersonStatsServiceImpl personStatsService;
+
+    private PersonState john;
+
+    @BeforeEach
+    void setUp() {
+        john = PersonState.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .occupation("Engineer")
+                .birthPlace("New York")
+                .bornDate(LocalDate.of(1983, 1, 1))
+                .build();
+    }
+
+    @Test
+    void initialize_SeedsFromStoredStates() {
+        List<PersonState> stored = List.of(
+                john.toBuilder().spouseId(2L).build(),
+                PersonState.builder().id(2L).lastName("Doe").birthPlace("London")
+                        .bornDate(LocalDate.of(1989, 5, 1)).spouseId(1L).parentId(1L).build(),
+                PersonState.builder().id(3L).lastName("Doe").bornDate(LocalDate.of(1981, 2, 1))
+                        .diedDate(LocalDate.of(2010, 1, 1)).build());
+        doAnswer(invocation -> {
+            Consumer<PersonState> action = invocation.getArgument(0);
+            stored.forEach(action);
+            return null;
+        }).when(personStore).forEachState(any());
+
+        personStatsService.initialize();
+        PersonStatsDTO stats = personStatsService.getStats();
+
+        assertEquals(3, stats.getTotalPersons());
+        assertEquals(2, stats.getLiving());
+        assertEquals(1, stats.getDeceased());
+        assertEquals(2, stats.getMarried());
+        assertEquals(1, stats.getParents());
+        assertEquals(3L, stats.getBySurname().get("Doe"));
+        assertEquals(3L, stats.getByBirthDecade().get(1980));
+    }
+
+    @Test
+    void onPersonChange_Created() {
+        personStatsService.onPersonChange(PersonChangeEvent.created(john));
+
+        PersonStatsDTO stats = personStatsService.getStats();
+        assertEquals(1, stats.getTotalPersons());
+        assertEquals(1, stats.getLiving());
+        assertEquals(1L, stats.getBySurname().get("Doe"));
+        assertEquals(1L, stats.getByOccupation().get("Engineer"));
+        assertEquals(1L, stats.getByBirthDecade().get(1980));
+        verifyNoInteractions(personStore);
+    }
+
+    @Test
+    void onPersonChange_UpdatedMovesCounts() {
+        personStatsService.onPersonChange(PersonChangeEvent.created(john));
+        PersonState updated = john.toBuilder()
+                .occupation("Manager")
+                .spouseId(2L)
+                .parentId(3L)
+                .diedDate(LocalDate.of(2020, 1, 1))
+                .build();
+
+        personStatsService.onPersonChange(PersonChangeEvent.updated(john, updated));
+
+        PersonStatsDTO stats = personStatsService.getStats();
+        assertEquals(1, stats.getTotalPersons());
+        assertEquals(0, stats.getLiving());
+        assertEquals(1, stats.getDeceased());
+        assertEquals(1, stats.getMarried());
+        assertEquals(1, stats.getParents());
+        assertFalse(stats.getByOccupation().containsKey("Engineer"));
+        assertEquals(1L, stats.getByOccupation().get("Manager"));
+    }
+
+    @Test
+    void onPersonChange_DeletedRemovesKeys() {
+        personStatsService.onPersonChange(PersonChangeEvent.created(john));
+
+        personStatsService.onPersonChange(PersonChangeEvent.deleted(john));
+
+        PersonStatsDTO stats = personStatsService.getStats();
+        assertEquals(0, stats.getTotalPersons());
+        assertTrue(stats.getBySurname().isEmpty());
+        assertTrue(stats.getByBirthDecade().isEmpty());
+    }
+
+    @Test
+    void onPersonChange_MergedTransfersChildren() {
+        PersonState duplicate = john.toBuilder().id(2L).build();
+        personStatsService.onPersonChange(PersonChangeEvent.created(john));
+        personStatsService.onPersonChange(PersonChangeEvent.created(duplicate));
+        personStatsService.onPersonChange(PersonChangeEvent.created(
+                PersonState.builder().id(3L).lastName("Doe").parentId(2L).build()));
+
+        personStatsService.onPersonChange(PersonChangeEvent.merged(duplicate, 1L, List.of(3L)));
+
+        PersonStatsDTO stats = personStatsService.getStats();
+        assertEquals(2, stats.getTotalPersons());
+        assertEquals(1, stats.getParents());
+        assertEquals(2L, stats.getBySurname().get("Doe"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.familytree.familytree.snapshot;
+
+import com.familytree.familytree.event.PersonState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final PersonState grandfather = PersonState.builder()
+            .id(1L).firstName("Arthur").lastName("Pendragon").bornDate(LocalDate.of(1900, 1, 1))
+            .diedDate(LocalDate.of(1970, 6, 30)).build();
+    private final PersonState mother = PersonState.builder()
+            .id(3L).firstName("Ygraine").lastName("Pendragon").parentId(1L).spouseId(4L)
+            .lifeStory("Born in Tintagel, married in Camelot — twice").build();
+    private final PersonState father = PersonState.builder()
+            .id(4L).firstName("Uther").middleName("").lastName("Pendragon").spouseId(3L).build();
+    private final PersonState child = PersonState.builder()
+            .id(9L).firstName("Morgan").lastName("Pendragon").motherId(3L).fatherId(4L).parentId(3L)
+            .birthPlace("Tintagel").bornDate(LocalDate.of(1950, 2, 3)).build();
+    private final PersonState orphan = PersonState.builder()
+            .id(12L).firstName("Mordred").lastName("Orkney").motherId(99L).build();
+
+    @Test
+    void roundTrip_PreservesEveryField() throws IOException {
+        PersonSnapshot snapshot = write(grandfather, mother, father, child, orphan);
+
+        assertEquals(5, snapshot.size());
+        for (PersonState person : List.of(grandfather, mother, father, child)) {
+            assertEquals(person, snapshot.find(person.getId()).orElseThrow());
+        }
+        assertNull(snapshot.middleName(snapshot.rowOf(1)));
+        assertEquals("", snapshot.middleName(snapshot.rowOf(4)));
+    }
+
+    @Test
+    void relationships_AreStoredAsRows() throws IOException {
+        PersonSnapshot snapshot = write(grandfather, mother, father, child, orphan);
+        int childRow = snapshot.rowOf(9);
+
+        assertEquals(3, snapshot.id(snapshot.mother(childRow)));
+        assertEquals(4, snapshot.id(snapshot.father(childRow)));
+        assertEquals(snapshot.rowOf(4), snapshot.spouse(snapshot.rowOf(3)));
+        assertEquals(PersonSnapshot.NO_ROW, snapshot.spouse(childRow));
+        // A relationship to a person outside the snapshot is dropped
+        assertEquals(PersonSnapshot.NO_ROW, snapshot.mother(snapshot.rowOf(12)));
+        assertNull(snapshot.state(snapshot.rowOf(12)).getMotherId());
+        assertEquals(PersonSnapshot.NO_ROW, snapshot.rowOf(2));
+        assertTrue(snapshot.find(2).isEmpty());
+    }
+
+    @Test
+    void children_IndexParentMotherAndFatherOnce() throws IOException {
+        PersonSnapshot snapshot = write(grandfather, mother, father, child, orphan);
+
+        // Morgan has Ygraine as both mother and parent; she is counted once
+        int motherRow = snapshot.rowOf(3);
+        assertEquals(1, snapshot.childCount(motherRow));
+        assertEquals(9, snapshot.id(snapshot.child(motherRow, 0)));
+        assertEquals(1, snapshot.childCount(snapshot.rowOf(4)));
+        assertEquals(3, snapshot.id(snapshot.child(snapshot.rowOf(1), 0)));
+        assertEquals(0, snapshot.childCount(snapshot.rowOf(9)));
+        assertEquals(3, snapshot.childLinks());
+    }
+
+    @Test
+    void write_RejectsUnorderedIds() throws IOException {
+        try (PersonSnapshotWriter writer = new PersonSnapshotWriter(directory.resolve("tree.snapshot"))) {
+            writer.add(mother);
+            assertThrows(IllegalArgumentException.class, () -> writer.add(grandfather));
+        }
+        assertFalse(Files.exists(directory.resolve("tree.snapshot")));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count(), "Spool files are removed");
+        }
+    }
+
+    @Test
+    void write_ReplacesExistingSnapshot() throws IOException {
+        write(grandfather, mother);
+        PersonSnapshot snapshot = write(father);
+
+        assertEquals(1, snapshot.size());
+        assertEquals("Uther", snapshot.firstName(0));
+    }
+
+    @Test
+    void open_RejectsOtherVersions() throws IOException {
+        Path file = write(grandfather).getFile();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, PersonSnapshotFormat.VERSION + 1), 4);
+        }
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> PersonSnapshot.open(file));
+        assertTrue(e.getMessage().contains("Unsupported person snapshot version"));
+    }
+
+    @Test
+    void open_RejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(directory.resolve("tree.snapshot"), "not a snapshot");
+
+        assertThrows(IllegalStateException.class, () -> PersonSnapshot.open(file));
+    }
+
+    private PersonSnapshot write(PersonState... persons) throws IOException {
+        try (PersonSnapshotWriter writer = new PersonSnapshotWriter(directory.resolve("tree.snapshot"))) {
+            for (PersonState person : persons) {
+                writer.add(person);
+            }
+            return PersonSnapshot.open(writer.finish());
+        }
+    }
+}
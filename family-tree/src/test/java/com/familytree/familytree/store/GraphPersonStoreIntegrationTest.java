@@ -0,0 +1,116 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.dto.PersonDTO;
+import com.familytree.familytree.service.PersonService;
+import com.familytree.familytree.sync.DeltaSyncService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("graph")
+class GraphPersonStoreIntegrationTest {
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonStore personStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void graphDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("graph-store").toString();
+        registry.add("familytree.store.graph.directory", () -> directory);
+    }
+
+    @Test
+    void personService_IsBackedByGraphStore() {
+        assertInstanceOf(GraphPersonStore.class, personStore);
+
+        PersonDTO mother = personService.createNewPerson(PersonDTO.builder().firstName("Gail").lastName("Graf").build());
+        PersonDTO child = personService.addChild(mother.getId(), PersonDTO.builder().firstName("Gus").build());
+        personService.setMother(child.getId(), mother.getId());
+
+        assertEquals(mother.getId(), personService.getPerson(child.getId()).getMotherId());
+        assertEquals(List.of(child.getId()),
+                personService.findChildren(List.of(mother.getId())).get(mother.getId()).stream()
+                        .map(PersonDTO::getId).toList());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from persons where first_name = 'Gail'", Integer.class));
+    }
+
+    @Test
+    void failedOperation_IsRolledBack() {
+        PersonDTO husband = personService.createNewPerson(PersonDTO.builder().firstName("Rolf").lastName("Back").build());
+        PersonDTO wife = personService.createNewPerson(PersonDTO.builder().firstName("Rita").lastName("Back").build());
+        PersonDTO other = personService.createNewPerson(PersonDTO.builder().firstName("Otto").lastName("Back").build());
+        personService.setSpouse(husband.getId(), wife.getId());
+
+        // The husband is stored with the new spouse before wife's reference to him fails
+        assertThrows(DataIntegrityViolationException.class,
+                () -> personService.setSpouse(other.getId(), husband.getId()));
+
+        assertEquals(wife.getId(), personService.getPerson(husband.getId()).getSpouseId());
+        assertNull(personService.getPerson(other.getId()).getSpouseId());
+    }
+
+    @Test
+    void mergePerson_RepointsReferencesInGraph() {
+        PersonDTO survivor = personService.createNewPerson(PersonDTO.builder().firstName("Sam").lastName("Merge").build());
+        PersonDTO duplicate = personService.createNewPerson(PersonDTO.builder().firstName("Sam").lastName("Merge")
+                .occupation("Smith").build());
+        PersonDTO child = personService.createNewPerson(PersonDTO.builder().firstName("Kid").lastName("Merge").build());
+        personService.setFather(child.getId(), duplicate.getId());
+
+        PersonDTO merged = personService.mergePerson(survivor.getId(), duplicate.getId());
+
+        assertEquals("Smith", merged.getOccupation());
+        assertEquals(survivor.getId(), personService.getPerson(child.getId()).getFatherId());
+        assertTrue(personStore.findById(duplicate.getId()).isEmpty());
+    }
+
+    @Test
+    void fullSync_IsReadFromGraph() throws IOException {
+        PersonDTO mother = personService.createNewPerson(PersonDTO.builder().firstName("Fay").lastName("Full").build());
+        PersonDTO child = personService.createNewPerson(PersonDTO.builder().firstName("Finn").lastName("Full").build());
+        personService.setMother(child.getId(), mother.getId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        deltaSyncService.write(null, out);
+        JsonNode response = objectMapper.readTree(out.toByteArray());
+
+        assertTrue(response.get("full").asBoolean());
+        List<Long> ids = new ArrayList<>();
+        response.get("persons").forEach(person -> ids.add(person.get("id").asLong()));
+        assertTrue(ids.containsAll(List.of(mother.getId(), child.getId())));
+        assertEquals(ids.size(), personStore.findAllById(ids).size(), "only persons of the graph store are sent");
+        List<JsonNode> edges = new ArrayList<>();
+        response.get("edges").forEach(edges::add);
+        assertTrue(edges.stream().anyMatch(edge -> edge.get("personId").asLong() == child.getId()
+                && edge.get("relation").asText().equals("MOTHER")
+                && edge.get("relativeId").asLong() == mother.getId()));
+    }
+}
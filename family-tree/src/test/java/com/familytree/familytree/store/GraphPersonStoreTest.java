@@ -0,0 +1,257 @@
+package com.familytree.familytree.store;
+
+import com.familytree.familytree.entity.Person;
+import com.familytree.familytree.event.PersonState;
+import com.familytree.familytree.repository.PersonField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphPersonStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private GraphStoreProperties properties;
+
+    private GraphPersonStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GraphStoreProperties();
+        properties.setDirectory(directory);
+        properties.setCompactionMinRecords(10);
+        store = GraphPersonStore.open(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void save_AssignsIdsAndResolvesRelationships() {
+        Person mother = store.save(person("Ada", "Byron"));
+        Person child = person("Anne", "King");
+        child.setMother(mother);
+        child.setParent(mother);
+        store.save(child);
+
+        Person loaded = store.findById(child.getId()).orElseThrow();
+        assertEquals(List.of(1L, 2L), List.of(mother.getId(), child.getId()));
+        assertEquals("Byron", loaded.getMother().getLastName());
+        assertEquals(List.of(child.getId()),
+                store.findById(mother.getId()).orElseThrow().getChildren().stream().map(Person::getId).toList());
+        assertEquals(List.of(child.getId()),
+                store.findChildrenOfAny(List.of(mother.getId())).stream().map(Person::getId).toList());
+        assertEquals(Map.of("firstName", "Anne", "motherId", mother.getId()),
+                store.findFieldsById(child.getId(), EnumSet.of(PersonField.FIRST_NAME, PersonField.MOTHER_ID))
+                        .orElseThrow());
+    }
+
+    @Test
+    void save_UnknownReferenceOrTakenSpouse_IsRejected() {
+        Person husband = store.save(person("Hal", "Moor"));
+        Person wife = person("Wen", "Moor");
+        wife.setSpouse(husband);
+        store.save(wife);
+        Person rival = person("Rita", "Moor");
+        rival.setSpouse(husband);
+        Person orphan = person("Olly", "Moor");
+        orphan.setFather(store.getReference(99L));
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(rival));
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(orphan));
+        assertNull(orphan.getId());
+        assertEquals(List.of(husband.getId(), wife.getId()),
+                store.findByLastName("Moor").stream().map(Person::getId).toList());
+    }
+
+    @Test
+    void delete_CascadesOverParentAndRejectsOutsideReferences() {
+        Person root = store.save(person("Root", "Tree"));
+        Person child = person("Child", "Tree");
+        child.setParent(root);
+        store.save(child);
+        Person grandchild = person("Grandchild", "Tree");
+        grandchild.setParent(child);
+        store.save(grandchild);
+        Person stepchild = person("Step", "Tree");
+        stepchild.setMother(child);
+        store.save(stepchild);
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.delete(root));
+        assertEquals(4, store.size());
+
+        stepchild.setMother(null);
+        store.save(stepchild);
+        store.delete(root);
+        assertEquals(List.of(stepchild.getId()),
+                store.findByLastName("Tree").stream().map(Person::getId).toList());
+    }
+
+    @Test
+    void open_ReplaysLogAndDiscardsTornTail() throws IOException {
+        Person mother = store.save(person("Mary", "Shelley"));
+        Person child = person("Percy", "Shelley");
+        child.setMother(mother);
+        child.setBornDate(LocalDate.of(1819, 11, 12));
+        store.save(child);
+        mother.setOccupation("Novelist");
+        store.save(mother);
+        store.close();
+        Files.write(directory.resolve("persons.log"), new byte[]{0, 0, 0, 40, 1, 2},
+                StandardOpenOption.APPEND);
+
+        store = GraphPersonStore.open(properties);
+        Person reopened = store.findById(child.getId()).orElseThrow();
+        assertEquals(LocalDate.of(1819, 11, 12), reopened.getBornDate());
+        assertEquals("Novelist", reopened.getMother().getOccupation());
+        assertEquals(3, store.logRecords());
+        assertEquals(3, store.save(person("Next", "Shelley")).getId());
+    }
+
+    @Test
+    void save_CompactsLogOnceMostRecordsAreSuperseded() throws IOException {
+        Person person = store.save(person("Comp", "Act"));
+        for (int i = 0; i < 20; i++) {
+            person.setLifeStory("Version " + i);
+            store.save(person);
+        }
+
+        assertTrue(store.logRecords() < 10, "log holds " + store.logRecords() + " records");
+        store.close();
+        store = GraphPersonStore.open(properties);
+        assertEquals("Version 19", store.findById(person.getId()).orElseThrow().getLifeStory());
+    }
+
+    @Test
+    void put_StoresStatesWithoutCheckingReferences() {
+        store.put(PersonState.builder().id(10L).firstName("Late").parentId(11L).build());
+        store.put(PersonState.builder().id(11L).firstName("Early").build());
+
+        assertEquals("Early", store.findById(10L).orElseThrow().getParent().getFirstName());
+        assertEquals(12L, store.save(person("After", "Import")).getId());
+    }
+
+    @Test
+    void rollback_KeepsWritesCommittedMeanwhile() throws Exception {
+        Long id = store.save(person("Rose", "Back")).getId();
+        ExecutorService first = Executors.newSingleThreadExecutor();
+        try {
+            first.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                Person person = store.findById(id).orElseThrow();
+                person.setOccupation("Rolled back");
+                store.save(person);
+                assertEquals("Rolled back", store.findById(id).orElseThrow().getOccupation());
+            }).get();
+            assertNull(store.findById(id).orElseThrow().getOccupation());
+
+            TransactionSynchronizationManager.initSynchronization();
+            Person person = store.findById(id).orElseThrow();
+            person.setOccupation("Committed");
+            store.save(person);
+            complete(true);
+
+            first.submit(() -> complete(false)).get();
+        } finally {
+            first.shutdown();
+        }
+
+        assertEquals("Committed", store.findById(id).orElseThrow().getOccupation());
+        store.close();
+        store = GraphPersonStore.open(properties);
+        assertEquals("Committed", store.findById(id).orElseThrow().getOccupation());
+    }
+
+    @Test
+    void commit_RechecksReferencesAgainstWritesCommittedMeanwhile() throws Exception {
+        Person father = store.save(person("Fred", "Check"));
+        Person child = store.save(person("Carl", "Check"));
+        ExecutorService first = Executors.newSingleThreadExecutor();
+        try {
+            first.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                Person loaded = store.findById(child.getId()).orElseThrow();
+                loaded.setFather(store.getReference(father.getId()));
+                store.save(loaded);
+            }).get();
+
+            store.deleteByIdInBulk(father.getId());
+
+            Future<?> commit = first.submit(() -> complete(true));
+            ExecutionException failure = assertThrows(ExecutionException.class, commit::get);
+            assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        } finally {
+            first.shutdown();
+        }
+        assertNull(store.findById(child.getId()).orElseThrow().getFather());
+    }
+
+    @Test
+    void open_IgnoresTransactionWithoutCommitRecord() throws IOException {
+        Person kept = store.save(person("Kept", "Torn"));
+        long committed = store.logBytes();
+        TransactionSynchronizationManager.initSynchronization();
+        store.save(person("Lost", "Torn"));
+        store.save(person("Also lost", "Torn"));
+        complete(true);
+        store.close();
+        // Cut off the commit record of the second transaction, as a crash during its append would
+        try (FileChannel log = FileChannel.open(directory.resolve("persons.log"), StandardOpenOption.WRITE)) {
+            log.truncate(log.size() - 9);
+            assertTrue(log.size() > committed);
+        }
+
+        store = GraphPersonStore.open(properties);
+        assertEquals(List.of(kept.getId()), store.findByLastName("Torn").stream().map(Person::getId).toList());
+        assertEquals(1, store.logRecords());
+        assertEquals(committed, store.logBytes());
+    }
+
+    /**
+     * Completes the transaction synchronization of the current thread, as a transaction
+     * manager would.
+     */
+    private static void complete(boolean commit) {
+        try {
+            if (commit) {
+                TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            }
+            TransactionSynchronizationUtils.triggerAfterCompletion(commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Person person(String firstName, String lastName) {
+        Person person = new Person();
+        person.setFirstName(firstName);
+        person.setLastName(lastName);
+        return person;
+    }
+}
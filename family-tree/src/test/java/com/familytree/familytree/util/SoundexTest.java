@@ -0,0 +1,36 @@
+package com.familytree.familytree.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoundexTest {
+
+    @Test
+    void encode_StandardCodes() {
+        assertEquals("R163", Soundex.encode("Robert"));
+        assertEquals("R163", Soundex.encode("Rupert"));
+        assertEquals("A261", Soundex.encode("Ashcraft"));
+        assertEquals("T522", Soundex.encode("Tymczak"));
+        assertEquals("P236", Soundex.encode("Pfister"));
+    }
+
+    @Test
+    void encode_SimilarSurnamesShareCode() {
+        assertEquals(Soundex.encode("Smith"), Soundex.encode("Smyth"));
+        assertEquals(Soundex.encode("Muller"), Soundex.encode("Müller"));
+    }
+
+    @Test
+    void encode_NoLetters() {
+        assertNull(Soundex.encode(null));
+        assertNull(Soundex.encode("123"));
+    }
+
+    @Test
+    void jaroWinkler_Bounds() {
+        assertEquals(1.0, StringSimilarity.jaroWinkler("Martha", "martha"));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("abc", "xyz"));
+        assertEquals(0.961, StringSimilarity.jaroWinkler("MARTHA", "MARHTA"), 0.001);
+    }
+}
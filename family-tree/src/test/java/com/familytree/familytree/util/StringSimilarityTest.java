@@ -0,0 +1,46 @@
+package com.familytree.familytree.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringSimilarityTest {
+
+    @Test
+    void jaroWinkler_KnownValues() {
+        assertEquals(0.961, StringSimilarity.jaroWinkler("MARTHA", "MARHTA"), 0.001);
+        assertEquals(0.840, StringSimilarity.jaroWinkler("DWAYNE", "DUANE"), 0.001);
+        assertEquals(0.813, StringSimilarity.jaroWinkler("DIXON", "DICKSONX"), 0.001);
+    }
+
+    @Test
+    void jaroWinkler_IgnoresCaseAndSurroundingWhitespace() {
+        assertEquals(1.0, StringSimilarity.jaroWinkler("  Anna ", "ANNA"));
+    }
+
+    @Test
+    void jaroWinkler_IsSymmetric() {
+        assertEquals(StringSimilarity.jaroWinkler("Johnson", "Jonson"),
+                StringSimilarity.jaroWinkler("Jonson", "Johnson"), 1e-12);
+    }
+
+    @Test
+    void jaroWinkler_RewardsCommonPrefix() {
+        assertTrue(StringSimilarity.jaroWinkler("Katherine", "Katharina")
+                > StringSimilarity.jaroWinkler("Katherine", "Catharina"));
+    }
+
+    @Test
+    void jaroWinkler_MissingOrEmptyValues() {
+        assertEquals(0.0, StringSimilarity.jaroWinkler(null, "Anna"));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("Anna", null));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("", ""));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("", "Anna"));
+    }
+
+    @Test
+    void jaroWinkler_SingleCharacters() {
+        assertEquals(1.0, StringSimilarity.jaroWinkler("a", "A"));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("a", "b"));
+    }
+}